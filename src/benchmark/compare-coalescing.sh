@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Runs the HTTP load test once with one transaction per deposit and once with the coalescing profile and prints both
+# reports side by side. Deposits only by default, use --zipf to concentrate them on fewer accounts. Settings as in
+# compare-load.sh.
+#
+#   src/benchmark/compare-coalescing.sh
+#   CONNECTIONS=500 src/benchmark/compare-coalescing.sh --zipf=1.2 --banking.coalescing.max-wait-micros=500
+exec "$(dirname "$0")/compare-load.sh" \
+    per-deposit "--spring.profiles.active=default" \
+    coalescing "--spring.profiles.active=coalescing" \
+    --mix=deposit=100 "$@"
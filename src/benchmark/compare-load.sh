@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs the HTTP load test once per configuration and prints the reports side by side. Each configuration is a name
+# and its application arguments; arguments after the second configuration go to both runs. Every connection needs a
+# file descriptor on both ends, so raise ulimit -n for large CONNECTIONS.
+#
+#   src/benchmark/compare-load.sh <name> "<args>" <name> "<args>" [common args...]
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+if [ $# -lt 4 ]; then
+    echo "Usage: $0 <name> \"<args>\" <name> \"<args>\" [common args...]" >&2
+    exit 2
+fi
+FIRST_NAME="$1" FIRST_ARGS="$2" SECOND_NAME="$3" SECOND_ARGS="$4"
+shift 4
+
+CONNECTIONS="${CONNECTIONS:-10000}"
+ACCOUNTS="${ACCOUNTS:-10000}"
+WARMUP="${WARMUP:-15}"
+DURATION="${DURATION:-60}"
+LOAD_ARGS="--mode=closed --concurrency=$CONNECTIONS --accounts=$ACCOUNTS --warmup=$WARMUP --duration=$DURATION"
+# Tomcat accepts 8192 connections by default, the rest would wait in the accept backlog or be refused
+SERVER_ARGS="--server.tomcat.max-connections=$((CONNECTIONS + 1000)) --server.tomcat.accept-count=$CONNECTIONS"
+
+mvn -B -q -P benchmark test-compile
+run() {
+    mvn -B -q -P benchmark exec:exec@load-test \
+        -Dload.args="$LOAD_ARGS $SERVER_ARGS $2 --report=target/load-$1.txt ${*:3}" > "target/load-$1.log"
+}
+run "$FIRST_NAME" "$FIRST_ARGS" "$@"
+run "$SECOND_NAME" "$SECOND_ARGS" "$@"
+
+pr -m -t -w 240 "target/load-$FIRST_NAME.txt" "target/load-$SECOND_NAME.txt" | expand
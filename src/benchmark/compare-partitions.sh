@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Runs the HTTP load test once with row locks only and once with the partitioned profile and prints both reports
+# side by side. Writes only by default, use --zipf to move between spread and hot accounts. Settings as in
+# compare-load.sh.
+#
+#   src/benchmark/compare-partitions.sh
+#   CONNECTIONS=500 src/benchmark/compare-partitions.sh --zipf=0 --banking.partitioned.partitions=16
+exec "$(dirname "$0")/compare-load.sh" \
+    row-locks "--spring.profiles.active=default" \
+    partitioned "--spring.profiles.active=partitioned" \
+    --mix=deposit=40,withdraw=30,transfer=30 "$@"
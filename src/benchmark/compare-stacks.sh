@@ -0,0 +1,10 @@
+#!/usr/bin/env bash
+# Runs the HTTP load test once on the servlet stack and once on the reactive one and prints both reports side by
+# side, including heap per connection and thread counts. Settings as in compare-load.sh.
+#
+#   src/benchmark/compare-stacks.sh
+#   CONNECTIONS=2000 DURATION=30 src/benchmark/compare-stacks.sh --mix=get=80,deposit=20
+exec "$(dirname "$0")/compare-load.sh" \
+    servlet "--spring.profiles.active=default" \
+    reactive "--spring.profiles.active=reactive" \
+    "$@"
@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Runs the HTTP load test once with platform and once with virtual request threads and prints both reports side by
+# side. Virtual threads need a Java 21 or later runtime, older runtimes run both with platform threads: check the
+# "server threads" in the report headers. Settings as in compare-load.sh.
+#
+#   src/benchmark/compare-threads.sh
+#   CONNECTIONS=2000 DURATION=30 src/benchmark/compare-threads.sh --spring.profiles.active=ledger
+exec "$(dirname "$0")/compare-load.sh" \
+    platform "--spring.threads.virtual.enabled=false" \
+    virtual "--spring.threads.virtual.enabled=true" \
+    "$@"
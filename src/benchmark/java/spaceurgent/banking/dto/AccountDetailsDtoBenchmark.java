@@ -0,0 +1,45 @@
+package spaceurgent.banking.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AccountDetailsDtoBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Account account = new Account(AccountNumberCodec.encode(1), Money.valueOf("1234.56"));
+    private final AccountDetailsDto accountDetailsDto = AccountDetailsDto.from(account);
+
+    @Benchmark
+    public AccountDetailsDto from() {
+        return AccountDetailsDto.from(account);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accountDetailsDto);
+    }
+
+    @Benchmark
+    public byte[] fromAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(AccountDetailsDto.from(account));
+    }
+}
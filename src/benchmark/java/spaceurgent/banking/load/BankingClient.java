@@ -0,0 +1,109 @@
+package spaceurgent.banking.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import spaceurgent.banking.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the account API requests driven by {@link LoadGenerator} and does the setup and verification calls.
+ */
+final class BankingClient {
+    private static final String ACCOUNTS_PATH = "/api/accounts";
+    private static final int BULK_CREATE_CHUNK = 10_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String accountsUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    BankingClient(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.accountsUrl = baseUrl + ACCOUNTS_PATH;
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    HttpRequest create(long balance) {
+        return post(accountsUrl + "?balance=" + Money.ofMinorUnits(balance));
+    }
+
+    HttpRequest get(String accountNumber) {
+        return request(accountsUrl + "/" + accountNumber).GET().build();
+    }
+
+    HttpRequest deposit(String accountNumber, long amount) {
+        return post(accountsUrl + "/" + accountNumber + "/deposit?amount=" + Money.ofMinorUnits(amount));
+    }
+
+    HttpRequest withdraw(String accountNumber, long amount) {
+        return post(accountsUrl + "/" + accountNumber + "/withdraw?amount=" + Money.ofMinorUnits(amount));
+    }
+
+    HttpRequest transfer(String sourceAccountNumber, String targetAccountNumber, long amount) {
+        return post(accountsUrl + "/" + sourceAccountNumber + "/transfer?targetAccountNumber=" + targetAccountNumber
+                + "&amount=" + Money.ofMinorUnits(amount));
+    }
+
+    /**
+     * Creates {@code count} accounts with the same balance through the bulk endpoint and returns their numbers.
+     */
+    List<String> createAccounts(int count, long balance) throws IOException, InterruptedException {
+        final var numbers = new ArrayList<String>(count);
+        while (numbers.size() < count) {
+            final var chunk = Math.min(BULK_CREATE_CHUNK, count - numbers.size());
+            final var body = objectMapper.writeValueAsString(
+                    Collections.nCopies(chunk, Money.ofMinorUnits(balance).toBigDecimal()));
+            final var request = request(accountsUrl + "/bulk")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IOException("Bulk account creation failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (var account : objectMapper.readTree(response.body()).get("data")) {
+                numbers.add(account.get("number").asText());
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Sums all account balances from the CSV export, in minor units.
+     */
+    long totalBalance() throws IOException, InterruptedException {
+        final var request = request(accountsUrl + "/export?format=csv").GET().build();
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (var reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Account export failed with " + response.statusCode());
+            }
+            return reader.lines()
+                    .skip(1)
+                    .mapToLong(line -> Money.valueOf(line.substring(line.lastIndexOf(',') + 1)).minorUnits())
+                    .sum();
+        }
+    }
+
+    private HttpRequest post(String url) {
+        return request(url).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+    }
+}
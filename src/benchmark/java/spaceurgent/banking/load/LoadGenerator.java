@@ -0,0 +1,352 @@
+package spaceurgent.banking.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import spaceurgent.banking.BankingServiceApplication;
+import spaceurgent.banking.model.Money;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load test of the account API. Starts the application on a random port, or targets {@code --base-url}, seeds
+ * accounts, drives a weighted mix of operations on Zipf-distributed accounts and prints latency percentiles,
+ * throughput and errors. Finally checks that the sum of all balances changed by exactly the applied deposits,
+ * withdrawals and opening balances.
+ * <p>
+ * Open loop ({@code --mode=open}) sends at a fixed {@code --rate} and measures latency from the intended send time,
+ * so a stalled server is charged for the requests it held back. Closed loop ({@code --mode=closed}) runs
+ * {@code --concurrency} clients back to back and corrects the histogram for coordinated omission afterwards with
+ * {@code --expected-interval-micros}, by default the mean latency.
+ * <p>
+ * When the application runs in process, the report also compares heap, threads and resident memory before and after
+ * the run, see {@link MemorySnapshot}.
+ */
+public final class LoadGenerator {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private final LoadOptions options;
+    private final BankingClient client;
+    private final List<String> accountNumbers;
+    private final ZipfSampler accountSampler;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder appliedBalanceChange = new LongAdder();
+    private final LongAdder unknownBalanceChanges = new LongAdder();
+    private long measurementStartNanos;
+    private long measurementEndNanos;
+
+    private LoadGenerator(LoadOptions options, BankingClient client, List<String> accountNumbers) {
+        this.options = options;
+        this.client = client;
+        this.accountNumbers = accountNumbers;
+        this.accountSampler = new ZipfSampler(accountNumbers.size(), options.zipfExponent());
+        final var weighted = options.mix().entrySet().stream().filter(entry -> entry.getValue() > 0).toList();
+        this.operations = new Operation[weighted.size()];
+        this.cumulativeWeights = new int[weighted.size()];
+        int sum = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            operations[i] = weighted.get(i).getKey();
+            sum += weighted.get(i).getValue();
+            cumulativeWeights[i] = sum;
+        }
+        for (var operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final var options = LoadOptions.parse(args);
+        final boolean conserved;
+        try (var application = options.baseUrl() == null ? startApplication(options) : null) {
+            final var baseUrl = application == null
+                    ? options.baseUrl()
+                    : "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            final var httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            final var client = new BankingClient(httpClient, baseUrl);
+
+            final var initialTotal = client.totalBalance();
+            final var accountNumbers = new ArrayList<>(client.createAccounts(options.accounts(), options.initialBalance()));
+            // Spread the popular accounts over the key space instead of the first created numbers
+            Collections.shuffle(accountNumbers, new Random(options.seed()));
+
+            final var generator = new LoadGenerator(options, client, accountNumbers);
+            final var memoryBefore = application == null ? null : MemorySnapshot.take();
+            MemorySnapshot.resetPeakThreads();
+            generator.run();
+            // Idle keep-alive connections are still open on both ends
+            final var memoryAfter = application == null ? null : MemorySnapshot.take();
+            final var expectedTotal = initialTotal + (long) options.accounts() * options.initialBalance()
+                    + generator.appliedBalanceChange.sum();
+            final var report = new ByteArrayOutputStream();
+            final var reportStream = new PrintStream(report, true, StandardCharsets.UTF_8);
+            conserved = generator.report(reportStream, serverThreads(application), expectedTotal, client.totalBalance());
+            if (memoryBefore != null) {
+                generator.reportMemory(reportStream, memoryBefore, memoryAfter);
+            }
+            System.out.print(report.toString(StandardCharsets.UTF_8));
+            if (options.reportFile() != null) {
+                Files.write(Path.of(options.reportFile()), report.toByteArray());
+            }
+        }
+        System.exit(conserved ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadOptions options) {
+        return new SpringApplicationBuilder(BankingServiceApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run(options.applicationArgs().toArray(String[]::new));
+    }
+
+    /**
+     * Spring Boot only switches to virtual threads on Java 21 or later and ignores the property otherwise.
+     */
+    private static String serverThreads(ConfigurableApplicationContext application) {
+        if (application == null) {
+            return "unknown";
+        }
+        if (application instanceof ReactiveWebServerApplicationContext) {
+            return "event loop";
+        }
+        final var virtualThreadsEnabled = application.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return virtualThreadsEnabled && Runtime.version().feature() >= 21 ? "virtual" : "platform";
+    }
+
+    private void run() throws InterruptedException {
+        measurementStartNanos = System.nanoTime() + options.warmup().toNanos();
+        measurementEndNanos = measurementStartNanos + options.duration().toNanos();
+        if (options.openLoop()) {
+            runOpenLoop();
+        } else {
+            runClosedLoop();
+        }
+    }
+
+    private void runOpenLoop() throws InterruptedException {
+        final var intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        final var inFlight = new Semaphore(options.maxInFlight());
+        final var random = new SplittableRandom(options.seed());
+        final var firstSendNanos = System.nanoTime();
+        for (long i = 0; ; i++) {
+            final var intendedStartNanos = firstSendNanos + i * intervalNanos;
+            if (intendedStartNanos >= measurementEndNanos) {
+                break;
+            }
+            parkUntil(intendedStartNanos);
+            // Waiting here does not hide latency: it is measured from the intended start
+            inFlight.acquire();
+            final var call = nextCall(random);
+            client.httpClient().sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        complete(call, intendedStartNanos, response, failure);
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), 60, TimeUnit.SECONDS)) {
+            System.err.println("Requests still in flight 60 seconds after the end, the balance check may not add up");
+        }
+    }
+
+    /**
+     * Each client is a chain of asynchronous requests, the next one sent when the previous completes, so thousands
+     * of clients do not need thousands of threads.
+     */
+    private void runClosedLoop() throws InterruptedException {
+        final var finishedClients = new CountDownLatch(options.concurrency());
+        final var seeds = new SplittableRandom(options.seed());
+        for (int i = 0; i < options.concurrency(); i++) {
+            sendNext(seeds.split(), finishedClients);
+        }
+        final var graceNanos = TimeUnit.SECONDS.toNanos(60);
+        if (!finishedClients.await(measurementEndNanos - System.nanoTime() + graceNanos, TimeUnit.NANOSECONDS)) {
+            System.err.println("Requests still in flight 60 seconds after the end, the balance check may not add up");
+        }
+    }
+
+    private void sendNext(SplittableRandom random, CountDownLatch finishedClients) {
+        if (System.nanoTime() >= measurementEndNanos) {
+            finishedClients.countDown();
+            return;
+        }
+        final var call = nextCall(random);
+        final var startNanos = System.nanoTime();
+        client.httpClient().sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    complete(call, startNanos, response, failure);
+                    sendNext(random, finishedClients);
+                });
+    }
+
+    private Call nextCall(SplittableRandom random) {
+        final var operation = nextOperation(random);
+        final var amount = random.nextLong(1, options.maxAmount() + 1);
+        final var source = accountSampler.next(random);
+        return switch (operation) {
+            case CREATE -> new Call(operation, client.create(amount), amount);
+            case GET -> new Call(operation, client.get(accountNumbers.get(source)), 0);
+            case DEPOSIT -> new Call(operation, client.deposit(accountNumbers.get(source), amount), amount);
+            case WITHDRAW -> new Call(operation, client.withdraw(accountNumbers.get(source), amount), -amount);
+            case TRANSFER -> {
+                var target = accountSampler.next(random);
+                if (target == source) {
+                    target = (source + 1) % accountNumbers.size();
+                }
+                yield new Call(operation, client.transfer(accountNumbers.get(source), accountNumbers.get(target), amount), 0);
+            }
+        };
+    }
+
+    private Operation nextOperation(SplittableRandom random) {
+        final var value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; ; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+    }
+
+    private void complete(Call call, long startNanos, HttpResponse<?> response, Throwable failure) {
+        final var latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        final var succeeded = response != null && response.statusCode() / 100 == 2;
+        if (succeeded) {
+            appliedBalanceChange.add(call.balanceChange());
+        } else if (response == null && call.balanceChange() != 0) {
+            // Timed out or disconnected: the server may or may not have applied it
+            unknownBalanceChanges.increment();
+        }
+        if (startNanos < measurementStartNanos || startNanos >= measurementEndNanos) {
+            return;
+        }
+        recorders.get(call.operation()).recordValue(latencyMicros);
+        if (!succeeded) {
+            final var cause = response != null
+                    ? "HTTP " + response.statusCode()
+                    : (failure instanceof CompletionException ? failure.getCause() : failure).getClass().getSimpleName();
+            errors.computeIfAbsent(call.operation().label() + " " + cause, key -> new LongAdder()).increment();
+        }
+    }
+
+    private boolean report(PrintStream out, String serverThreads, long expectedTotal, long actualTotal) {
+        final var histograms = new EnumMap<Operation, Histogram>(Operation.class);
+        final var rawTotal = new Histogram(3);
+        for (var operation : operations) {
+            final var histogram = recorders.get(operation).getIntervalHistogram();
+            histograms.put(operation, histogram);
+            rawTotal.add(histogram);
+        }
+        final var expectedIntervalMicros = options.expectedIntervalMicros() > 0
+                ? options.expectedIntervalMicros()
+                : Math.max(1, (long) rawTotal.getMean());
+        final var seconds = options.duration().toNanos() / 1e9;
+
+        out.printf("%n%s, %d accounts, zipf %.2f, %ds measured after %ds warmup, %s server threads%n",
+                options.openLoop() ? "Open loop at " + options.rate() + " req/s" : "Closed loop with " + options.concurrency() + " clients",
+                options.accounts(), options.zipfExponent(), options.duration().toSeconds(), options.warmup().toSeconds(), serverThreads);
+        out.printf("Latency in ms, %s%n", options.openLoop()
+                ? "measured from the intended send time"
+                : "corrected for coordinated omission with an expected interval of " + expectedIntervalMicros + " us");
+        out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s%n", "operation", "count", "errors", "p50", "p99", "p99.9", "max", "req/s");
+        final var total = new Histogram(3);
+        long totalErrors = 0;
+        for (var entry : histograms.entrySet()) {
+            final var raw = entry.getValue();
+            // Correction adds synthesized samples, so counts and throughput come from the raw histogram
+            final var latency = options.openLoop() ? raw : raw.copyCorrectedForCoordinatedOmission(expectedIntervalMicros);
+            final var operationErrors = errorCount(entry.getKey());
+            total.add(latency);
+            totalErrors += operationErrors;
+            printRow(out, entry.getKey().label(), raw.getTotalCount(), operationErrors, latency, seconds);
+        }
+        printRow(out, "total", rawTotal.getTotalCount(), totalErrors, total, seconds);
+
+        if (!errors.isEmpty()) {
+            out.println("Errors:");
+            new TreeMap<>(errors).forEach((cause, count) -> out.printf("  %-30s %d%n", cause, count.sum()));
+        }
+
+        out.printf("Balance total: expected %s, actual %s%n", Money.ofMinorUnits(expectedTotal), Money.ofMinorUnits(actualTotal));
+        if (expectedTotal == actualTotal) {
+            out.println("Balances conserved");
+            return true;
+        }
+        if (unknownBalanceChanges.sum() > 0) {
+            out.printf("Balance check inconclusive: %d balance changes ended without a response%n", unknownBalanceChanges.sum());
+            return true;
+        }
+        out.println("BALANCES NOT CONSERVED");
+        return false;
+    }
+
+    /**
+     * The application runs in this JVM, so the figures include the load clients. Both stacks share that overhead,
+     * which leaves the difference between two runs to the server.
+     */
+    private void reportMemory(PrintStream out, MemorySnapshot before, MemorySnapshot after) {
+        out.println("Memory of the load test JVM after full GC, before the run / after it with connections open:");
+        out.printf("  heap %d MB / %d MB", before.heapBytes() >> 20, after.heapBytes() >> 20);
+        if (!options.openLoop()) {
+            out.printf(", %.1f KB per client", (after.heapBytes() - before.heapBytes()) / 1024.0 / options.concurrency());
+        }
+        out.println();
+        out.printf("  threads %d / %d, %d at peak%n", before.threads(), after.threads(), after.peakThreads());
+        if (before.residentBytes() >= 0) {
+            out.printf("  resident %d MB / %d MB%n", before.residentBytes() >> 20, after.residentBytes() >> 20);
+        }
+    }
+
+    private long errorCount(Operation operation) {
+        final var prefix = operation.label() + " ";
+        return errors.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    private static void printRow(PrintStream out, String label, long count, long errors, Histogram histogram, double seconds) {
+        out.printf("%-10s %10d %8d", label, count, errors);
+        for (var percentile : PERCENTILES) {
+            out.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %10.3f %10.1f%n", histogram.getMaxValue() / 1000.0, count / seconds);
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record Call(Operation operation, HttpRequest request, long balanceChange) {
+    }
+}
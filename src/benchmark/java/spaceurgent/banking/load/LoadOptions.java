@@ -0,0 +1,92 @@
+package spaceurgent.banking.load;
+
+import spaceurgent.banking.model.Money;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of {@link LoadGenerator}, given as {@code --name=value}. Arguments that are not load options,
+ * such as {@code --spring.profiles.active=ledger}, are passed to the started application.
+ */
+record LoadOptions(String baseUrl,
+                   boolean openLoop,
+                   int rate,
+                   int concurrency,
+                   int maxInFlight,
+                   int accounts,
+                   long initialBalance,
+                   long maxAmount,
+                   double zipfExponent,
+                   Map<Operation, Integer> mix,
+                   Duration warmup,
+                   Duration duration,
+                   long expectedIntervalMicros,
+                   long seed,
+                   String reportFile,
+                   List<String> applicationArgs) {
+    private static final Set<String> NAMES = Set.of("base-url", "mode", "rate", "concurrency", "max-in-flight",
+            "accounts", "initial-balance", "max-amount", "zipf", "mix", "warmup", "duration",
+            "expected-interval-micros", "seed", "report");
+
+    static LoadOptions parse(String[] args) {
+        final var values = new HashMap<String, String>();
+        final var applicationArgs = new ArrayList<String>();
+        for (var arg : args) {
+            final var separator = arg.indexOf('=');
+            final var name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name != null && NAMES.contains(name)) {
+                values.put(name, arg.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        final var mode = values.getOrDefault("mode", "closed");
+        if (!mode.equals("open") && !mode.equals("closed")) {
+            throw new IllegalArgumentException("Mode must be open or closed: " + mode);
+        }
+        final var options = new LoadOptions(
+                values.get("base-url"),
+                mode.equals("open"),
+                Integer.parseInt(values.getOrDefault("rate", "1000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1024")),
+                Integer.parseInt(values.getOrDefault("accounts", "1000")),
+                parseMinorUnits(values.getOrDefault("initial-balance", "1000.00")),
+                parseMinorUnits(values.getOrDefault("max-amount", "10.00")),
+                Double.parseDouble(values.getOrDefault("zipf", "0.99")),
+                Operation.parseMix(values.getOrDefault("mix", Operation.DEFAULT_MIX)),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Long.parseLong(values.getOrDefault("expected-interval-micros", "0")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.get("report"),
+                List.copyOf(applicationArgs)
+        );
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (rate < 1 || concurrency < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Rate, concurrency and max in flight must be positive");
+        }
+        if (accounts < 2) {
+            throw new IllegalArgumentException("At least 2 accounts are needed for transfers");
+        }
+        if (initialBalance < 0 || maxAmount < 1) {
+            throw new IllegalArgumentException("Initial balance must not be negative and max amount must be positive");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive and warmup must not be negative");
+        }
+    }
+
+    private static long parseMinorUnits(String amount) {
+        return Money.valueOf(amount).minorUnits();
+    }
+}
@@ -0,0 +1,44 @@
+package spaceurgent.banking.load;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Heap in use after a full GC, live and peak thread counts and, on Linux, the resident set size of this JVM.
+ * The resident set covers what the heap doesn't: thread stacks and direct buffers.
+ */
+record MemorySnapshot(long heapBytes, int threads, int peakThreads, long residentBytes) {
+
+    static MemorySnapshot take() {
+        System.gc();
+        final var threadBean = ManagementFactory.getThreadMXBean();
+        return new MemorySnapshot(
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                threadBean.getThreadCount(),
+                threadBean.getPeakThreadCount(),
+                readResidentBytes()
+        );
+    }
+
+    static void resetPeakThreads() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    /**
+     * VmRSS from {@code /proc/self/status}, or -1 where that is not available.
+     */
+    private static long readResidentBytes() {
+        try {
+            for (var line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            // Not Linux
+        }
+        return -1;
+    }
+}
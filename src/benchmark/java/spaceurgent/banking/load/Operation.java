@@ -0,0 +1,41 @@
+package spaceurgent.banking.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+enum Operation {
+    CREATE,
+    GET,
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER;
+
+    static final String DEFAULT_MIX = "create=5,get=40,deposit=20,withdraw=15,transfer=20";
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses {@code operation=weight} pairs separated by commas. Operations left out get weight 0.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        final var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            final var parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must be operation=weight: " + entry);
+            }
+            final var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + entry);
+            }
+            weights.put(valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must have at least one positive weight: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,35 @@
+package spaceurgent.banking.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws indexes {@code 0..size-1} with probability proportional to {@code 1 / (index + 1)^exponent}.
+ * Exponent {@code 0} is uniform; around {@code 1} a small head of indexes takes most of the draws.
+ */
+final class ZipfSampler {
+    private final double[] cumulativeProbabilities;
+
+    ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+        cumulativeProbabilities = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulativeProbabilities[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulativeProbabilities[i] /= sum;
+        }
+    }
+
+    int next(RandomGenerator random) {
+        final var index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeProbabilities.length - 1);
+    }
+}
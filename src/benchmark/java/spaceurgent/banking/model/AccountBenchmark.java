@@ -0,0 +1,46 @@
+package spaceurgent.banking.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AccountBenchmark {
+    private static final Money AMOUNT = Money.valueOf("0.01");
+
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = new Account(AccountNumberCodec.encode(1), Money.ofMinorUnits(Long.MAX_VALUE / 2));
+    }
+
+    @Benchmark
+    public Account deposit() {
+        account.deposit(AMOUNT);
+        return account;
+    }
+
+    @Benchmark
+    public Account withdraw() throws AmountExceedsBalanceException {
+        account.withdraw(AMOUNT);
+        return account;
+    }
+}
@@ -0,0 +1,78 @@
+package spaceurgent.banking.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import spaceurgent.banking.BankingServiceApplication;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.AccountService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountServiceImpl#transferToAccount} through the Spring context against embedded H2, for each lock strategy.
+ * Transfers alternate direction between two accounts, so balances never run out.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferBenchmark {
+    private static final Money AMOUNT = Money.valueOf("0.01");
+
+    @Param({"pessimistic", "optimistic"})
+    private String lockStrategy;
+
+    private ConfigurableApplicationContext applicationContext;
+    private AccountService accountService;
+    private TransferRequestDto forward;
+    private TransferRequestDto backward;
+    private boolean backwardNext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(BankingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "banking.transfer.lock-strategy=" + lockStrategy,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        accountService = applicationContext.getBean("accountServiceImpl", AccountService.class);
+        final var source = accountService.createAccount(Money.valueOf("1000"), Currency.UAH);
+        final var target = accountService.createAccount(Money.valueOf("1000"), Currency.UAH);
+        forward = new TransferRequestDto(source.getNumber(), target.getNumber(), AMOUNT);
+        backward = new TransferRequestDto(target.getNumber(), source.getNumber(), AMOUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Account transferToAccount() throws AmountExceedsBalanceException {
+        backwardNext = !backwardNext;
+        return accountService.transferToAccount(backwardNext ? forward : backward);
+    }
+}
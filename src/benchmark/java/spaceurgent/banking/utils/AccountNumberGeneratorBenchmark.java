@@ -0,0 +1,48 @@
+package spaceurgent.banking.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import spaceurgent.banking.model.Currency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number generation without the database: every block lease returns the first block, so the run never runs out of
+ * serials. Includes the block switch every {@code BLOCK_SIZE} numbers.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AccountNumberGeneratorBenchmark {
+    private static final int BLOCK_SIZE = 1000;
+
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Setup
+    public void setUp() {
+        accountNumberGenerator = new AccountNumberGenerator(() -> 1, BLOCK_SIZE, Runnable::run);
+    }
+
+    @Benchmark
+    public String nextAccountNumber() {
+        return accountNumberGenerator.nextAccountNumber(Currency.UAH);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextAccountNumberContended() {
+        return accountNumberGenerator.nextAccountNumber(Currency.UAH);
+    }
+}
@@ -0,0 +1,49 @@
+package spaceurgent.banking.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spaceurgent.banking.model.Money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AmountUtils} on {@link BigDecimal} next to the {@link Money} operations that replaced it.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AmountUtilsBenchmark {
+    private BigDecimal decimalAmount = new BigDecimal("1234.5678");
+    private Money money = Money.ofMinorUnits(123_456);
+
+    @Benchmark
+    public BigDecimal round() {
+        return AmountUtils.round(decimalAmount);
+    }
+
+    @Benchmark
+    public boolean isNegativeOrZero() {
+        return AmountUtils.isNegativeOrZero(decimalAmount);
+    }
+
+    @Benchmark
+    public Money moneyOf() {
+        return Money.of(decimalAmount);
+    }
+
+    @Benchmark
+    public boolean moneyIsNegativeOrZero() {
+        return money.isNegativeOrZero();
+    }
+}
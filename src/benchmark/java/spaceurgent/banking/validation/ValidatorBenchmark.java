@@ -0,0 +1,71 @@
+package spaceurgent.banking.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link Validator} on a valid input, the path every request takes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+    private final AccountNumberValidator accountNumberValidator = new AccountNumberValidator();
+    private final BalanceAmountValidator balanceAmountValidator = new BalanceAmountValidator();
+    private final TransferAmountValidator transferAmountValidator = new TransferAmountValidator();
+    private final PageLimitValidator pageLimitValidator = new PageLimitValidator();
+    private final IdempotencyKeyValidator idempotencyKeyValidator = new IdempotencyKeyValidator();
+    private final TransferRequestDtoValidator transferRequestDtoValidator = new TransferRequestDtoValidator(accountNumberValidator);
+
+    private String accountNumber = AccountNumberCodec.encode(1);
+    private Money amount = Money.valueOf("100.50");
+    private Integer pageLimit = 100;
+    private String idempotencyKey = "6f1c7a52-29a4-4a4f-9d3e-3c1d2f0b8e11";
+    private TransferRequestDto transferRequestDto =
+            new TransferRequestDto(AccountNumberCodec.encode(1), AccountNumberCodec.encode(2), Money.valueOf("100.50"));
+
+    @Benchmark
+    public void accountNumber() {
+        accountNumberValidator.validate(accountNumber);
+    }
+
+    @Benchmark
+    public void balanceAmount() {
+        balanceAmountValidator.validate(amount);
+    }
+
+    @Benchmark
+    public void transferAmount() {
+        transferAmountValidator.validate(amount);
+    }
+
+    @Benchmark
+    public void pageLimit() {
+        pageLimitValidator.validate(pageLimit);
+    }
+
+    @Benchmark
+    public void idempotencyKey() {
+        idempotencyKeyValidator.validate(idempotencyKey);
+    }
+
+    @Benchmark
+    public void transferRequestDto() {
+        transferRequestDtoValidator.validate(transferRequestDto);
+    }
+}
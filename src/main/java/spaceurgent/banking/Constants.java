@@ -5,5 +5,8 @@ public final class Constants {
     }
 
     public final static int DEFAULT_AMOUNT_SCALE = 2;
-    public final static String ACCOUNT_NUMBER_REGEX = "2600\\d{10}";
+    public final static int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    public final static int MAX_PAGE_LIMIT = 1000;
+    public final static int MAX_TRANSFER_BATCH_SIZE = 10_000;
+    public final static int MAX_BULK_ACCOUNTS_SIZE = 100_000;
 }
@@ -1,51 +1,150 @@
 package spaceurgent.banking.api;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MissingServletRequestParameterException;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spaceurgent.banking.dto.AccountBalancesDto;
 import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDetailsListDto;
+import spaceurgent.banking.dto.AccountStatisticsDto;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
 import spaceurgent.banking.dto.AccountsDto;
-import spaceurgent.banking.dto.ErrorDto;
 import spaceurgent.banking.dto.TransferRequestDto;
-import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.dto.TransfersBatchDto;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.IdempotencyService;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.StringJoiner;
 
+import static spaceurgent.banking.api.ApiConstants.AFTER_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.AMOUNT_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.BALANCE_DEFAULT_VALUE;
 import static spaceurgent.banking.api.ApiConstants.BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CREATED_FROM_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CREATED_TO_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CURRENCY_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.CURRENCY_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.FORMAT_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.FORMAT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.IDEMPOTENCY_KEY_HEADER_NAME;
+import static spaceurgent.banking.api.ApiConstants.LIMIT_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.LIMIT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.MAX_BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.MIN_BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.SORT_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.SORT_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.TARGET_ACCOUNT_NUMBER_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.TOP_LIMIT_DEFAULT_VALUE;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountStatisticsService accountStatisticsService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
     public AccountDetailsDto createAccount(@RequestParam(name = BALANCE_PARAMETER_NAME, defaultValue = BALANCE_DEFAULT_VALUE)
-                                           BigDecimal balance) {
-        return AccountDetailsDto.from(accountService.createAccount(balance));
+                                           Money balance,
+                                           @RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                           String currency) {
+        return AccountDetailsDto.from(accountService.createAccount(balance, Currency.fromValue(currency)));
+    }
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/bulk")
+    public AccountDetailsListDto createAccounts(@RequestBody List<Money> initialBalances,
+                                                @RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                                String currency) {
+        return AccountDetailsListDto.from(accountService.createAccounts(initialBalances, Currency.fromValue(currency)));
     }
 
     @GetMapping
-    public AccountsDto getAccounts() {
-        return AccountsDto.from(accountService.getAccounts());
+    public AccountsDto getAccounts(@RequestParam(name = AFTER_PARAMETER_NAME, required = false) String after,
+                                   @RequestParam(name = LIMIT_PARAMETER_NAME, defaultValue = LIMIT_DEFAULT_VALUE) int limit) {
+        return AccountsDto.page(accountService.getAccounts(after, limit), limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(name = FORMAT_PARAMETER_NAME, defaultValue = FORMAT_DEFAULT_VALUE)
+                                                                String format) {
+        final var exportFormat = AccountExportFormat.fromValue(format);
+        final StreamingResponseBody responseBody = outputStream -> {
+            final var exportWriter = exportFormat.open(outputStream, objectMapper);
+            accountService.exportAccounts(account -> {
+                try {
+                    exportWriter.write(account);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            exportWriter.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(responseBody);
+    }
+
+    @GetMapping("/search")
+    public AccountBalancesDto searchAccounts(@RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                             String currency,
+                                             @RequestParam(name = MIN_BALANCE_PARAMETER_NAME, required = false) Money minBalance,
+                                             @RequestParam(name = MAX_BALANCE_PARAMETER_NAME, required = false) Money maxBalance,
+                                             @RequestParam(name = CREATED_FROM_PARAMETER_NAME, required = false) String createdFrom,
+                                             @RequestParam(name = CREATED_TO_PARAMETER_NAME, required = false) String createdTo,
+                                             @RequestParam(name = SORT_PARAMETER_NAME, defaultValue = SORT_DEFAULT_VALUE) String sort,
+                                             @RequestParam(name = AFTER_PARAMETER_NAME, required = false) String after,
+                                             @RequestParam(name = LIMIT_PARAMETER_NAME, defaultValue = LIMIT_DEFAULT_VALUE) int limit) {
+        return accountService.searchAccounts(new AccountSearchRequestDto(
+                Currency.fromValue(currency),
+                minBalance,
+                maxBalance,
+                parseInstant(CREATED_FROM_PARAMETER_NAME, createdFrom),
+                parseInstant(CREATED_TO_PARAMETER_NAME, createdTo),
+                AccountSearchOrder.fromValue(sort),
+                after,
+                limit
+        ));
+    }
+
+    @GetMapping("/top")
+    public AccountBalancesDto getTopAccounts(@RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                             String currency,
+                                             @RequestParam(name = LIMIT_PARAMETER_NAME, defaultValue = TOP_LIMIT_DEFAULT_VALUE) int limit) {
+        return new AccountBalancesDto(accountService.getTopAccounts(Currency.fromValue(currency), limit), null);
+    }
+
+    @GetMapping("/stats")
+    public AccountStatisticsDto getStatistics() {
+        return accountStatisticsService.getStatistics();
     }
 
     @GetMapping("/{accountNumber}")
@@ -55,50 +154,63 @@ public class AccountController {
 
     @PostMapping("/{accountNumber}/deposit")
     public AccountDetailsDto depositToAccount(@PathVariable String accountNumber,
-                                              @RequestParam(name = AMOUNT_PARAMETER_NAME) BigDecimal amount) {
-        return AccountDetailsDto.from(accountService.depositToAccount(accountNumber, amount));
+                                              @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                              @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                              String idempotencyKey) throws AmountExceedsBalanceException {
+        return executeIdempotent(idempotencyKey, fingerprint("deposit", accountNumber, amount),
+                () -> AccountDetailsDto.from(accountService.depositToAccount(accountNumber, amount)));
     }
 
     @PostMapping("/{accountNumber}/withdraw")
     public AccountDetailsDto withdrawFromAccount(@PathVariable String accountNumber,
-                                                 @RequestParam(name = AMOUNT_PARAMETER_NAME) BigDecimal amount) throws AmountExceedsBalanceException {
-        return AccountDetailsDto.from(accountService.withdrawFromAccount(accountNumber, amount));
+                                                 @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                                 @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                                 String idempotencyKey) throws AmountExceedsBalanceException {
+        return executeIdempotent(idempotencyKey, fingerprint("withdraw", accountNumber, amount),
+                () -> AccountDetailsDto.from(accountService.withdrawFromAccount(accountNumber, amount)));
     }
 
     @PostMapping("/{sourceAccountNumber}/transfer")
     public AccountDetailsDto transferToAccount(@PathVariable String sourceAccountNumber,
                                                @RequestParam(name = TARGET_ACCOUNT_NUMBER_PARAMETER_NAME) String targetAccountNumber,
-                                               @RequestParam(name = AMOUNT_PARAMETER_NAME) BigDecimal amount) throws AmountExceedsBalanceException {
+                                               @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                               @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                               String idempotencyKey) throws AmountExceedsBalanceException {
         final var transferRequestDto = new TransferRequestDto(sourceAccountNumber, targetAccountNumber, amount);
-        return AccountDetailsDto.from(accountService.transferToAccount(transferRequestDto));
+        return executeIdempotent(idempotencyKey, fingerprint("transfer", sourceAccountNumber, targetAccountNumber, amount),
+                () -> AccountDetailsDto.from(accountService.transferToAccount(transferRequestDto)));
     }
 
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    @ExceptionHandler(value = {AmountExceedsBalanceException.class, ValidationException.class})
-    public ErrorDto handleBadRequestException(Exception exception,
-                                              HttpServletRequest request) {
-        return new ErrorDto(HttpStatus.BAD_REQUEST.value(), exception.getMessage(), getPath(request));
+    @PostMapping("/transfers/batch")
+    public TransfersBatchDto transferBatch(@RequestBody List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException {
+        return new TransfersBatchDto(accountService.transferBatch(transferRequests));
     }
 
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    @ExceptionHandler(value = AccountNotFoundException.class)
-    public ErrorDto handleAccountNotFoundException(Exception exception,
-                                                   HttpServletRequest request) {
-        return new ErrorDto(HttpStatus.NOT_FOUND.value(), exception.getMessage(), getPath(request));
+    private AccountDetailsDto executeIdempotent(String idempotencyKey,
+                                                String fingerprint,
+                                                IdempotencyService.Operation operation) throws AmountExceedsBalanceException {
+        if (idempotencyKey == null) {
+            return operation.execute();
+        }
+        return idempotencyService.execute(idempotencyKey, fingerprint, operation);
     }
 
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    @ExceptionHandler(value = Exception.class)
-    public ErrorDto handleMissingParameterException(MissingServletRequestParameterException exception,
-                                                    HttpServletRequest request) {
-        return new ErrorDto(
-                HttpStatus.BAD_REQUEST.value(),
-                exception.getBody().getDetail(),
-                getPath(request));
+    private static Instant parseInstant(String parameterName, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException exception) {
+            throw new ValidationException("Invalid %s. Expected an ISO-8601 UTC time such as 2024-11-02T10:15:30Z".formatted(parameterName));
+        }
     }
 
-    private String getPath(HttpServletRequest request) {
-        return ServletUriComponentsBuilder.fromRequest(request)
-                .build().getPath();
+    private static String fingerprint(Object... requestValues) {
+        final var fingerprint = new StringJoiner(":");
+        for (var requestValue : requestValues) {
+            fingerprint.add(String.valueOf(requestValue));
+        }
+        return fingerprint.toString();
     }
 }
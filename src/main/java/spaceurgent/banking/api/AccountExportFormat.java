@@ -0,0 +1,115 @@
+package spaceurgent.banking.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Account;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+enum AccountExportFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON) {
+        @Override
+        AccountExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            final var sequenceWriter = objectMapper.writerFor(AccountDetailsDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream);
+            return new NdjsonExportWriter(sequenceWriter, outputStream);
+        }
+    },
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)) {
+        @Override
+        AccountExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            final var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            return new CsvExportWriter(writer);
+        }
+    };
+
+    static final String CSV_HEADER = "number,currency,balance\n";
+
+    private final String value;
+    private final MediaType mediaType;
+
+    AccountExportFormat(String value, MediaType mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    abstract AccountExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException;
+
+    static AccountExportFormat fromValue(String value) {
+        for (var format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Invalid export format. Supported formats are 'ndjson' and 'csv'");
+    }
+
+    /**
+     * One CSV row, shared by the servlet and reactive exports so both write the same format.
+     */
+    static String toCsvLine(AccountDetailsDto account) {
+        return account.number() + ',' + account.currency().name() + ',' + account.balance() + '\n';
+    }
+
+    interface AccountExportWriter {
+        void write(Account account) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonExportWriter implements AccountExportWriter {
+        private final SequenceWriter sequenceWriter;
+        private final OutputStream outputStream;
+        private boolean empty = true;
+
+        private NdjsonExportWriter(SequenceWriter sequenceWriter, OutputStream outputStream) {
+            this.sequenceWriter = sequenceWriter;
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(Account account) throws IOException {
+            sequenceWriter.write(AccountDetailsDto.from(account));
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequenceWriter.close();
+            if (!empty) {
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        }
+    }
+
+    private record CsvExportWriter(Writer writer) implements AccountExportWriter {
+        @Override
+        public void write(Account account) throws IOException {
+            writer.write(toCsvLine(AccountDetailsDto.from(account)));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
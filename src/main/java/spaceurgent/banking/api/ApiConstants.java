@@ -6,6 +6,21 @@ final class ApiConstants {
 
     final static String BALANCE_PARAMETER_NAME = "balance";
     final static String BALANCE_DEFAULT_VALUE = "0";
+    final static String CURRENCY_PARAMETER_NAME = "currency";
+    final static String CURRENCY_DEFAULT_VALUE = "UAH";
     final static String AMOUNT_PARAMETER_NAME = "amount";
     final static String TARGET_ACCOUNT_NUMBER_PARAMETER_NAME = "targetAccountNumber";
+    final static String AFTER_PARAMETER_NAME = "after";
+    final static String LIMIT_PARAMETER_NAME = "limit";
+    final static String LIMIT_DEFAULT_VALUE = "100";
+    final static String TOP_LIMIT_DEFAULT_VALUE = "10";
+    final static String MIN_BALANCE_PARAMETER_NAME = "minBalance";
+    final static String MAX_BALANCE_PARAMETER_NAME = "maxBalance";
+    final static String CREATED_FROM_PARAMETER_NAME = "createdFrom";
+    final static String CREATED_TO_PARAMETER_NAME = "createdTo";
+    final static String SORT_PARAMETER_NAME = "sort";
+    final static String SORT_DEFAULT_VALUE = "balance";
+    final static String FORMAT_PARAMETER_NAME = "format";
+    final static String FORMAT_DEFAULT_VALUE = "ndjson";
+    final static String IDEMPOTENCY_KEY_HEADER_NAME = "Idempotency-Key";
 }
@@ -0,0 +1,84 @@
+package spaceurgent.banking.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import spaceurgent.banking.dto.ErrorDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.IdempotencyKeyInProgressException;
+import spaceurgent.banking.exception.IdempotencyKeyMismatchException;
+import spaceurgent.banking.exception.TransferConflictException;
+import spaceurgent.banking.exception.TransferNotFoundException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+
+/**
+ * Maps exceptions of the servlet controllers to {@link ErrorDto} responses.
+ */
+@RestControllerAdvice
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ApiExceptionHandler {
+
+    private final BankingMetrics bankingMetrics;
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = {AmountExceedsBalanceException.class, ValidationException.class})
+    public ErrorDto handleBadRequestException(Exception exception,
+                                              HttpServletRequest request) {
+        bankingMetrics.countError(exception);
+        return new ErrorDto(HttpStatus.BAD_REQUEST.value(), exception.getMessage(), getPath(request));
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(value = {AccountNotFoundException.class, TransferNotFoundException.class})
+    public ErrorDto handleNotFoundException(Exception exception,
+                                            HttpServletRequest request) {
+        bankingMetrics.countError(exception);
+        return new ErrorDto(HttpStatus.NOT_FOUND.value(), exception.getMessage(), getPath(request));
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = {TransferConflictException.class, IdempotencyKeyInProgressException.class})
+    public ErrorDto handleTransferConflictException(Exception exception,
+                                                    HttpServletRequest request) {
+        return new ErrorDto(HttpStatus.CONFLICT.value(), exception.getMessage(), getPath(request));
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(value = IdempotencyKeyMismatchException.class)
+    public ErrorDto handleIdempotencyKeyMismatchException(Exception exception,
+                                                          HttpServletRequest request) {
+        return new ErrorDto(HttpStatus.UNPROCESSABLE_ENTITY.value(), exception.getMessage(), getPath(request));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = HttpMessageNotReadableException.class)
+    public ErrorDto handleMessageNotReadableException(Exception exception,
+                                                      HttpServletRequest request) {
+        return new ErrorDto(HttpStatus.BAD_REQUEST.value(), "Malformed request body", getPath(request));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = Exception.class)
+    public ErrorDto handleMissingParameterException(MissingServletRequestParameterException exception,
+                                                    HttpServletRequest request) {
+        return new ErrorDto(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getBody().getDetail(),
+                getPath(request));
+    }
+
+    private String getPath(HttpServletRequest request) {
+        return ServletUriComponentsBuilder.fromRequest(request)
+                .build().getPath();
+    }
+}
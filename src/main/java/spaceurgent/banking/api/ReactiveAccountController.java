@@ -0,0 +1,219 @@
+package spaceurgent.banking.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDetailsListDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.ErrorDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.ReactiveAccountService;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static spaceurgent.banking.api.ApiConstants.AFTER_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.AMOUNT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.BALANCE_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CURRENCY_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.CURRENCY_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.FORMAT_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.FORMAT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.IDEMPOTENCY_KEY_HEADER_NAME;
+import static spaceurgent.banking.api.ApiConstants.LIMIT_DEFAULT_VALUE;
+import static spaceurgent.banking.api.ApiConstants.LIMIT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.TARGET_ACCOUNT_NUMBER_PARAMETER_NAME;
+
+/**
+ * The account API of {@link AccountController} on WebFlux, active with the {@code reactive} profile. Idempotency keys
+ * and transfer batches are not supported.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+    private final ObjectMapper objectMapper;
+    private final BankingMetrics bankingMetrics;
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    public Mono<AccountDetailsDto> createAccount(@RequestParam(name = BALANCE_PARAMETER_NAME, defaultValue = BALANCE_DEFAULT_VALUE)
+                                                 Money balance,
+                                                 @RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                                 String currency) {
+        return accountService.createAccount(balance, Currency.fromValue(currency));
+    }
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/bulk")
+    public Mono<AccountDetailsListDto> createAccounts(@RequestBody List<Money> initialBalances,
+                                                      @RequestParam(name = CURRENCY_PARAMETER_NAME, defaultValue = CURRENCY_DEFAULT_VALUE)
+                                                      String currency) {
+        return accountService.createAccounts(initialBalances, Currency.fromValue(currency))
+                .collectList()
+                .map(AccountDetailsListDto::new);
+    }
+
+    /**
+     * Writes the same body as {@link AccountController#getAccounts}, one account at a time as rows arrive, instead of
+     * collecting the page first.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> getAccounts(@RequestParam(name = AFTER_PARAMETER_NAME, required = false) String after,
+                                        @RequestParam(name = LIMIT_PARAMETER_NAME, defaultValue = LIMIT_DEFAULT_VALUE) int limit) {
+        return Flux.defer(() -> {
+            final var page = new StreamedPage(limit);
+            return accountService.getAccounts(after, limit)
+                    .map(page::next)
+                    .concatWith(Mono.fromSupplier(page::end))
+                    .map(ReactiveAccountController::toDataBuffer);
+        });
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportAccounts(@RequestParam(name = FORMAT_PARAMETER_NAME, defaultValue = FORMAT_DEFAULT_VALUE)
+                                                           String format) {
+        final var exportFormat = AccountExportFormat.fromValue(format);
+        final var lines = switch (exportFormat) {
+            case NDJSON -> accountService.exportAccounts()
+                    .map(account -> toJson(account) + '\n');
+            case CSV -> accountService.exportAccounts()
+                    .map(AccountExportFormat::toCsvLine)
+                    .startWith(AccountExportFormat.CSV_HEADER);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(lines.map(ReactiveAccountController::toDataBuffer));
+    }
+
+    @GetMapping("/{accountNumber}")
+    public Mono<AccountDetailsDto> getAccount(@PathVariable String accountNumber) {
+        return accountService.getAccount(accountNumber);
+    }
+
+    @PostMapping("/{accountNumber}/deposit")
+    public Mono<AccountDetailsDto> depositToAccount(@PathVariable String accountNumber,
+                                                    @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                                    @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                                    String idempotencyKey) {
+        rejectIdempotencyKey(idempotencyKey);
+        return accountService.depositToAccount(accountNumber, amount);
+    }
+
+    @PostMapping("/{accountNumber}/withdraw")
+    public Mono<AccountDetailsDto> withdrawFromAccount(@PathVariable String accountNumber,
+                                                       @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                                       @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                                       String idempotencyKey) {
+        rejectIdempotencyKey(idempotencyKey);
+        return accountService.withdrawFromAccount(accountNumber, amount);
+    }
+
+    @PostMapping("/{sourceAccountNumber}/transfer")
+    public Mono<AccountDetailsDto> transferToAccount(@PathVariable String sourceAccountNumber,
+                                                     @RequestParam(name = TARGET_ACCOUNT_NUMBER_PARAMETER_NAME) String targetAccountNumber,
+                                                     @RequestParam(name = AMOUNT_PARAMETER_NAME) Money amount,
+                                                     @RequestHeader(name = IDEMPOTENCY_KEY_HEADER_NAME, required = false)
+                                                     String idempotencyKey) {
+        rejectIdempotencyKey(idempotencyKey);
+        return accountService.transferToAccount(new TransferRequestDto(sourceAccountNumber, targetAccountNumber, amount));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = {AmountExceedsBalanceException.class, ValidationException.class})
+    public ErrorDto handleBadRequestException(Exception exception,
+                                              ServerHttpRequest request) {
+        bankingMetrics.countError(exception);
+        return new ErrorDto(HttpStatus.BAD_REQUEST.value(), exception.getMessage(), request.getPath().value());
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(value = AccountNotFoundException.class)
+    public ErrorDto handleAccountNotFoundException(Exception exception,
+                                                   ServerHttpRequest request) {
+        bankingMetrics.countError(exception);
+        return new ErrorDto(HttpStatus.NOT_FOUND.value(), exception.getMessage(), request.getPath().value());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = ServerWebInputException.class)
+    public ErrorDto handleServerWebInputException(ServerWebInputException exception,
+                                                  ServerHttpRequest request) {
+        return new ErrorDto(HttpStatus.BAD_REQUEST.value(), exception.getBody().getDetail(), request.getPath().value());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static DataBuffer toDataBuffer(String text) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void rejectIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null) {
+            throw new ValidationException("Idempotency-Key is not supported by the reactive API");
+        }
+    }
+
+    /**
+     * Builds {@code {"data":[...],"nextCursor":...}} element by element, with the cursor rules of
+     * {@link spaceurgent.banking.dto.AccountsDto#page}.
+     */
+    private final class StreamedPage {
+        private final int limit;
+        private int count;
+        private String lastNumber;
+
+        private StreamedPage(int limit) {
+            this.limit = limit;
+        }
+
+        private String next(AccountDto account) {
+            final var separator = count++ == 0 ? "{\"data\":[" : ",";
+            lastNumber = account.number();
+            return separator + toJson(account);
+        }
+
+        private String end() {
+            final var nextCursor = count > 0 && count >= limit ? toJson(lastNumber) : "null";
+            return (count == 0 ? "{\"data\":[" : "") + "],\"nextCursor\":" + nextCursor + "}";
+        }
+    }
+}
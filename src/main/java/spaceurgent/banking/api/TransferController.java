@@ -0,0 +1,44 @@
+package spaceurgent.banking.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import spaceurgent.banking.dto.TransferDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.service.TransferService;
+
+/**
+ * Asynchronous transfers: a submitted transfer is accepted as pending and its outcome is polled by id.
+ */
+@RestController
+@Profile("!ledger & !reactive")
+@RequestMapping("/api/transfers")
+@RequiredArgsConstructor
+public class TransferController {
+
+    private final TransferService transferService;
+
+    @PostMapping
+    public ResponseEntity<TransferDto> submitTransfer(@RequestBody TransferRequestDto transferRequest) {
+        final var transfer = TransferDto.from(transferService.submitTransfer(transferRequest));
+        final var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(transfer.id())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(transfer);
+    }
+
+    @GetMapping("/{id}")
+    public TransferDto getTransfer(@PathVariable long id) {
+        return TransferDto.from(transferService.getTransfer(id));
+    }
+}
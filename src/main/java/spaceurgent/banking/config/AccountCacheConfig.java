@@ -0,0 +1,64 @@
+package spaceurgent.banking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import spaceurgent.banking.model.Account;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache regions of {@link Account}: entities by id and ids by account number. Both are bounded Caffeine
+ * caches recording statistics, published as {@code cache.*} metrics tagged with the region name.
+ */
+@Configuration
+public class AccountCacheConfig {
+    private static final List<String> ACCOUNT_CACHE_REGIONS = List.of(Account.CACHE_REGION, Account.NATURAL_ID_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager accountCacheManager(@Value("${banking.account-cache.maximum-size:100000}") long maximumSize,
+                                            @Value("${banking.account-cache.ttl-seconds:600}") long ttlSeconds) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size can't be less than 0");
+        }
+        if (ttlSeconds < 1) {
+            throw new IllegalArgumentException("TTL must be greater than 0");
+        }
+        // The provider's default manager is shared JVM-wide, so each application context gets its own
+        final var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("banking-account-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        final var configuration = new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                .setStoreByValue(false)
+                .setNativeStatisticsEnabled(true);
+        ACCOUNT_CACHE_REGIONS.forEach(region -> cacheManager.createCache(region, configuration));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer accountCacheHibernatePropertiesCustomizer(CacheManager accountCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, accountCacheManager);
+    }
+
+    @Bean
+    public MeterBinder accountCacheMetrics(CacheManager accountCacheManager) {
+        return meterRegistry -> ACCOUNT_CACHE_REGIONS.forEach(region -> CaffeineCacheMetrics.monitor(
+                meterRegistry,
+                accountCacheManager.getCache(region).unwrap(com.github.benmanes.caffeine.cache.Cache.class),
+                region
+        ));
+    }
+}
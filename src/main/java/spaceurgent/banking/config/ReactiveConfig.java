@@ -0,0 +1,69 @@
+package spaceurgent.banking.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Infrastructure of the {@code reactive} profile: Netty as the web server and an R2DBC connection pool to the same
+ * database JPA uses, with the same credentials.
+ * <p>
+ * The pool is deliberately not a bean. A {@code ConnectionFactory} bean switches off the JDBC {@code DataSource}
+ * auto-configuration, and a second transaction manager bean would switch off the JPA one; both are still needed for
+ * the schema, account number blocks and the other services.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig implements DisposableBean {
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(@Value("${banking.reactive.r2dbc-url}") String r2dbcUrl,
+                          @Value("${spring.datasource.username:sa}") String username,
+                          @Value("${spring.datasource.password:}") String password,
+                          @Value("${banking.reactive.pool-size:10}") int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be greater than 0");
+        }
+        final var connectionFactoryOptions = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(connectionFactoryOptions))
+                .initialSize(Math.min(poolSize, 2))
+                .maxSize(poolSize)
+                .build());
+    }
+
+    /**
+     * Tomcat is on the classpath too and would otherwise be picked to run the reactive application.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
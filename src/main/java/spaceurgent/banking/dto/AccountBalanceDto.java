@@ -0,0 +1,28 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+public record AccountBalanceDto(String number,
+                                Currency currency,
+                                Money balance,
+                                Instant createdAt) {
+    public AccountBalanceDto {
+        requireNonNull(number, "Number is required");
+        requireNonNull(currency, "Currency is required");
+        requireNonNull(balance, "Balance is required");
+        requireNonNull(createdAt, "Creation time is required");
+    }
+
+    /**
+     * Row of the {@code accounts} table, with the number in its stored form.
+     */
+    public static AccountBalanceDto fromRow(long numberKey, String currency, long balance, Instant createdAt) {
+        return new AccountBalanceDto(AccountNumberCodec.fromKey(numberKey), Currency.valueOf(currency), Money.ofMinorUnits(balance), createdAt);
+    }
+}
@@ -0,0 +1,21 @@
+package spaceurgent.banking.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public record AccountBalancesDto(List<AccountBalanceDto> data, String nextCursor) {
+    public AccountBalancesDto {
+        Objects.requireNonNull(data, "Account balance dto list is required");
+    }
+
+    /**
+     * Wraps a keyset page of search results. A full page gets a cursor after its last account, a shorter page is the
+     * last one and has no cursor.
+     */
+    public static AccountBalancesDto page(List<AccountBalanceDto> accounts, AccountSearchRequestDto searchRequest) {
+        final var nextCursor = !accounts.isEmpty() && accounts.size() >= searchRequest.limit()
+                ? AccountSearchCursor.after(accounts.get(accounts.size() - 1), searchRequest.order()).toString()
+                : null;
+        return new AccountBalancesDto(accounts, nextCursor);
+    }
+}
@@ -2,14 +2,13 @@ package spaceurgent.banking.dto;
 
 import spaceurgent.banking.model.Account;
 import spaceurgent.banking.model.Currency;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 import static java.util.Objects.requireNonNull;
 
 public record AccountDetailsDto(String number,
                                 Currency currency,
-                                BigDecimal balance) {
+                                Money balance) {
     public AccountDetailsDto {
         requireNonNull(number, "Number is required");
         requireNonNull(currency, "Currency is required");
@@ -0,0 +1,16 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Account;
+
+import java.util.List;
+import java.util.Objects;
+
+public record AccountDetailsListDto(List<AccountDetailsDto> data) {
+    public AccountDetailsListDto {
+        Objects.requireNonNull(data, "Account details dto list is required");
+    }
+
+    public static AccountDetailsListDto from(List<Account> accounts) {
+        return new AccountDetailsListDto(accounts.stream().map(AccountDetailsDto::from).toList());
+    }
+}
@@ -0,0 +1,40 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Position after the last account of a search page: its sort key, see {@link AccountSearchOrder}, and number.
+ * Written as {@code sortKey_number}.
+ */
+public record AccountSearchCursor(long sortKey, String accountNumber) {
+    private static final char SEPARATOR = '_';
+
+    public AccountSearchCursor {
+        requireNonNull(accountNumber, "Account number is required");
+    }
+
+    public static AccountSearchCursor after(AccountBalanceDto account, AccountSearchOrder order) {
+        return new AccountSearchCursor(order.sortKeyOf(account), account.number());
+    }
+
+    public static AccountSearchCursor parse(String value) {
+        requireNonNull(value, "Cursor is required");
+        final var separator = value.indexOf(SEPARATOR);
+        if (separator > 0 && AccountNumberCodec.isValid(value.substring(separator + 1))) {
+            try {
+                return new AccountSearchCursor(Long.parseLong(value, 0, separator, 10), value.substring(separator + 1));
+            } catch (NumberFormatException exception) {
+                // Reported below
+            }
+        }
+        throw new ValidationException("Invalid cursor. Pass the nextCursor of the previous page");
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sortKey) + SEPARATOR + accountNumber;
+    }
+}
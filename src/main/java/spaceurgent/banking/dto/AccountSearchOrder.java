@@ -0,0 +1,42 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.exception.ValidationException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Order of account search results, always descending with the account number breaking ties. The sort key of an
+ * account is its balance in minor units or its creation time in microseconds since the epoch.
+ */
+public enum AccountSearchOrder {
+    BALANCE("balance") {
+        @Override
+        public long sortKeyOf(AccountBalanceDto account) {
+            return account.balance().minorUnits();
+        }
+    },
+    CREATED_AT("createdAt") {
+        @Override
+        public long sortKeyOf(AccountBalanceDto account) {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, account.createdAt());
+        }
+    };
+
+    private final String value;
+
+    AccountSearchOrder(String value) {
+        this.value = value;
+    }
+
+    public abstract long sortKeyOf(AccountBalanceDto account);
+
+    public static AccountSearchOrder fromValue(String value) {
+        for (var order : values()) {
+            if (order.value.equalsIgnoreCase(value)) {
+                return order;
+            }
+        }
+        throw new ValidationException("Invalid sort. Supported values are 'balance' and 'createdAt'");
+    }
+}
@@ -0,0 +1,34 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Accounts of one currency, optionally with a balance between {@code minBalance} and {@code maxBalance}, both
+ * inclusive, and created from {@code createdFrom}, inclusive, to {@code createdTo}, exclusive. {@code after} is the
+ * cursor of the previous page, null for the first one.
+ */
+public record AccountSearchRequestDto(Currency currency,
+                                      Money minBalance,
+                                      Money maxBalance,
+                                      Instant createdFrom,
+                                      Instant createdTo,
+                                      AccountSearchOrder order,
+                                      String after,
+                                      int limit) {
+    public AccountSearchRequestDto {
+        requireNonNull(currency, "Currency is required");
+        requireNonNull(order, "Order is required");
+    }
+
+    /**
+     * The {@code limit} largest balances of the currency.
+     */
+    public static AccountSearchRequestDto topBalances(Currency currency, int limit) {
+        return new AccountSearchRequestDto(currency, null, null, null, null, AccountSearchOrder.BALANCE, null, limit);
+    }
+}
@@ -0,0 +1,16 @@
+package spaceurgent.banking.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Account count and balances per currency. {@code checkedAt} is when the figures were last recomputed from the
+ * accounts, null before the first recompute has finished.
+ */
+public record AccountStatisticsDto(long accounts, List<CurrencyStatisticsDto> currencies, Instant checkedAt) {
+    public AccountStatisticsDto {
+        requireNonNull(currencies, "Currency statistics are required");
+    }
+}
@@ -1,16 +1,21 @@
 package spaceurgent.banking.dto;
 
-import spaceurgent.banking.model.Account;
-
 import java.util.List;
 import java.util.Objects;
 
-public record AccountsDto(List<AccountDto> data) {
+public record AccountsDto(List<AccountDto> data, String nextCursor) {
     public AccountsDto {
         Objects.requireNonNull(data, "Account dto list is required");
     }
 
-    public static AccountsDto from(List<Account> accounts) {
-        return new AccountsDto(accounts.stream().map(AccountDto::from).toList());
+    /**
+     * Wraps a keyset page. A full page gets the last account number as the cursor for the next one,
+     * a shorter page is the last one and has no cursor.
+     */
+    public static AccountsDto page(List<AccountDto> accounts, int limit) {
+        final var nextCursor = !accounts.isEmpty() && accounts.size() >= limit
+                ? accounts.get(accounts.size() - 1).number()
+                : null;
+        return new AccountsDto(accounts, nextCursor);
     }
 }
@@ -0,0 +1,14 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Money;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Accounts with a balance from {@code from} up to, not including, {@code to}. The last bucket has no upper bound.
+ */
+public record BalanceBucketDto(Money from, Money to, long accounts) {
+    public BalanceBucketDto {
+        requireNonNull(from, "Lower bound is required");
+    }
+}
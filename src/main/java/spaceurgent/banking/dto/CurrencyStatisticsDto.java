@@ -0,0 +1,25 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Balances of the accounts in one currency. Minimum and maximum are null while there are no accounts, the histogram
+ * lists only buckets that have accounts.
+ */
+public record CurrencyStatisticsDto(Currency currency,
+                                    long accounts,
+                                    Money totalBalance,
+                                    Money minBalance,
+                                    Money maxBalance,
+                                    List<BalanceBucketDto> histogram) {
+    public CurrencyStatisticsDto {
+        requireNonNull(currency, "Currency is required");
+        requireNonNull(totalBalance, "Total balance is required");
+        requireNonNull(histogram, "Histogram is required");
+    }
+}
@@ -0,0 +1,33 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.model.Transfer;
+import spaceurgent.banking.model.TransferStatus;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+public record TransferDto(long id,
+                          String sourceAccountNumber,
+                          String targetAccountNumber,
+                          Money amount,
+                          TransferStatus status,
+                          String failureReason,
+                          Instant createdAt,
+                          Instant processedAt) {
+
+    public static TransferDto from(Transfer transfer) {
+        requireNonNull(transfer, "Transfer is required");
+        return new TransferDto(
+                transfer.getId(),
+                transfer.getSourceAccountNumber(),
+                transfer.getTargetAccountNumber(),
+                transfer.getAmount(),
+                transfer.getStatus(),
+                transfer.getFailureReason(),
+                transfer.getCreatedAt(),
+                transfer.getProcessedAt()
+        );
+    }
+}
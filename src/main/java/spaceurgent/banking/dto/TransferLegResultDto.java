@@ -0,0 +1,19 @@
+package spaceurgent.banking.dto;
+
+import spaceurgent.banking.model.Money;
+
+import static java.util.Objects.requireNonNull;
+
+public record TransferLegResultDto(String sourceAccountNumber,
+                                   String targetAccountNumber,
+                                   Money amount,
+                                   Money sourceBalance,
+                                   Money targetBalance) {
+    public TransferLegResultDto {
+        requireNonNull(sourceAccountNumber, "Source account number is required");
+        requireNonNull(targetAccountNumber, "Target account number is required");
+        requireNonNull(amount, "Amount is required");
+        requireNonNull(sourceBalance, "Source balance is required");
+        requireNonNull(targetBalance, "Target balance is required");
+    }
+}
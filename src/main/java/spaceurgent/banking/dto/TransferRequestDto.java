@@ -1,8 +1,7 @@
 package spaceurgent.banking.dto;
 
 import lombok.Data;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 import static java.util.Objects.requireNonNull;
 
@@ -10,11 +9,11 @@ import static java.util.Objects.requireNonNull;
 public class TransferRequestDto {
     private String sourceAccountNumber;
     private String targetAccountNumber;
-    private BigDecimal amount;
+    private Money amount;
 
     public TransferRequestDto(String sourceAccountNumber,
                               String targetAccountNumber,
-                              BigDecimal amount) {
+                              Money amount) {
         this.sourceAccountNumber = requireNonNull(sourceAccountNumber, "Source account number is required");
         this.targetAccountNumber = requireNonNull(targetAccountNumber, "Target account number is required");
         this.amount = requireNonNull(amount, "Amount is required");
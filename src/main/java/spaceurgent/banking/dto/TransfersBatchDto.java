@@ -0,0 +1,10 @@
+package spaceurgent.banking.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TransfersBatchDto(List<TransferLegResultDto> data) {
+    public TransfersBatchDto {
+        Objects.requireNonNull(data, "Transfer leg result list is required");
+    }
+}
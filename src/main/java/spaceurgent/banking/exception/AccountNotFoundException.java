@@ -4,4 +4,8 @@ public class AccountNotFoundException extends RuntimeException {
     public AccountNotFoundException(String message) {
         super(message);
     }
+
+    public static AccountNotFoundException withNumber(String accountNumber) {
+        return new AccountNotFoundException("Account with number '%s' not found".formatted(accountNumber));
+    }
 }
@@ -0,0 +1,7 @@
+package spaceurgent.banking.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package spaceurgent.banking.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
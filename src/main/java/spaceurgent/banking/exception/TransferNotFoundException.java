@@ -0,0 +1,11 @@
+package spaceurgent.banking.exception;
+
+public class TransferNotFoundException extends RuntimeException {
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+
+    public static TransferNotFoundException withId(long id) {
+        return new TransferNotFoundException("Transfer with id '%d' not found".formatted(id));
+    }
+}
@@ -0,0 +1,25 @@
+package spaceurgent.banking.exception;
+
+/**
+ * A pending transfer failed with an unexpected error while its batch was applied, rolling the batch back.
+ */
+public class TransferProcessingException extends RuntimeException {
+    private final long transferId;
+
+    public TransferProcessingException(long transferId, Throwable cause) {
+        super("Transfer %d failed".formatted(transferId), cause);
+        this.transferId = transferId;
+    }
+
+    public long getTransferId() {
+        return transferId;
+    }
+
+    /**
+     * Message of the error, or its type if it has none.
+     */
+    public String getReason() {
+        final var message = getCause().getMessage();
+        return message != null ? message : getCause().getClass().getSimpleName();
+    }
+}
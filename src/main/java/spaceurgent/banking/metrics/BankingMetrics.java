@@ -0,0 +1,85 @@
+package spaceurgent.banking.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Account operation metrics: {@value #OPERATION_TIMER} timers per operation and phase, and {@value #ERROR_COUNTER}
+ * counters per exception type. Meters are registered up front, so they are exported before the first occurrence.
+ */
+@Component
+public class BankingMetrics {
+    public static final String OPERATION_TIMER = "banking.operation";
+    public static final String ERROR_COUNTER = "banking.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[][] operationTimers = new Timer[Operation.values().length][Phase.values().length];
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public BankingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = requireNonNull(meterRegistry, "Meter registry is required");
+        for (var operation : Operation.values()) {
+            for (var phase : Phase.values()) {
+                operationTimers[operation.ordinal()][phase.ordinal()] = Timer.builder(OPERATION_TIMER)
+                        .description("Time spent in a phase of an account operation")
+                        .tag("operation", operation.tagValue())
+                        .tag("phase", phase.tagValue())
+                        .register(meterRegistry);
+            }
+        }
+        errorCounter(AmountExceedsBalanceException.class);
+        errorCounter(ValidationException.class);
+        errorCounter(AccountNotFoundException.class);
+    }
+
+    public OperationTimer startOperation(Operation operation) {
+        return new OperationTimer(operationTimers[operation.ordinal()], meterRegistry.config().clock());
+    }
+
+    public void countError(Exception exception) {
+        errorCounter(exception.getClass()).increment();
+    }
+
+    private Counter errorCounter(Class<?> exceptionType) {
+        return errorCounters.computeIfAbsent(exceptionType, type -> Counter.builder(ERROR_COUNTER)
+                .description("Requests rejected with an exception")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry));
+    }
+
+    public enum Operation {
+        CREATE,
+        GET,
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Validation covers request checks, lookup reading accounts, persistence changing them up to the commit.
+     */
+    public enum Phase {
+        VALIDATION,
+        LOOKUP,
+        PERSISTENCE;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package spaceurgent.banking.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times consecutive phases of one operation: each lap records the time since the previous lap, or since the start.
+ * Not thread-safe.
+ */
+public class OperationTimer {
+    private final Timer[] phaseTimers;
+    private final Clock clock;
+    private long lapStartNanos;
+
+    OperationTimer(Timer[] phaseTimers, Clock clock) {
+        this.phaseTimers = phaseTimers;
+        this.clock = clock;
+        this.lapStartNanos = clock.monotonicTime();
+    }
+
+    public void lap(BankingMetrics.Phase phase) {
+        final var now = clock.monotonicTime();
+        record(phase, now);
+        lapStartNanos = now;
+    }
+
+    /**
+     * Records the phase when the current transaction completes, so that flush and commit are included.
+     * Without an active transaction it is the same as {@link #lap}.
+     */
+    public void lapOnCompletion(BankingMetrics.Phase phase) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lap(phase);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                record(phase, clock.monotonicTime());
+            }
+        });
+    }
+
+    private void record(BankingMetrics.Phase phase, long now) {
+        phaseTimers[phase.ordinal()].record(now - lapStartNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,6 +1,8 @@
 package spaceurgent.banking.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -8,76 +10,119 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
-import spaceurgent.banking.utils.AmountUtils;
+import spaceurgent.banking.utils.AccountNumberCodec;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 
 import static java.util.Objects.requireNonNull;
-import static spaceurgent.banking.utils.AmountUtils.isNegativeOrZero;
-import static spaceurgent.banking.utils.AmountUtils.round;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
+@NaturalIdCache(region = Account.NATURAL_ID_CACHE_REGION)
 @Table(
         name = "accounts",
-        indexes = @Index(columnList = "number")
+        indexes = {
+                @Index(columnList = "number"),
+                @Index(name = Account.BALANCE_INDEX, columnList = "currency, balance DESC, number DESC"),
+                @Index(name = Account.CREATED_AT_INDEX, columnList = "currency, createdAt DESC, number DESC")
+        }
 )
 @Getter(value = AccessLevel.PUBLIC)
 @Setter(value = AccessLevel.PROTECTED)
 @EqualsAndHashCode
 @ToString
 public class Account {
+    public static final String CACHE_REGION = "accounts";
+    public static final String NATURAL_ID_CACHE_REGION = "account-numbers";
+    /**
+     * Serves searches by balance and the largest balances of a currency in index order, see
+     * {@link spaceurgent.banking.repository.AccountSearchRepository}.
+     */
+    public static final String BALANCE_INDEX = "accounts_currency_balance_idx";
+    /**
+     * Serves searches by creation time in index order.
+     */
+    public static final String CREATED_AT_INDEX = "accounts_currency_created_at_idx";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_number_sequence_generator")
+    @SequenceGenerator(name = "account_number_sequence_generator", allocationSize = 50)
     private Long id;
+    @NaturalId
+    @Convert(converter = AccountNumberConverter.class)
     @Column(nullable = false, unique = true)
     private String number;
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private Currency currency = Currency.UAH;
+    private Currency currency;
     @Column(nullable = false)
-    private BigDecimal balance;
+    private Money balance;
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+    @Version
+    private Long version;
 
     protected Account() {
     }
 
-    public Account(String accountNumber, BigDecimal initialBalance) {
+    public Account(String accountNumber, Money initialBalance) {
         requireNonNull(accountNumber, "Account number is required");
         requireNonNull(initialBalance, "Initial balance is required");
-        if (AmountUtils.isNegative(initialBalance)) {
+        if (initialBalance.isNegative()) {
             throw new IllegalArgumentException("Initial balance can't be less than 0");
         }
         this.number = accountNumber;
-        this.balance = round(initialBalance);
+        this.currency = AccountNumberCodec.currencyOf(accountNumber);
+        this.balance = initialBalance;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Detached copy of the account with another balance, such as its balance right after one of several deposits
+     * written together.
+     */
+    public Account withBalance(Money balance) {
+        final var account = new Account();
+        account.id = id;
+        account.number = number;
+        account.currency = currency;
+        account.balance = requireNonNull(balance, "Balance is required");
+        account.createdAt = createdAt;
+        account.version = version;
+        return account;
     }
 
-    public void deposit(BigDecimal amount) {
+    public void deposit(Money amount) {
         validateTransferAmount(amount);
-        this.balance = round(this.balance.add(amount));
+        this.balance = this.balance.plus(amount);
     }
 
-    public void withdraw(BigDecimal amount) throws AmountExceedsBalanceException {
+    public void withdraw(Money amount) throws AmountExceedsBalanceException {
         validateTransferAmount(amount);
-        if (balanceLessThan(amount)) {
+        if (this.balance.isLessThan(amount)) {
             throw new AmountExceedsBalanceException("Withdraw amount exceeds balance");
         }
-        this.balance = round(this.balance.subtract(amount));
+        this.balance = this.balance.minus(amount);
     }
 
-    private void validateTransferAmount(BigDecimal amount) {
+    private void validateTransferAmount(Money amount) {
         requireNonNull(amount, "Amount is required");
-        if (isNegativeOrZero(amount)) {
+        if (amount.isNegativeOrZero()) {
             throw new IllegalArgumentException("Transfer amount must be greater than 0");
         }
     }
-
-    private boolean balanceLessThan(BigDecimal amount) {
-        return this.balance.compareTo(amount) < 0;
-    }
 }
@@ -0,0 +1,67 @@
+package spaceurgent.banking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One of the sub-balances credits to a hot account are spread over. The account's balance is its own balance plus
+ * the balances of all its slots. Slots belong to the account id, so they never carry over to an account that reuses
+ * a number.
+ */
+@Entity
+@Table(
+        name = "account_balance_slots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "slot"})
+)
+@Getter(value = AccessLevel.PUBLIC)
+@Setter(value = AccessLevel.PROTECTED)
+@EqualsAndHashCode
+@ToString
+public class AccountBalanceSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_balance_slot_sequence_generator")
+    @SequenceGenerator(name = "account_balance_slot_sequence_generator", allocationSize = 50)
+    private Long id;
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    @Column(nullable = false)
+    private int slot;
+    @Column(nullable = false)
+    private Money balance;
+
+    protected AccountBalanceSlot() {
+    }
+
+    public AccountBalanceSlot(long accountId, int slot) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Slot can't be negative");
+        }
+        this.accountId = accountId;
+        this.slot = slot;
+        this.balance = Money.ZERO;
+    }
+
+    /**
+     * Empties the slot.
+     *
+     * @return the balance the slot had
+     */
+    public Money drain() {
+        final var drained = requireNonNull(balance);
+        this.balance = Money.ZERO;
+        return drained;
+    }
+}
@@ -0,0 +1,22 @@
+package spaceurgent.banking.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+/**
+ * Stores account numbers in their numeric form.
+ */
+@Converter
+public class AccountNumberConverter implements AttributeConverter<String, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(String accountNumber) {
+        return accountNumber == null ? null : AccountNumberCodec.toKey(accountNumber);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long key) {
+        return key == null ? null : AccountNumberCodec.fromKey(key);
+    }
+}
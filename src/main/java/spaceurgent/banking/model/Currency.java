@@ -1,5 +1,49 @@
 package spaceurgent.banking.model;
 
+import spaceurgent.banking.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Account currencies. Each has its own account number prefix, so the currency of an account follows from its number.
+ * Amounts in every currency have {@value spaceurgent.banking.Constants#DEFAULT_AMOUNT_SCALE} fraction digits.
+ */
 public enum Currency {
-    UAH;
+    UAH(2600),
+    USD(2601),
+    EUR(2602);
+
+    private final int accountNumberPrefix;
+
+    Currency(int accountNumberPrefix) {
+        this.accountNumberPrefix = accountNumberPrefix;
+    }
+
+    public int getAccountNumberPrefix() {
+        return accountNumberPrefix;
+    }
+
+    /**
+     * The currency whose account numbers start with the prefix, {@code null} if there is none.
+     */
+    public static Currency ofAccountNumberPrefix(long prefix) {
+        for (var currency : values()) {
+            if (currency.accountNumberPrefix == prefix) {
+                return currency;
+            }
+        }
+        return null;
+    }
+
+    public static Currency fromValue(String value) {
+        for (var currency : values()) {
+            if (currency.name().equalsIgnoreCase(value)) {
+                return currency;
+            }
+        }
+        throw new ValidationException("Invalid currency. Supported currencies are " + Arrays.stream(values())
+                .map(Currency::name)
+                .collect(Collectors.joining(", ")));
+    }
 }
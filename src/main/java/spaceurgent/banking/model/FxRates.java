@@ -0,0 +1,79 @@
+package spaceurgent.banking.model;
+
+import spaceurgent.banking.exception.ValidationException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+import static spaceurgent.banking.Constants.DEFAULT_AMOUNT_SCALE;
+
+/**
+ * Immutable snapshot of exchange rates, given as the value of one unit of every {@link Currency} in a common unit.
+ * Conversions multiply by the source value before dividing by the target value, so an exact result is never lost to
+ * a rounded cross rate.
+ */
+public final class FxRates {
+    private final Map<Currency, BigDecimal> unitValues;
+    private final Instant loadedAt;
+
+    public FxRates(Map<Currency, BigDecimal> unitValues, Instant loadedAt) {
+        requireNonNull(unitValues, "Unit values are required");
+        this.loadedAt = requireNonNull(loadedAt, "Load time is required");
+        this.unitValues = new EnumMap<>(Currency.class);
+        for (var currency : Currency.values()) {
+            final var unitValue = unitValues.get(currency);
+            if (unitValue == null || unitValue.signum() <= 0) {
+                throw new IllegalArgumentException("Rate of %s is missing or not positive".formatted(currency));
+            }
+            this.unitValues.put(currency, unitValue);
+        }
+    }
+
+    /**
+     * Units of {@code to} for one unit of {@code from}.
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        if (from == to) {
+            return BigDecimal.ONE;
+        }
+        return unitValues.get(from).divide(unitValues.get(to), MathContext.DECIMAL128);
+    }
+
+    /**
+     * Converts the amount, rounding down to the amount scale.
+     *
+     * @throws ValidationException if a positive amount converts to nothing
+     */
+    public Money convert(Money amount, Currency from, Currency to) {
+        if (from == to) {
+            return amount;
+        }
+        final var converted = Money.of(amount.toBigDecimal()
+                .multiply(unitValues.get(from))
+                .divide(unitValues.get(to), DEFAULT_AMOUNT_SCALE, RoundingMode.FLOOR));
+        if (converted.isNegativeOrZero() && !amount.isNegativeOrZero()) {
+            throw new ValidationException("Amount %s %s is too small to convert to %s".formatted(amount, from, to));
+        }
+        return converted;
+    }
+
+    public Map<Currency, BigDecimal> getUnitValues() {
+        return Map.copyOf(unitValues);
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Same unit values, regardless of when they were loaded.
+     */
+    public boolean hasSameRates(FxRates other) {
+        return unitValues.equals(other.unitValues);
+    }
+}
@@ -0,0 +1,68 @@
+package spaceurgent.banking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import spaceurgent.banking.dto.AccountDetailsDto;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Outcome of a request sent with an idempotency key. The record is claimed before the request runs and holds the
+ * resulting account details once it succeeded; a claim without a result means the request is still running
+ * or was interrupted. {@code createdAt} is when the current claim was made, a claim taken over renews it.
+ */
+@Entity
+@Table(name = "idempotency_records")
+@Getter(value = AccessLevel.PUBLIC)
+@Setter(value = AccessLevel.PROTECTED)
+@EqualsAndHashCode
+@ToString
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+    @Column(nullable = false)
+    private String fingerprint;
+    private String accountNumber;
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+    private Money balance;
+    @Column(nullable = false)
+    private Instant createdAt;
+    @Version
+    private Long version;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint) {
+        requireNonNull(key, "Key is required");
+        requireNonNull(fingerprint, "Fingerprint is required");
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.createdAt = Instant.now();
+    }
+
+    public boolean isCompleted() {
+        return accountNumber != null;
+    }
+
+    public AccountDetailsDto toAccountDetailsDto() {
+        if (!isCompleted()) {
+            throw new IllegalStateException("Idempotency record has no result");
+        }
+        return new AccountDetailsDto(accountNumber, currency, balance);
+    }
+}
@@ -0,0 +1,115 @@
+package spaceurgent.banking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Append-only record of a balance movement. Every operation writes one {@link JournalEntryType#DEBIT} and one
+ * {@link JournalEntryType#CREDIT} entry sharing an operation id. Amounts are in the currency of the entry's account, so
+ * they are the same on both entries unless a transfer converted between currencies. Cash deposited or withdrawn
+ * is booked against {@value #EXTERNAL_ACCOUNT_NUMBER}, which has no balance.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "journal_entries",
+        indexes = {
+                @Index(columnList = "accountNumber, id"),
+                @Index(columnList = "operationId")
+        }
+)
+@Getter(value = AccessLevel.PUBLIC)
+@Setter(value = AccessLevel.PROTECTED)
+@EqualsAndHashCode
+@ToString
+public class JournalEntry {
+    public static final String EXTERNAL_ACCOUNT_NUMBER = "EXTERNAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_sequence_generator")
+    @SequenceGenerator(name = "journal_entry_sequence_generator", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private UUID operationId;
+    @Column(nullable = false)
+    private String accountNumber;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JournalEntryType type;
+    @Column(nullable = false)
+    private Money amount;
+    private Money balanceAfter;
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    protected JournalEntry() {
+    }
+
+    public JournalEntry(UUID operationId,
+                        String accountNumber,
+                        JournalEntryType type,
+                        Money amount,
+                        Money balanceAfter,
+                        Instant createdAt) {
+        this.operationId = requireNonNull(operationId, "Operation id is required");
+        this.accountNumber = requireNonNull(accountNumber, "Account number is required");
+        this.type = requireNonNull(type, "Entry type is required");
+        this.amount = requireNonNull(amount, "Amount is required");
+        this.balanceAfter = balanceAfter;
+        this.createdAt = requireNonNull(createdAt, "Creation time is required");
+    }
+
+    public static List<JournalEntry> transfer(String sourceAccountNumber,
+                                              Money sourceBalanceAfter,
+                                              String targetAccountNumber,
+                                              Money targetBalanceAfter,
+                                              Money amount) {
+        return transfer(sourceAccountNumber, sourceBalanceAfter, targetAccountNumber, targetBalanceAfter, amount, amount);
+    }
+
+    /**
+     * Transfer debiting {@code debitAmount} in the source currency and crediting {@code creditAmount} in the target
+     * currency.
+     */
+    public static List<JournalEntry> transfer(String sourceAccountNumber,
+                                              Money sourceBalanceAfter,
+                                              String targetAccountNumber,
+                                              Money targetBalanceAfter,
+                                              Money debitAmount,
+                                              Money creditAmount) {
+        final var operationId = UUID.randomUUID();
+        final var createdAt = Instant.now();
+        return List.of(
+                new JournalEntry(operationId, sourceAccountNumber, JournalEntryType.DEBIT, debitAmount, sourceBalanceAfter, createdAt),
+                new JournalEntry(operationId, targetAccountNumber, JournalEntryType.CREDIT, creditAmount, targetBalanceAfter, createdAt)
+        );
+    }
+
+    public static List<JournalEntry> deposit(String accountNumber, Money balanceAfter, Money amount) {
+        return transfer(EXTERNAL_ACCOUNT_NUMBER, null, accountNumber, balanceAfter, amount);
+    }
+
+    public static List<JournalEntry> withdrawal(String accountNumber, Money balanceAfter, Money amount) {
+        return transfer(accountNumber, balanceAfter, EXTERNAL_ACCOUNT_NUMBER, null, amount);
+    }
+}
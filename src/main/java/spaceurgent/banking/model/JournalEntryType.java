@@ -0,0 +1,6 @@
+package spaceurgent.banking.model;
+
+public enum JournalEntryType {
+    DEBIT,
+    CREDIT;
+}
@@ -0,0 +1,94 @@
+package spaceurgent.banking.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static java.util.Objects.requireNonNull;
+import static spaceurgent.banking.Constants.DEFAULT_AMOUNT_SCALE;
+
+/**
+ * Immutable amount of money stored as a {@code long} count of minor units (kopiykas). Amounts parsed from
+ * decimals are truncated towards negative infinity to the minor unit, arithmetic fails on overflow instead
+ * of wrapping. Serialized to JSON as a decimal number with {@value spaceurgent.banking.Constants#DEFAULT_AMOUNT_SCALE}
+ * fraction digits.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        requireNonNull(amount, "Amount is required");
+        try {
+            return ofMinorUnits(amount.setScale(DEFAULT_AMOUNT_SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact());
+        } catch (ArithmeticException exception) {
+            throw new IllegalArgumentException("Amount %s is out of range".formatted(amount.toPlainString()));
+        }
+    }
+
+    public static Money valueOf(String amount) {
+        requireNonNull(amount, "Amount is required");
+        return of(new BigDecimal(amount));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isNegativeOrZero() {
+        return minorUnits <= 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, DEFAULT_AMOUNT_SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Money money && minorUnits == money.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,88 @@
+package spaceurgent.banking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Transfer submitted for asynchronous processing. It is stored as {@link TransferStatus#PENDING} and moves once to
+ * {@link TransferStatus#COMPLETED} or {@link TransferStatus#FAILED} when a worker applies it.
+ */
+@Entity
+@Table(
+        name = "transfers",
+        indexes = @Index(columnList = "status, id")
+)
+@Getter(value = AccessLevel.PUBLIC)
+@Setter(value = AccessLevel.PROTECTED)
+@EqualsAndHashCode
+@ToString
+public class Transfer {
+    public static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_sequence_generator")
+    @SequenceGenerator(name = "transfer_sequence_generator", allocationSize = 50)
+    private Long id;
+    @Convert(converter = AccountNumberConverter.class)
+    @Column(nullable = false)
+    private String sourceAccountNumber;
+    @Convert(converter = AccountNumberConverter.class)
+    @Column(nullable = false)
+    private String targetAccountNumber;
+    @Column(nullable = false)
+    private Money amount;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransferStatus status;
+    @Column(length = MAX_FAILURE_REASON_LENGTH)
+    private String failureReason;
+    @Column(nullable = false)
+    private Instant createdAt;
+    private Instant processedAt;
+
+    protected Transfer() {
+    }
+
+    public Transfer(String sourceAccountNumber, String targetAccountNumber, Money amount) {
+        this.sourceAccountNumber = requireNonNull(sourceAccountNumber, "Source account number is required");
+        this.targetAccountNumber = requireNonNull(targetAccountNumber, "Target account number is required");
+        this.amount = requireNonNull(amount, "Amount is required");
+        this.status = TransferStatus.PENDING;
+        this.createdAt = Instant.now();
+    }
+
+    public void complete() {
+        finish(TransferStatus.COMPLETED, null);
+    }
+
+    public void fail(String reason) {
+        finish(TransferStatus.FAILED, requireNonNull(reason, "Failure reason is required"));
+    }
+
+    private void finish(TransferStatus status, String failureReason) {
+        if (this.status != TransferStatus.PENDING) {
+            throw new IllegalStateException("Transfer %d is already %s".formatted(id, this.status));
+        }
+        this.status = status;
+        this.failureReason = failureReason;
+        this.processedAt = Instant.now();
+    }
+}
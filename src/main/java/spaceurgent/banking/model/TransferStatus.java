@@ -0,0 +1,7 @@
+package spaceurgent.banking.model;
+
+public enum TransferStatus {
+    PENDING,
+    COMPLETED,
+    FAILED;
+}
@@ -0,0 +1,54 @@
+package spaceurgent.banking.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import spaceurgent.banking.model.AccountBalanceSlot;
+
+import java.util.List;
+import java.util.Set;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    /**
+     * Adds the amount, in minor units, to one slot in a single UPDATE, locking only that slot's row. The query space
+     * keeps Hibernate from invalidating the account cache regions, as it would for an unqualified native update.
+     *
+     * @return 1, or 0 if the slot doesn't exist
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_balance_slots"))
+    @Query(value = "UPDATE account_balance_slots SET balance = balance + :amount WHERE account_id = :accountId AND slot = :slot",
+            nativeQuery = true)
+    int credit(@Param("accountId") long accountId, @Param("slot") int slot, @Param("amount") long amount);
+
+    /**
+     * Sum of the account's slot balances in minor units, 0 if it has none.
+     */
+    @Query(value = "SELECT COALESCE(SUM(balance), 0) FROM account_balance_slots WHERE account_id = :accountId",
+            nativeQuery = true)
+    long sumBalances(@Param("accountId") long accountId);
+
+    /**
+     * Slot balances in minor units summed per account, as {@code [account id, sum]} rows for every account that has
+     * slots.
+     */
+    @Query(value = "SELECT account_id, SUM(balance) FROM account_balance_slots GROUP BY account_id", nativeQuery = true)
+    List<Object[]> sumBalancesByAccount();
+
+    @Query("select s.slot from AccountBalanceSlot s where s.accountId = :accountId")
+    Set<Integer> findSlotsByAccountId(@Param("accountId") long accountId);
+
+    /**
+     * Locks the account's slots with {@code SELECT ... FOR UPDATE} in slot order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceSlot s where s.accountId = :accountId order by s.slot")
+    List<AccountBalanceSlot> findAllByAccountIdForUpdate(@Param("accountId") long accountId);
+}
@@ -0,0 +1,30 @@
+package spaceurgent.banking.repository;
+
+import spaceurgent.banking.model.Account;
+
+import java.util.Optional;
+
+/**
+ * Account lookups by number that go through the natural id and second-level caches, and balance writes that bypass
+ * them.
+ */
+public interface AccountNaturalIdRepository {
+
+    /**
+     * Resolves the account from the caches, querying the database only on a miss. Joins the current persistence
+     * context if there is one, otherwise returns a detached account.
+     */
+    Optional<Account> findByNumber(String number);
+
+    /**
+     * Keeps the cached account locked until the current transaction completes, so no reader caches its old state in
+     * the meantime. Required after native updates, which bypass the second-level cache.
+     */
+    void evictOnCompletion(Account account);
+
+    /**
+     * Sets the balances, in minor units, of the accounts with the given numbers as a single JDBC batch in the current
+     * transaction. Only these accounts are kept out of the second-level cache until the transaction completes.
+     */
+    void updateBalances(long[] numbers, long[] balances);
+}
@@ -0,0 +1,89 @@
+package spaceurgent.banking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import spaceurgent.banking.model.Account;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+class AccountNaturalIdRepositoryImpl implements AccountNaturalIdRepository {
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    AccountNaturalIdRepositoryImpl(EntityManagerFactory entityManagerFactory, EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Account> findByNumber(String number) {
+        final var transactionalEntityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (transactionalEntityManager != null) {
+            return findByNumber(transactionalEntityManager.unwrap(Session.class), number);
+        }
+        // A session opened here takes a connection only on a cache miss
+        try (var session = entityManagerFactory.unwrap(SessionFactory.class).openSession()) {
+            return findByNumber(session, number);
+        }
+    }
+
+    @Override
+    public void evictOnCompletion(Account account) {
+        evictOnCompletion(account.getId(), account.getVersion());
+    }
+
+    @Override
+    public void updateBalances(long[] numbers, long[] balances) {
+        if (numbers.length == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE accounts SET balance = ?, version = version + 1 WHERE number = ?", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                statement.setLong(1, balances[index]);
+                statement.setLong(2, numbers[index]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return numbers.length;
+            }
+        });
+        final var session = entityManager.unwrap(SessionImplementor.class);
+        if (session.getFactory().getMappingMetamodel().getEntityDescriptor(Account.class).getCacheAccessStrategy() != null) {
+            final var boxedNumbers = Arrays.stream(numbers).boxed().toArray(Long[]::new);
+            jdbcTemplate.queryForList("SELECT id FROM accounts WHERE number = ANY(?)", Long.class, (Object) boxedNumbers)
+                    .forEach(id -> evictOnCompletion(id, null));
+        }
+    }
+
+    private void evictOnCompletion(Long id, Long version) {
+        final var session = entityManager.unwrap(SessionImplementor.class);
+        final var sessionFactory = session.getFactory();
+        final var persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Account.class);
+        final var cacheAccess = persister.getCacheAccessStrategy();
+        if (cacheAccess == null) {
+            return;
+        }
+        final var cacheKey = cacheAccess.generateCacheKey(id, persister, sessionFactory, session.getTenantIdentifier());
+        final var softLock = cacheAccess.lockItem(session, cacheKey, version);
+        session.getActionQueue().registerProcess(
+                (success, completedSession) -> cacheAccess.unlockItem(completedSession, cacheKey, softLock)
+        );
+    }
+
+    private static Optional<Account> findByNumber(Session session, String number) {
+        return session.bySimpleNaturalId(Account.class).loadOptional(number);
+    }
+}
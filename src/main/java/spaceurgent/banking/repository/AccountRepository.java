@@ -1,10 +1,92 @@
 package spaceurgent.banking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.dto.AccountDto;
 import spaceurgent.banking.model.Account;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findByNumber(String number);
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountNaturalIdRepository, AccountSearchRepository {
+
+    @Transactional
+    @Query(value = "SELECT NEXT VALUE FOR account_number_block_sequence", nativeQuery = true)
+    long nextAccountNumberBlock();
+
+    boolean existsByNumber(String number);
+
+    @Query("select new spaceurgent.banking.dto.AccountDto(a.number, a.currency) from Account a order by a.number")
+    List<AccountDto> findFirstPage(Limit limit);
+
+    /**
+     * Keyset page of accounts with number greater than {@code after}, read straight into {@link AccountDto}
+     * without hydrating entities.
+     */
+    @Query("select new spaceurgent.banking.dto.AccountDto(a.number, a.currency) from Account a "
+            + "where a.number > :after order by a.number")
+    List<AccountDto> findPageAfter(@Param("after") String after, Limit limit);
+
+    /**
+     * Adds the amount, in minor units, to the balance in a single UPDATE and returns the updated row
+     * from the same statement. Bypasses the second-level cache, see {@link #evictOnCompletion(Account)}.
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(value = """
+            SELECT * FROM FINAL TABLE (
+                UPDATE accounts SET balance = balance + :amount, version = version + 1
+                WHERE number = :number
+            )""", nativeQuery = true)
+    Optional<Account> depositAndGet(@Param("number") long number, @Param("amount") long amount);
+
+    /**
+     * Subtracts the amount, in minor units, from the balance in a single conditional UPDATE and returns
+     * the updated row. Empty result means the account doesn't exist or its balance is less than the amount.
+     * Bypasses the second-level cache, see {@link #evictOnCompletion(Account)}.
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(value = """
+            SELECT * FROM FINAL TABLE (
+                UPDATE accounts SET balance = balance - :amount, version = version + 1
+                WHERE number = :number AND balance >= :amount
+            )""", nativeQuery = true)
+    Optional<Account> withdrawAndGet(@Param("number") long number, @Param("amount") long amount);
+
+    /**
+     * Streams all accounts ordered by number through a JDBC cursor. Rows are fetched in chunks
+     * and loaded read-only, without filling the second-level cache; callers are expected to detach each entity
+     * once processed. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select a from Account a order by a.number")
+    Stream<Account> streamAll();
+
+    /**
+     * Loads accounts ordered by number. Both transfer strategies rely on this order:
+     * it is the order rows get locked or updated in, so concurrent transfers never deadlock.
+     */
+    List<Account> findAllByNumberInOrderByNumber(Collection<String> numbers);
+
+    /**
+     * Same as {@link #findAllByNumberInOrderByNumber(Collection)}, but locks rows with {@code SELECT ... FOR UPDATE}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    List<Account> findAllByNumberInForUpdate(@Param("numbers") Collection<String> numbers);
 }
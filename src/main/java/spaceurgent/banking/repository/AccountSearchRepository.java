@@ -0,0 +1,19 @@
+package spaceurgent.banking.repository;
+
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+
+import java.util.List;
+
+/**
+ * Account searches that read one of the composite indexes on {@code accounts} in the requested order, so a page
+ * costs the rows it returns plus those the other filters skip, never a sort of all matching accounts.
+ */
+public interface AccountSearchRepository {
+
+    /**
+     * Keyset page of accounts matching the request, read straight into {@link AccountBalanceDto} without hydrating
+     * entities. Balances of hot accounts include their slots.
+     */
+    List<AccountBalanceDto> search(AccountSearchRequestDto searchRequest);
+}
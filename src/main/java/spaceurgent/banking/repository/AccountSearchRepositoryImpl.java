@@ -0,0 +1,107 @@
+package spaceurgent.banking.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountSearchCursor;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class AccountSearchRepositoryImpl implements AccountSearchRepository {
+    /**
+     * Accounts with balance slots, which are the hot accounts, with the slot balances added. They are few, so they are
+     * read whole and merged with the index reads, which skip them with {@link #WITHOUT_SLOTS}.
+     */
+    static final String HOT_ACCOUNTS_SQL = """
+            SELECT a.number, a.currency, a.balance + s.balance AS balance, a.created_at FROM accounts a
+            JOIN (SELECT account_id, SUM(balance) AS balance FROM account_balance_slots GROUP BY account_id) s
+            ON s.account_id = a.id""";
+    static final String WITHOUT_SLOTS = "id NOT IN (SELECT account_id FROM account_balance_slots)";
+
+    private final EntityManager entityManager;
+
+    AccountSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<AccountBalanceDto> search(AccountSearchRequestDto searchRequest) {
+        final var searchQuery = SearchQuery.of(searchRequest);
+        final NativeQuery<Object[]> query = entityManager.createNativeQuery(searchQuery.sql(), Object[].class)
+                .unwrap(NativeQuery.class);
+        query.addScalar("number", StandardBasicTypes.LONG)
+                .addScalar("balance", StandardBasicTypes.LONG)
+                .addScalar("created_at", StandardBasicTypes.INSTANT);
+        searchQuery.parameters().forEach(query::setParameter);
+        return query.getResultList().stream()
+                .map(row -> AccountBalanceDto.fromRow((long) row[0], searchRequest.currency().name(), (long) row[1], (Instant) row[2]))
+                .toList();
+    }
+
+    /**
+     * SQL of a search. Both orders have a matching index, {@value Account#BALANCE_INDEX} and
+     * {@value Account#CREATED_AT_INDEX}: the currency is the equality prefix, the sort key the range, and the account
+     * number breaks ties for the keyset. Filters on the other key are checked on the rows the index returns. Hot
+     * accounts are skipped in the index, since their slots are not part of the indexed balance, and merged in with
+     * the same filters applied to their whole balance.
+     */
+    record SearchQuery(String sql, Map<String, Object> parameters) {
+
+        static SearchQuery of(AccountSearchRequestDto searchRequest) {
+            final var sortColumn = searchRequest.order() == AccountSearchOrder.BALANCE ? "balance" : "created_at";
+            final var parameters = new LinkedHashMap<String, Object>();
+            final var filters = filters(searchRequest, sortColumn, parameters);
+            // Ordering by the fixed currency too makes the order the index's own, so it is read without a sort
+            final var sql = """
+                    SELECT number, balance, created_at FROM (
+                        SELECT number, balance, created_at FROM accounts WHERE %1$s AND %2$s
+                        ORDER BY currency, %3$s DESC, number DESC FETCH FIRST :limit ROWS ONLY
+                    ) indexed
+                    UNION ALL
+                    SELECT number, balance, created_at FROM (%4$s) hot WHERE %1$s
+                    ORDER BY %3$s DESC, number DESC FETCH FIRST :limit ROWS ONLY""".formatted(filters, WITHOUT_SLOTS, sortColumn, HOT_ACCOUNTS_SQL);
+            parameters.put("limit", searchRequest.limit());
+            return new SearchQuery(sql, parameters);
+        }
+
+        private static String filters(AccountSearchRequestDto searchRequest, String sortColumn, Map<String, Object> parameters) {
+            final var filters = new StringBuilder("currency = :currency");
+            parameters.put("currency", searchRequest.currency().name());
+            if (searchRequest.minBalance() != null) {
+                filters.append(" AND balance >= :minBalance");
+                parameters.put("minBalance", searchRequest.minBalance().minorUnits());
+            }
+            if (searchRequest.maxBalance() != null) {
+                filters.append(" AND balance <= :maxBalance");
+                parameters.put("maxBalance", searchRequest.maxBalance().minorUnits());
+            }
+            if (searchRequest.createdFrom() != null) {
+                filters.append(" AND created_at >= :createdFrom");
+                parameters.put("createdFrom", searchRequest.createdFrom());
+            }
+            if (searchRequest.createdTo() != null) {
+                filters.append(" AND created_at < :createdTo");
+                parameters.put("createdTo", searchRequest.createdTo());
+            }
+            if (searchRequest.after() != null) {
+                // The inclusive bound is the index range, the rest narrows it to the rows after the cursor
+                final var cursor = AccountSearchCursor.parse(searchRequest.after());
+                filters.append(" AND %1$s <= :afterKey AND (%1$s < :afterKey OR number < :afterNumber)".formatted(sortColumn));
+                parameters.put("afterKey", searchRequest.order() == AccountSearchOrder.BALANCE
+                        ? cursor.sortKey()
+                        : Instant.EPOCH.plus(cursor.sortKey(), ChronoUnit.MICROS));
+                parameters.put("afterNumber", AccountNumberCodec.toKey(cursor.accountNumber()));
+            }
+            return filters.toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package spaceurgent.banking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.IdempotencyRecord;
+import spaceurgent.banking.model.Money;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.accountNumber = :accountNumber, r.currency = :currency, r.balance = :balance, "
+            + "r.version = r.version + 1 where r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("accountNumber") String accountNumber,
+                 @Param("currency") Currency currency,
+                 @Param("balance") Money balance);
+
+    /**
+     * Deletes the claim unless it holds a result, so a result committed with the balance change is never released.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.accountNumber is null")
+    int release(@Param("key") String key);
+
+    /**
+     * Renews a claim without a result made before {@code expiredBefore}.
+     *
+     * @return 1 if the claim was taken over, 0 if it was completed or renewed meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.createdAt = :claimedAt, r.version = r.version + 1 "
+            + "where r.key = :key and r.fingerprint = :fingerprint and r.accountNumber is null and r.createdAt < :expiredBefore")
+    int takeOver(@Param("key") String key,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("claimedAt") Instant claimedAt,
+                 @Param("expiredBefore") Instant expiredBefore);
+}
@@ -0,0 +1,14 @@
+package spaceurgent.banking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import spaceurgent.banking.model.JournalEntry;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
+    List<JournalEntry> findAllByAccountNumberOrderById(String accountNumber);
+
+    List<JournalEntry> findAllByOperationIdOrderById(UUID operationId);
+}
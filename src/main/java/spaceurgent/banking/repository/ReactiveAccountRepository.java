@@ -0,0 +1,144 @@
+package spaceurgent.banking.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * R2DBC access to the {@code accounts} table mapped by {@link spaceurgent.banking.model.Account}, reading rows
+ * straight into DTOs. Same statements as {@link AccountRepository}, written out in SQL.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountRepository {
+    private final DatabaseClient reactiveDatabaseClient;
+
+    /**
+     * Takes the id from the same sequence as JPA does. With the pooled-lo optimizer every sequence value starts a
+     * block only its caller uses, so ids never collide with accounts JPA inserts. The currency is cast like in
+     * {@link ReactiveJournalEntryRepository}.
+     */
+    public Mono<AccountDetailsDto> insert(String number, Currency currency, Money balance) {
+        return reactiveDatabaseClient.sql("""
+                        SELECT number, currency, balance FROM FINAL TABLE (
+                            INSERT INTO accounts (id, number, currency, balance, created_at, version)
+                            VALUES (NEXT VALUE FOR account_number_sequence_generator, :number, CAST(:currency AS VARCHAR), :balance, :createdAt, 0)
+                        )""")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .bind("currency", currency.name())
+                .bind("balance", balance.minorUnits())
+                .bind("createdAt", Instant.now().atOffset(ZoneOffset.UTC))
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .one();
+    }
+
+    public Mono<AccountDetailsDto> findByNumber(String number) {
+        return reactiveDatabaseClient.sql("SELECT number, currency, balance FROM accounts WHERE number = :number")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .one();
+    }
+
+    /**
+     * Accounts ordered by number, after {@code after} if given. Rows are emitted as the subscriber requests them.
+     */
+    public Flux<AccountDto> findPage(String after, int limit) {
+        final var spec = after == null
+                ? reactiveDatabaseClient.sql("SELECT number, currency FROM accounts ORDER BY number LIMIT :limit")
+                : reactiveDatabaseClient.sql("SELECT number, currency FROM accounts WHERE number > :after ORDER BY number LIMIT :limit")
+                        .bind("after", AccountNumberCodec.toKey(after));
+        return spec.bind("limit", limit)
+                .map(row -> new AccountDto(number(row), Currency.valueOf(row.get("currency", String.class))))
+                .all();
+    }
+
+    public Flux<AccountDetailsDto> findAll() {
+        return reactiveDatabaseClient.sql("SELECT number, currency, balance FROM accounts ORDER BY number")
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .all();
+    }
+
+    public Mono<Boolean> existsByNumber(String number) {
+        return reactiveDatabaseClient.sql("SELECT 1 FROM accounts WHERE number = :number")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * See {@link AccountRepository#depositAndGet(long, long)}.
+     */
+    public Mono<AccountDetailsDto> depositAndGet(String number, Money amount) {
+        return reactiveDatabaseClient.sql("""
+                        SELECT number, currency, balance FROM FINAL TABLE (
+                            UPDATE accounts SET balance = balance + :amount, version = version + 1
+                            WHERE number = :number
+                        )""")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .bind("amount", amount.minorUnits())
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .one();
+    }
+
+    /**
+     * See {@link AccountRepository#withdrawAndGet(long, long)}.
+     */
+    public Mono<AccountDetailsDto> withdrawAndGet(String number, Money amount) {
+        return reactiveDatabaseClient.sql("""
+                        SELECT number, currency, balance FROM FINAL TABLE (
+                            UPDATE accounts SET balance = balance - :amount, version = version + 1
+                            WHERE number = :number AND balance >= :amount
+                        )""")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .bind("amount", amount.minorUnits())
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .one();
+    }
+
+    /**
+     * Locks the accounts with {@code SELECT ... FOR UPDATE} in account number order, like
+     * {@link AccountRepository#findAllByNumberInForUpdate}. Must run in a transaction.
+     */
+    public Flux<AccountDetailsDto> findAllByNumberInForUpdate(List<String> numbers) {
+        return reactiveDatabaseClient.sql("""
+                        SELECT number, currency, balance FROM accounts
+                        WHERE number IN (:numbers) ORDER BY number FOR UPDATE""")
+                .bind("numbers", numbers.stream().map(AccountNumberCodec::toKey).toList())
+                .map(ReactiveAccountRepository::toAccountDetails)
+                .all();
+    }
+
+    public Mono<Void> updateBalance(String number, Money balance) {
+        return reactiveDatabaseClient.sql("UPDATE accounts SET balance = :balance, version = version + 1 WHERE number = :number")
+                .bind("number", AccountNumberCodec.toKey(number))
+                .bind("balance", balance.minorUnits())
+                .then();
+    }
+
+    private static AccountDetailsDto toAccountDetails(Readable row) {
+        return new AccountDetailsDto(
+                number(row),
+                Currency.valueOf(row.get("currency", String.class)),
+                Money.ofMinorUnits(row.get("balance", Long.class))
+        );
+    }
+
+    private static String number(Readable row) {
+        return AccountNumberCodec.fromKey(row.get("number", Long.class));
+    }
+}
@@ -0,0 +1,46 @@
+package spaceurgent.banking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.model.JournalEntry;
+
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * R2DBC inserts into the {@code journal_entries} table mapped by {@link JournalEntry}. Ids come from the JPA
+ * sequence the same way as in {@link ReactiveAccountRepository#insert}. Enum values are cast explicitly, the H2 driver
+ * binds strings as CLOBs that don't convert to ENUM columns.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveJournalEntryRepository {
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<Void> saveAll(List<JournalEntry> entries) {
+        return Flux.fromIterable(entries)
+                .concatMap(this::insert)
+                .then();
+    }
+
+    private Mono<Long> insert(JournalEntry entry) {
+        var spec = reactiveDatabaseClient.sql("""
+                        INSERT INTO journal_entries (id, operation_id, account_number, type, amount, balance_after, created_at)
+                        VALUES (NEXT VALUE FOR journal_entry_sequence_generator, :operationId, :accountNumber,
+                                CAST(:type AS VARCHAR), :amount, :balanceAfter, :createdAt)""")
+                .bind("operationId", entry.getOperationId())
+                .bind("accountNumber", entry.getAccountNumber())
+                .bind("type", entry.getType().name())
+                .bind("amount", entry.getAmount().minorUnits())
+                .bind("createdAt", entry.getCreatedAt().atOffset(ZoneOffset.UTC));
+        spec = entry.getBalanceAfter() == null
+                ? spec.bindNull("balanceAfter", Long.class)
+                : spec.bind("balanceAfter", entry.getBalanceAfter().minorUnits());
+        return spec.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,27 @@
+package spaceurgent.banking.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spaceurgent.banking.model.Transfer;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TransferRepository extends JpaRepository<Transfer, Long> {
+
+    /**
+     * Locks up to {@code limit} of the oldest pending transfers, skipping rows another worker has locked, so workers
+     * running concurrently take disjoint batches. Native because Hibernate's H2 dialect drops {@code SKIP LOCKED}.
+     */
+    @Query(value = """
+            SELECT * FROM transfers WHERE status = 'PENDING' ORDER BY id
+            FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Transfer> findPendingForUpdate(@Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Transfer t where t.id = :id and t.status = spaceurgent.banking.model.TransferStatus.PENDING")
+    Optional<Transfer> findPendingByIdForUpdate(@Param("id") long id);
+}
@@ -1,23 +1,43 @@
 package spaceurgent.banking.service;
 
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
 import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AccountService {
 
-    Account createAccount(BigDecimal initialBalance);
+    Account createAccount(Money initialBalance, Currency currency);
 
-    List<Account> getAccounts();
+    List<Account> createAccounts(List<Money> initialBalances, Currency currency);
+
+    List<AccountDto> getAccounts(String afterAccountNumber, int limit);
 
     Account getAccount(String accountNumber);
 
-    Account depositToAccount(String accountNumber, BigDecimal amount);
+    AccountBalancesDto searchAccounts(AccountSearchRequestDto searchRequest);
+
+    /**
+     * The accounts of the currency with the largest balances, largest first.
+     */
+    List<AccountBalanceDto> getTopAccounts(Currency currency, int limit);
+
+    void exportAccounts(Consumer<Account> accountConsumer);
 
-    Account withdrawFromAccount(String accountNumber, BigDecimal amount) throws AmountExceedsBalanceException;
+    Account depositToAccount(String accountNumber, Money amount);
+
+    Account withdrawFromAccount(String accountNumber, Money amount) throws AmountExceedsBalanceException;
 
     Account transferToAccount(TransferRequestDto transferRequest) throws AmountExceedsBalanceException;
+
+    List<TransferLegResultDto> transferBatch(List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException;
 }
@@ -0,0 +1,31 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.dto.AccountStatisticsDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+
+import java.util.List;
+
+/**
+ * Account count and balance distribution, kept up to date from the writes instead of scanning the accounts, so
+ * reading them costs the same however many accounts there are. Writes are counted when their transaction commits.
+ */
+public interface AccountStatisticsService {
+
+    AccountStatisticsDto getStatistics();
+
+    /**
+     * Counts a new account with a zero balance; its opening deposit is counted as a balance change.
+     */
+    void recordAccountOpened(Account account);
+
+    /**
+     * Applies the balance changes of the entries, skipping the external account.
+     */
+    void recordBalanceChanges(List<JournalEntry> entries);
+
+    /**
+     * Recomputes the statistics from all accounts and replaces the running figures if they drifted.
+     */
+    void checkConsistency();
+}
@@ -0,0 +1,18 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.FxRates;
+import spaceurgent.banking.model.Money;
+
+/**
+ * Current exchange rates. Reads never lock or reach the database: rates are replaced as a whole by a new snapshot.
+ */
+public interface FxRateService {
+
+    FxRates currentRates();
+
+    /**
+     * See {@link FxRates#convert(Money, Currency, Currency)}.
+     */
+    Money convert(Money amount, Currency from, Currency to);
+}
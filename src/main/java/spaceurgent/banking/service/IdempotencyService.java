@@ -0,0 +1,18 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+
+/**
+ * Runs a money-moving request at most once per idempotency key. A repeated key returns the stored result of the
+ * first run, provided the request fingerprint is the same.
+ */
+public interface IdempotencyService {
+
+    AccountDetailsDto execute(String idempotencyKey, String fingerprint, Operation operation) throws AmountExceedsBalanceException;
+
+    @FunctionalInterface
+    interface Operation {
+        AccountDetailsDto execute() throws AmountExceedsBalanceException;
+    }
+}
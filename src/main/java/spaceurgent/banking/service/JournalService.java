@@ -0,0 +1,26 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+
+import java.util.List;
+
+/**
+ * Appends journal entries to the caller's transaction. Entries are inserted when the transaction flushes,
+ * batched with the account updates.
+ */
+public interface JournalService {
+
+    void recordDeposit(Account account, Money amount);
+
+    void recordWithdrawal(Account account, Money amount);
+
+    /**
+     * Records a transfer of {@code debitAmount} from the source account, credited to the target account as
+     * {@code creditAmount} in its currency.
+     */
+    void recordTransfer(Account sourceAccount, Account targetAccount, Money debitAmount, Money creditAmount);
+
+    void append(List<JournalEntry> entries);
+}
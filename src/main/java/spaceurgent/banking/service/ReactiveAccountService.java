@@ -0,0 +1,34 @@
+package spaceurgent.banking.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link AccountService}. Failures, including validation errors and
+ * {@link spaceurgent.banking.exception.AmountExceedsBalanceException}, are signalled through the returned publisher.
+ */
+public interface ReactiveAccountService {
+
+    Mono<AccountDetailsDto> createAccount(Money initialBalance, Currency currency);
+
+    Flux<AccountDetailsDto> createAccounts(List<Money> initialBalances, Currency currency);
+
+    Flux<AccountDto> getAccounts(String afterAccountNumber, int limit);
+
+    Mono<AccountDetailsDto> getAccount(String accountNumber);
+
+    Flux<AccountDetailsDto> exportAccounts();
+
+    Mono<AccountDetailsDto> depositToAccount(String accountNumber, Money amount);
+
+    Mono<AccountDetailsDto> withdrawFromAccount(String accountNumber, Money amount);
+
+    Mono<AccountDetailsDto> transferToAccount(TransferRequestDto transferRequest);
+}
@@ -0,0 +1,14 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+
+public interface TransferExecutor {
+
+    /**
+     * Applies a validated transfer, recording its lookup and persistence phases on the caller's timer.
+     */
+    Account transfer(TransferRequestDto transferRequest, OperationTimer timer) throws AmountExceedsBalanceException;
+}
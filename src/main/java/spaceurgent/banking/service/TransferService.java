@@ -0,0 +1,30 @@
+package spaceurgent.banking.service;
+
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.TransferProcessingException;
+import spaceurgent.banking.model.Transfer;
+
+/**
+ * Asynchronous transfers: submitted transfers are stored as pending and applied later, in batches, by
+ * {@link #processPendingTransfers(int)}.
+ */
+public interface TransferService {
+
+    Transfer submitTransfer(TransferRequestDto transferRequest);
+
+    Transfer getTransfer(long id);
+
+    /**
+     * Applies up to {@code batchSize} of the oldest pending transfers in one transaction. A transfer whose account is
+     * missing or whose source balance is too low is marked failed without affecting the rest of the batch. Any other
+     * error rolls the batch back and is thrown as a {@link TransferProcessingException} naming the transfer.
+     *
+     * @return number of transfers taken from the queue
+     */
+    int processPendingTransfers(int batchSize);
+
+    /**
+     * Marks the transfer failed in a transaction of its own, unless it is no longer pending.
+     */
+    void failTransfer(long id, String reason);
+}
@@ -1,8 +1,8 @@
 package spaceurgent.banking.service;
 
+import spaceurgent.banking.dto.AccountSearchRequestDto;
 import spaceurgent.banking.dto.TransferRequestDto;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 public interface ValidationService {
 
@@ -10,7 +10,13 @@ public interface ValidationService {
 
     void validateTransferRequestDto(TransferRequestDto transferRequestDto);
 
-    void validateBalanceAmount(BigDecimal balanceAmount);
+    void validateBalanceAmount(Money balanceAmount);
+
+    void validateTransferAmount(Money transferAmount);
+
+    void validatePageLimit(int pageLimit);
+
+    void validateIdempotencyKey(String idempotencyKey);
 
-    void validateTransferAmount(BigDecimal transferAmount);
+    void validateAccountSearchRequestDto(AccountSearchRequestDto accountSearchRequestDto);
 }
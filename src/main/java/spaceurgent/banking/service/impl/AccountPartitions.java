@@ -0,0 +1,129 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded partitions, each owning the accounts whose number hashes to it. Tasks for one account always run
+ * on the same partition thread, one at a time, in submission order.
+ * <p>
+ * A task for two accounts on different partitions is handed off in partition order: it is queued on the lower
+ * partition, whose thread then queues it on the higher partition and waits for it to finish there. Both partitions
+ * run nothing else meanwhile. A partition thread only ever waits for a higher partition, so handoffs can't deadlock.
+ */
+final class AccountPartitions {
+    static final String QUEUE_GAUGE = "banking.partition.queue";
+    static final String SERVICE_TIMER = "banking.partition.service";
+
+    private final Partition[] partitions;
+
+    AccountPartitions(int count, MeterRegistry meterRegistry) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Partition(i, meterRegistry);
+        }
+    }
+
+    int size() {
+        return partitions.length;
+    }
+
+    /**
+     * Invalid numbers, null included, get a partition too, where the account service rejects them.
+     */
+    int indexOf(String accountNumber) {
+        final var hash = Objects.hashCode(accountNumber);
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    <R, E extends Exception> R execute(String accountNumber, Task<R, E> task) throws E {
+        return await(partitions[indexOf(accountNumber)].submit(task));
+    }
+
+    <R, E extends Exception> R execute(String firstAccountNumber, String secondAccountNumber, Task<R, E> task) throws E {
+        final var first = indexOf(firstAccountNumber);
+        final var second = indexOf(secondAccountNumber);
+        if (first == second) {
+            return await(partitions[first].submit(task));
+        }
+        final var higher = partitions[Math.max(first, second)];
+        return await(partitions[Math.min(first, second)].submit(() -> AccountPartitions.<R, E>await(higher.submit(task))));
+    }
+
+    void shutdown() throws InterruptedException {
+        for (var partition : partitions) {
+            partition.executor.shutdown();
+        }
+        for (var partition : partitions) {
+            partition.executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Rethrows what the task threw. A checked exception can only be the one the task declares.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R, E extends Exception> R await(Future<R> result) throws E {
+        try {
+            return result.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account partition", exception);
+        } catch (ExecutionException exception) {
+            final var cause = exception.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (E) cause;
+        }
+    }
+
+    @FunctionalInterface
+    interface Task<R, E extends Exception> {
+        R run() throws E;
+    }
+
+    private static final class Partition {
+        private final ThreadPoolExecutor executor;
+        private final Timer serviceTimer;
+
+        private Partition(int index, MeterRegistry meterRegistry) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                final var thread = new Thread(runnable, "account-partition-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+            final var tag = Integer.toString(index);
+            Gauge.builder(QUEUE_GAUGE, executor, partitionExecutor -> partitionExecutor.getQueue().size())
+                    .description("Tasks waiting for an account partition")
+                    .tag("partition", tag)
+                    .register(meterRegistry);
+            this.serviceTimer = Timer.builder(SERVICE_TIMER)
+                    .description("Time an account partition spends running a task")
+                    .tag("partition", tag)
+                    .register(meterRegistry);
+        }
+
+        private <R> Future<R> submit(Task<R, ?> task) {
+            return executor.submit(() -> {
+                final var startNanos = System.nanoTime();
+                try {
+                    return task.run();
+                } finally {
+                    serviceTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+    }
+}
@@ -1,77 +1,297 @@
 package spaceurgent.banking.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.AccountNotFoundException;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
 import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.repository.AccountRepository;
 import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.TransferExecutor;
 import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
 import spaceurgent.banking.utils.AccountNumberGenerator;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static spaceurgent.banking.Constants.MAX_BULK_ACCOUNTS_SIZE;
+import static spaceurgent.banking.Constants.MAX_TRANSFER_BATCH_SIZE;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.CREATE;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.DEPOSIT;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.GET;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.TRANSFER;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.WITHDRAW;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.LOOKUP;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.VALIDATION;
 
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
+    private static final int BULK_FLUSH_SIZE = 1000;
+
     private final ValidationService validationService;
     private final AccountRepository accountRepository;
     private final AccountNumberGenerator accountNumberGenerator;
+    private final TransferExecutor transferExecutor;
+    private final JournalService journalService;
+    private final FxRateService fxRateService;
+    private final HotAccountBalances hotAccountBalances;
+    private final AccountStatisticsService accountStatisticsService;
+    private final EntityManager entityManager;
+    private final BankingMetrics bankingMetrics;
 
+    @Transactional
     @Override
-    public Account createAccount(BigDecimal initialBalance) {
+    public Account createAccount(Money initialBalance, Currency currency) {
+        final var timer = bankingMetrics.startOperation(CREATE);
         validationService.validateBalanceAmount(initialBalance);
-        final var accountNumber = accountNumberGenerator.nextAccountNumber();
-        return accountRepository.save(new Account(accountNumber, initialBalance));
+        timer.lap(VALIDATION);
+        timer.lapOnCompletion(PERSISTENCE);
+        final var accountNumber = accountNumberGenerator.nextAccountNumber(currency);
+        final var account = accountRepository.save(new Account(accountNumber, initialBalance));
+        recordOpeningBalance(account);
+        return account;
+    }
+
+    /**
+     * Persists all accounts and their opening journal entries in one transaction. Ids come from the pooled sequences
+     * without a round trip per row, inserts go out as ordered JDBC batches, and the persistence context is flushed and cleared every
+     * {@value #BULK_FLUSH_SIZE} accounts to keep dirty checking cheap.
+     */
+    @Transactional
+    @Override
+    public List<Account> createAccounts(List<Money> initialBalances, Currency currency) {
+        validateBulkAccounts(validationService, initialBalances);
+        final var accounts = new ArrayList<Account>(initialBalances.size());
+        for (var initialBalance : initialBalances) {
+            final var account = new Account(accountNumberGenerator.nextAccountNumber(currency), initialBalance);
+            entityManager.persist(account);
+            recordOpeningBalance(account);
+            accounts.add(account);
+            if (accounts.size() % BULK_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return accounts;
     }
 
     @Override
-    public List<Account> getAccounts() {
-        return accountRepository.findAll();
+    public List<AccountDto> getAccounts(String afterAccountNumber, int limit) {
+        validationService.validatePageLimit(limit);
+        if (afterAccountNumber == null) {
+            return accountRepository.findFirstPage(Limit.of(limit));
+        }
+        validationService.validateAccountNumber(afterAccountNumber);
+        return accountRepository.findPageAfter(afterAccountNumber, Limit.of(limit));
     }
 
     @Override
     public Account getAccount(String accountNumber) {
+        final var timer = bankingMetrics.startOperation(GET);
         validationService.validateAccountNumber(accountNumber);
-        return findAccountOrThrow(accountNumber);
+        timer.lap(VALIDATION);
+        final var account = hotAccountBalances.withSlots(findAccountOrThrow(accountNumber));
+        timer.lap(LOOKUP);
+        return account;
     }
 
     @Override
-    public Account depositToAccount(String accountNumber, BigDecimal amount) {
+    public AccountBalancesDto searchAccounts(AccountSearchRequestDto searchRequest) {
+        validationService.validateAccountSearchRequestDto(searchRequest);
+        return AccountBalancesDto.page(accountRepository.search(searchRequest), searchRequest);
+    }
+
+    @Override
+    public List<AccountBalanceDto> getTopAccounts(Currency currency, int limit) {
+        final var searchRequest = AccountSearchRequestDto.topBalances(currency, limit);
+        validationService.validateAccountSearchRequestDto(searchRequest);
+        return accountRepository.search(searchRequest);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAccounts(Consumer<Account> accountConsumer) {
+        try (var accounts = accountRepository.streamAll()) {
+            accounts.forEach(account -> {
+                accountConsumer.accept(hotAccountBalances.withSlots(account));
+                entityManager.detach(account);
+            });
+        }
+    }
+
+    @Transactional
+    @Override
+    public Account depositToAccount(String accountNumber, Money amount) {
+        final var timer = bankingMetrics.startOperation(DEPOSIT);
         validationService.validateAccountNumber(accountNumber);
         validationService.validateTransferAmount(amount);
-        final var account = findAccountOrThrow(accountNumber);
-        account.deposit(amount);
-        return accountRepository.save(account);
+        timer.lap(VALIDATION);
+        // The account is found by the balance update itself, so there is no separate lookup phase
+        timer.lapOnCompletion(PERSISTENCE);
+        if (hotAccountBalances.isHot(accountNumber)) {
+            return IdempotentRequest.completeOnCommit(hotAccountBalances.deposit(accountNumber, amount));
+        }
+        final var account = accountRepository.depositAndGet(AccountNumberCodec.toKey(accountNumber), amount.minorUnits())
+                .orElseThrow(() -> AccountNotFoundException.withNumber(accountNumber));
+        accountRepository.evictOnCompletion(account);
+        journalService.recordDeposit(account, amount);
+        return IdempotentRequest.completeOnCommit(account);
     }
 
+    @Transactional(rollbackFor = AmountExceedsBalanceException.class)
     @Override
-    public Account withdrawFromAccount(String accountNumber, BigDecimal amount) throws AmountExceedsBalanceException {
+    public Account withdrawFromAccount(String accountNumber, Money amount) throws AmountExceedsBalanceException {
+        final var timer = bankingMetrics.startOperation(WITHDRAW);
         validationService.validateAccountNumber(accountNumber);
         validationService.validateTransferAmount(amount);
-        final var account = findAccountOrThrow(accountNumber);
-        account.withdraw(amount);
-        return accountRepository.save(account);
+        timer.lap(VALIDATION);
+        timer.lapOnCompletion(PERSISTENCE);
+        if (hotAccountBalances.isHot(accountNumber)) {
+            return IdempotentRequest.completeOnCommit(hotAccountBalances.withdraw(accountNumber, amount));
+        }
+        final var account = accountRepository.withdrawAndGet(AccountNumberCodec.toKey(accountNumber), amount.minorUnits());
+        if (account.isPresent()) {
+            accountRepository.evictOnCompletion(account.get());
+            journalService.recordWithdrawal(account.get(), amount);
+            return IdempotentRequest.completeOnCommit(account.get());
+        }
+        if (!accountRepository.existsByNumber(accountNumber)) {
+            throw AccountNotFoundException.withNumber(accountNumber);
+        }
+        throw new AmountExceedsBalanceException("Withdraw amount exceeds balance");
     }
 
-    @Transactional
     @Override
     public Account transferToAccount(TransferRequestDto transferRequest) throws AmountExceedsBalanceException {
+        final var timer = bankingMetrics.startOperation(TRANSFER);
         validationService.validateTransferRequestDto(transferRequest);
-        final var sourceAccount = findAccountOrThrow(transferRequest.getSourceAccountNumber());
-        final var targetAccount = findAccountOrThrow(transferRequest.getTargetAccountNumber());
-        sourceAccount.withdraw(transferRequest.getAmount());
-        targetAccount.deposit(transferRequest.getAmount());
-        accountRepository.saveAll(List.of(sourceAccount, targetAccount));
-        return sourceAccount;
+        timer.lap(VALIDATION);
+        if (hotAccountBalances.isHot(transferRequest)) {
+            return hotAccountBalances.transfer(transferRequest, timer);
+        }
+        return transferExecutor.transfer(transferRequest, timer);
+    }
+
+    /**
+     * Applies all transfer legs in one transaction: every involved account is locked once, in account number
+     * order and in chunks of {@value TransferAccounts#LOCK_CHUNK_SIZE}, and the resulting updates are flushed as JDBC
+     * batches on commit. Any failing leg rolls back the batch.
+     */
+    @Transactional(rollbackFor = AmountExceedsBalanceException.class)
+    @Override
+    public List<TransferLegResultDto> transferBatch(List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException {
+        validateTransferBatch(validationService, transferRequests);
+        final var accountNumbers = new TreeSet<String>();
+        transferRequests.forEach(transferRequest -> {
+            accountNumbers.add(transferRequest.getSourceAccountNumber());
+            accountNumbers.add(transferRequest.getTargetAccountNumber());
+        });
+        final var accounts = TransferAccounts.lock(accountRepository, accountNumbers);
+        final var results = new ArrayList<TransferLegResultDto>(transferRequests.size());
+        for (int i = 0; i < transferRequests.size(); i++) {
+            final var transferRequest = transferRequests.get(i);
+            try {
+                final var sourceAccount = accounts.getOrThrow(transferRequest.getSourceAccountNumber());
+                final var targetAccount = accounts.getOrThrow(transferRequest.getTargetAccountNumber());
+                final var creditAmount = fxRateService.convert(transferRequest.getAmount(), sourceAccount.getCurrency(), targetAccount.getCurrency());
+                hotAccountBalances.withdraw(sourceAccount, transferRequest.getAmount());
+                targetAccount.deposit(creditAmount);
+                final var updatedSourceAccount = hotAccountBalances.withSlots(sourceAccount);
+                final var updatedTargetAccount = hotAccountBalances.withSlots(targetAccount);
+                journalService.recordTransfer(updatedSourceAccount, updatedTargetAccount, transferRequest.getAmount(), creditAmount);
+                results.add(new TransferLegResultDto(
+                        sourceAccount.getNumber(),
+                        targetAccount.getNumber(),
+                        transferRequest.getAmount(),
+                        updatedSourceAccount.getBalance(),
+                        updatedTargetAccount.getBalance()
+                ));
+            } catch (AccountNotFoundException exception) {
+                throw new AccountNotFoundException(legFailureMessage(i, exception));
+            } catch (AmountExceedsBalanceException exception) {
+                throw new AmountExceedsBalanceException(legFailureMessage(i, exception));
+            } catch (ValidationException exception) {
+                throw new ValidationException(legFailureMessage(i, exception));
+            }
+        }
+        return results;
+    }
+
+    static void validateBulkAccounts(ValidationService validationService, List<Money> initialBalances) {
+        if (initialBalances == null || initialBalances.isEmpty()) {
+            throw new ValidationException("Bulk request must contain at least one account");
+        }
+        if (initialBalances.size() > MAX_BULK_ACCOUNTS_SIZE) {
+            throw new ValidationException("Bulk request can't contain more than %d accounts".formatted(MAX_BULK_ACCOUNTS_SIZE));
+        }
+        for (int i = 0; i < initialBalances.size(); i++) {
+            final var initialBalance = initialBalances.get(i);
+            if (initialBalance == null) {
+                throw new ValidationException("Account #%d balance is required".formatted(i + 1));
+            }
+            try {
+                validationService.validateBalanceAmount(initialBalance);
+            } catch (ValidationException exception) {
+                throw new ValidationException("Account #%d: %s".formatted(i + 1, exception.getMessage()));
+            }
+        }
+    }
+
+    static void validateTransferBatch(ValidationService validationService, List<TransferRequestDto> transferRequests) {
+        if (transferRequests == null || transferRequests.isEmpty()) {
+            throw new ValidationException("Transfer batch must contain at least one transfer");
+        }
+        if (transferRequests.size() > MAX_TRANSFER_BATCH_SIZE) {
+            throw new ValidationException("Transfer batch can't contain more than %d transfers".formatted(MAX_TRANSFER_BATCH_SIZE));
+        }
+        for (int i = 0; i < transferRequests.size(); i++) {
+            final var transferRequest = transferRequests.get(i);
+            if (transferRequest == null) {
+                throw new ValidationException("Transfer leg #%d is required".formatted(i + 1));
+            }
+            try {
+                validationService.validateTransferRequestDto(transferRequest);
+                validationService.validateTransferAmount(transferRequest.getAmount());
+            } catch (ValidationException exception) {
+                throw new ValidationException(legFailureMessage(i, exception));
+            }
+        }
+    }
+
+    static String legFailureMessage(int legIndex, Exception cause) {
+        return "Transfer leg #%d failed: %s".formatted(legIndex + 1, cause.getMessage());
+    }
+
+    private void recordOpeningBalance(Account account) {
+        accountStatisticsService.recordAccountOpened(account);
+        if (!account.getBalance().isNegativeOrZero()) {
+            journalService.recordDeposit(account, account.getBalance());
+        }
     }
 
     private Account findAccountOrThrow(String accountNumber) {
         return accountRepository.findByNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account with number '%s' not found".formatted(accountNumber)));
+                .orElseThrow(() -> AccountNotFoundException.withNumber(accountNumber));
     }
 }
@@ -0,0 +1,268 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.AccountStatisticsDto;
+import spaceurgent.banking.dto.CurrencyStatisticsDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.repository.AccountBalanceSlotRepository;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a {@link BalanceDistribution} per currency. Balance changes are taken from the journal entries, the balance
+ * before being the balance after minus the entry's effect, and are held back until their transaction commits, so
+ * rolled back writes never show. Committed changes only add to striped counters, so writers don't wait for each other,
+ * and reading the statistics never touches the database. The minimum and maximum balance only widen with the changes;
+ * each check replaces them with the exact ones.
+ * <p>
+ * Every {@code banking.stats.check-interval-seconds}, and once at startup to load the existing accounts, a background
+ * thread recomputes the figures from all accounts and adds the difference to the running ones, which keeps the changes
+ * applied meanwhile. A check during which changes were applied is skipped, since the scan may or may not include
+ * them; the first load can't wait for a quiet moment and takes them as not included. Hot account balances are read
+ * with their slots at commit time, so concurrent credits to one can put it in the wrong bucket until the next check;
+ * counts and totals stay exact.
+ */
+@Slf4j
+@Service
+public class AccountStatisticsServiceImpl implements AccountStatisticsService {
+    static final String CHECK_COUNTER = "banking.stats.checks";
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate scanTransaction;
+    private final long checkIntervalSeconds;
+    private final ScheduledExecutorService checkExecutor;
+    private final Map<String, Counter> checkCounters = new HashMap<>();
+    private final EnumMap<Currency, BalanceDistribution> distributions = emptyDistributions();
+    private final LongAdder appliedChanges = new LongAdder();
+    private volatile Instant checkedAt;
+
+    public AccountStatisticsServiceImpl(AccountRepository accountRepository,
+                                        AccountBalanceSlotRepository slotRepository,
+                                        EntityManager entityManager,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${banking.stats.check-interval-seconds:300}") long checkIntervalSeconds) {
+        if (checkIntervalSeconds < 1) {
+            throw new IllegalArgumentException("Statistics check interval must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+        this.entityManager = entityManager;
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setReadOnly(true);
+        this.checkIntervalSeconds = checkIntervalSeconds;
+        this.checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "account-stats-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (var result : List.of("loaded", "consistent", "corrected", "skipped")) {
+            checkCounters.put(result, Counter.builder(CHECK_COUNTER)
+                    .description("Recomputes of the account statistics by result")
+                    .tag("result", result)
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        checkExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                checkConsistency();
+            } catch (RuntimeException exception) {
+                log.warn("Account statistics check failed", exception);
+            }
+        }, 0, checkIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        checkExecutor.shutdownNow();
+    }
+
+    @Override
+    public AccountStatisticsDto getStatistics() {
+        var accounts = 0L;
+        final var currencies = new ArrayList<CurrencyStatisticsDto>(distributions.size());
+        for (var entry : distributions.entrySet()) {
+            final var currency = entry.getKey();
+            final var counts = entry.getValue().counts();
+            accounts += counts.accounts();
+            currencies.add(counts.toDto(currency));
+        }
+        return new AccountStatisticsDto(accounts, currencies, checkedAt);
+    }
+
+    @Override
+    public void recordAccountOpened(Account account) {
+        record(List.of(new BalanceChange(account.getCurrency(), null, 0, !account.getBalance().isNegativeOrZero())));
+    }
+
+    @Override
+    public void recordBalanceChanges(List<JournalEntry> entries) {
+        final var changes = new ArrayList<BalanceChange>(entries.size());
+        for (var entry : entries) {
+            if (JournalEntry.EXTERNAL_ACCOUNT_NUMBER.equals(entry.getAccountNumber()) || entry.getBalanceAfter() == null) {
+                continue;
+            }
+            final var after = entry.getBalanceAfter().minorUnits();
+            final var amount = entry.getAmount().minorUnits();
+            final var before = entry.getType() == JournalEntryType.CREDIT ? after - amount : after + amount;
+            changes.add(new BalanceChange(AccountNumberCodec.currencyOf(entry.getAccountNumber()), before, after, false));
+        }
+        record(changes);
+    }
+
+    /**
+     * Runs on the check thread; concurrent calls would count each other's corrections as drift.
+     */
+    @Override
+    public void checkConsistency() {
+        final var changesBefore = appliedChanges.sum();
+        final var running = new EnumMap<Currency, BalanceDistribution.Counts>(Currency.class);
+        distributions.forEach((currency, distribution) -> running.put(currency, distribution.counts()));
+        final var recomputed = scan();
+        final var loaded = checkedAt != null;
+        if (loaded && appliedChanges.sum() != changesBefore) {
+            log.debug("Skipping account statistics check, {} changes overlapped the scan", appliedChanges.sum() - changesBefore);
+            checkCounters.get("skipped").increment();
+            return;
+        }
+        final var drift = new EnumMap<Currency, BalanceDistribution.Counts>(Currency.class);
+        recomputed.forEach((currency, distribution) -> drift.put(currency, distribution.counts().minus(running.get(currency))));
+        final var consistent = drift.values().stream().allMatch(BalanceDistribution.Counts::isZero);
+        if (!loaded) {
+            log.info("Account statistics loaded: {}", recomputed.values().stream().map(BalanceDistribution::counts).toList());
+        } else if (!consistent) {
+            log.warn("Account statistics drifted by {}, correcting", drift);
+        }
+        drift.forEach((currency, delta) -> distributions.get(currency).add(delta));
+        recomputed.forEach((currency, distribution) -> {
+            final var counts = distribution.counts();
+            if (loaded) {
+                distributions.get(currency).resetExtremes(counts);
+            } else {
+                // Changes applied during the first load may be missing from the scan, so their extremes are kept
+                distributions.get(currency).widenExtremes(counts.minBalance(), counts.maxBalance());
+            }
+        });
+        checkCounters.get(!loaded ? "loaded" : consistent ? "consistent" : "corrected").increment();
+        checkedAt = Instant.now();
+    }
+
+    /**
+     * Applies the changes when the caller's transaction commits, or right away outside a transaction.
+     */
+    private void record(List<BalanceChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(changes);
+            return;
+        }
+        pendingChanges().changes.addAll(changes);
+    }
+
+    /**
+     * The current transaction's pending changes. Looked up among its synchronizations rather than bound as a
+     * resource, so a transaction started with {@code REQUIRES_NEW} gets its own.
+     */
+    private PendingChanges pendingChanges() {
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pendingChanges) {
+                return pendingChanges;
+            }
+        }
+        final var pendingChanges = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        return pendingChanges;
+    }
+
+    private void apply(List<BalanceChange> changes) {
+        for (var change : changes) {
+            change.applyTo(distributions);
+        }
+        appliedChanges.add(changes.size());
+    }
+
+    private EnumMap<Currency, BalanceDistribution> scan() {
+        return scanTransaction.execute(status -> {
+            final var slotBalances = new HashMap<Long, Long>();
+            for (var row : slotRepository.sumBalancesByAccount()) {
+                slotBalances.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            final var recomputed = emptyDistributions();
+            try (var accounts = accountRepository.streamAll()) {
+                accounts.forEach(account -> {
+                    final var balance = account.getBalance().minorUnits() + slotBalances.getOrDefault(account.getId(), 0L);
+                    recomputed.get(account.getCurrency()).open(balance);
+                    entityManager.detach(account);
+                });
+            }
+            return recomputed;
+        });
+    }
+
+    private static EnumMap<Currency, BalanceDistribution> emptyDistributions() {
+        final var distributions = new EnumMap<Currency, BalanceDistribution>(Currency.class);
+        for (var currency : Currency.values()) {
+            distributions.put(currency, new BalanceDistribution());
+        }
+        return distributions;
+    }
+
+    /**
+     * A balance moving from {@code before} to {@code after}, or a new account if {@code before} is null. A new account
+     * with an opening deposit is counted at 0 and the deposit moves it.
+     */
+    private record BalanceChange(Currency currency, Long before, long after, boolean depositFollows) {
+        void applyTo(Map<Currency, BalanceDistribution> distributions) {
+            final var distribution = distributions.get(currency);
+            if (before == null && depositFollows) {
+                distribution.openBeforeDeposit();
+            } else if (before == null) {
+                distribution.open(after);
+            } else {
+                distribution.move(before, after);
+            }
+        }
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<BalanceChange> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            apply(changes);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package spaceurgent.banking.service.impl;
+
+import spaceurgent.banking.dto.BalanceBucketDto;
+import spaceurgent.banking.dto.CurrencyStatisticsDto;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Balances of all accounts in one currency: the account count, the total, a histogram with one bucket per power
+ * of ten of the major unit, [0, 1), [1, 10), [10, 100) and so on, and the lowest and highest balance. Memory doesn't
+ * grow with the number of accounts.
+ * <p>
+ * The lowest and highest balance only widen as balances change: a balance leaving the extreme doesn't tell what the
+ * next one is. They are the extremes reached since the last {@link #resetExtremes}.
+ * <p>
+ * Thread safe. Every figure is a {@link LongAdder} or {@link LongAccumulator}, so concurrent writers don't contend on
+ * a lock; {@link #counts()} is not an atomic snapshot across figures while writers are active.
+ */
+final class BalanceDistribution {
+    static final int BUCKETS = 18;
+
+    private final LongAdder accounts = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator minBalance = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxBalance = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    BalanceDistribution() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counts an account with the balance.
+     */
+    void open(long balance) {
+        accounts.increment();
+        total.add(balance);
+        buckets[bucketOf(balance)].increment();
+        widenExtremes(balance, balance);
+    }
+
+    /**
+     * Counts a new account at 0 whose opening deposit follows as a {@link #move}, which then sets its extremes.
+     */
+    void openBeforeDeposit() {
+        accounts.increment();
+        buckets[bucketOf(0)].increment();
+    }
+
+    /**
+     * Moves one account's balance from its bucket to the one of {@code after}.
+     */
+    void move(long before, long after) {
+        total.add(after - before);
+        final var beforeBucket = bucketOf(before);
+        final var afterBucket = bucketOf(after);
+        if (beforeBucket != afterBucket) {
+            buckets[beforeBucket].decrement();
+            buckets[afterBucket].increment();
+        }
+        widenExtremes(after, after);
+    }
+
+    /**
+     * Adds the difference of every figure, leaving changes made meanwhile in place.
+     */
+    void add(Counts delta) {
+        accounts.add(delta.accounts());
+        total.add(delta.total());
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket].add(delta.buckets()[bucket]);
+        }
+    }
+
+    /**
+     * Takes the lowest and highest balance of a recomputed distribution, dropping extremes that balances have left.
+     */
+    void resetExtremes(Counts recomputed) {
+        minBalance.reset();
+        maxBalance.reset();
+        widenExtremes(recomputed.minBalance(), recomputed.maxBalance());
+    }
+
+    void widenExtremes(long min, long max) {
+        minBalance.accumulate(min);
+        maxBalance.accumulate(max);
+    }
+
+    Counts counts() {
+        final var bucketCounts = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bucketCounts[bucket] = buckets[bucket].sum();
+        }
+        return new Counts(accounts.sum(), total.sum(), bucketCounts, minBalance.get(), maxBalance.get());
+    }
+
+    /**
+     * Bucket 0 holds balances under one major unit, bucket {@code i} balances of {@code 10^(i-1)} up to
+     * {@code 10^i} major units.
+     */
+    static int bucketOf(long balance) {
+        var bucket = 0;
+        for (var bound = 100L; bucket < BUCKETS - 1 && balance >= bound; bound = bound > Long.MAX_VALUE / 10 ? Long.MAX_VALUE : bound * 10) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    static Money lowerBound(int bucket) {
+        return bucket == 0 ? Money.ZERO : Money.ofMinorUnits(pow10(bucket + 1));
+    }
+
+    /**
+     * @return the exclusive upper bound, or null for the last bucket, whose bound doesn't fit in {@link Money}
+     */
+    static Money upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? null : Money.ofMinorUnits(pow10(bucket + 2));
+    }
+
+    private static long pow10(int exponent) {
+        var value = 1L;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    /**
+     * Figures of a distribution at one point, or the difference between two. The extremes are {@link Long#MAX_VALUE}
+     * and {@link Long#MIN_VALUE} while there are none; a difference keeps those of the first.
+     */
+    record Counts(long accounts, long total, long[] buckets, long minBalance, long maxBalance) {
+
+        Counts minus(Counts other) {
+            final var bucketDelta = new long[BUCKETS];
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                bucketDelta[bucket] = buckets[bucket] - other.buckets[bucket];
+            }
+            return new Counts(accounts - other.accounts, total - other.total, bucketDelta, minBalance, maxBalance);
+        }
+
+        boolean isZero() {
+            return accounts == 0 && total == 0 && Arrays.stream(buckets).allMatch(count -> count == 0);
+        }
+
+        CurrencyStatisticsDto toDto(Currency currency) {
+            final var histogram = new ArrayList<BalanceBucketDto>();
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (buckets[bucket] > 0) {
+                    histogram.add(new BalanceBucketDto(lowerBound(bucket), upperBound(bucket), buckets[bucket]));
+                }
+            }
+            final var hasExtremes = accounts > 0 && minBalance <= maxBalance;
+            return new CurrencyStatisticsDto(currency, accounts, Money.ofMinorUnits(total),
+                    hasExtremes ? Money.ofMinorUnits(minBalance) : null, hasExtremes ? Money.ofMinorUnits(maxBalance) : null, histogram);
+        }
+
+        @Override
+        public String toString() {
+            return "%d accounts, total %s".formatted(accounts, Money.ofMinorUnits(total));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.DEPOSIT;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.VALIDATION;
+
+/**
+ * Coalesces concurrent deposits to the same account through {@link DepositCoalescer}: each batch is one balance
+ * update, one journal insert batch and one commit. Every caller still gets the balance right after its own deposit,
+ * and the journal has one entry per deposit with that balance. Deposits to hot accounts, which are spread over
+ * balance slots already, and all other operations go to {@link AccountServiceImpl} unchanged.
+ */
+@Service
+@Primary
+@Profile("coalescing & !ledger & !partitioned")
+public class CoalescingAccountService implements AccountService {
+    private final ValidationService validationService;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+    private final JournalService journalService;
+    private final HotAccountBalances hotAccountBalances;
+    private final BankingMetrics bankingMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final DepositCoalescer coalescer;
+
+    public CoalescingAccountService(ValidationService validationService,
+                                    @Qualifier("accountServiceImpl") AccountService accountService,
+                                    AccountRepository accountRepository,
+                                    JournalService journalService,
+                                    HotAccountBalances hotAccountBalances,
+                                    BankingMetrics bankingMetrics,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${banking.coalescing.writers:4}") int writers,
+                                    @Value("${banking.coalescing.max-batch-size:500}") int maxBatchSize,
+                                    @Value("${banking.coalescing.max-wait-micros:200}") long maxWaitMicros) {
+        this.validationService = validationService;
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+        this.journalService = journalService;
+        this.hotAccountBalances = hotAccountBalances;
+        this.bankingMetrics = bankingMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coalescer = new DepositCoalescer(
+                writers,
+                maxBatchSize,
+                TimeUnit.MICROSECONDS.toNanos(maxWaitMicros),
+                this::applyDeposits,
+                meterRegistry
+        );
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        coalescer.shutdown();
+    }
+
+    @Override
+    public Account createAccount(Money initialBalance, Currency currency) {
+        return accountService.createAccount(initialBalance, currency);
+    }
+
+    @Override
+    public List<Account> createAccounts(List<Money> initialBalances, Currency currency) {
+        return accountService.createAccounts(initialBalances, currency);
+    }
+
+    @Override
+    public List<AccountDto> getAccounts(String afterAccountNumber, int limit) {
+        return accountService.getAccounts(afterAccountNumber, limit);
+    }
+
+    @Override
+    public Account getAccount(String accountNumber) {
+        return accountService.getAccount(accountNumber);
+    }
+
+    @Override
+    public AccountBalancesDto searchAccounts(AccountSearchRequestDto searchRequest) {
+        return accountService.searchAccounts(searchRequest);
+    }
+
+    @Override
+    public List<AccountBalanceDto> getTopAccounts(Currency currency, int limit) {
+        return accountService.getTopAccounts(currency, limit);
+    }
+
+    @Override
+    public void exportAccounts(Consumer<Account> accountConsumer) {
+        accountService.exportAccounts(accountConsumer);
+    }
+
+    /**
+     * The persistence phase includes the time spent waiting for the batch.
+     */
+    @Override
+    public Account depositToAccount(String accountNumber, Money amount) {
+        if (accountNumber != null && hotAccountBalances.isHot(accountNumber)) {
+            return accountService.depositToAccount(accountNumber, amount);
+        }
+        final var timer = bankingMetrics.startOperation(DEPOSIT);
+        validationService.validateAccountNumber(accountNumber);
+        validationService.validateTransferAmount(amount);
+        timer.lap(VALIDATION);
+        final var result = coalescer.deposit(accountNumber, amount);
+        timer.lap(PERSISTENCE);
+        return result.account().withBalance(result.balance());
+    }
+
+    @Override
+    public Account withdrawFromAccount(String accountNumber, Money amount) throws AmountExceedsBalanceException {
+        return accountService.withdrawFromAccount(accountNumber, amount);
+    }
+
+    @Override
+    public Account transferToAccount(TransferRequestDto transferRequest) throws AmountExceedsBalanceException {
+        return accountService.transferToAccount(transferRequest);
+    }
+
+    @Override
+    public List<TransferLegResultDto> transferBatch(List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException {
+        return accountService.transferBatch(transferRequests);
+    }
+
+    /**
+     * Adds the batch total in one update and works back from the resulting balance to the balance after each deposit.
+     */
+    DepositCoalescer.WrittenBatch applyDeposits(String accountNumber, List<Money> amounts) {
+        final var total = amounts.stream().reduce(Money.ZERO, Money::plus);
+        return transactionTemplate.execute(status -> {
+            final var account = accountRepository.depositAndGet(AccountNumberCodec.toKey(accountNumber), total.minorUnits())
+                    .orElseThrow(() -> AccountNotFoundException.withNumber(accountNumber));
+            accountRepository.evictOnCompletion(account);
+            final var balances = new ArrayList<Money>(amounts.size());
+            final var entries = new ArrayList<JournalEntry>(amounts.size() * 2);
+            var balance = account.getBalance().minus(total);
+            for (var amount : amounts) {
+                balance = balance.plus(amount);
+                balances.add(balance);
+                entries.addAll(JournalEntry.deposit(accountNumber, balance, amount));
+            }
+            journalService.append(entries);
+            return new DepositCoalescer.WrittenBatch(account, balances);
+        });
+    }
+}
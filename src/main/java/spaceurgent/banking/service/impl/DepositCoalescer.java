@@ -0,0 +1,235 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit of deposits. Deposits to one account that arrive while a write for that account is queued or running
+ * are collected into its next batch, which the {@link BatchWriter} applies at once. The window adapts to load: a
+ * deposit to an idle account is written right away, deposits to a busy account wait for the running write. When the
+ * previous batch of an account held more than one deposit, the writer also lingers up to {@code maxWaitNanos} for
+ * more before writing. Batches hold at most {@code maxBatchSize} deposits, the rest goes into the next one.
+ * <p>
+ * At most one batch per account is written at a time, on one of the writer threads. Each caller gets its own result
+ * or the failure of its batch. Lanes are guarded by a {@link ReentrantLock} rather than a monitor, so neither callers
+ * nor a lingering writer pin a virtual thread.
+ */
+final class DepositCoalescer {
+    static final String BATCH_SUMMARY = "banking.coalescing.batch";
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+    private final BatchWriter batchWriter;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final DistributionSummary batchSummary;
+
+    DepositCoalescer(int writers, int maxBatchSize, long maxWaitNanos, BatchWriter batchWriter, MeterRegistry meterRegistry) {
+        if (writers < 1 || maxBatchSize < 1 || maxWaitNanos < 0) {
+            throw new IllegalArgumentException("Coalescing writers and batch size must be positive, wait not negative");
+        }
+        final var threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writers, runnable -> {
+            final var thread = new Thread(runnable, "deposit-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchWriter = batchWriter;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWaitNanos;
+        this.batchSummary = DistributionSummary.builder(BATCH_SUMMARY)
+                .description("Deposits applied per coalesced write")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the deposit and waits until its batch is written.
+     *
+     * @return the account row written by the batch and the balance right after this deposit
+     */
+    DepositResult deposit(String accountNumber, Money amount) {
+        final var deposit = new PendingDeposit(amount, new CompletableFuture<>());
+        while (!lanes.computeIfAbsent(accountNumber, Lane::new).offer(deposit)) {
+            // The lane was just closed by its writer, take a new one
+        }
+        return await(deposit.result());
+    }
+
+    /**
+     * Deposits to the account waiting for a batch, not counting the batch being written.
+     */
+    int pending(String accountNumber) {
+        final var lane = lanes.get(accountNumber);
+        if (lane == null) {
+            return 0;
+        }
+        lane.lock.lock();
+        try {
+            return lane.pending.size();
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static DepositResult await(CompletableFuture<DepositResult> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for deposit", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) exception.getCause();
+        }
+    }
+
+    /**
+     * Applies deposits to one account in a single transaction.
+     */
+    @FunctionalInterface
+    interface BatchWriter {
+        /**
+         * @return the updated account row and the balance right after each deposit, in the order of {@code amounts}
+         */
+        WrittenBatch write(String accountNumber, List<Money> amounts);
+    }
+
+    record WrittenBatch(Account account, List<Money> balances) {
+    }
+
+    /**
+     * The account row of the batch, shared by all its deposits, and the balance right after one of them.
+     */
+    record DepositResult(Account account, Money balance) {
+    }
+
+    private record PendingDeposit(Money amount, CompletableFuture<DepositResult> result) {
+    }
+
+    /**
+     * Deposits of one account waiting to be written. A lane is removed and closed once its writer finds it empty.
+     */
+    private final class Lane {
+        private final String accountNumber;
+        private final ArrayDeque<PendingDeposit> pending = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition batchFull = lock.newCondition();
+        private boolean scheduled;
+        private boolean closed;
+        private int lastBatchSize;
+
+        private Lane(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        private boolean offer(PendingDeposit deposit) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                pending.add(deposit);
+                if (!scheduled) {
+                    scheduled = true;
+                    writers.execute(this::writeNextBatch);
+                } else if (pending.size() >= maxBatchSize) {
+                    batchFull.signal();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Writes one batch, then queues itself again if more deposits are waiting, so busy accounts share writers.
+         */
+        private void writeNextBatch() {
+            final var batch = takeBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            // Recorded before completing the callers, so the batch is counted by the time they see its result
+            batchSummary.record(batch.size());
+            try {
+                final var written = batchWriter.write(accountNumber, batch.stream().map(PendingDeposit::amount).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(new DepositResult(written.account(), written.balances().get(i)));
+                }
+            } catch (RuntimeException | Error exception) {
+                batch.forEach(deposit -> deposit.result().completeExceptionally(exception));
+            }
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    close();
+                } else {
+                    writers.execute(this::writeNextBatch);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<PendingDeposit> takeBatch() {
+            lock.lock();
+            try {
+                if (lastBatchSize > 1 && maxWaitNanos > 0) {
+                    linger();
+                }
+                final var batch = new ArrayList<PendingDeposit>(Math.min(pending.size(), maxBatchSize));
+                while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+                    batch.add(pending.poll());
+                }
+                if (batch.isEmpty()) {
+                    close();
+                }
+                lastBatchSize = batch.size();
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waits with the lock held, which {@link Condition#awaitNanos} releases until the batch fills up or time is up.
+         */
+        private void linger() {
+            try {
+                for (var remaining = maxWaitNanos; remaining > 0 && pending.size() < maxBatchSize; ) {
+                    remaining = batchFull.awaitNanos(remaining);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            scheduled = false;
+            lanes.remove(accountNumber, this);
+        }
+    }
+}
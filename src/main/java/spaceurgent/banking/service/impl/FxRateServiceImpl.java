@@ -0,0 +1,104 @@
+package spaceurgent.banking.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.FxRates;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.FxRateService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads rates from the properties file at {@code banking.fx.rates-location}, one {@code CURRENCY=unit value} line per
+ * currency, and reloads it every {@code refresh-interval-seconds} on a background thread. A reload that fails keeps
+ * the previous rates. Startup fails if the rates can't be loaded.
+ */
+@Slf4j
+@Service
+public class FxRateServiceImpl implements FxRateService {
+    private final Resource ratesResource;
+    private final long refreshIntervalSeconds;
+    private final ScheduledExecutorService refreshExecutor;
+    private volatile FxRates rates;
+
+    public FxRateServiceImpl(@Value("${banking.fx.rates-location:classpath:fx-rates.properties}") Resource ratesResource,
+                             @Value("${banking.fx.refresh-interval-seconds:60}") long refreshIntervalSeconds) {
+        if (refreshIntervalSeconds < 1) {
+            throw new IllegalArgumentException("Exchange rate refresh interval must be positive");
+        }
+        this.ratesResource = ratesResource;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        try {
+            this.rates = load();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to load exchange rates from " + ratesResource, exception);
+        }
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "fx-rates-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public FxRates currentRates() {
+        return rates;
+    }
+
+    @Override
+    public Money convert(Money amount, Currency from, Currency to) {
+        return rates.convert(amount, from, to);
+    }
+
+    void refresh() {
+        try {
+            final var loadedRates = load();
+            if (!loadedRates.hasSameRates(rates)) {
+                rates = loadedRates;
+                log.info("Exchange rates updated: {}", loadedRates.getUnitValues());
+            }
+        } catch (IOException | RuntimeException exception) {
+            log.warn("Failed to reload exchange rates from {}, keeping rates loaded at {}", ratesResource, rates.getLoadedAt(), exception);
+        }
+    }
+
+    private FxRates load() throws IOException {
+        final var properties = new Properties();
+        try (var input = ratesResource.getInputStream()) {
+            properties.load(input);
+        }
+        final var unitValues = new EnumMap<Currency, BigDecimal>(Currency.class);
+        for (var name : properties.stringPropertyNames()) {
+            final var currency = Currency.valueOf(name.trim());
+            try {
+                unitValues.put(currency, new BigDecimal(properties.getProperty(name).trim()));
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("Rate of %s is not a number".formatted(currency), exception);
+            }
+        }
+        return new FxRates(unitValues, Instant.now());
+    }
+}
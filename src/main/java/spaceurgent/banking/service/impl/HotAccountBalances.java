@@ -0,0 +1,200 @@
+package spaceurgent.banking.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.AccountBalanceSlot;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountBalanceSlotRepository;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.LOOKUP;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+
+/**
+ * Striped balances of the accounts listed in {@code banking.hot-accounts.numbers}. Credits to a hot account go to one
+ * of {@code banking.hot-accounts.slots} {@link AccountBalanceSlot} rows picked at random, so concurrent credits rarely
+ * wait for the same row and never for the account row. A debit locks the account row and, when the account's own
+ * balance doesn't cover it, moves all slot balances into the account first, so {@link Account#withdraw} still refuses
+ * to overdraw the total. Reads return the account with its slots added up.
+ * <p>
+ * Joins the caller's transaction, except {@link #transfer(TransferRequestDto)}, which starts its own.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class HotAccountBalances {
+    private final Set<String> hotAccountNumbers;
+    private final int slots;
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final JournalService journalService;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate slotsTransaction;
+
+    public HotAccountBalances(@Value("${banking.hot-accounts.numbers:}") List<String> hotAccountNumbers,
+                              @Value("${banking.hot-accounts.slots:8}") int slots,
+                              AccountRepository accountRepository,
+                              AccountBalanceSlotRepository slotRepository,
+                              JournalService journalService,
+                              FxRateService fxRateService,
+                              PlatformTransactionManager transactionManager) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("Hot account slots must be positive");
+        }
+        this.hotAccountNumbers = Set.copyOf(hotAccountNumbers);
+        this.slots = slots;
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+        this.journalService = journalService;
+        this.fxRateService = fxRateService;
+        this.slotsTransaction = new TransactionTemplate(transactionManager);
+        this.slotsTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isHot(String accountNumber) {
+        return hotAccountNumbers.contains(accountNumber);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isHot(TransferRequestDto transferRequest) {
+        return isHot(transferRequest.getSourceAccountNumber()) || isHot(transferRequest.getTargetAccountNumber());
+    }
+
+    /**
+     * The account with its slot balances added, or the account itself if it is not hot.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Account withSlots(Account account) {
+        if (!isHot(account.getNumber())) {
+            return account;
+        }
+        final var slotBalances = Money.ofMinorUnits(slotRepository.sumBalances(account.getId()));
+        return new Account(account.getNumber(), account.getBalance().plus(slotBalances));
+    }
+
+    public Account deposit(String accountNumber, Money amount) {
+        final var account = accountRepository.findByNumber(accountNumber)
+                .orElseThrow(() -> AccountNotFoundException.withNumber(accountNumber));
+        credit(account, amount);
+        final var updatedAccount = withSlots(account);
+        journalService.recordDeposit(updatedAccount, amount);
+        return updatedAccount;
+    }
+
+    public Account withdraw(String accountNumber, Money amount) throws AmountExceedsBalanceException {
+        final var account = TransferAccounts.of(accountRepository.findAllByNumberInForUpdate(List.of(accountNumber)))
+                .getOrThrow(accountNumber);
+        withdraw(account, amount);
+        final var updatedAccount = withSlots(account);
+        journalService.recordWithdrawal(updatedAccount, amount);
+        return updatedAccount;
+    }
+
+    /**
+     * Withdraws from an account the caller has locked, first moving the slot balances of a hot account into it if its
+     * own balance is less than the amount.
+     */
+    public void withdraw(Account account, Money amount) throws AmountExceedsBalanceException {
+        if (isHot(account.getNumber()) && account.getBalance().isLessThan(amount)) {
+            final var swept = sweep(account);
+            if (!swept.isNegativeOrZero()) {
+                account.deposit(swept);
+            }
+        }
+        account.withdraw(amount);
+    }
+
+    /**
+     * Transfer involving a hot account. A hot target is credited through a slot without locking its row, unless the
+     * source is hot too; otherwise both rows are locked in account number order, as in
+     * {@link PessimisticTransferExecutor}.
+     */
+    @Transactional(rollbackFor = AmountExceedsBalanceException.class)
+    public Account transfer(TransferRequestDto transferRequest, OperationTimer timer) throws AmountExceedsBalanceException {
+        final var sourceAccountNumber = transferRequest.getSourceAccountNumber();
+        final var targetAccountNumber = transferRequest.getTargetAccountNumber();
+        final var amount = transferRequest.getAmount();
+        final var creditThroughSlot = isHot(targetAccountNumber) && !isHot(sourceAccountNumber);
+        final var accounts = TransferAccounts.of(accountRepository.findAllByNumberInForUpdate(
+                creditThroughSlot ? List.of(sourceAccountNumber) : List.of(sourceAccountNumber, targetAccountNumber)
+        ));
+        final var sourceAccount = accounts.getOrThrow(sourceAccountNumber);
+        final var targetAccount = creditThroughSlot
+                ? accountRepository.findByNumber(targetAccountNumber).orElseThrow(() -> AccountNotFoundException.withNumber(targetAccountNumber))
+                : accounts.getOrThrow(targetAccountNumber);
+        timer.lap(LOOKUP);
+        timer.lapOnCompletion(PERSISTENCE);
+        final var creditAmount = fxRateService.convert(amount, sourceAccount.getCurrency(), targetAccount.getCurrency());
+        withdraw(sourceAccount, amount);
+        if (isHot(targetAccountNumber)) {
+            credit(targetAccount, creditAmount);
+        } else {
+            targetAccount.deposit(creditAmount);
+        }
+        final var updatedSourceAccount = withSlots(sourceAccount);
+        journalService.recordTransfer(updatedSourceAccount, withSlots(targetAccount), amount, creditAmount);
+        return IdempotentRequest.completeOnCommit(updatedSourceAccount);
+    }
+
+    private void credit(Account account, Money amount) {
+        final var slot = ThreadLocalRandom.current().nextInt(slots);
+        if (slotRepository.credit(account.getId(), slot, amount.minorUnits()) == 0) {
+            createSlots(account.getId());
+            if (slotRepository.credit(account.getId(), slot, amount.minorUnits()) == 0) {
+                throw new IllegalStateException("Balance slot %d of account '%s' is missing".formatted(slot, account.getNumber()));
+            }
+        }
+    }
+
+    /**
+     * Locks all slots of the account and empties them.
+     *
+     * @return the sum of the slot balances
+     */
+    private Money sweep(Account account) {
+        var swept = Money.ZERO;
+        for (var slot : slotRepository.findAllByAccountIdForUpdate(account.getId())) {
+            swept = swept.plus(slot.drain());
+        }
+        return swept;
+    }
+
+    /**
+     * Creates the account's missing slots in a separate transaction, so they are visible to concurrent credits at once.
+     * A concurrent creator makes this fail on the unique constraint, which leaves the slots in place either way.
+     */
+    private void createSlots(long accountId) {
+        try {
+            slotsTransaction.executeWithoutResult(status -> {
+                final var existingSlots = slotRepository.findSlotsByAccountId(accountId);
+                final var accountSlots = new ArrayList<AccountBalanceSlot>(slots);
+                for (int slot = 0; slot < slots; slot++) {
+                    if (!existingSlots.contains(slot)) {
+                        accountSlots.add(new AccountBalanceSlot(accountId, slot));
+                    }
+                }
+                slotRepository.saveAll(accountSlots);
+            });
+        } catch (DataIntegrityViolationException exception) {
+            // Created by a concurrent credit
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package spaceurgent.banking.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.IdempotencyKeyInProgressException;
+import spaceurgent.banking.exception.IdempotencyKeyMismatchException;
+import spaceurgent.banking.model.IdempotencyRecord;
+import spaceurgent.banking.repository.IdempotencyRecordRepository;
+import spaceurgent.banking.service.IdempotencyService;
+import spaceurgent.banking.service.ValidationService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recent results are served from a cache bounded by size and age without touching the database. Older keys fall back
+ * to the idempotency records table. Concurrent requests with the same key on this instance wait for the one that runs;
+ * on other instances they are turned away by the record claimed before the request runs.
+ * <p>
+ * The result is stored by the transaction that changes the balances, through {@link IdempotentRequest}, so a claim
+ * without a result means the change was not committed. A failed request releases its key, so it can be retried with
+ * the same key. A claim left without a result because the instance died expires after
+ * {@code banking.idempotency.claim-timeout-seconds} and can then be taken over by a request with the same fingerprint.
+ * <p>
+ * The {@code ledger}, {@code coalescing} and {@code partitioned} profiles commit balance changes on other threads,
+ * so the result is stored only after the request returns. A claim without a result may then belong to an applied
+ * change, and it is never taken over: the key stays in progress rather than being applied twice.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final ValidationService validationService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration claimTimeout;
+    private final boolean takeOverExpiredClaims;
+    private final Cache<String, IdempotentResult> completedResults;
+    private final ConcurrentMap<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyServiceImpl(ValidationService validationService,
+                                  IdempotencyRecordRepository idempotencyRecordRepository,
+                                  @Value("${banking.idempotency.cache-size:100000}") long cacheSize,
+                                  @Value("${banking.idempotency.cache-ttl-seconds:600}") long cacheTtlSeconds,
+                                  @Value("${banking.idempotency.claim-timeout-seconds:60}") long claimTimeoutSeconds,
+                                  Environment environment) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size can't be less than 0");
+        }
+        if (cacheTtlSeconds < 1) {
+            throw new IllegalArgumentException("Cache TTL must be greater than 0");
+        }
+        if (claimTimeoutSeconds < 1) {
+            throw new IllegalArgumentException("Claim timeout must be greater than 0");
+        }
+        this.validationService = validationService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.takeOverExpiredClaims = !environment.acceptsProfiles(Profiles.of("ledger | coalescing | partitioned"));
+        this.completedResults = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public AccountDetailsDto execute(String idempotencyKey, String fingerprint, Operation operation) throws AmountExceedsBalanceException {
+        validationService.validateIdempotencyKey(idempotencyKey);
+        requireNonNull(fingerprint, "Fingerprint is required");
+        requireNonNull(operation, "Operation is required");
+        final var cachedResult = completedResults.getIfPresent(idempotencyKey);
+        if (cachedResult != null) {
+            return cachedResult.replay(fingerprint);
+        }
+        final var request = new InFlightRequest(fingerprint, new CompletableFuture<>());
+        final var runningRequest = inFlightRequests.putIfAbsent(idempotencyKey, request);
+        if (runningRequest != null) {
+            return runningRequest.await(fingerprint);
+        }
+        try {
+            final var result = executeOnce(idempotencyKey, fingerprint, operation);
+            completedResults.put(idempotencyKey, result);
+            request.result().complete(result.accountDetails());
+            return result.replay(fingerprint);
+        } catch (AmountExceedsBalanceException | RuntimeException | Error exception) {
+            request.result().completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlightRequests.remove(idempotencyKey, request);
+        }
+    }
+
+    private IdempotentResult executeOnce(String idempotencyKey, String fingerprint, Operation operation) throws AmountExceedsBalanceException {
+        final var storedRecord = idempotencyRecordRepository.findById(idempotencyKey);
+        if (storedRecord.isPresent()) {
+            final var idempotencyRecord = storedRecord.get();
+            if (idempotencyRecord.isCompleted() || !isExpired(idempotencyRecord)) {
+                return storedResult(idempotencyRecord);
+            }
+            takeOver(idempotencyKey, idempotencyRecord, fingerprint);
+        } else {
+            try {
+                idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(idempotencyKey, fingerprint));
+            } catch (DataIntegrityViolationException exception) {
+                return storedResult(idempotencyRecordRepository.findById(idempotencyKey)
+                        .orElseThrow(() -> inProgress(idempotencyKey)));
+            }
+        }
+        final AccountDetailsDto accountDetails;
+        final boolean completed;
+        try (var request = IdempotentRequest.start(result -> complete(idempotencyKey, result))) {
+            accountDetails = operation.execute();
+            completed = request.isCompleted();
+        } catch (AmountExceedsBalanceException | RuntimeException | Error exception) {
+            releaseKey(idempotencyKey, exception);
+            throw exception;
+        }
+        if (!completed) {
+            try {
+                complete(idempotencyKey, accountDetails);
+            } catch (RuntimeException exception) {
+                // The operation is applied, so its result is returned and cached; the key stays in progress elsewhere
+                log.warn("Failed to store the result of idempotency key {}", idempotencyKey, exception);
+            }
+        }
+        return new IdempotentResult(fingerprint, accountDetails);
+    }
+
+    private void complete(String idempotencyKey, AccountDetailsDto accountDetails) {
+        idempotencyRecordRepository.complete(
+                idempotencyKey,
+                accountDetails.number(),
+                accountDetails.currency(),
+                accountDetails.balance()
+        );
+    }
+
+    private boolean isExpired(IdempotencyRecord idempotencyRecord) {
+        return idempotencyRecord.getCreatedAt().isBefore(Instant.now().minus(claimTimeout));
+    }
+
+    /**
+     * Claims the key again if it still holds the expired claim, otherwise another request got there first.
+     */
+    private void takeOver(String idempotencyKey, IdempotencyRecord idempotencyRecord, String fingerprint) {
+        checkFingerprint(idempotencyRecord.getFingerprint(), fingerprint);
+        if (!takeOverExpiredClaims) {
+            throw inProgress(idempotencyKey);
+        }
+        final var now = Instant.now();
+        if (idempotencyRecordRepository.takeOver(idempotencyKey, fingerprint, now, now.minus(claimTimeout)) == 0) {
+            throw inProgress(idempotencyKey);
+        }
+        log.warn("Idempotency key {} claimed at {} has no result, running the request again",
+                idempotencyKey, idempotencyRecord.getCreatedAt());
+    }
+
+    private void releaseKey(String idempotencyKey, Throwable failure) {
+        try {
+            idempotencyRecordRepository.release(idempotencyKey);
+        } catch (RuntimeException exception) {
+            failure.addSuppressed(exception);
+        }
+    }
+
+    private static IdempotentResult storedResult(IdempotencyRecord idempotencyRecord) {
+        if (!idempotencyRecord.isCompleted()) {
+            throw inProgress(idempotencyRecord.getKey());
+        }
+        return new IdempotentResult(idempotencyRecord.getFingerprint(), idempotencyRecord.toAccountDetailsDto());
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String idempotencyKey) {
+        return new IdempotencyKeyInProgressException("Request with idempotency key %s is in progress".formatted(idempotencyKey));
+    }
+
+    private static void checkFingerprint(String expectedFingerprint, String fingerprint) {
+        if (!expectedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency key was already used for a different request");
+        }
+    }
+
+    private record IdempotentResult(String fingerprint, AccountDetailsDto accountDetails) {
+        AccountDetailsDto replay(String fingerprint) {
+            checkFingerprint(this.fingerprint, fingerprint);
+            return accountDetails;
+        }
+    }
+
+    private record InFlightRequest(String fingerprint, CompletableFuture<AccountDetailsDto> result) {
+        AccountDetailsDto await(String fingerprint) throws AmountExceedsBalanceException {
+            checkFingerprint(this.fingerprint, fingerprint);
+            try {
+                return result.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInProgressException("Interrupted while waiting for the request with the same idempotency key");
+            } catch (ExecutionException exception) {
+                final var cause = exception.getCause();
+                if (cause instanceof AmountExceedsBalanceException amountExceedsBalanceException) {
+                    throw amountExceedsBalanceException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package spaceurgent.banking.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.model.Account;
+
+import java.util.function.Consumer;
+
+/**
+ * Request with an idempotency key running on the current thread. The services that change balances hand their
+ * result to {@link #completeOnCommit(Account)} inside their transaction, so the result is stored in the same commit
+ * as the balance change: either both are committed or neither is.
+ */
+final class IdempotentRequest implements AutoCloseable {
+    private static final ThreadLocal<IdempotentRequest> CURRENT = new ThreadLocal<>();
+
+    private final Consumer<AccountDetailsDto> resultStore;
+    private volatile boolean completed;
+
+    private IdempotentRequest(Consumer<AccountDetailsDto> resultStore) {
+        this.resultStore = resultStore;
+    }
+
+    /**
+     * Binds a request to the current thread until it is closed.
+     */
+    static IdempotentRequest start(Consumer<AccountDetailsDto> resultStore) {
+        final var request = new IdempotentRequest(resultStore);
+        CURRENT.set(request);
+        return request;
+    }
+
+    /**
+     * Stores the account as the result of the request running on this thread when the current transaction commits.
+     * Does nothing outside such a request or outside a transaction.
+     *
+     * @return the account
+     */
+    static Account completeOnCommit(Account account) {
+        final var request = CURRENT.get();
+        if (request != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    request.resultStore.accept(AccountDetailsDto.from(account));
+                }
+
+                @Override
+                public void afterCommit() {
+                    request.completed = true;
+                }
+            });
+        }
+        return account;
+    }
+
+    /**
+     * Whether the result was committed with the balance change.
+     */
+    boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void close() {
+        CURRENT.remove();
+    }
+}
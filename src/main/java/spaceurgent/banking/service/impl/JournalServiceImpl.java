@@ -0,0 +1,50 @@
+package spaceurgent.banking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.JournalEntryRepository;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.JournalService;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class JournalServiceImpl implements JournalService {
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountStatisticsService accountStatisticsService;
+
+    @Override
+    public void recordDeposit(Account account, Money amount) {
+        append(JournalEntry.deposit(account.getNumber(), account.getBalance(), amount));
+    }
+
+    @Override
+    public void recordWithdrawal(Account account, Money amount) {
+        append(JournalEntry.withdrawal(account.getNumber(), account.getBalance(), amount));
+    }
+
+    @Override
+    public void recordTransfer(Account sourceAccount, Account targetAccount, Money debitAmount, Money creditAmount) {
+        append(JournalEntry.transfer(
+                sourceAccount.getNumber(),
+                sourceAccount.getBalance(),
+                targetAccount.getNumber(),
+                targetAccount.getBalance(),
+                debitAmount,
+                creditAmount
+        ));
+    }
+
+    @Override
+    public void append(List<JournalEntry> entries) {
+        journalEntryRepository.saveAll(entries);
+        accountStatisticsService.recordBalanceChanges(entries);
+    }
+}
@@ -0,0 +1,283 @@
+package spaceurgent.banking.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static spaceurgent.banking.service.impl.AccountServiceImpl.legFailureMessage;
+import static spaceurgent.banking.service.impl.AccountServiceImpl.validateTransferBatch;
+import static spaceurgent.banking.service.impl.LedgerBalances.BalanceUpdate;
+
+/**
+ * Keeps balances in memory and applies deposits, withdrawals and transfers on a single writer thread
+ * (see {@link LedgerProcessor}), persisting changed balances and journal entries asynchronously. Account creation, paging and export
+ * go through {@link AccountServiceImpl}; export first waits for all applied changes to be written.
+ * The ledger must be the only writer of account balances while the {@code ledger} profile is active.
+ */
+@Service
+@Primary
+@Profile("ledger")
+public class LedgerAccountService implements AccountService {
+    private static final int FLUSH_BATCH_SIZE = 5_000;
+    private static final int EXPECTED_ACCOUNTS = 1 << 16;
+
+    private final ValidationService validationService;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final LedgerBook book;
+    private final LedgerProcessor processor;
+    private final ExecutorService writeBehindExecutor;
+
+    public LedgerAccountService(ValidationService validationService,
+                                AccountRepository accountRepository,
+                                @Qualifier("accountServiceImpl") AccountService accountService,
+                                JournalService journalService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${banking.ledger.ring-size:65536}") int ringSize,
+                                @Value("${banking.ledger.flush-interval-millis:20}") long flushIntervalMillis,
+                                @Value("${banking.ledger.max-lag-millis:500}") long maxLagMillis) {
+        this.validationService = validationService;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.writeBehindExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "ledger-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        final var balances = new LedgerBalances(EXPECTED_ACCOUNTS);
+        this.book = new LedgerBook(balances);
+        this.processor = new LedgerProcessor(
+                new LedgerRingBuffer<>(ringSize),
+                balances,
+                book,
+                (updates, journalEntries) -> CompletableFuture.runAsync(
+                        () -> transactionTemplate.executeWithoutResult(status -> {
+                            writeBalances(accountRepository, updates);
+                            journalService.append(journalEntries);
+                        }),
+                        writeBehindExecutor
+                ),
+                flushIntervalMillis,
+                maxLagMillis,
+                FLUSH_BATCH_SIZE
+        );
+    }
+
+    @PostConstruct
+    void start() {
+        processor.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        try {
+            processor.stop();
+        } finally {
+            writeBehindExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public Account createAccount(Money initialBalance, Currency currency) {
+        return accountService.createAccount(initialBalance, currency);
+    }
+
+    @Override
+    public List<Account> createAccounts(List<Money> initialBalances, Currency currency) {
+        return accountService.createAccounts(initialBalances, currency);
+    }
+
+    @Override
+    public List<AccountDto> getAccounts(String afterAccountNumber, int limit) {
+        return accountService.getAccounts(afterAccountNumber, limit);
+    }
+
+    @Override
+    public Account getAccount(String accountNumber) {
+        validationService.validateAccountNumber(accountNumber);
+        return toAccount(accountNumber, await(processor.submit(preloaded(new LedgerCommand.Balance(accountNumber), accountNumber))));
+    }
+
+    /**
+     * Writes pending balances first, like the export.
+     */
+    @Override
+    public AccountBalancesDto searchAccounts(AccountSearchRequestDto searchRequest) {
+        flush();
+        return accountService.searchAccounts(searchRequest);
+    }
+
+    /**
+     * Writes pending balances first, like the export.
+     */
+    @Override
+    public List<AccountBalanceDto> getTopAccounts(Currency currency, int limit) {
+        flush();
+        return accountService.getTopAccounts(currency, limit);
+    }
+
+    @Override
+    public void exportAccounts(Consumer<Account> accountConsumer) {
+        flush();
+        accountService.exportAccounts(accountConsumer);
+    }
+
+    @Override
+    public Account depositToAccount(String accountNumber, Money amount) {
+        validationService.validateAccountNumber(accountNumber);
+        validationService.validateTransferAmount(amount);
+        final var command = preloaded(new LedgerCommand.Deposit(accountNumber, amount.minorUnits()), accountNumber);
+        return toAccount(accountNumber, await(processor.submit(command)));
+    }
+
+    @Override
+    public Account withdrawFromAccount(String accountNumber, Money amount) throws AmountExceedsBalanceException {
+        validationService.validateAccountNumber(accountNumber);
+        validationService.validateTransferAmount(amount);
+        final var command = preloaded(new LedgerCommand.Withdraw(accountNumber, amount.minorUnits()), accountNumber);
+        return toAccount(accountNumber, awaitBalanceChange(processor.submit(command)));
+    }
+
+    @Override
+    public Account transferToAccount(TransferRequestDto transferRequest) throws AmountExceedsBalanceException {
+        validationService.validateTransferRequestDto(transferRequest);
+        validationService.validateTransferAmount(transferRequest.getAmount());
+        final var command = preloaded(new LedgerCommand.Transfers(List.of(toLeg(transferRequest))));
+        final var balances = awaitBalanceChange(processor.submit(command));
+        return toAccount(transferRequest.getSourceAccountNumber(), balances[0]);
+    }
+
+    @Override
+    public List<TransferLegResultDto> transferBatch(List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException {
+        validateTransferBatch(validationService, transferRequests);
+        final var command = preloaded(new LedgerCommand.Transfers(transferRequests.stream().map(LedgerAccountService::toLeg).toList()));
+        final var balances = awaitBalanceChange(processor.submit(command));
+        final var results = new ArrayList<TransferLegResultDto>(transferRequests.size());
+        for (int i = 0; i < transferRequests.size(); i++) {
+            final var transferRequest = transferRequests.get(i);
+            results.add(new TransferLegResultDto(
+                    transferRequest.getSourceAccountNumber(),
+                    transferRequest.getTargetAccountNumber(),
+                    transferRequest.getAmount(),
+                    Money.ofMinorUnits(balances[i * 2]),
+                    Money.ofMinorUnits(balances[i * 2 + 1])
+            ));
+        }
+        return results;
+    }
+
+    /**
+     * Waits until every change applied so far is written to the database.
+     */
+    public void flush() {
+        await(processor.flush());
+    }
+
+    /**
+     * Reads the account on the calling thread if the ledger doesn't hold it yet.
+     */
+    private <C extends LedgerCommand<?>> C preloaded(C command, String accountNumber) {
+        if (command.loadedBalance(accountNumber) == null && !book.isLoaded(accountNumber)) {
+            final var account = accountRepository.findByNumber(accountNumber)
+                    .orElseThrow(() -> AccountNotFoundException.withNumber(accountNumber));
+            command.preload(accountNumber, account.getBalance().minorUnits());
+        }
+        return command;
+    }
+
+    private LedgerCommand.Transfers preloaded(LedgerCommand.Transfers command) {
+        final var legs = command.legs();
+        for (int i = 0; i < legs.size(); i++) {
+            try {
+                preloaded(command, legs.get(i).sourceAccountNumber());
+                preloaded(command, legs.get(i).targetAccountNumber());
+            } catch (AccountNotFoundException exception) {
+                throw legs.size() == 1 ? exception : new AccountNotFoundException(legFailureMessage(i, exception));
+            }
+        }
+        return command;
+    }
+
+    private static void writeBalances(AccountRepository accountRepository, List<BalanceUpdate> updates) {
+        final var numbers = new long[updates.size()];
+        final var balances = new long[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            numbers[i] = updates.get(i).key();
+            balances[i] = updates.get(i).balance();
+        }
+        accountRepository.updateBalances(numbers, balances);
+    }
+
+    /**
+     * The ledger keeps balances as plain minor units, so both accounts must be in the same currency.
+     */
+    private static LedgerCommand.Leg toLeg(TransferRequestDto transferRequest) {
+        if (AccountNumberCodec.currencyOf(transferRequest.getSourceAccountNumber())
+                != AccountNumberCodec.currencyOf(transferRequest.getTargetAccountNumber())) {
+            throw new ValidationException("Transfers between currencies are not supported by the ledger");
+        }
+        return new LedgerCommand.Leg(
+                transferRequest.getSourceAccountNumber(),
+                transferRequest.getTargetAccountNumber(),
+                transferRequest.getAmount().minorUnits()
+        );
+    }
+
+    private static Account toAccount(String accountNumber, long balance) {
+        return new Account(accountNumber, Money.ofMinorUnits(balance));
+    }
+
+    private static <R> R awaitBalanceChange(CompletableFuture<R> result) throws AmountExceedsBalanceException {
+        try {
+            return await(result);
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof AmountExceedsBalanceException amountExceedsBalanceException) {
+                throw amountExceedsBalanceException;
+            }
+            throw exception;
+        }
+    }
+
+    private static <R> R await(CompletableFuture<R> result) {
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package spaceurgent.banking.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing map from account number (as {@code long}) to balance in minor units, tracking which entries
+ * changed since they were last drained. Not thread-safe: owned by the ledger writer thread.
+ * Slot indexes stay valid until the next {@link #insert}.
+ */
+final class LedgerBalances {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] balances;
+    private boolean[] dirty;
+    private long[] dirtyKeys;
+    private int size;
+    private int dirtyCount;
+
+    LedgerBalances(int expectedSize) {
+        final var capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.balances = new long[capacity];
+        this.dirty = new boolean[capacity];
+        this.dirtyKeys = new long[capacity / 2];
+    }
+
+    int indexOf(long key) {
+        final var mask = keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return index;
+            }
+            if (keys[index] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    int insert(long key, long balance) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key can't be 0");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        final var index = slotFor(keys, key);
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            size++;
+        }
+        balances[index] = balance;
+        return index;
+    }
+
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    long balanceAt(int index) {
+        return balances[index];
+    }
+
+    void updateBalanceAt(int index, long balance) {
+        balances[index] = balance;
+        markDirtyAt(index);
+    }
+
+    void markDirty(long key) {
+        final var index = indexOf(key);
+        if (index >= 0) {
+            markDirtyAt(index);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int dirtyCount() {
+        return dirtyCount;
+    }
+
+    List<BalanceUpdate> drainDirty() {
+        final var updates = new ArrayList<BalanceUpdate>(dirtyCount);
+        for (int i = 0; i < dirtyCount; i++) {
+            final var index = indexOf(dirtyKeys[i]);
+            dirty[index] = false;
+            updates.add(new BalanceUpdate(keys[index], balances[index]));
+        }
+        dirtyCount = 0;
+        return updates;
+    }
+
+    private void markDirtyAt(int index) {
+        if (dirty[index]) {
+            return;
+        }
+        dirty[index] = true;
+        if (dirtyCount == dirtyKeys.length) {
+            dirtyKeys = Arrays.copyOf(dirtyKeys, dirtyKeys.length * 2);
+        }
+        dirtyKeys[dirtyCount++] = keys[index];
+    }
+
+    private void resize() {
+        final var oldKeys = keys;
+        final var oldBalances = balances;
+        final var oldDirty = dirty;
+        keys = new long[oldKeys.length * 2];
+        balances = new long[keys.length];
+        dirty = new boolean[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                final var index = slotFor(keys, oldKeys[i]);
+                keys[index] = oldKeys[i];
+                balances[index] = oldBalances[i];
+                dirty[index] = oldDirty[i];
+            }
+        }
+    }
+
+    private static int slotFor(long[] keys, long key) {
+        final var mask = keys.length - 1;
+        var index = mix(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int mix(long key) {
+        final var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    record BalanceUpdate(long key, long balance) {
+    }
+}
@@ -0,0 +1,118 @@
+package spaceurgent.banking.service.impl;
+
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory balances seen by ledger commands, plus the journal entries of applied commands not yet written.
+ * Accounts are read from the database by the submitting thread and handed over with the command that first uses
+ * them, so the writer thread never waits for the database. Only accessed from the ledger writer thread, except
+ * {@link #isLoaded}.
+ */
+final class LedgerBook {
+    private final LedgerBalances balances;
+    // Keys of the accounts in memory, readable by submitting threads; accounts are never evicted
+    private final Set<Long> loadedKeys = ConcurrentHashMap.newKeySet();
+    private List<JournalEntry> journal = new ArrayList<>();
+
+    LedgerBook(LedgerBalances balances) {
+        this.balances = balances;
+    }
+
+    /**
+     * Safe to call from any thread. Once true, stays true.
+     */
+    boolean isLoaded(String accountNumber) {
+        return loadedKeys.contains(AccountNumberCodec.toKey(accountNumber));
+    }
+
+    /**
+     * Makes sure the account is in memory, taking its balance from the command if it isn't yet. The balance in
+     * memory wins over the one read by the caller, which may be older. May move other entries, so slot indexes
+     * must be looked up afterwards.
+     */
+    void load(String accountNumber, LedgerCommand<?> command) {
+        final var key = AccountNumberCodec.toKey(accountNumber);
+        if (balances.indexOf(key) >= 0) {
+            return;
+        }
+        final var balance = command.loadedBalance(accountNumber);
+        if (balance == null) {
+            throw new IllegalStateException("Account %s was not loaded before submitting".formatted(accountNumber));
+        }
+        balances.insert(key, balance);
+        loadedKeys.add(key);
+    }
+
+    int indexOf(String accountNumber) {
+        final var index = balances.indexOf(AccountNumberCodec.toKey(accountNumber));
+        if (index < 0) {
+            throw new IllegalStateException("Account %s is not loaded".formatted(accountNumber));
+        }
+        return index;
+    }
+
+    long balanceAt(int index) {
+        return balances.balanceAt(index);
+    }
+
+    void restoreBalanceAt(int index, long balance) {
+        balances.updateBalanceAt(index, balance);
+    }
+
+    long creditAt(int index, long amount) {
+        requirePositive(amount);
+        final long balance;
+        try {
+            balance = Math.addExact(balances.balanceAt(index), amount);
+        } catch (ArithmeticException exception) {
+            throw new ValidationException("Resulting balance is too large");
+        }
+        balances.updateBalanceAt(index, balance);
+        return balance;
+    }
+
+    long debitAt(int index, long amount) throws AmountExceedsBalanceException {
+        requirePositive(amount);
+        final var balance = balances.balanceAt(index);
+        if (balance < amount) {
+            throw new AmountExceedsBalanceException("Withdraw amount exceeds balance");
+        }
+        balances.updateBalanceAt(index, balance - amount);
+        return balance - amount;
+    }
+
+    void record(List<JournalEntry> entries) {
+        journal.addAll(entries);
+    }
+
+    List<JournalEntry> drainJournal() {
+        final var entries = journal;
+        journal = new ArrayList<>();
+        return entries;
+    }
+
+    /**
+     * Puts back entries of a failed write ahead of the ones recorded since.
+     */
+    void requeueJournal(List<JournalEntry> entries) {
+        entries.addAll(journal);
+        journal = entries;
+    }
+
+    /**
+     * Callers validate amounts before submitting; this keeps a missed check from moving money backwards.
+     */
+    private static void requirePositive(long amount) {
+        if (amount <= 0) {
+            throw new ValidationException("Invalid transfer amount. Amount must be grater than 0");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package spaceurgent.banking.service.impl;
+
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static spaceurgent.banking.service.impl.AccountServiceImpl.legFailureMessage;
+
+/**
+ * Unit of work executed by the ledger writer thread. The result is completed on that thread, callers wait for it.
+ * Balances of accounts not yet in memory are attached by the caller before submitting, see {@link LedgerBook#load}.
+ */
+abstract class LedgerCommand<R> {
+    final CompletableFuture<R> result = new CompletableFuture<>();
+    // Written before submitting, read on the writer thread
+    private final Map<String, Long> loadedBalances = new HashMap<>(4);
+
+    abstract R apply(LedgerBook book) throws Exception;
+
+    void preload(String accountNumber, long balance) {
+        loadedBalances.put(accountNumber, balance);
+    }
+
+    Long loadedBalance(String accountNumber) {
+        return loadedBalances.get(accountNumber);
+    }
+
+    final void execute(LedgerBook book) {
+        try {
+            result.complete(apply(book));
+        } catch (Exception exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+
+    static final class Balance extends LedgerCommand<Long> {
+        private final String accountNumber;
+
+        Balance(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        @Override
+        Long apply(LedgerBook book) {
+            book.load(accountNumber, this);
+            return book.balanceAt(book.indexOf(accountNumber));
+        }
+    }
+
+    static final class Deposit extends LedgerCommand<Long> {
+        private final String accountNumber;
+        private final long amount;
+
+        Deposit(String accountNumber, long amount) {
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+
+        @Override
+        Long apply(LedgerBook book) {
+            book.load(accountNumber, this);
+            final var balance = book.creditAt(book.indexOf(accountNumber), amount);
+            book.record(JournalEntry.deposit(accountNumber, Money.ofMinorUnits(balance), Money.ofMinorUnits(amount)));
+            return balance;
+        }
+    }
+
+    static final class Withdraw extends LedgerCommand<Long> {
+        private final String accountNumber;
+        private final long amount;
+
+        Withdraw(String accountNumber, long amount) {
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+
+        @Override
+        Long apply(LedgerBook book) throws AmountExceedsBalanceException {
+            book.load(accountNumber, this);
+            final var balance = book.debitAt(book.indexOf(accountNumber), amount);
+            book.record(JournalEntry.withdrawal(accountNumber, Money.ofMinorUnits(balance), Money.ofMinorUnits(amount)));
+            return balance;
+        }
+    }
+
+    /**
+     * Applies all legs or none of them. Completes with source and target balances after each leg,
+     * as {@code [source1, target1, source2, target2, ...]}.
+     */
+    static final class Transfers extends LedgerCommand<long[]> {
+        private final List<Leg> legs;
+
+        Transfers(List<Leg> legs) {
+            this.legs = legs;
+        }
+
+        List<Leg> legs() {
+            return legs;
+        }
+
+        @Override
+        long[] apply(LedgerBook book) throws AmountExceedsBalanceException {
+            for (var leg : legs) {
+                book.load(leg.sourceAccountNumber(), this);
+                book.load(leg.targetAccountNumber(), this);
+            }
+            final var balances = new long[legs.size() * 2];
+            final var undoIndexes = new int[legs.size() * 2];
+            final var undoBalances = new long[legs.size() * 2];
+            var undoCount = 0;
+            try {
+                for (int i = 0; i < legs.size(); i++) {
+                    final var leg = legs.get(i);
+                    final var sourceIndex = book.indexOf(leg.sourceAccountNumber());
+                    final var targetIndex = book.indexOf(leg.targetAccountNumber());
+                    undoIndexes[undoCount] = sourceIndex;
+                    undoBalances[undoCount++] = book.balanceAt(sourceIndex);
+                    undoIndexes[undoCount] = targetIndex;
+                    undoBalances[undoCount++] = book.balanceAt(targetIndex);
+                    try {
+                        balances[i * 2] = book.debitAt(sourceIndex, leg.amount());
+                    } catch (AmountExceedsBalanceException exception) {
+                        throw legs.size() == 1 ? exception : new AmountExceedsBalanceException(legFailureMessage(i, exception));
+                    }
+                    balances[i * 2 + 1] = book.creditAt(targetIndex, leg.amount());
+                }
+            } catch (RuntimeException | AmountExceedsBalanceException exception) {
+                for (int i = undoCount - 1; i >= 0; i--) {
+                    book.restoreBalanceAt(undoIndexes[i], undoBalances[i]);
+                }
+                throw exception;
+            }
+            for (int i = 0; i < legs.size(); i++) {
+                final var leg = legs.get(i);
+                book.record(JournalEntry.transfer(
+                        leg.sourceAccountNumber(),
+                        Money.ofMinorUnits(balances[i * 2]),
+                        leg.targetAccountNumber(),
+                        Money.ofMinorUnits(balances[i * 2 + 1]),
+                        Money.ofMinorUnits(leg.amount())
+                ));
+            }
+            return balances;
+        }
+    }
+
+    record Leg(String sourceAccountNumber, String targetAccountNumber, long amount) {
+    }
+}
@@ -0,0 +1,252 @@
+package spaceurgent.banking.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import spaceurgent.banking.model.JournalEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import static spaceurgent.banking.service.impl.LedgerBalances.BalanceUpdate;
+
+/**
+ * Single writer of the in-memory ledger. Commands published to the ring buffer are applied one by one on the
+ * writer thread, so balances need no locks. Changed balances are coalesced and, with the journal entries
+ * recorded since the last flush, handed to the write-behind
+ * executor every {@code flushInterval}; if a flush is still running when the oldest unflushed change is older
+ * than {@code maxLag}, the writer waits for it, which bounds how far the database can fall behind.
+ */
+@Slf4j
+final class LedgerProcessor implements Runnable {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final LedgerRingBuffer<LedgerCommand<?>> ringBuffer;
+    private final LedgerBook book;
+    private final LedgerBalances balances;
+    private final BiFunction<List<BalanceUpdate>, List<JournalEntry>, CompletableFuture<Void>> writeBehind;
+    private final long flushIntervalNanos;
+    private final long maxLagNanos;
+    private final int flushBatchSize;
+    private final Thread writerThread;
+    private final Queue<CompletableFuture<Void>> flushRequests = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    private CompletableFuture<Void> pendingFlush;
+    private List<BalanceUpdate> pendingUpdates;
+    private List<JournalEntry> pendingJournal;
+    private long oldestChangeNanos;
+
+    LedgerProcessor(LedgerRingBuffer<LedgerCommand<?>> ringBuffer,
+                    LedgerBalances balances,
+                    LedgerBook book,
+                    BiFunction<List<BalanceUpdate>, List<JournalEntry>, CompletableFuture<Void>> writeBehind,
+                    long flushIntervalMillis,
+                    long maxLagMillis,
+                    int flushBatchSize) {
+        if (maxLagMillis < flushIntervalMillis) {
+            throw new IllegalArgumentException("Max lag can't be less than flush interval");
+        }
+        this.ringBuffer = ringBuffer;
+        this.balances = balances;
+        this.book = book;
+        this.writeBehind = writeBehind;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+        this.flushBatchSize = flushBatchSize;
+        this.writerThread = new Thread(this, "ledger-writer");
+    }
+
+    void start() {
+        writerThread.start();
+    }
+
+    <R> CompletableFuture<R> submit(LedgerCommand<R> command) {
+        while (running) {
+            if (ringBuffer.offer(command)) {
+                if (!running) {
+                    failIfNotCompleted(command.result);
+                }
+                return command.result;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        throw new IllegalStateException("Ledger is stopped");
+    }
+
+    /**
+     * Completes once every command applied before the writer sees the request is written to the database.
+     */
+    CompletableFuture<Void> flush() {
+        if (!running) {
+            throw new IllegalStateException("Ledger is stopped");
+        }
+        final var flushed = new CompletableFuture<Void>();
+        flushRequests.add(flushed);
+        if (!running) {
+            failIfNotCompleted(flushed);
+        }
+        return flushed;
+    }
+
+    /**
+     * Stops accepting commands, applies the ones already published and writes all balances synchronously.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join();
+        for (var command = ringBuffer.poll(); command != null; command = ringBuffer.poll()) {
+            command.result.completeExceptionally(new IllegalStateException("Ledger is stopped"));
+        }
+        for (var flushed = flushRequests.poll(); flushed != null; flushed = flushRequests.poll()) {
+            flushed.completeExceptionally(new IllegalStateException("Ledger is stopped"));
+        }
+    }
+
+    @Override
+    public void run() {
+        var idleCount = 0;
+        while (running) {
+            final var command = ringBuffer.poll();
+            if (command != null) {
+                apply(command);
+                idleCount = 0;
+            } else {
+                idle(idleCount++);
+            }
+            if (flushRequests.isEmpty()) {
+                flushIfDue(System.nanoTime());
+            } else {
+                completeFlushRequests();
+            }
+        }
+        for (var command = ringBuffer.poll(); command != null; command = ringBuffer.poll()) {
+            apply(command);
+        }
+        try {
+            flushNow();
+            completeFlushRequests();
+        } catch (RuntimeException exception) {
+            log.error("Failed to write ledger balances on shutdown, {} accounts not persisted", balances.dirtyCount(), exception);
+        }
+    }
+
+    private void apply(LedgerCommand<?> command) {
+        command.execute(book);
+        if (oldestChangeNanos == 0 && balances.dirtyCount() > 0) {
+            oldestChangeNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Writes everything applied so far and completes the flush requests taken before writing.
+     */
+    private void completeFlushRequests() {
+        final var requests = new ArrayList<CompletableFuture<Void>>();
+        for (var flushed = flushRequests.poll(); flushed != null; flushed = flushRequests.poll()) {
+            requests.add(flushed);
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        try {
+            flushNow();
+            requests.forEach(flushed -> flushed.complete(null));
+        } catch (RuntimeException exception) {
+            requests.forEach(flushed -> flushed.completeExceptionally(exception));
+        }
+    }
+
+    private void flushIfDue(long now) {
+        if (pendingFlush != null && pendingFlush.isDone()) {
+            completePendingFlush();
+        }
+        if (balances.dirtyCount() == 0) {
+            return;
+        }
+        final var lag = now - oldestChangeNanos;
+        if (pendingFlush != null) {
+            if (lag < maxLagNanos) {
+                return;
+            }
+            completePendingFlush();
+        }
+        if (lag >= flushIntervalNanos || balances.dirtyCount() >= flushBatchSize) {
+            startFlush();
+        }
+    }
+
+    private void flushNow() {
+        if (pendingFlush != null) {
+            completePendingFlush();
+        }
+        if (balances.dirtyCount() > 0) {
+            startFlush();
+            final var flush = pendingFlush;
+            completePendingFlush();
+            if (flush.isCompletedExceptionally()) {
+                flush.join();
+            }
+        }
+    }
+
+    private void startFlush() {
+        pendingUpdates = balances.drainDirty();
+        pendingJournal = book.drainJournal();
+        oldestChangeNanos = 0;
+        pendingFlush = writeBehind.apply(pendingUpdates, pendingJournal);
+    }
+
+    private void completePendingFlush() {
+        try {
+            pendingFlush.join();
+        } catch (RuntimeException exception) {
+            log.warn("Failed to write {} ledger balances, retrying with the next flush", pendingUpdates.size(), exception);
+            pendingUpdates.forEach(update -> balances.markDirty(update.key()));
+            book.requeueJournal(pendingJournal);
+            if (oldestChangeNanos == 0) {
+                oldestChangeNanos = System.nanoTime();
+            }
+        } finally {
+            pendingFlush = null;
+            pendingUpdates = null;
+            pendingJournal = null;
+        }
+    }
+
+    /**
+     * The ledger stopped while a command or flush request was being published, so the writer and {@link #stop} may
+     * both have drained before it got there. Once the writer is done, a request it didn't complete never will be.
+     */
+    private void failIfNotCompleted(CompletableFuture<?> result) {
+        var interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        result.completeExceptionally(new IllegalStateException("Ledger is stopped"));
+    }
+
+    private static void idle(int idleCount) {
+        if (idleCount < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idleCount < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+}
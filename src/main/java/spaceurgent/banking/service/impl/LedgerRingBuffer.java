@@ -0,0 +1,65 @@
+package spaceurgent.banking.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer. Each slot carries a sequence number: producers
+ * claim a position with a CAS on the tail and publish the element by advancing the slot sequence, so the consumer
+ * never contends with producers and producers only contend with each other on the tail.
+ */
+final class LedgerRingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private long head;
+
+    LedgerRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of 2");
+        }
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        var position = tail.get();
+        while (true) {
+            final var index = (int) (position & mask);
+            final var difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Must only be called from the consumer thread.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        final var index = (int) (head & mask);
+        if (sequences.getAcquire(index) != head + 1) {
+            return null;
+        }
+        final var element = (E) elements[index];
+        elements[index] = null;
+        sequences.setRelease(index, head + elements.length);
+        head++;
+        return element;
+    }
+}
@@ -0,0 +1,127 @@
+package spaceurgent.banking.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.TransferConflictException;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.TransferExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.LOOKUP;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+
+/**
+ * Applies the transfer without row locks and relies on {@link Account} version checks at commit.
+ * Conflicting attempts are retried with jittered backoff up to {@code max-attempts} times. Lookup is the first read of
+ * the accounts; retries and their backoff count as persistence, so each phase is recorded once per transfer.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.transfer.lock-strategy", havingValue = "optimistic")
+public class OptimisticTransferExecutor implements TransferExecutor {
+    private final AccountRepository accountRepository;
+    private final JournalService journalService;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    @Autowired
+    public OptimisticTransferExecutor(AccountRepository accountRepository,
+                                      JournalService journalService,
+                                      FxRateService fxRateService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${banking.transfer.optimistic.max-attempts:5}") int maxAttempts,
+                                      @Value("${banking.transfer.optimistic.backoff-millis:5}") long backoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than 0");
+        }
+        this.accountRepository = accountRepository;
+        this.journalService = journalService;
+        this.fxRateService = fxRateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public Account transfer(TransferRequestDto transferRequest, OperationTimer timer) throws AmountExceedsBalanceException {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                final var firstAttempt = attempt == 1;
+                try {
+                    return transactionTemplate.execute(status -> transferInTransaction(transferRequest, timer, firstAttempt));
+                } catch (AmountExceedsBalanceFailure failure) {
+                    throw failure.getCause();
+                } catch (OptimisticLockingFailureException exception) {
+                    if (attempt >= maxAttempts) {
+                        throw new TransferConflictException(
+                                "Transfer failed after %d attempts due to concurrent account updates".formatted(attempt),
+                                exception
+                        );
+                    }
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            timer.lap(PERSISTENCE);
+        }
+    }
+
+    private Account transferInTransaction(TransferRequestDto transferRequest, OperationTimer timer, boolean firstAttempt) {
+        final var sourceAccountNumber = transferRequest.getSourceAccountNumber();
+        final var targetAccountNumber = transferRequest.getTargetAccountNumber();
+        final var accounts = TransferAccounts.of(
+                accountRepository.findAllByNumberInOrderByNumber(List.of(sourceAccountNumber, targetAccountNumber))
+        );
+        if (firstAttempt) {
+            timer.lap(LOOKUP);
+        }
+        final var sourceAccount = accounts.getOrThrow(sourceAccountNumber);
+        final var targetAccount = accounts.getOrThrow(targetAccountNumber);
+        final var creditAmount = fxRateService.convert(transferRequest.getAmount(), sourceAccount.getCurrency(), targetAccount.getCurrency());
+        try {
+            sourceAccount.withdraw(transferRequest.getAmount());
+        } catch (AmountExceedsBalanceException exception) {
+            throw new AmountExceedsBalanceFailure(exception);
+        }
+        targetAccount.deposit(creditAmount);
+        journalService.recordTransfer(sourceAccount, targetAccount, transferRequest.getAmount(), creditAmount);
+        return IdempotentRequest.completeOnCommit(sourceAccount);
+    }
+
+    private void backoff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt) + 1);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new TransferConflictException("Transfer retry interrupted", exception);
+        }
+    }
+
+    private static class AmountExceedsBalanceFailure extends RuntimeException {
+        AmountExceedsBalanceFailure(AmountExceedsBalanceException cause) {
+            super(cause);
+        }
+
+        @Override
+        public AmountExceedsBalanceException getCause() {
+            return (AmountExceedsBalanceException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.AccountService;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs deposits, withdrawals and transfers of {@link AccountServiceImpl} on {@link AccountPartitions}, so changes to
+ * one account never run concurrently and never wait for each other's row locks. Requests are validated once, by
+ * {@link AccountServiceImpl} on the partition, and its exceptions are rethrown on the caller. Account creation, reads,
+ * export and transfer batches, which may span any number of partitions, call {@link AccountServiceImpl} directly and
+ * rely on row locks as before.
+ */
+@Service
+@Primary
+@Profile("partitioned & !ledger")
+public class PartitionedAccountService implements AccountService {
+    private final AccountService accountService;
+    private final AccountPartitions partitions;
+
+    public PartitionedAccountService(@Qualifier("accountServiceImpl") AccountService accountService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${banking.partitioned.partitions:0}") int partitions) {
+        this.accountService = accountService;
+        this.partitions = new AccountPartitions(
+                partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors(),
+                meterRegistry
+        );
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        partitions.shutdown();
+    }
+
+    @Override
+    public Account createAccount(Money initialBalance, Currency currency) {
+        return accountService.createAccount(initialBalance, currency);
+    }
+
+    @Override
+    public List<Account> createAccounts(List<Money> initialBalances, Currency currency) {
+        return accountService.createAccounts(initialBalances, currency);
+    }
+
+    @Override
+    public List<AccountDto> getAccounts(String afterAccountNumber, int limit) {
+        return accountService.getAccounts(afterAccountNumber, limit);
+    }
+
+    @Override
+    public Account getAccount(String accountNumber) {
+        return accountService.getAccount(accountNumber);
+    }
+
+    @Override
+    public AccountBalancesDto searchAccounts(AccountSearchRequestDto searchRequest) {
+        return accountService.searchAccounts(searchRequest);
+    }
+
+    @Override
+    public List<AccountBalanceDto> getTopAccounts(Currency currency, int limit) {
+        return accountService.getTopAccounts(currency, limit);
+    }
+
+    @Override
+    public void exportAccounts(Consumer<Account> accountConsumer) {
+        accountService.exportAccounts(accountConsumer);
+    }
+
+    @Override
+    public Account depositToAccount(String accountNumber, Money amount) {
+        return partitions.execute(accountNumber, () -> accountService.depositToAccount(accountNumber, amount));
+    }
+
+    @Override
+    public Account withdrawFromAccount(String accountNumber, Money amount) throws AmountExceedsBalanceException {
+        return partitions.execute(accountNumber, () -> accountService.withdrawFromAccount(accountNumber, amount));
+    }
+
+    @Override
+    public Account transferToAccount(TransferRequestDto transferRequest) throws AmountExceedsBalanceException {
+        return partitions.execute(
+                transferRequest.getSourceAccountNumber(),
+                transferRequest.getTargetAccountNumber(),
+                () -> accountService.transferToAccount(transferRequest)
+        );
+    }
+
+    @Override
+    public List<TransferLegResultDto> transferBatch(List<TransferRequestDto> transferRequests) throws AmountExceedsBalanceException {
+        return accountService.transferBatch(transferRequests);
+    }
+}
@@ -0,0 +1,50 @@
+package spaceurgent.banking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.TransferExecutor;
+
+import java.util.List;
+
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.LOOKUP;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+
+/**
+ * Locks both accounts with {@code SELECT ... FOR UPDATE} in account number order before applying the transfer.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.transfer.lock-strategy", havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PessimisticTransferExecutor implements TransferExecutor {
+    private final AccountRepository accountRepository;
+    private final JournalService journalService;
+    private final FxRateService fxRateService;
+
+    @Transactional(rollbackFor = AmountExceedsBalanceException.class)
+    @Override
+    public Account transfer(TransferRequestDto transferRequest, OperationTimer timer) throws AmountExceedsBalanceException {
+        final var sourceAccountNumber = transferRequest.getSourceAccountNumber();
+        final var targetAccountNumber = transferRequest.getTargetAccountNumber();
+        final var accounts = TransferAccounts.of(
+                accountRepository.findAllByNumberInForUpdate(List.of(sourceAccountNumber, targetAccountNumber))
+        );
+        timer.lap(LOOKUP);
+        timer.lapOnCompletion(PERSISTENCE);
+        final var sourceAccount = accounts.getOrThrow(sourceAccountNumber);
+        final var targetAccount = accounts.getOrThrow(targetAccountNumber);
+        final var creditAmount = fxRateService.convert(transferRequest.getAmount(), sourceAccount.getCurrency(), targetAccount.getCurrency());
+        sourceAccount.withdraw(transferRequest.getAmount());
+        targetAccount.deposit(creditAmount);
+        journalService.recordTransfer(sourceAccount, targetAccount, transferRequest.getAmount(), creditAmount);
+        return IdempotentRequest.completeOnCommit(sourceAccount);
+    }
+}
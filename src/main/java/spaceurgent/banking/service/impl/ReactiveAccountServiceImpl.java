@@ -0,0 +1,199 @@
+package spaceurgent.banking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.ReactiveAccountRepository;
+import spaceurgent.banking.repository.ReactiveJournalEntryRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.ReactiveAccountService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberGenerator;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.CREATE;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.DEPOSIT;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.GET;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.TRANSFER;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.WITHDRAW;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.LOOKUP;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.PERSISTENCE;
+import static spaceurgent.banking.metrics.BankingMetrics.Phase.VALIDATION;
+
+/**
+ * Same operations and rules as {@link AccountServiceImpl} on R2DBC. Balance changes and their journal entries are
+ * written in one reactive transaction; transfers lock both accounts like {@link PessimisticTransferExecutor}.
+ * <p>
+ * Account numbers come from the shared {@link AccountNumberGenerator}, which only blocks when its next block has not
+ * been prefetched in time.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+    private final ValidationService validationService;
+    private final ReactiveAccountRepository reactiveAccountRepository;
+    private final ReactiveJournalEntryRepository reactiveJournalEntryRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final FxRateService fxRateService;
+    private final TransactionalOperator reactiveTransactionalOperator;
+    private final BankingMetrics bankingMetrics;
+
+    @Override
+    public Mono<AccountDetailsDto> createAccount(Money initialBalance, Currency currency) {
+        return Mono.defer(() -> {
+            final var timer = bankingMetrics.startOperation(CREATE);
+            validationService.validateBalanceAmount(initialBalance);
+            timer.lap(VALIDATION);
+            return insertAccount(initialBalance, currency)
+                    .as(reactiveTransactionalOperator::transactional)
+                    .doOnSuccess(account -> timer.lap(PERSISTENCE));
+        });
+    }
+
+    @Override
+    public Flux<AccountDetailsDto> createAccounts(List<Money> initialBalances, Currency currency) {
+        return Flux.defer(() -> {
+            AccountServiceImpl.validateBulkAccounts(validationService, initialBalances);
+            return Flux.fromIterable(initialBalances)
+                    .concatMap(initialBalance -> insertAccount(initialBalance, currency))
+                    .as(reactiveTransactionalOperator::transactional);
+        });
+    }
+
+    @Override
+    public Flux<AccountDto> getAccounts(String afterAccountNumber, int limit) {
+        return Flux.defer(() -> {
+            validationService.validatePageLimit(limit);
+            if (afterAccountNumber != null) {
+                validationService.validateAccountNumber(afterAccountNumber);
+            }
+            return reactiveAccountRepository.findPage(afterAccountNumber, limit);
+        });
+    }
+
+    @Override
+    public Mono<AccountDetailsDto> getAccount(String accountNumber) {
+        return Mono.defer(() -> {
+            final var timer = bankingMetrics.startOperation(GET);
+            validationService.validateAccountNumber(accountNumber);
+            timer.lap(VALIDATION);
+            return reactiveAccountRepository.findByNumber(accountNumber)
+                    .switchIfEmpty(Mono.error(() -> AccountNotFoundException.withNumber(accountNumber)))
+                    .doOnSuccess(account -> timer.lap(LOOKUP));
+        });
+    }
+
+    @Override
+    public Flux<AccountDetailsDto> exportAccounts() {
+        return reactiveAccountRepository.findAll();
+    }
+
+    @Override
+    public Mono<AccountDetailsDto> depositToAccount(String accountNumber, Money amount) {
+        return Mono.defer(() -> {
+            final var timer = bankingMetrics.startOperation(DEPOSIT);
+            validationService.validateAccountNumber(accountNumber);
+            validationService.validateTransferAmount(amount);
+            timer.lap(VALIDATION);
+            return reactiveAccountRepository.depositAndGet(accountNumber, amount)
+                    .switchIfEmpty(Mono.error(() -> AccountNotFoundException.withNumber(accountNumber)))
+                    .flatMap(account -> reactiveJournalEntryRepository.saveAll(
+                            JournalEntry.deposit(account.number(), account.balance(), amount)
+                    ).thenReturn(account))
+                    .as(reactiveTransactionalOperator::transactional)
+                    .doOnSuccess(account -> timer.lap(PERSISTENCE));
+        });
+    }
+
+    @Override
+    public Mono<AccountDetailsDto> withdrawFromAccount(String accountNumber, Money amount) {
+        return Mono.defer(() -> {
+            final var timer = bankingMetrics.startOperation(WITHDRAW);
+            validationService.validateAccountNumber(accountNumber);
+            validationService.validateTransferAmount(amount);
+            timer.lap(VALIDATION);
+            return reactiveAccountRepository.withdrawAndGet(accountNumber, amount)
+                    .switchIfEmpty(Mono.defer(() -> reactiveAccountRepository.existsByNumber(accountNumber)
+                            .flatMap(exists -> Mono.error(exists
+                                    ? new AmountExceedsBalanceException("Withdraw amount exceeds balance")
+                                    : AccountNotFoundException.withNumber(accountNumber)))))
+                    .flatMap(account -> reactiveJournalEntryRepository.saveAll(
+                            JournalEntry.withdrawal(account.number(), account.balance(), amount)
+                    ).thenReturn(account))
+                    .as(reactiveTransactionalOperator::transactional)
+                    .doOnSuccess(account -> timer.lap(PERSISTENCE));
+        });
+    }
+
+    @Override
+    public Mono<AccountDetailsDto> transferToAccount(TransferRequestDto transferRequest) {
+        return Mono.defer(() -> {
+            final var timer = bankingMetrics.startOperation(TRANSFER);
+            validationService.validateTransferRequestDto(transferRequest);
+            // Checked by Account.withdraw on the JPA path, the balances here are computed directly
+            validationService.validateTransferAmount(transferRequest.getAmount());
+            timer.lap(VALIDATION);
+            final var sourceAccountNumber = transferRequest.getSourceAccountNumber();
+            final var targetAccountNumber = transferRequest.getTargetAccountNumber();
+            final var amount = transferRequest.getAmount();
+            final var accountNumbers = Stream.of(sourceAccountNumber, targetAccountNumber).sorted().toList();
+            return reactiveAccountRepository.findAllByNumberInForUpdate(accountNumbers)
+                    .collectMap(AccountDetailsDto::number)
+                    .flatMap(accounts -> {
+                        timer.lap(LOOKUP);
+                        final var sourceAccount = accounts.get(sourceAccountNumber);
+                        final var targetAccount = accounts.get(targetAccountNumber);
+                        if (sourceAccount == null) {
+                            return Mono.error(AccountNotFoundException.withNumber(sourceAccountNumber));
+                        }
+                        if (targetAccount == null) {
+                            return Mono.error(AccountNotFoundException.withNumber(targetAccountNumber));
+                        }
+                        if (sourceAccount.balance().isLessThan(amount)) {
+                            return Mono.error(new AmountExceedsBalanceException("Withdraw amount exceeds balance"));
+                        }
+                        final var creditAmount = fxRateService.convert(amount, sourceAccount.currency(), targetAccount.currency());
+                        final var sourceBalance = sourceAccount.balance().minus(amount);
+                        final var targetBalance = targetAccount.balance().plus(creditAmount);
+                        return reactiveAccountRepository.updateBalance(sourceAccountNumber, sourceBalance)
+                                .then(reactiveAccountRepository.updateBalance(targetAccountNumber, targetBalance))
+                                .then(reactiveJournalEntryRepository.saveAll(JournalEntry.transfer(
+                                        sourceAccountNumber, sourceBalance, targetAccountNumber, targetBalance, amount, creditAmount
+                                )))
+                                .thenReturn(new AccountDetailsDto(sourceAccountNumber, sourceAccount.currency(), sourceBalance));
+                    })
+                    .as(reactiveTransactionalOperator::transactional)
+                    .doOnSuccess(account -> timer.lap(PERSISTENCE));
+        });
+    }
+
+    private Mono<AccountDetailsDto> insertAccount(Money initialBalance, Currency currency) {
+        return Mono.fromCallable(() -> accountNumberGenerator.nextAccountNumber(currency))
+                .flatMap(accountNumber -> reactiveAccountRepository.insert(accountNumber, currency, initialBalance))
+                .flatMap(account -> recordOpeningBalance(account).thenReturn(account));
+    }
+
+    private Mono<Void> recordOpeningBalance(AccountDetailsDto account) {
+        if (account.balance().isNegativeOrZero()) {
+            return Mono.empty();
+        }
+        return reactiveJournalEntryRepository.saveAll(
+                JournalEntry.deposit(account.number(), account.balance(), account.balance())
+        );
+    }
+}
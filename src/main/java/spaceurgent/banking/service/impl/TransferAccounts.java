@@ -0,0 +1,55 @@
+package spaceurgent.banking.service.impl;
+
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.repository.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+final class TransferAccounts {
+    static final int LOCK_CHUNK_SIZE = 1_000;
+
+    private final Map<String, Account> accountsByNumber;
+
+    private TransferAccounts(Map<String, Account> accountsByNumber) {
+        this.accountsByNumber = accountsByNumber;
+    }
+
+    static TransferAccounts of(List<Account> accounts) {
+        final var accountsByNumber = new HashMap<String, Account>(accounts.size() * 2);
+        accounts.forEach(account -> accountsByNumber.put(account.getNumber(), account));
+        return new TransferAccounts(accountsByNumber);
+    }
+
+    /**
+     * Locks the accounts in account number order, {@value #LOCK_CHUNK_SIZE} numbers per statement, so a large batch
+     * keeps the deadlock-free lock order without binding tens of thousands of parameters at once.
+     */
+    static TransferAccounts lock(AccountRepository accountRepository, SortedSet<String> accountNumbers) {
+        final var accounts = new ArrayList<Account>(accountNumbers.size());
+        var chunk = new ArrayList<String>(LOCK_CHUNK_SIZE);
+        for (var accountNumber : accountNumbers) {
+            chunk.add(accountNumber);
+            if (chunk.size() == LOCK_CHUNK_SIZE) {
+                accounts.addAll(accountRepository.findAllByNumberInForUpdate(chunk));
+                chunk = new ArrayList<>(LOCK_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            accounts.addAll(accountRepository.findAllByNumberInForUpdate(chunk));
+        }
+        return of(accounts);
+    }
+
+    Account getOrThrow(String accountNumber) {
+        final var account = accountsByNumber.get(accountNumber);
+        if (account == null) {
+            throw AccountNotFoundException.withNumber(accountNumber);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,110 @@
+package spaceurgent.banking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.TransferNotFoundException;
+import spaceurgent.banking.exception.TransferProcessingException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Transfer;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.repository.TransferRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.TransferService;
+import spaceurgent.banking.service.ValidationService;
+
+import java.util.TreeSet;
+
+/**
+ * Not available with the {@code ledger} profile, where the ledger is the only writer of balances, nor with the
+ * {@code reactive} profile, which has no JPA transaction manager for the workers.
+ */
+@Service
+@Profile("!ledger & !reactive")
+@RequiredArgsConstructor
+public class TransferServiceImpl implements TransferService {
+    private final ValidationService validationService;
+    private final TransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final JournalService journalService;
+    private final FxRateService fxRateService;
+    private final HotAccountBalances hotAccountBalances;
+
+    @Override
+    @Transactional
+    public Transfer submitTransfer(TransferRequestDto transferRequest) {
+        validationService.validateTransferRequestDto(transferRequest);
+        validationService.validateTransferAmount(transferRequest.getAmount());
+        return transferRepository.save(new Transfer(
+                transferRequest.getSourceAccountNumber(),
+                transferRequest.getTargetAccountNumber(),
+                transferRequest.getAmount()
+        ));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Transfer getTransfer(long id) {
+        return transferRepository.findById(id)
+                .orElseThrow(() -> TransferNotFoundException.withId(id));
+    }
+
+    /**
+     * Locks the batch with {@code SKIP LOCKED}, so concurrent workers take disjoint batches, then locks all accounts
+     * of the batch in account number order, like {@link AccountServiceImpl#transferBatch}.
+     */
+    @Override
+    @Transactional
+    public int processPendingTransfers(int batchSize) {
+        final var transfers = transferRepository.findPendingForUpdate(batchSize);
+        if (transfers.isEmpty()) {
+            return 0;
+        }
+        final var accountNumbers = new TreeSet<String>();
+        transfers.forEach(transfer -> {
+            accountNumbers.add(transfer.getSourceAccountNumber());
+            accountNumbers.add(transfer.getTargetAccountNumber());
+        });
+        final var accounts = TransferAccounts.lock(accountRepository, accountNumbers);
+        for (var transfer : transfers) {
+            try {
+                final var sourceAccount = accounts.getOrThrow(transfer.getSourceAccountNumber());
+                final var targetAccount = accounts.getOrThrow(transfer.getTargetAccountNumber());
+                final var creditAmount = fxRateService.convert(transfer.getAmount(), sourceAccount.getCurrency(), targetAccount.getCurrency());
+                hotAccountBalances.withdraw(sourceAccount, transfer.getAmount());
+                targetAccount.deposit(creditAmount);
+                journalService.recordTransfer(
+                        hotAccountBalances.withSlots(sourceAccount),
+                        hotAccountBalances.withSlots(targetAccount),
+                        transfer.getAmount(),
+                        creditAmount
+                );
+                transfer.complete();
+            } catch (AccountNotFoundException | AmountExceedsBalanceException | ValidationException exception) {
+                transfer.fail(exception.getMessage());
+            } catch (TransientDataAccessException exception) {
+                throw exception;
+            } catch (RuntimeException exception) {
+                // Rolling back to a savepoint would leave the transfer's changes on the loaded accounts, which are
+                // flushed on commit, so the whole batch rolls back and the worker fails the transfer on its own
+                throw new TransferProcessingException(transfer.getId(), exception);
+            }
+        }
+        return transfers.size();
+    }
+
+    @Override
+    @Transactional
+    public void failTransfer(long id, String reason) {
+        final var failureReason = reason.length() > Transfer.MAX_FAILURE_REASON_LENGTH
+                ? reason.substring(0, Transfer.MAX_FAILURE_REASON_LENGTH)
+                : reason;
+        transferRepository.findPendingByIdForUpdate(id).ifPresent(transfer -> transfer.fail(failureReason));
+    }
+}
@@ -0,0 +1,86 @@
+package spaceurgent.banking.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import spaceurgent.banking.exception.TransferProcessingException;
+import spaceurgent.banking.service.TransferService;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background threads draining pending transfers through {@link TransferService#processPendingTransfers(int)}. Each
+ * worker polls every {@code poll-interval-millis} and keeps taking batches while they come back full. A transfer
+ * that fails with an unexpected error is marked failed on its own and its batch is taken again, so it can't hold up
+ * the queue.
+ */
+@Slf4j
+@Component
+@Profile("!ledger & !reactive")
+public class TransferWorkers {
+    private final TransferService transferService;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    public TransferWorkers(TransferService transferService,
+                           @Value("${banking.transfers.workers:2}") int workers,
+                           @Value("${banking.transfers.batch-size:500}") int batchSize,
+                           @Value("${banking.transfers.poll-interval-millis:50}") long pollIntervalMillis) {
+        if (workers < 1 || batchSize < 1 || pollIntervalMillis < 1) {
+            throw new IllegalArgumentException("Transfer workers, batch size and poll interval must be positive");
+        }
+        this.transferService = transferService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        final var threadNumber = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(workers, runnable -> {
+            final var thread = new Thread(runnable, "transfer-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void drain() {
+        try {
+            while (!executor.isShutdown() && processBatch() == batchSize) {
+                // Full batch, more transfers are likely pending
+            }
+        } catch (RuntimeException exception) {
+            // A failed batch is rolled back and its transfers stay pending for the next poll
+            log.warn("Failed to process pending transfers, retrying with the next poll", exception);
+        }
+    }
+
+    private int processBatch() {
+        try {
+            return transferService.processPendingTransfers(batchSize);
+        } catch (TransferProcessingException exception) {
+            log.warn("Transfer {} failed, retrying the rest of its batch", exception.getTransferId(), exception);
+            transferService.failTransfer(exception.getTransferId(), exception.getReason());
+            // The rest of the batch is still pending
+            return batchSize;
+        }
+    }
+}
@@ -2,29 +2,40 @@ package spaceurgent.banking.service.impl;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
 import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.service.ValidationService;
 import spaceurgent.banking.validation.Validator;
 
-import java.math.BigDecimal;
-
 @Service
 public class ValidationServiceImpl implements ValidationService {
     private final Validator<String> accountNumberValidator;
     private final Validator<TransferRequestDto> transferRequestDtoValidator;
-    private final Validator<BigDecimal> balanceAmountValidator;
-    private final Validator<BigDecimal> transferAmountValidator;
+    private final Validator<Money> balanceAmountValidator;
+    private final Validator<Money> transferAmountValidator;
+    private final Validator<Integer> pageLimitValidator;
+    private final Validator<String> idempotencyKeyValidator;
+    private final Validator<AccountSearchRequestDto> accountSearchRequestDtoValidator;
 
-    public ValidationServiceImpl(Validator<String> accountNumberValidator,
+    public ValidationServiceImpl(@Qualifier("accountNumberValidator")
+                                 Validator<String> accountNumberValidator,
                                  Validator<TransferRequestDto> transferRequestDtoValidator,
                                  @Qualifier("balanceAmountValidator")
-                                 Validator<BigDecimal> balanceAmountValidator,
+                                 Validator<Money> balanceAmountValidator,
                                  @Qualifier("transferAmountValidator")
-                                 Validator<BigDecimal> transferAmountValidator) {
+                                 Validator<Money> transferAmountValidator,
+                                 Validator<Integer> pageLimitValidator,
+                                 @Qualifier("idempotencyKeyValidator")
+                                 Validator<String> idempotencyKeyValidator,
+                                 Validator<AccountSearchRequestDto> accountSearchRequestDtoValidator) {
         this.accountNumberValidator = accountNumberValidator;
         this.transferRequestDtoValidator = transferRequestDtoValidator;
         this.balanceAmountValidator = balanceAmountValidator;
         this.transferAmountValidator = transferAmountValidator;
+        this.pageLimitValidator = pageLimitValidator;
+        this.idempotencyKeyValidator = idempotencyKeyValidator;
+        this.accountSearchRequestDtoValidator = accountSearchRequestDtoValidator;
     }
 
     public void validateAccountNumber(String accountNumber) {
@@ -35,11 +46,23 @@ public class ValidationServiceImpl implements ValidationService {
         this.transferRequestDtoValidator.validate(transferRequestDto);
     }
 
-    public void validateBalanceAmount(BigDecimal balanceAmount) {
+    public void validateBalanceAmount(Money balanceAmount) {
         this.balanceAmountValidator.validate(balanceAmount);
     }
 
-    public void validateTransferAmount(BigDecimal transferAmount) {
+    public void validateTransferAmount(Money transferAmount) {
         this.transferAmountValidator.validate(transferAmount);
     }
+
+    public void validatePageLimit(int pageLimit) {
+        this.pageLimitValidator.validate(pageLimit);
+    }
+
+    public void validateIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKeyValidator.validate(idempotencyKey);
+    }
+
+    public void validateAccountSearchRequestDto(AccountSearchRequestDto accountSearchRequestDto) {
+        this.accountSearchRequestDtoValidator.validate(accountSearchRequestDto);
+    }
 }
@@ -0,0 +1,93 @@
+package spaceurgent.banking.utils;
+
+import spaceurgent.banking.model.Currency;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Account numbers: the 4-digit {@linkplain Currency#getAccountNumberPrefix() prefix} of the account currency, an 8-digit
+ * serial and 2 check digits computed as in ISO 7064 MOD 97-10, so that the whole number taken as an integer leaves a
+ * remainder of 1 when divided by 97. Any single mistyped digit or swapped pair of adjacent digits breaks the check.
+ * Numbers have a fixed length, so their numeric and text orders match.
+ */
+public final class AccountNumberCodec {
+    public static final long INVALID = -1;
+    public static final long MAX_SERIAL = 99_999_999L;
+
+    private static final int LENGTH = 14;
+    private static final long PREFIX_MULTIPLIER = 10_000_000_000L;
+    private static final long CHECK_MULTIPLIER = 100;
+    private static final long CHECK_MODULUS = 97;
+
+    private AccountNumberCodec() {
+    }
+
+    /**
+     * Returns the numeric form of a well-formed account number with valid check digits, {@link #INVALID} otherwise.
+     */
+    public static long parse(CharSequence accountNumber) {
+        final var value = parseDigits(accountNumber);
+        return value != INVALID && value % CHECK_MODULUS == 1 ? value : INVALID;
+    }
+
+    public static boolean isValid(CharSequence accountNumber) {
+        return parse(accountNumber) != INVALID;
+    }
+
+    /**
+     * Numeric form of a well-formed account number, check digits are not verified.
+     */
+    public static long toKey(CharSequence accountNumber) {
+        final var value = parseDigits(accountNumber);
+        if (value == INVALID) {
+            throw new IllegalArgumentException("Malformed account number");
+        }
+        return value;
+    }
+
+    public static String fromKey(long key) {
+        if (Currency.ofAccountNumberPrefix(key / PREFIX_MULTIPLIER) == null) {
+            throw new IllegalArgumentException("Account number key is out of range");
+        }
+        return Long.toString(key);
+    }
+
+    /**
+     * Currency of a well-formed account number, check digits are not verified.
+     */
+    public static Currency currencyOf(CharSequence accountNumber) {
+        return Currency.ofAccountNumberPrefix(toKey(accountNumber) / PREFIX_MULTIPLIER);
+    }
+
+    /**
+     * UAH account number with the serial.
+     */
+    public static String encode(long serial) {
+        return encode(Currency.UAH, serial);
+    }
+
+    public static String encode(Currency currency, long serial) {
+        requireNonNull(currency, "Currency is required");
+        if (serial < 0 || serial > MAX_SERIAL) {
+            throw new IllegalArgumentException("Account number serial is out of range");
+        }
+        final long prefix = currency.getAccountNumberPrefix();
+        final var withoutCheck = (prefix * PREFIX_MULTIPLIER / CHECK_MULTIPLIER + serial) * CHECK_MULTIPLIER;
+        return fromKey(withoutCheck + CHECK_MODULUS + 1 - withoutCheck % CHECK_MODULUS);
+    }
+
+    private static long parseDigits(CharSequence accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            final var digit = accountNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return Currency.ofAccountNumberPrefix(value / PREFIX_MULTIPLIER) != null ? value : INVALID;
+    }
+}
@@ -1,18 +1,140 @@
 package spaceurgent.banking.utils;
 
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.repository.AccountRepository;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
+/**
+ * Hands out account numbers from blocks leased from a database sequence. Block {@code n} covers serials
+ * {@code (n - 1) * blockSize + 1 .. n * blockSize}, so numbers stay unique across restarts and nodes as long
+ * as every node uses the same block size. Serials get check digits appended by {@link AccountNumberCodec}.
+ * Numbers are taken from the current block without locks, and the next block is fetched in the background once half
+ * of the current one is used.
+ */
 @Component
 public class AccountNumberGenerator {
-    public AccountNumberGenerator() {
+    private final LongSupplier blockSupplier;
+    private final int blockSize;
+    private final Executor refillExecutor;
+    private final ExecutorService ownedExecutor;
+    private final AtomicReference<NumberBlock> currentBlock = new AtomicReference<>(NumberBlock.EMPTY);
+    private final AtomicReference<CompletableFuture<NumberBlock>> nextBlock = new AtomicReference<>();
+
+    @Autowired
+    public AccountNumberGenerator(AccountRepository accountRepository,
+                                  @Value("${banking.account-number.block-size:1000}") int blockSize) {
+        this(accountRepository::nextAccountNumberBlock, blockSize, Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "account-number-refill");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public AccountNumberGenerator(LongSupplier blockSupplier, int blockSize, Executor refillExecutor) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Block size must be greater than 1");
+        }
+        this.blockSupplier = blockSupplier;
+        this.blockSize = blockSize;
+        this.refillExecutor = refillExecutor;
+        this.ownedExecutor = refillExecutor instanceof ExecutorService executorService ? executorService : null;
+    }
+
+    /**
+     * Serials are shared by all currencies, so a number stays unique even without its currency prefix.
+     */
+    public String nextAccountNumber(Currency currency) {
+        return AccountNumberCodec.encode(currency, nextSerial());
+    }
+
+    long nextSerial() {
+        while (true) {
+            final var block = currentBlock.get();
+            final var serial = block.next.getAndIncrement();
+            if (serial < block.end) {
+                if (serial == block.prefetchAt) {
+                    prefetchNextBlock();
+                }
+                return serial;
+            }
+            switchBlock(block);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private void switchBlock(NumberBlock exhaustedBlock) {
+        final var pendingBlock = prefetchNextBlock();
+        final NumberBlock freshBlock;
+        try {
+            freshBlock = pendingBlock.join();
+        } catch (CompletionException exception) {
+            nextBlock.compareAndSet(pendingBlock, null);
+            throw new IllegalStateException("Failed to allocate account number block", exception.getCause());
+        }
+        if (currentBlock.compareAndSet(exhaustedBlock, freshBlock)) {
+            nextBlock.compareAndSet(pendingBlock, null);
+        }
+    }
+
+    private CompletableFuture<NumberBlock> prefetchNextBlock() {
+        while (true) {
+            final var pendingBlock = nextBlock.get();
+            if (pendingBlock != null) {
+                return pendingBlock;
+            }
+            final var candidate = new CompletableFuture<NumberBlock>();
+            if (nextBlock.compareAndSet(null, candidate)) {
+                refillExecutor.execute(() -> {
+                    try {
+                        candidate.complete(allocateBlock());
+                    } catch (RuntimeException exception) {
+                        candidate.completeExceptionally(exception);
+                    }
+                });
+                return candidate;
+            }
+        }
+    }
+
+    private NumberBlock allocateBlock() {
+        final var blockNumber = blockSupplier.getAsLong();
+        final var start = Math.multiplyExact(blockNumber - 1, blockSize) + 1;
+        final var end = start + blockSize;
+        if (blockNumber < 1 || end - 1 > AccountNumberCodec.MAX_SERIAL) {
+            throw new IllegalStateException("Account number block %d is out of range".formatted(blockNumber));
+        }
+        return new NumberBlock(start, end, start + blockSize / 2);
     }
 
-    private static final AtomicLong ACCOUNT_NUMBER_SEQUENCE = new AtomicLong(1);
-    private static final String UAH_ACCOUNT_NUMBER_FORMAT = "2600%010d";
+    private static final class NumberBlock {
+        private static final NumberBlock EMPTY = new NumberBlock(0, 0, -1);
+
+        private final AtomicLong next;
+        private final long end;
+        private final long prefetchAt;
 
-    public String nextAccountNumber() {
-        return UAH_ACCOUNT_NUMBER_FORMAT.formatted(ACCOUNT_NUMBER_SEQUENCE.getAndIncrement());
+        private NumberBlock(long start, long end, long prefetchAt) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+        }
     }
 }
@@ -1,8 +1,8 @@
 package spaceurgent.banking.validation;
 
 import org.springframework.stereotype.Component;
-import spaceurgent.banking.Constants;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.utils.AccountNumberCodec;
 
 import static java.util.Objects.requireNonNull;
 
@@ -12,7 +12,7 @@ public class AccountNumberValidator implements Validator<String> {
     @Override
     public void validate(String accountNumber) {
         requireNonNull(accountNumber, "Account number is required");
-        if (!accountNumber.matches(Constants.ACCOUNT_NUMBER_REGEX)) {
+        if (!AccountNumberCodec.isValid(accountNumber)) {
             throw new ValidationException("Invalid account number");
         }
     }
@@ -0,0 +1,37 @@
+package spaceurgent.banking.validation;
+
+import org.springframework.stereotype.Component;
+import spaceurgent.banking.dto.AccountSearchCursor;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.exception.ValidationException;
+
+import static java.util.Objects.requireNonNull;
+
+@Component
+public class AccountSearchRequestDtoValidator implements Validator<AccountSearchRequestDto> {
+    private final Validator<Integer> pageLimitValidator;
+
+    public AccountSearchRequestDtoValidator(Validator<Integer> pageLimitValidator) {
+        this.pageLimitValidator = pageLimitValidator;
+    }
+
+    @Override
+    public void validate(AccountSearchRequestDto searchRequest) {
+        requireNonNull(searchRequest, "Account search request dto is required");
+        pageLimitValidator.validate(searchRequest.limit());
+        if (searchRequest.minBalance() != null && searchRequest.minBalance().isNegative()) {
+            throw new ValidationException("Invalid balance range. Minimum balance can't be negative");
+        }
+        if (searchRequest.minBalance() != null && searchRequest.maxBalance() != null
+                && searchRequest.maxBalance().isLessThan(searchRequest.minBalance())) {
+            throw new ValidationException("Invalid balance range. Minimum balance can't be greater than maximum balance");
+        }
+        if (searchRequest.createdFrom() != null && searchRequest.createdTo() != null
+                && !searchRequest.createdFrom().isBefore(searchRequest.createdTo())) {
+            throw new ValidationException("Invalid creation window. Start must be before end");
+        }
+        if (searchRequest.after() != null) {
+            AccountSearchCursor.parse(searchRequest.after());
+        }
+    }
+}
@@ -2,19 +2,17 @@ package spaceurgent.banking.validation;
 
 import org.springframework.stereotype.Component;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Money;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 
-import static spaceurgent.banking.utils.AmountUtils.isNegative;
-
 @Component
-public class BalanceAmountValidator implements Validator<BigDecimal> {
+public class BalanceAmountValidator implements Validator<Money> {
 
     @Override
-    public void validate(BigDecimal balanceAmount) {
+    public void validate(Money balanceAmount) {
         Objects.requireNonNull(balanceAmount, "Balance amount is required");
-        if (isNegative(balanceAmount)) {
+        if (balanceAmount.isNegative()) {
             throw new ValidationException("Invalid balance. Balance must be equal or greater than 0");
         }
     }
@@ -0,0 +1,36 @@
+package spaceurgent.banking.validation;
+
+import org.springframework.stereotype.Component;
+import spaceurgent.banking.exception.ValidationException;
+
+import static java.util.Objects.requireNonNull;
+import static spaceurgent.banking.Constants.MAX_IDEMPOTENCY_KEY_LENGTH;
+
+@Component
+public class IdempotencyKeyValidator implements Validator<String> {
+
+    @Override
+    public void validate(String idempotencyKey) {
+        requireNonNull(idempotencyKey, "Idempotency key is required");
+        if (!isValid(idempotencyKey)) {
+            throw new ValidationException("Invalid idempotency key");
+        }
+    }
+
+    /**
+     * 1 to {@value spaceurgent.banking.Constants#MAX_IDEMPOTENCY_KEY_LENGTH} visible ASCII characters.
+     */
+    private static boolean isValid(String idempotencyKey) {
+        final var length = idempotencyKey.length();
+        if (length < 1 || length > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final var character = idempotencyKey.charAt(i);
+            if (character < '!' || character > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
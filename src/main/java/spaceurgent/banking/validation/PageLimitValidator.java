@@ -0,0 +1,19 @@
+package spaceurgent.banking.validation;
+
+import org.springframework.stereotype.Component;
+import spaceurgent.banking.exception.ValidationException;
+
+import static java.util.Objects.requireNonNull;
+import static spaceurgent.banking.Constants.MAX_PAGE_LIMIT;
+
+@Component
+public class PageLimitValidator implements Validator<Integer> {
+
+    @Override
+    public void validate(Integer pageLimit) {
+        requireNonNull(pageLimit, "Page limit is required");
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("Invalid page limit. Limit must be between 1 and %d".formatted(MAX_PAGE_LIMIT));
+        }
+    }
+}
@@ -2,19 +2,17 @@ package spaceurgent.banking.validation;
 
 import org.springframework.stereotype.Component;
 import spaceurgent.banking.exception.ValidationException;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 import static java.util.Objects.requireNonNull;
-import static spaceurgent.banking.utils.AmountUtils.isNegativeOrZero;
 
 @Component
-public class TransferAmountValidator implements Validator<BigDecimal> {
+public class TransferAmountValidator implements Validator<Money> {
 
     @Override
-    public void validate(BigDecimal transferAmount) {
+    public void validate(Money transferAmount) {
         requireNonNull(transferAmount, "Transfer amount is required");
-        if (isNegativeOrZero(transferAmount)) {
+        if (transferAmount.isNegativeOrZero()) {
             throw new ValidationException("Invalid transfer amount. Amount must be grater than 0");
         }
     }
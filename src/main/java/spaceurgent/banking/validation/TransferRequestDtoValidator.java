@@ -1,6 +1,6 @@
 package spaceurgent.banking.validation;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.ValidationException;
@@ -10,10 +10,13 @@ import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 
 @Component
-@RequiredArgsConstructor
 public class TransferRequestDtoValidator implements Validator<TransferRequestDto> {
     private final Validator<String> accountNumberValidator;
 
+    public TransferRequestDtoValidator(@Qualifier("accountNumberValidator") Validator<String> accountNumberValidator) {
+        this.accountNumberValidator = accountNumberValidator;
+    }
+
     @Override
     public void validate(TransferRequestDto transferRequestDto) {
         requireNonNull(transferRequestDto, "Transfer request dto is required");
@@ -0,0 +1,2 @@
+-- Account numbers are leased in blocks; each value of this sequence is one block (see AccountNumberGenerator)
+CREATE SEQUENCE IF NOT EXISTS account_number_block_sequence START WITH 1 INCREMENT BY 1;
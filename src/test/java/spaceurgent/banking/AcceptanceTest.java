@@ -1,10 +1,12 @@
 package spaceurgent.banking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
@@ -12,21 +14,49 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDetailsListDto;
+import spaceurgent.banking.dto.TransferDto;
+import spaceurgent.banking.metrics.BankingMetrics;
 import spaceurgent.banking.model.Account;
 import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.model.TransferStatus;
 import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.repository.IdempotencyRecordRepository;
+import spaceurgent.banking.repository.TransferRepository;
+import spaceurgent.banking.utils.AccountNumberCodec;
+import spaceurgent.banking.repository.JournalEntryRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.IdempotencyService;
 
-import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static spaceurgent.banking.TestUtils.errorTimestampMatcher;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 public class AcceptanceTest {
 
     @Autowired
@@ -34,24 +64,40 @@ public class AcceptanceTest {
     @Autowired
     private AccountRepository accountRepository;
     @Autowired
+    private JournalEntryRepository journalEntryRepository;
+    @Autowired
+    private TransferRepository transferRepository;
+    @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AccountStatisticsService accountStatisticsService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
 
     @BeforeEach
     void setUp() {
+        transferRepository.deleteAll();
         accountRepository.deleteAll();
+        journalEntryRepository.deleteAll();
     }
 
     @Test
     @DisplayName("Create new account and get - OK")
     void createNewAccount_andGet_ok() throws Exception {
-        final var initialBalance = BigDecimal.valueOf(100);
+        final var initialBalance = Money.valueOf("100");
         final var jsonResponseBody = mockMvc.perform(post("/api/accounts")
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param("balance", initialBalance.toString()))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.number").exists())
                 .andExpect(jsonPath("$.currency").value(Currency.UAH.name()))
-                .andExpect(jsonPath("$.balance").value(initialBalance.doubleValue()))
+                .andExpect(jsonPath("$.balance").value(initialBalance.toBigDecimal().doubleValue()))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -62,7 +108,7 @@ public class AcceptanceTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(accountNumber))
                 .andExpect(jsonPath("$.currency").value(accountDetailsDto.currency().name()))
-                .andExpect(jsonPath("$.balance").value(initialBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(initialBalance.toBigDecimal().doubleValue()));
 
         mockMvc.perform(get("/api/accounts"))
                 .andExpect(status().isOk())
@@ -70,11 +116,47 @@ public class AcceptanceTest {
                 .andExpect(jsonPath("$.data[0].currency").value(Currency.UAH.name()));
     }
 
+    @Test
+    @DisplayName("Get accounts pages with cursor - OK")
+    void getAccounts_withCursor_ok() throws Exception {
+        for (int i = 3; i > 0; i--) {
+            accountRepository.save(new Account(AccountNumberCodec.encode(i), Money.ZERO));
+        }
+        mockMvc.perform(get("/api/accounts").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].number").value("26000000000156"))
+                .andExpect(jsonPath("$.data[1].number").value("26000000000253"))
+                .andExpect(jsonPath("$.nextCursor").value("26000000000253"));
+
+        mockMvc.perform(get("/api/accounts").param("after", "26000000000253").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].number").value("26000000000350"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Export accounts as NDJSON - OK")
+    void exportAccounts_ok() throws Exception {
+        accountRepository.save(new Account("26000000000253", Money.valueOf("10")));
+        accountRepository.save(new Account("26000000000156", Money.valueOf("1")));
+        final var asyncResult = mockMvc.perform(get("/api/accounts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        {"number":"26000000000156","currency":"UAH","balance":1.00}
+                        {"number":"26000000000253","currency":"UAH","balance":10.00}
+                        """));
+    }
+
     @Test
     void depositToAccount() throws Exception {
-        final var accountToDeposit = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, BigDecimal.ZERO));
-        final var depositAmount = BigDecimal.valueOf(100);
-        final var expectedBalance = accountToDeposit.getBalance().add(depositAmount);
+        final var accountToDeposit = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.ZERO));
+        final var depositAmount = Money.valueOf("100");
+        final var expectedBalance = accountToDeposit.getBalance().plus(depositAmount);
         mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", accountToDeposit.getNumber())
                     .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                     .param("amount", depositAmount.toString()))
@@ -82,21 +164,112 @@ public class AcceptanceTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.number").value(accountToDeposit.getNumber()))
                 .andExpect(jsonPath("$.currency").value(accountToDeposit.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedBalance.toBigDecimal().doubleValue()));
 
         getAccountDetails(accountToDeposit.getNumber())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(accountToDeposit.getNumber()))
                 .andExpect(jsonPath("$.currency").value(accountToDeposit.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedBalance.toBigDecimal().doubleValue()));
+    }
+
+    @Test
+    @DisplayName("Deposit retried with the same idempotency key is applied once")
+    void depositToAccount_withIdempotencyKey_appliedOnce() throws Exception {
+        final var account = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.ZERO));
+        final var idempotencyKey = UUID.randomUUID().toString();
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .param("amount", "100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.balance").value(100.0));
+        }
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header("Idempotency-Key", idempotencyKey)
+                        .param("amount", "50"))
+                .andExpect(status().isUnprocessableEntity());
+
+        getAccountDetails(account.getNumber())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.0));
+        assertEquals(1, journalEntryRepository.findAllByAccountNumberOrderById(account.getNumber()).size());
+    }
+
+    @Test
+    @DisplayName("Deposit whose request dies after the commit is not applied again on retry")
+    void depositToAccount_withIdempotencyKey_requestDiesAfterCommit_appliedOnce() throws Exception {
+        final var account = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.ZERO));
+        final var idempotencyKey = UUID.randomUUID().toString();
+        final var fingerprint = "deposit:%s:100.00".formatted(account.getNumber());
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(idempotencyKey, fingerprint, () -> {
+            accountService.depositToAccount(account.getNumber(), Money.valueOf("100"));
+            throw new IllegalStateException("Instance died before the result was stored");
+        }));
+        assertTrue(idempotencyRecordRepository.findById(idempotencyKey).orElseThrow().isCompleted());
+
+        final var retried = idempotencyService.execute(idempotencyKey, fingerprint, () -> fail("Deposit must not run again"));
+        assertEquals(Money.valueOf("100"), retried.balance());
+        getAccountDetails(account.getNumber())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.0));
+        assertEquals(1, journalEntryRepository.findAllByAccountNumberOrderById(account.getNumber()).size());
+    }
+
+    @Test
+    @DisplayName("Repeated account lookups are served from cache and see every balance change")
+    void getAccount_repeatedly_servedFromCache() throws Exception {
+        final var account = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.valueOf("100")));
+        getAccountDetails(account.getNumber()).andExpect(jsonPath("$.balance").value(100.0));
+        final var cacheHits = accountCacheHits();
+        getAccountDetails(account.getNumber()).andExpect(jsonPath("$.balance").value(100.0));
+        assertTrue(accountCacheHits() > cacheHits);
+
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "50"))
+                .andExpect(status().isOk());
+        getAccountDetails(account.getNumber()).andExpect(jsonPath("$.balance").value(150.0));
+        mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", account.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "30"))
+                .andExpect(status().isOk());
+        getAccountDetails(account.getNumber()).andExpect(jsonPath("$.balance").value(120.0));
+        getAccountDetails(account.getNumber()).andExpect(jsonPath("$.balance").value(120.0));
+    }
+
+    @Test
+    @DisplayName("Prometheus scrape - request, operation phase, error and connection pool metrics")
+    void prometheus_exposesBankingMetrics() throws Exception {
+        final var account = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.valueOf("100")));
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "50"))
+                .andExpect(status().isOk());
+        getAccountDetails(TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER).andExpect(status().isNotFound());
+
+        final var scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "Request histogram missing");
+        assertTrue(scrape.contains("banking_operation_seconds_count{operation=\"deposit\",phase=\"persistence\"}"),
+                "Deposit persistence timer missing");
+        assertTrue(scrape.contains("banking_operation_seconds_bucket{"), "Operation histogram missing");
+        assertTrue(scrape.contains("banking_errors_total{exception=\"AccountNotFoundException\"}"), "Error counter missing");
+        assertTrue(scrape.contains("hikaricp_connections_pending{"), "Connection pool gauge missing");
+        assertTrue(meterRegistry.get(BankingMetrics.ERROR_COUNTER).tag("exception", "AccountNotFoundException").counter().count() >= 1);
     }
 
     @Test
     void withdrawFromAccount() throws Exception {
-        final var initialBalance = BigDecimal.valueOf(100);
+        final var initialBalance = Money.valueOf("100");
         final var accountToWithdraw = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, initialBalance));
-        final var withdrawAmount = BigDecimal.valueOf(10);
-        final var expectedBalance = accountToWithdraw.getBalance().subtract(withdrawAmount);
+        final var withdrawAmount = Money.valueOf("10");
+        final var expectedBalance = accountToWithdraw.getBalance().minus(withdrawAmount);
         mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", accountToWithdraw.getNumber())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param("amount", withdrawAmount.toString()))
@@ -104,20 +277,34 @@ public class AcceptanceTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.number").value(accountToWithdraw.getNumber()))
                 .andExpect(jsonPath("$.currency").value(accountToWithdraw.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedBalance.toBigDecimal().doubleValue()));
 
         getAccountDetails(accountToWithdraw.getNumber())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(accountToWithdraw.getNumber()))
                 .andExpect(jsonPath("$.currency").value(accountToWithdraw.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedBalance.toBigDecimal().doubleValue()));
+    }
+
+    @Test
+    void withdrawFromAccount_withFractionalAmount_truncatesAmount() throws Exception {
+        final var accountToWithdraw = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.valueOf("100")));
+        mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", accountToWithdraw.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "10.009"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.0));
+
+        getAccountDetails(accountToWithdraw.getNumber())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.0));
     }
 
     @Test
     void withdrawFromAccount_withAmountExceedsBalance() throws Exception {
-        final var initialBalance = BigDecimal.valueOf(10);
+        final var initialBalance = Money.valueOf("10");
         final var accountToWithdraw = accountRepository.save(new Account(TestConstants.TEST_ACCOUNT_NUMBER, initialBalance));
-        final var withdrawAmount = BigDecimal.valueOf(100);
+        final var withdrawAmount = Money.valueOf("100");
         mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", accountToWithdraw.getNumber())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param("amount", withdrawAmount.toString()))
@@ -132,16 +319,16 @@ public class AcceptanceTest {
                .andExpect(status().isOk())
                .andExpect(jsonPath("$.number").value(accountToWithdraw.getNumber()))
                .andExpect(jsonPath("$.currency").value(accountToWithdraw.getCurrency().name()))
-               .andExpect(jsonPath("$.balance").value(accountToWithdraw.getBalance().doubleValue()));
+               .andExpect(jsonPath("$.balance").value(accountToWithdraw.getBalance().toBigDecimal().doubleValue()));
     }
 
     @Test
     void transferToAccount_ok() throws Exception {
-        final var sourceAccount = accountRepository.save(new Account("26000000000001", BigDecimal.valueOf(100)));
-        final var targetAccount = accountRepository.save(new Account("26000000000002", BigDecimal.ZERO));
-        final var transferAmount = BigDecimal.valueOf(50);
-        final var expectedSourceAccountBalance = sourceAccount.getBalance().subtract(transferAmount);
-        final var expectedTargetAccountBalance = targetAccount.getBalance().add(transferAmount);
+        final var sourceAccount = accountRepository.save(new Account("26000000000156", Money.valueOf("100")));
+        final var targetAccount = accountRepository.save(new Account("26000000000253", Money.ZERO));
+        final var transferAmount = Money.valueOf("50");
+        final var expectedSourceAccountBalance = sourceAccount.getBalance().minus(transferAmount);
+        final var expectedTargetAccountBalance = targetAccount.getBalance().plus(transferAmount);
         mockMvc.perform(post("/api/accounts/{sourceAccountNumber}/transfer", sourceAccount.getNumber())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param("targetAccountNumber", targetAccount.getNumber())
@@ -150,26 +337,26 @@ public class AcceptanceTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.number").value(sourceAccount.getNumber()))
                 .andExpect(jsonPath("$.currency").value(sourceAccount.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedSourceAccountBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedSourceAccountBalance.toBigDecimal().doubleValue()));
 
         getAccountDetails(sourceAccount.getNumber())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(sourceAccount.getNumber()))
                 .andExpect(jsonPath("$.currency").value(sourceAccount.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedSourceAccountBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedSourceAccountBalance.toBigDecimal().doubleValue()));
 
         getAccountDetails(targetAccount.getNumber())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(targetAccount.getNumber()))
                 .andExpect(jsonPath("$.currency").value(targetAccount.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(expectedTargetAccountBalance.doubleValue()));
+                .andExpect(jsonPath("$.balance").value(expectedTargetAccountBalance.toBigDecimal().doubleValue()));
     }
 
     @Test
     void transferToAccount_withAmountExceedsSourceAccountBalance() throws Exception {
-        final var sourceAccount = accountRepository.save(new Account("26000000000001", BigDecimal.ZERO));
-        final var targetAccount = accountRepository.save(new Account("26000000000002", BigDecimal.ZERO));
-        final var transferAmount = BigDecimal.valueOf(100);
+        final var sourceAccount = accountRepository.save(new Account("26000000000156", Money.ZERO));
+        final var targetAccount = accountRepository.save(new Account("26000000000253", Money.ZERO));
+        final var transferAmount = Money.valueOf("100");
         mockMvc.perform(post("/api/accounts/{sourceAccountNumber}/transfer", sourceAccount.getNumber())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param("targetAccountNumber", targetAccount.getNumber())
@@ -185,13 +372,267 @@ public class AcceptanceTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(sourceAccount.getNumber()))
                 .andExpect(jsonPath("$.currency").value(sourceAccount.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(sourceAccount.getBalance().doubleValue()));
+                .andExpect(jsonPath("$.balance").value(sourceAccount.getBalance().toBigDecimal().doubleValue()));
 
         getAccountDetails(targetAccount.getNumber())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.number").value(targetAccount.getNumber()))
                 .andExpect(jsonPath("$.currency").value(targetAccount.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(targetAccount.getBalance().doubleValue()));
+                .andExpect(jsonPath("$.balance").value(targetAccount.getBalance().toBigDecimal().doubleValue()));
+    }
+
+    @Test
+    @DisplayName("Transfer batch with failing leg rolls back all legs")
+    void transferBatch_withFailingLeg_rollsBack() throws Exception {
+        final var sourceAccount = accountRepository.save(new Account("26000000000156", Money.valueOf("100")));
+        final var targetAccount = accountRepository.save(new Account("26000000000253", Money.ZERO));
+        final var legs = """
+                [
+                  {"sourceAccountNumber": "26000000000156", "targetAccountNumber": "26000000000253", "amount": %1$s},
+                  {"sourceAccountNumber": "26000000000156", "targetAccountNumber": "26000000000253", "amount": %1$s}
+                ]""";
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(legs.formatted(60)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Transfer leg #2 failed: Withdraw amount exceeds balance"));
+
+        getAccountDetails(sourceAccount.getNumber())
+                .andExpect(jsonPath("$.balance").value(100));
+        getAccountDetails(targetAccount.getNumber())
+                .andExpect(jsonPath("$.balance").value(0));
+
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(legs.formatted(40)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[1].sourceBalance").value(20))
+                .andExpect(jsonPath("$.data[1].targetBalance").value(80));
+    }
+
+    @Test
+    @DisplayName("Submitted transfers are applied in the background")
+    void submitTransfers_processedInBackground() throws Exception {
+        final var sourceAccount = accountRepository.save(new Account("26000000000156", Money.valueOf("100")));
+        final var targetAccount = accountRepository.save(new Account("26000000000253", Money.ZERO));
+        final var transfer = """
+                {"sourceAccountNumber": "26000000000156", "targetAccountNumber": "26000000000253", "amount": 60}""";
+        final var firstTransfer = submitTransfer(transfer);
+        final var secondTransfer = submitTransfer(transfer);
+
+        final var outcomes = List.of(awaitTransfer(firstTransfer.id()), awaitTransfer(secondTransfer.id()));
+        assertEquals(Set.of(TransferStatus.COMPLETED, TransferStatus.FAILED),
+                outcomes.stream().map(TransferDto::status).collect(Collectors.toSet()));
+        final var failed = outcomes.stream().filter(outcome -> outcome.status() == TransferStatus.FAILED).findFirst().orElseThrow();
+        assertEquals("Withdraw amount exceeds balance", failed.failureReason());
+        assertNotNull(failed.processedAt());
+
+        getAccountDetails(sourceAccount.getNumber())
+                .andExpect(jsonPath("$.balance").value(40));
+        getAccountDetails(targetAccount.getNumber())
+                .andExpect(jsonPath("$.balance").value(60));
+        assertEquals(1, journalEntryRepository.findAllByAccountNumberOrderById(targetAccount.getNumber()).size());
+    }
+
+    @Test
+    @DisplayName("Submit transfer to the same account returns 400")
+    void submitTransfer_toSameAccount_returns400() throws Exception {
+        mockMvc.perform(post("/api/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"sourceAccountNumber": "26000000000156", "targetAccountNumber": "26000000000156", "amount": 1}"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.path").value("/api/transfers"));
+        assertEquals(0, transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Get not existing transfer returns 404")
+    void getTransfer_notFound_returns404() throws Exception {
+        mockMvc.perform(get("/api/transfers/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Transfer with id '%d' not found".formatted(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Balance changes are journaled as debit and credit pairs")
+    void journal_recordsDoubleEntries() throws Exception {
+        final var accountNumber = objectMapper.readValue(mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("balance", "100"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), AccountDetailsDto.class).number();
+        final var targetAccountNumber = objectMapper.readValue(mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("balance", "0"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), AccountDetailsDto.class).number();
+        mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", accountNumber)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/accounts/{sourceAccountNumber}/transfer", accountNumber)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("targetAccountNumber", targetAccountNumber)
+                        .param("amount", "30"))
+                .andExpect(status().isOk());
+
+        final var entries = journalEntryRepository.findAllByAccountNumberOrderById(accountNumber);
+        assertEquals(3, entries.size());
+        assertEquals(List.of(JournalEntryType.CREDIT, JournalEntryType.DEBIT, JournalEntryType.DEBIT),
+                entries.stream().map(JournalEntry::getType).toList());
+        assertEquals(List.of(Money.valueOf("100"), Money.valueOf("90"), Money.valueOf("60")),
+                entries.stream().map(JournalEntry::getBalanceAfter).toList());
+        for (var entry : entries) {
+            final var operation = journalEntryRepository.findAllByOperationIdOrderById(entry.getOperationId());
+            assertEquals(2, operation.size());
+            assertEquals(operation.get(0).getAmount(), operation.get(1).getAmount());
+            assertNotEquals(operation.get(0).getType(), operation.get(1).getType());
+        }
+        final var transferCredit = journalEntryRepository.findAllByAccountNumberOrderById(targetAccountNumber);
+        assertEquals(1, transferCredit.size());
+        assertEquals(Money.valueOf("30"), transferCredit.get(0).getBalanceAfter());
+    }
+
+    @Test
+    @DisplayName("Transfer between currencies credits the converted amount")
+    void transferToAccount_betweenCurrencies_converted() throws Exception {
+        final var usdAccount = objectMapper.readValue(mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("balance", "100")
+                        .param("currency", "USD"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), AccountDetailsDto.class);
+        assertEquals(Currency.USD, usdAccount.currency());
+        assertTrue(usdAccount.number().startsWith("2601"));
+        final var uahAccount = accountRepository.save(new Account("26000000000156", Money.ZERO));
+
+        mockMvc.perform(post("/api/accounts/{sourceAccountNumber}/transfer", usdAccount.number())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("targetAccountNumber", uahAccount.getNumber())
+                        .param("amount", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency").value("USD"))
+                .andExpect(jsonPath("$.balance").value(90));
+        getAccountDetails(uahAccount.getNumber())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency").value("UAH"))
+                .andExpect(jsonPath("$.balance").value(412.5));
+
+        final var credit = journalEntryRepository.findAllByAccountNumberOrderById(uahAccount.getNumber()).get(0);
+        final var operation = journalEntryRepository.findAllByOperationIdOrderById(credit.getOperationId());
+        assertEquals(List.of(Money.valueOf("10"), Money.valueOf("412.50")), operation.stream().map(JournalEntry::getAmount).toList());
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk - OK")
+    void createAccounts_inBulk_ok() throws Exception {
+        final var accountsTotal = 1234;
+        final var initialBalances = Collections.nCopies(accountsTotal, Money.valueOf("1"));
+        final var jsonResponseBody = mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initialBalances)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.length()").value(accountsTotal))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final var accountDetails = objectMapper.readValue(jsonResponseBody, AccountDetailsListDto.class).data();
+        assertEquals(accountsTotal, accountDetails.stream().map(AccountDetailsDto::number).distinct().count());
+        assertEquals(accountsTotal, accountRepository.count());
+    }
+
+    @Test
+    @DisplayName("Statistics follow account writes and match a recompute")
+    void getStatistics_followsWrites() throws Exception {
+        accountStatisticsService.checkConsistency();
+        final var uahAccount = objectMapper.readValue(mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("balance", "50"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), AccountDetailsDto.class);
+        mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1500]"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("balance", "100")
+                        .param("currency", "USD"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", uahAccount.number())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("amount", "10"))
+                .andExpect(status().isOk());
+
+        final var statistics = mockMvc.perform(get("/api/accounts/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").value(3))
+                .andExpect(jsonPath("$.currencies[0].currency").value("UAH"))
+                .andExpect(jsonPath("$.currencies[0].accounts").value(2))
+                .andExpect(jsonPath("$.currencies[0].totalBalance").value(1560))
+                // The minimum only widens between checks, so it is still the balance before the deposit
+                .andExpect(jsonPath("$.currencies[0].minBalance").value(50))
+                .andExpect(jsonPath("$.currencies[0].maxBalance").value(1500))
+                .andExpect(jsonPath("$.currencies[0].histogram.length()").value(2))
+                .andExpect(jsonPath("$.currencies[0].histogram[0].from").value(10))
+                .andExpect(jsonPath("$.currencies[0].histogram[1].from").value(1000))
+                .andExpect(jsonPath("$.currencies[1].currency").value("USD"))
+                .andExpect(jsonPath("$.currencies[1].totalBalance").value(100))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        accountStatisticsService.checkConsistency();
+        final var checked = objectMapper.readTree(mockMvc.perform(get("/api/accounts/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currencies[0].minBalance").value(60))
+                .andExpect(jsonPath("$.currencies[0].maxBalance").value(1500))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        final var expected = objectMapper.readTree(statistics);
+        for (var figure : List.of("accounts", "totalBalance", "histogram")) {
+            assertEquals(expected.at("/currencies/0/" + figure), checked.at("/currencies/0/" + figure));
+            assertEquals(expected.at("/currencies/1/" + figure), checked.at("/currencies/1/" + figure));
+        }
+    }
+
+    private double accountCacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", Account.CACHE_REGION).tag("result", "hit").functionCounter().count();
+    }
+
+    private TransferDto submitTransfer(String transferRequest) throws Exception {
+        final var jsonResponseBody = mockMvc.perform(post("/api/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferRequest))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value(TransferStatus.PENDING.name()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(jsonResponseBody, TransferDto.class);
+    }
+
+    private TransferDto awaitTransfer(long id) throws Exception {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            final var transfer = objectMapper.readValue(mockMvc.perform(get("/api/transfers/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(), TransferDto.class);
+            if (transfer.status() != TransferStatus.PENDING || System.nanoTime() > deadline) {
+                return transfer;
+            }
+            Thread.sleep(20);
+        }
     }
 
     private ResultActions getAccountDetails(String accountNumber) throws Exception {
@@ -0,0 +1,99 @@
+package spaceurgent.banking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.repository.JournalEntryRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent deposits to one account with the {@code coalescing} profile: every deposit is applied once and each
+ * caller sees its own balance.
+ */
+@SpringBootTest
+@ActiveProfiles("coalescing")
+class CoalescedDepositConcurrencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescedDepositConcurrencyTest.class);
+    private static final int THREADS = 16;
+    private static final int DEPOSITS_PER_THREAD = 25;
+    private static final Money AMOUNT = Money.valueOf("1");
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+        accountNumber = accountRepository.save(new Account(AccountNumberCodec.encode(1), Money.ZERO)).getNumber();
+    }
+
+    @Test
+    @DisplayName("Concurrent deposits to one account are each applied once")
+    void concurrentDeposits_appliedOnce() throws Exception {
+        final var balances = Collections.synchronizedList(new ArrayList<Money>());
+        final var tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < DEPOSITS_PER_THREAD; j++) {
+                    balances.add(accountService.depositToAccount(accountNumber, AMOUNT).getBalance());
+                }
+                return null;
+            });
+        }
+        final var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final var totalDeposits = THREADS * DEPOSITS_PER_THREAD;
+        final var batches = meterRegistry.get("banking.coalescing.batch").summary();
+        LOGGER.info("{} deposits in {} writes, largest batch {}", totalDeposits, batches.count(), (long) batches.max());
+
+        final var expectedBalances = new ArrayList<Money>();
+        for (int i = 1; i <= totalDeposits; i++) {
+            expectedBalances.add(Money.ofMinorUnits(AMOUNT.minorUnits() * i));
+        }
+        balances.sort(null);
+        assertEquals(expectedBalances, balances, "Every deposit must see its own balance");
+        assertEquals(expectedBalances.get(totalDeposits - 1), accountService.getAccount(accountNumber).getBalance());
+        final var journalBalances = journalEntryRepository.findAllByAccountNumberOrderById(accountNumber).stream()
+                .filter(entry -> entry.getType() == JournalEntryType.CREDIT)
+                .map(JournalEntry::getBalanceAfter)
+                .sorted()
+                .toList();
+        assertEquals(expectedBalances, journalBalances);
+        assertEquals(totalDeposits, (long) batches.totalAmount());
+    }
+}
@@ -0,0 +1,28 @@
+package spaceurgent.banking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import spaceurgent.banking.model.AccountBalanceSlot;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountBalanceSlotRepository;
+
+/**
+ * The two hot accounts of {@link TransferConcurrencyTest} have striped balances, so most transfers credit a slot
+ * and debit by sweeping slots.
+ */
+@SpringBootTest(properties = {
+        "banking.hot-accounts.numbers=26000000000156,26000000000253",
+        "banking.hot-accounts.slots=4"
+})
+class HotAccountTransferConcurrencyTest extends TransferConcurrencyTest {
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Override
+    protected Money totalBalance() {
+        final var slotBalances = slotRepository.findAll().stream()
+                .map(AccountBalanceSlot::getBalance)
+                .reduce(Money.ZERO, Money::plus);
+        return super.totalBalance().plus(slotBalances);
+    }
+}
@@ -0,0 +1,47 @@
+package spaceurgent.banking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.impl.LedgerAccountService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("ledger")
+class LedgerTransferConcurrencyTest extends TransferConcurrencyTest {
+    @Autowired
+    private LedgerAccountService ledgerAccountService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    protected void awaitPersisted() {
+        ledgerAccountService.flush();
+    }
+
+    @Test
+    @DisplayName("Written balances evict only the changed accounts from the second-level cache")
+    void flush_evictsChangedAccountsOnly() {
+        final var changed = accountRepository.findByNumber(AccountNumberCodec.encode(1)).orElseThrow();
+        final var unchanged = accountRepository.findByNumber(AccountNumberCodec.encode(2)).orElseThrow();
+        final var cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Account.class, changed.getId()));
+        assertTrue(cache.contains(Account.class, unchanged.getId()));
+
+        final var deposited = ledgerAccountService.depositToAccount(changed.getNumber(), Money.valueOf("10"));
+        ledgerAccountService.flush();
+
+        assertEquals(deposited.getBalance(), accountRepository.findByNumber(changed.getNumber()).orElseThrow().getBalance());
+        assertTrue(cache.contains(Account.class, unchanged.getId()));
+    }
+}
@@ -0,0 +1,7 @@
+package spaceurgent.banking;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "banking.transfer.lock-strategy=optimistic")
+class OptimisticTransferConcurrencyTest extends TransferConcurrencyTest {
+}
@@ -0,0 +1,9 @@
+package spaceurgent.banking;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "banking.partitioned.partitions=4")
+@ActiveProfiles("partitioned")
+class PartitionedTransferConcurrencyTest extends TransferConcurrencyTest {
+}
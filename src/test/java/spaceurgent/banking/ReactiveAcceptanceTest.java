@@ -0,0 +1,223 @@
+package spaceurgent.banking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.repository.JournalEntryRepository;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveAcceptanceTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Create new account and get - OK")
+    void createNewAccount_andGet_ok() {
+        final var account = webTestClient.post()
+                .uri(uriBuilder -> uriBuilder.path("/api/accounts").queryParam("balance", "100").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AccountDetailsDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(account);
+        assertEquals(new AccountDetailsDto(account.number(), Currency.UAH, Money.valueOf("100")), account);
+
+        webTestClient.get()
+                .uri("/api/accounts/{accountNumber}", account.number())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountDetailsDto.class).isEqualTo(account);
+
+        final var entries = journalEntryRepository.findAllByAccountNumberOrderById(account.number());
+        assertEquals(1, entries.size());
+        assertEquals(JournalEntryType.CREDIT, entries.get(0).getType());
+        assertEquals(Money.valueOf("100"), entries.get(0).getBalanceAfter());
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk - OK")
+    void createAccounts_ok() {
+        webTestClient.post()
+                .uri("/api/accounts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("1", "0"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].balance").isEqualTo(1.0)
+                .jsonPath("$.data[1].balance").isEqualTo(0.0);
+
+        assertEquals(2, accountRepository.count());
+        assertEquals(2, journalEntryRepository.count());
+    }
+
+    @Test
+    @DisplayName("Get accounts pages with cursor - OK")
+    void getAccounts_withCursor_ok() {
+        for (int i = 3; i > 0; i--) {
+            accountRepository.save(new Account(AccountNumberCodec.encode(i), Money.ZERO));
+        }
+        webTestClient.get()
+                .uri("/api/accounts?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].number").isEqualTo("26000000000156")
+                .jsonPath("$.data[1].number").isEqualTo("26000000000253")
+                .jsonPath("$.nextCursor").isEqualTo("26000000000253");
+
+        webTestClient.get()
+                .uri("/api/accounts?after=26000000000253&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].number").isEqualTo("26000000000350")
+                .jsonPath("$.nextCursor").isEmpty();
+
+        webTestClient.get()
+                .uri("/api/accounts?after=26000000000350")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {"data":[],"nextCursor":null}""", true);
+    }
+
+    @Test
+    @DisplayName("Get accounts with invalid limit - Bad request")
+    void getAccounts_invalidLimit_badRequest() {
+        webTestClient.get()
+                .uri("/api/accounts?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(400)
+                .jsonPath("$.path").isEqualTo("/api/accounts");
+    }
+
+    @Test
+    @DisplayName("Export accounts as CSV - OK")
+    void exportAccounts_csv_ok() {
+        accountRepository.save(new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10")));
+        accountRepository.save(new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("1")));
+        webTestClient.get()
+                .uri("/api/accounts/export?format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class).isEqualTo("""
+                        number,currency,balance
+                        26000000000156,UAH,1.00
+                        26000000000253,UAH,10.00
+                        """);
+    }
+
+    @Test
+    @DisplayName("Deposit, withdraw and transfer - balances and journal updated")
+    void depositWithdrawTransfer_ok() {
+        accountRepository.save(new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.ZERO));
+        accountRepository.save(new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO));
+
+        post("/api/accounts/{accountNumber}/deposit?amount=100", DEFAULT_SOURCE_ACCOUNT_NUMBER)
+                .expectStatus().isOk()
+                .expectBody(AccountDetailsDto.class)
+                .isEqualTo(new AccountDetailsDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("100")));
+        post("/api/accounts/{accountNumber}/withdraw?amount=30", DEFAULT_SOURCE_ACCOUNT_NUMBER)
+                .expectStatus().isOk()
+                .expectBody(AccountDetailsDto.class)
+                .isEqualTo(new AccountDetailsDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("70")));
+        post("/api/accounts/{accountNumber}/transfer?targetAccountNumber={target}&amount=20",
+                DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)
+                .expectStatus().isOk()
+                .expectBody(AccountDetailsDto.class)
+                .isEqualTo(new AccountDetailsDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("50")));
+
+        webTestClient.get()
+                .uri("/api/accounts/{accountNumber}", DEFAULT_TARGET_ACCOUNT_NUMBER)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(20.0);
+
+        final var sourceEntries = journalEntryRepository.findAllByAccountNumberOrderById(DEFAULT_SOURCE_ACCOUNT_NUMBER);
+        assertEquals(
+                List.of(JournalEntryType.CREDIT, JournalEntryType.DEBIT, JournalEntryType.DEBIT),
+                sourceEntries.stream().map(JournalEntry::getType).toList()
+        );
+        assertEquals(Money.valueOf("50"), sourceEntries.get(2).getBalanceAfter());
+        final var transfer = journalEntryRepository.findAllByOperationIdOrderById(sourceEntries.get(2).getOperationId());
+        assertEquals(DEFAULT_TARGET_ACCOUNT_NUMBER, transfer.get(1).getAccountNumber());
+        assertEquals(Money.valueOf("20"), transfer.get(1).getBalanceAfter());
+    }
+
+    @Test
+    @DisplayName("Withdraw more than balance - Bad request, nothing written")
+    void withdraw_amountExceedsBalance_badRequest() {
+        accountRepository.save(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("10")));
+
+        post("/api/accounts/{accountNumber}/withdraw?amount=20", TEST_ACCOUNT_NUMBER)
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Withdraw amount exceeds balance");
+        post("/api/accounts/{accountNumber}/transfer?targetAccountNumber={target}&amount=20",
+                TEST_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)
+                .expectStatus().isNotFound();
+
+        assertEquals(0, journalEntryRepository.count());
+    }
+
+    @Test
+    @DisplayName("Get not existing account - Not found")
+    void getAccount_notFound() {
+        webTestClient.get()
+                .uri("/api/accounts/{accountNumber}", TEST_ACCOUNT_NUMBER)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER))
+                .jsonPath("$.path").isEqualTo("/api/accounts/" + TEST_ACCOUNT_NUMBER);
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, Object... uriVariables) {
+        return webTestClient.post()
+                .uri(uri, uriVariables)
+                .exchange();
+    }
+}
@@ -4,7 +4,8 @@ public final class TestConstants {
     private TestConstants() {
     }
 
-    public static final String TEST_ACCOUNT_NUMBER = "26000000000000";
-    public static final String DEFAULT_SOURCE_ACCOUNT_NUMBER = "26000000000001";
-    public static final String DEFAULT_TARGET_ACCOUNT_NUMBER = "26000000000002";
+    public static final String TEST_ACCOUNT_NUMBER = "26000000000059";
+    public static final String DEFAULT_SOURCE_ACCOUNT_NUMBER = "26000000000156";
+    public static final String DEFAULT_TARGET_ACCOUNT_NUMBER = "26000000000253";
+    public static final String USD_ACCOUNT_NUMBER = "26010000000398";
 }
@@ -8,8 +8,9 @@ import org.mockito.stubbing.Answer;
 import org.springframework.test.web.servlet.ResultActions;
 import spaceurgent.banking.model.Account;
 import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.utils.AccountNumberCodec;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -24,7 +25,7 @@ public final class TestUtils {
 
     public static List<Account> randomAccounts() {
         return IntStream.range(0, 10)
-                .mapToObj(index -> new Account(String.valueOf(index), BigDecimal.valueOf(index)))
+                .mapToObj(index -> new Account(AccountNumberCodec.encode(index), Money.valueOf(String.valueOf(index))))
                 .toList();
     }
 
@@ -36,7 +37,7 @@ public final class TestUtils {
         apiCallResult
                 .andExpect(jsonPath("$.number").value(account.getNumber()))
                 .andExpect(jsonPath("$.currency").value(account.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(account.getBalance().doubleValue()));
+                .andExpect(jsonPath("$.balance").value(account.getBalance().toBigDecimal().doubleValue()));
     }
 
     static ErrorTimestampMatcher errorTimestampMatcher() {
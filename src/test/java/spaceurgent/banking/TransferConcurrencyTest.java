@@ -0,0 +1,125 @@
+package spaceurgent.banking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.TransferConflictException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.utils.AccountNumberCodec;
+import spaceurgent.banking.service.AccountService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent transfers over a skewed account set, where most transfers hit two hot accounts
+ * in both directions. Subclasses choose the transfer lock strategy or account service implementation.
+ */
+abstract class TransferConcurrencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransferConcurrencyTest.class);
+    private static final int ACCOUNTS_TOTAL = 10;
+    private static final Money INITIAL_BALANCE = Money.valueOf("1000");
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final int HOT_ACCOUNT_PERCENTAGE = 80;
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private AccountService accountService;
+
+    private List<String> accountNumbers;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS_TOTAL; i++) {
+            accountNumbers.add(accountRepository.save(new Account(AccountNumberCodec.encode(i + 1), INITIAL_BALANCE)).getNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers between hot accounts conserve total balance")
+    void concurrentTransfers_conserveTotalBalance() throws Exception {
+        final var completed = new AtomicInteger();
+        final var rejected = new AtomicInteger();
+        final var conflicted = new AtomicInteger();
+        final var tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                    try {
+                        accountService.transferToAccount(nextTransferRequest());
+                        completed.incrementAndGet();
+                    } catch (AmountExceedsBalanceException exception) {
+                        rejected.incrementAndGet();
+                    } catch (TransferConflictException exception) {
+                        conflicted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        final var executor = Executors.newFixedThreadPool(THREADS);
+        final var startNanos = System.nanoTime();
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final var elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        final var totalTransfers = THREADS * TRANSFERS_PER_THREAD;
+        LOGGER.info("{}: {} transfers in {} ms ({} tx/s, {} us avg), completed {}, rejected {}, conflicted {}",
+                getClass().getSimpleName(), totalTransfers, elapsedMillis, totalTransfers * 1000L / elapsedMillis,
+                elapsedMillis * 1000L * THREADS / totalTransfers, completed.get(), rejected.get(), conflicted.get());
+
+        assertEquals(totalTransfers, completed.get() + rejected.get() + conflicted.get());
+        assertTrue(completed.get() > 0, "No transfer completed");
+        awaitPersisted();
+        assertEquals(Money.ofMinorUnits(INITIAL_BALANCE.minorUnits() * ACCOUNTS_TOTAL), totalBalance(),
+                "Total balance is not conserved");
+    }
+
+    protected void awaitPersisted() {
+    }
+
+    protected Money totalBalance() {
+        return accountRepository.findAll().stream()
+                .map(Account::getBalance)
+                .reduce(Money.ZERO, Money::plus);
+    }
+
+    private TransferRequestDto nextTransferRequest() {
+        final var random = ThreadLocalRandom.current();
+        final int sourceIndex;
+        final int targetIndex;
+        if (random.nextInt(100) < HOT_ACCOUNT_PERCENTAGE) {
+            sourceIndex = random.nextInt(2);
+            targetIndex = 1 - sourceIndex;
+        } else {
+            sourceIndex = random.nextInt(ACCOUNTS_TOTAL);
+            targetIndex = (sourceIndex + 1 + random.nextInt(ACCOUNTS_TOTAL - 1)) % ACCOUNTS_TOTAL;
+        }
+        return new TransferRequestDto(
+                accountNumbers.get(sourceIndex),
+                accountNumbers.get(targetIndex),
+                Money.ofMinorUnits(100L * (1 + random.nextInt(50)))
+        );
+    }
+}
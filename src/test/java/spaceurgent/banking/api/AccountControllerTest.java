@@ -7,6 +7,7 @@ import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatcher;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -15,51 +16,92 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import spaceurgent.banking.TestUtils;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.dto.AccountStatisticsDto;
+import spaceurgent.banking.dto.BalanceBucketDto;
+import spaceurgent.banking.dto.CurrencyStatisticsDto;
 import spaceurgent.banking.dto.AccountsDto;
+import spaceurgent.banking.dto.TransferLegResultDto;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.IdempotencyKeyInProgressException;
+import spaceurgent.banking.exception.IdempotencyKeyMismatchException;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
 import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.IdempotencyService;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
 import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
 import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
 import static spaceurgent.banking.api.AccountControllerTest.ErrorTimestampMatcher.validErrorTimestamp;
+import static spaceurgent.banking.api.ApiConstants.AFTER_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.AMOUNT_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CREATED_FROM_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CREATED_TO_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.CURRENCY_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.FORMAT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.IDEMPOTENCY_KEY_HEADER_NAME;
+import static spaceurgent.banking.api.ApiConstants.LIMIT_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.MAX_BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.MIN_BALANCE_PARAMETER_NAME;
+import static spaceurgent.banking.api.ApiConstants.SORT_PARAMETER_NAME;
 import static spaceurgent.banking.api.ApiConstants.TARGET_ACCOUNT_NUMBER_PARAMETER_NAME;
 
-@WebMvcTest
+@WebMvcTest(AccountController.class)
 class AccountControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private AccountService accountService;
+    @MockBean
+    private AccountStatisticsService accountStatisticsService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
+    private BankingMetrics bankingMetrics;
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
     @DisplayName("Create account with balance param returns 201")
     void createAccount_withBalanceParam_returns201() throws Exception {
-        final var balance = BigDecimal.valueOf(100.50);
+        final var balance = Money.valueOf("100.50");
         final var account = new Account(TEST_ACCOUNT_NUMBER, balance);
-        doReturn(account).when(accountService).createAccount(eq(balance));
+        doReturn(account).when(accountService).createAccount(eq(balance), eq(Currency.UAH));
         final var apiActionResult = mockMvc.perform(post("/api/accounts")
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param(BALANCE_PARAMETER_NAME, balance.toString()))
@@ -71,8 +113,8 @@ class AccountControllerTest {
     @Test
     @DisplayName("Create account without balance param returns 201")
     void createAccount_withoutBalanceParam_returns201() throws Exception {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
-        doReturn(account).when(accountService).createAccount(argThat(new ZeroBalanceMatcher()));
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        doReturn(account).when(accountService).createAccount(argThat(new ZeroBalanceMatcher()), eq(Currency.UAH));
         final var apiActionResult = mockMvc.perform(post("/api/accounts")
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isCreated())
@@ -80,12 +122,37 @@ class AccountControllerTest {
         assertAccountDetailsViewMatchAccount(apiActionResult, account);
     }
 
+    @Test
+    @DisplayName("Create account with currency param returns 201")
+    void createAccount_withCurrencyParam_returns201() throws Exception {
+        final var account = new Account(USD_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturn(account).when(accountService).createAccount(eq(Money.valueOf("10")), eq(Currency.USD));
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param(BALANCE_PARAMETER_NAME, "10")
+                        .param(CURRENCY_PARAMETER_NAME, "usd"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.number").value(USD_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.currency").value("USD"));
+    }
+
+    @Test
+    @DisplayName("Create account with unknown currency returns 400")
+    void createAccount_withUnknownCurrency_returns400() throws Exception {
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param(CURRENCY_PARAMETER_NAME, "GBP"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid currency. Supported currencies are UAH, USD, EUR"));
+        verify(accountService, never()).createAccount(any(), any());
+    }
+
     @Test
     @DisplayName("Create account with negative balance returns 400")
     void createAccount_withNegativeBalanceParam_returns400() throws Exception {
-        final var negativeBalance = BigDecimal.valueOf(-100);
+        final var negativeBalance = Money.valueOf("-100");
         final var errorMessage = "Balance can't be negative";
-        doThrow(new ValidationException(errorMessage)).when(accountService).createAccount(argThat(new NegativeBalanceMatcher()));
+        doThrow(new ValidationException(errorMessage)).when(accountService).createAccount(argThat(new NegativeBalanceMatcher()), eq(Currency.UAH));
         mockMvc.perform(post("/api/accounts")
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                         .param(BALANCE_PARAMETER_NAME, negativeBalance.toString()))
@@ -98,11 +165,32 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.path").value("/api/accounts"));
     }
 
+    @Test
+    @DisplayName("Create accounts in bulk returns 201")
+    void createAccounts_returns201() throws Exception {
+        final var initialBalances = List.of(Money.valueOf("10"), Money.valueOf("20"));
+        final var accounts = List.of(
+                new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, initialBalances.get(0)),
+                new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, initialBalances.get(1))
+        );
+        doReturn(accounts).when(accountService).createAccounts(eq(initialBalances), eq(Currency.UAH));
+        mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[10, 20]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].number").value(DEFAULT_SOURCE_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[0].balance").value(10))
+                .andExpect(jsonPath("$.data[1].number").value(DEFAULT_TARGET_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[1].balance").value(20));
+    }
+
     @Test
     @DisplayName("Get accounts returns 200")
     void getAccounts_returns200() throws Exception {
         final var accounts = TestUtils.randomAccounts();
-        doReturn(accounts).when(accountService).getAccounts();
+        doReturn(accounts.stream().map(AccountDto::from).toList()).when(accountService).getAccounts(eq(null), eq(100));
         final var responseBodyJson = mockMvc.perform(get("/api/accounts"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -118,12 +206,163 @@ class AccountControllerTest {
             assertEquals(currentAccount.getNumber(), currentAccountDto.number());
             assertEquals(currentAccount.getCurrency(), currentAccountDto.currency());
         }
+        assertNull(accountsDto.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Get accounts page after cursor returns 200 with next cursor")
+    void getAccounts_withCursor_returns200() throws Exception {
+        final var accounts = TestUtils.randomAccounts().stream().map(AccountDto::from).toList();
+        doReturn(accounts).when(accountService).getAccounts(eq(TEST_ACCOUNT_NUMBER), eq(accounts.size()));
+        mockMvc.perform(get("/api/accounts")
+                        .param(AFTER_PARAMETER_NAME, TEST_ACCOUNT_NUMBER)
+                        .param(LIMIT_PARAMETER_NAME, String.valueOf(accounts.size())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(accounts.size()))
+                .andExpect(jsonPath("$.nextCursor").value(accounts.get(accounts.size() - 1).number()));
+    }
+
+    @Test
+    @DisplayName("Export accounts as NDJSON returns 200")
+    void exportAccounts_ndjson_returns200() throws Exception {
+        final var accounts = TestUtils.randomAccounts();
+        doAnswer(exportAnswer(accounts)).when(accountService).exportAccounts(any());
+        final var asyncResult = mockMvc.perform(get("/api/accounts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final var lines = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+        assertEquals(accounts.size(), lines.length);
+        for (int i = 0; i < accounts.size(); i++) {
+            final var accountDetailsDto = objectMapper.readValue(lines[i], AccountDetailsDto.class);
+            assertEquals(AccountDetailsDto.from(accounts.get(i)), accountDetailsDto);
+        }
+    }
+
+    @Test
+    @DisplayName("Export accounts as CSV returns 200")
+    void exportAccounts_csv_returns200() throws Exception {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("10.5"));
+        doAnswer(exportAnswer(List.of(account))).when(accountService).exportAccounts(any());
+        final var asyncResult = mockMvc.perform(get("/api/accounts/export").param(FORMAT_PARAMETER_NAME, "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("number,currency,balance\n%s,UAH,10.50\n".formatted(TEST_ACCOUNT_NUMBER)));
+    }
+
+    @Test
+    @DisplayName("Export accounts with unknown format returns 400")
+    void exportAccounts_withUnknownFormat_returns400() throws Exception {
+        mockMvc.perform(get("/api/accounts/export").param(FORMAT_PARAMETER_NAME, "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid export format. Supported formats are 'ndjson' and 'csv'"));
+    }
+
+    @Test
+    @DisplayName("Get statistics returns 200")
+    void getStatistics_returns200() throws Exception {
+        final var uah = new CurrencyStatisticsDto(Currency.UAH, 2, Money.valueOf("150"), Money.valueOf("50"), Money.valueOf("100"),
+                List.of(new BalanceBucketDto(Money.valueOf("10"), Money.valueOf("100"), 1),
+                        new BalanceBucketDto(Money.valueOf("100"), Money.valueOf("1000"), 1)));
+        final var usd = new CurrencyStatisticsDto(Currency.USD, 0, Money.ZERO, null, null, List.of());
+        doReturn(new AccountStatisticsDto(2, List.of(uah, usd), Instant.parse("2024-01-01T00:00:00Z")))
+                .when(accountStatisticsService).getStatistics();
+        mockMvc.perform(get("/api/accounts/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").value(2))
+                .andExpect(jsonPath("$.currencies[0].currency").value("UAH"))
+                .andExpect(jsonPath("$.currencies[0].totalBalance").value(150))
+                .andExpect(jsonPath("$.currencies[0].minBalance").value(50))
+                .andExpect(jsonPath("$.currencies[0].maxBalance").value(100))
+                .andExpect(jsonPath("$.currencies[0].histogram[1].from").value(100))
+                .andExpect(jsonPath("$.currencies[0].histogram[1].to").value(1000))
+                .andExpect(jsonPath("$.currencies[0].histogram[1].accounts").value(1))
+                .andExpect(jsonPath("$.currencies[1].minBalance").isEmpty())
+                .andExpect(jsonPath("$.checkedAt").exists());
+        verify(accountService, never()).getAccount(any());
+    }
+
+    @Test
+    @DisplayName("Search accounts returns 200")
+    void searchAccounts_returns200() throws Exception {
+        final var searchRequest = new AccountSearchRequestDto(Currency.USD, Money.valueOf("10"), Money.valueOf("1000"),
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"), AccountSearchOrder.CREATED_AT,
+                "1704067200000000_" + USD_ACCOUNT_NUMBER, 1);
+        final var account = new AccountBalanceDto(USD_ACCOUNT_NUMBER, Currency.USD, Money.valueOf("20.50"), Instant.parse("2024-01-01T00:00:00Z"));
+        doReturn(new AccountBalancesDto(List.of(account), "1704067200000000_" + USD_ACCOUNT_NUMBER))
+                .when(accountService).searchAccounts(eq(searchRequest));
+        mockMvc.perform(get("/api/accounts/search")
+                        .param(CURRENCY_PARAMETER_NAME, "usd")
+                        .param(MIN_BALANCE_PARAMETER_NAME, "10")
+                        .param(MAX_BALANCE_PARAMETER_NAME, "1000")
+                        .param(CREATED_FROM_PARAMETER_NAME, "2024-01-01T00:00:00Z")
+                        .param(CREATED_TO_PARAMETER_NAME, "2024-02-01T00:00:00Z")
+                        .param(SORT_PARAMETER_NAME, "createdAt")
+                        .param(AFTER_PARAMETER_NAME, "1704067200000000_" + USD_ACCOUNT_NUMBER)
+                        .param(LIMIT_PARAMETER_NAME, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].number").value(USD_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[0].currency").value("USD"))
+                .andExpect(jsonPath("$.data[0].balance").value(20.5))
+                .andExpect(jsonPath("$.data[0].createdAt").exists())
+                .andExpect(jsonPath("$.nextCursor").value("1704067200000000_" + USD_ACCOUNT_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Search accounts with defaults searches UAH by balance")
+    void searchAccounts_defaults() throws Exception {
+        doReturn(new AccountBalancesDto(List.of(), null)).when(accountService).searchAccounts(any());
+        mockMvc.perform(get("/api/accounts/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+        verify(accountService).searchAccounts(argThat(searchRequest -> searchRequest.currency() == Currency.UAH
+                && searchRequest.order() == AccountSearchOrder.BALANCE
+                && searchRequest.after() == null
+                && searchRequest.limit() == 100));
+    }
+
+    @Test
+    @DisplayName("Search accounts with invalid creation time returns 400")
+    void searchAccounts_invalidCreatedFrom_returns400() throws Exception {
+        mockMvc.perform(get("/api/accounts/search").param(CREATED_FROM_PARAMETER_NAME, "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid createdFrom. Expected an ISO-8601 UTC time such as 2024-11-02T10:15:30Z"));
+        verify(accountService, never()).searchAccounts(any());
+    }
+
+    @Test
+    @DisplayName("Search accounts with invalid sort returns 400")
+    void searchAccounts_invalidSort_returns400() throws Exception {
+        mockMvc.perform(get("/api/accounts/search").param(SORT_PARAMETER_NAME, "number"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid sort. Supported values are 'balance' and 'createdAt'"));
+        verify(accountService, never()).searchAccounts(any());
+    }
+
+    @Test
+    @DisplayName("Get top accounts returns 200")
+    void getTopAccounts_returns200() throws Exception {
+        final var account = new AccountBalanceDto(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("100"), Instant.EPOCH);
+        doReturn(List.of(account)).when(accountService).getTopAccounts(eq(Currency.UAH), eq(10));
+        mockMvc.perform(get("/api/accounts/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].number").value(TEST_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[0].balance").value(100))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
     }
 
     @Test
     @DisplayName("Get account returns 200")
     void getAccount_returns200() throws Exception {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         doReturn(account).when(accountService).getAccount(eq(account.getNumber()));
         final var apiActionResult = mockMvc.perform(get("/api/accounts/{accountNumber}", account.getNumber()))
                 .andExpect(status().isOk())
@@ -144,13 +383,14 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.code").value(HttpStatus.NOT_FOUND.value()))
                 .andExpect(jsonPath("$.message").value(errorMessage))
                 .andExpect(jsonPath("$.path").value("/api/accounts/%s".formatted(TEST_ACCOUNT_NUMBER)));
+        verify(bankingMetrics).countError(any(AccountNotFoundException.class));
     }
 
     @Test
     @DisplayName("Deposit to account returns 200")
     void depositToAccount_returns200() throws Exception {
-        final var depositAmount = BigDecimal.valueOf(100.00);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(0.00));
+        final var depositAmount = Money.valueOf("100.00");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("0.00"));
         account.deposit(depositAmount);
         doReturn(account).when(accountService).depositToAccount(eq(account.getNumber()), eq(depositAmount));
         final var apiActionResult = mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
@@ -161,6 +401,56 @@ class AccountControllerTest {
         assertAccountDetailsViewMatchAccount(apiActionResult, account);
     }
 
+    @Test
+    @DisplayName("Deposit to account with idempotency key runs through idempotency service")
+    void depositToAccount_withIdempotencyKey_returns200() throws Exception {
+        final var depositAmount = Money.valueOf("100.00");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, depositAmount);
+        doReturn(account).when(accountService).depositToAccount(eq(account.getNumber()), eq(depositAmount));
+        doAnswer(invocation -> invocation.getArgument(2, IdempotencyService.Operation.class).execute())
+                .when(idempotencyService)
+                .execute(eq("retry-1"), eq("deposit:%s:100.00".formatted(TEST_ACCOUNT_NUMBER)), any());
+        final var apiActionResult = mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", account.getNumber())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header(IDEMPOTENCY_KEY_HEADER_NAME, "retry-1")
+                        .param(AMOUNT_PARAMETER_NAME, depositAmount.toString()))
+                .andExpect(status().isOk());
+        assertAccountDetailsViewMatchAccount(apiActionResult, account);
+    }
+
+    @Test
+    @DisplayName("Deposit with reused idempotency key returns 422")
+    void depositToAccount_withReusedIdempotencyKey_returns422() throws Exception {
+        final var errorMessage = "Idempotency key was already used for a different request";
+        doThrow(new IdempotencyKeyMismatchException(errorMessage)).when(idempotencyService).execute(eq("retry-1"), any(), any());
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposit", TEST_ACCOUNT_NUMBER)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header(IDEMPOTENCY_KEY_HEADER_NAME, "retry-1")
+                        .param(AMOUNT_PARAMETER_NAME, "10"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value(HttpStatus.UNPROCESSABLE_ENTITY.value()))
+                .andExpect(jsonPath("$.message").value(errorMessage));
+    }
+
+    @Test
+    @DisplayName("Transfer with idempotency key in progress returns 409")
+    void transferToAccount_withIdempotencyKeyInProgress_returns409() throws Exception {
+        final var errorMessage = "Request with idempotency key retry-1 is in progress";
+        doThrow(new IdempotencyKeyInProgressException(errorMessage)).when(idempotencyService).execute(
+                eq("retry-1"),
+                eq("transfer:%s:%s:10.00".formatted(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)),
+                any()
+        );
+        mockMvc.perform(post("/api/accounts/{sourceAccountNumber}/transfer", DEFAULT_SOURCE_ACCOUNT_NUMBER)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header(IDEMPOTENCY_KEY_HEADER_NAME, "retry-1")
+                        .param(TARGET_ACCOUNT_NUMBER_PARAMETER_NAME, DEFAULT_TARGET_ACCOUNT_NUMBER)
+                        .param(AMOUNT_PARAMETER_NAME, "10"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value(HttpStatus.CONFLICT.value()))
+                .andExpect(jsonPath("$.message").value(errorMessage));
+    }
+
     @Test
     @DisplayName("Deposit to account without amount parameter returns 400")
     void depositToAccount_withoutAmount_returns400() throws Exception {
@@ -178,8 +468,8 @@ class AccountControllerTest {
     @Test
     @DisplayName("Withdraw from account returns 200")
     void withdrawFromAccount_returns200() throws Exception {
-        final var withdrawAmount = BigDecimal.valueOf(10);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
+        final var withdrawAmount = Money.valueOf("10");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
         doReturn(account).when(accountService).withdrawFromAccount(eq(account.getNumber()), eq(withdrawAmount));
         final var apiActionResult = mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", account.getNumber())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -192,8 +482,8 @@ class AccountControllerTest {
     @Test
     @DisplayName("Withdraw from account without amount parameter returns 400")
     void withdrawFromAccount_withoutAmount_returns400() throws Exception {
-        final var withdrawAmount = BigDecimal.valueOf(10);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
+        final var withdrawAmount = Money.valueOf("10");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
         doReturn(account).when(accountService).withdrawFromAccount(eq(TEST_ACCOUNT_NUMBER), eq(withdrawAmount));
         mockMvc.perform(post("/api/accounts/{accountNumber}/withdraw", TEST_ACCOUNT_NUMBER))
                 .andExpect(status().isBadRequest())
@@ -208,13 +498,13 @@ class AccountControllerTest {
     @Test
     @DisplayName("Transfer to account returns 200")
     void transferToAccount_ok() throws Exception {
-        final var transferAmount = BigDecimal.valueOf(10);
+        final var transferAmount = Money.valueOf("10");
         final var expectedTransferRequest = new TransferRequestDto(
                 DEFAULT_SOURCE_ACCOUNT_NUMBER,
                 DEFAULT_TARGET_ACCOUNT_NUMBER,
                 transferAmount
         );
-        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
         doReturn(sourceAccount).when(accountService).transferToAccount(eq(expectedTransferRequest));
         final var apiActionResult = mockMvc.perform(post("/api/accounts/{accountNumber}/transfer", DEFAULT_SOURCE_ACCOUNT_NUMBER)
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -230,7 +520,7 @@ class AccountControllerTest {
     void transferToAccount_withoutTargetAccountNumber_returns400() throws Exception {
         mockMvc.perform(post("/api/accounts/{accountNumber}/transfer", DEFAULT_SOURCE_ACCOUNT_NUMBER)
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                        .param(AMOUNT_PARAMETER_NAME, BigDecimal.valueOf(10).toString()))
+                        .param(AMOUNT_PARAMETER_NAME, Money.valueOf("10").toString()))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.timestamp").exists())
@@ -255,26 +545,65 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.path").value("/api/accounts/%s/transfer".formatted(DEFAULT_SOURCE_ACCOUNT_NUMBER)));
     }
 
+    @Test
+    @DisplayName("Transfer batch returns 200")
+    void transferBatch_returns200() throws Exception {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        final var legResult = new TransferLegResultDto(
+                DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"), Money.valueOf("90"), Money.valueOf("10")
+        );
+        doReturn(List.of(legResult)).when(accountService).transferBatch(eq(List.of(transferRequest)));
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(transferRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].sourceAccountNumber").value(DEFAULT_SOURCE_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[0].targetAccountNumber").value(DEFAULT_TARGET_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.data[0].sourceBalance").value(90))
+                .andExpect(jsonPath("$.data[0].targetBalance").value(10));
+    }
+
+    @Test
+    @DisplayName("Transfer batch with malformed body returns 400")
+    void transferBatch_withMalformedBody_returns400() throws Exception {
+        mockMvc.perform(post("/api/accounts/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"sourceAccountNumber\": \"%s\"}]".formatted(DEFAULT_SOURCE_ACCOUNT_NUMBER)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$.message").value("Malformed request body"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Void> exportAnswer(List<Account> accounts) {
+        return invocation -> {
+            accounts.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        };
+    }
+
     private void assertAccountDetailsViewMatchAccount(ResultActions resultActions, Account account) throws Exception {
         resultActions
                 .andExpect(jsonPath("$.number").value(account.getNumber()))
                 .andExpect(jsonPath("$.currency").value(account.getCurrency().name()))
-                .andExpect(jsonPath("$.balance").value(account.getBalance().doubleValue()));
+                .andExpect(jsonPath("$.balance").value(account.getBalance().toBigDecimal().doubleValue()));
     }
 
-    private static class ZeroBalanceMatcher implements ArgumentMatcher<BigDecimal> {
+    private static class ZeroBalanceMatcher implements ArgumentMatcher<Money> {
 
         @Override
-        public boolean matches(BigDecimal argument) {
-            return BigDecimal.ZERO.compareTo(argument) == 0;
+        public boolean matches(Money argument) {
+            return Money.ZERO.compareTo(argument) == 0;
         }
     }
 
-    private static class NegativeBalanceMatcher implements ArgumentMatcher<BigDecimal> {
+    private static class NegativeBalanceMatcher implements ArgumentMatcher<Money> {
 
         @Override
-        public boolean matches(BigDecimal argument) {
-            return BigDecimal.ZERO.compareTo(argument) > 0;
+        public boolean matches(Money argument) {
+            return Money.ZERO.compareTo(argument) > 0;
         }
     }
 
@@ -0,0 +1,182 @@
+package spaceurgent.banking.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.ReactiveAccountService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.api.ApiConstants.IDEMPOTENCY_KEY_HEADER_NAME;
+
+@WebFluxTest(ReactiveAccountController.class)
+@ActiveProfiles("reactive")
+class ReactiveAccountControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveAccountService accountService;
+    @MockBean
+    private BankingMetrics bankingMetrics;
+
+    @Test
+    @DisplayName("Create account with balance param returns 201")
+    void createAccount_returns201() {
+        final var account = new AccountDetailsDto(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("100.50"));
+        doReturn(Mono.just(account)).when(accountService).createAccount(Money.valueOf("100.50"), Currency.UAH);
+
+        webTestClient.post()
+                .uri("/api/accounts?balance=100.50")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AccountDetailsDto.class).isEqualTo(account);
+    }
+
+    @Test
+    @DisplayName("Get accounts - full page streamed with cursor")
+    void getAccounts_fullPage_withCursor() {
+        doReturn(Flux.just(
+                new AccountDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH),
+                new AccountDto(DEFAULT_TARGET_ACCOUNT_NUMBER, Currency.UAH)
+        )).when(accountService).getAccounts(null, 2);
+
+        webTestClient.get()
+                .uri("/api/accounts?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("""
+                        {"data":[{"number":"%s","currency":"UAH"},{"number":"%s","currency":"UAH"}],"nextCursor":"%s"}"""
+                        .formatted(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER), true);
+    }
+
+    @Test
+    @DisplayName("Get accounts - last page without cursor")
+    void getAccounts_lastPage_withoutCursor() {
+        doReturn(Flux.just(new AccountDto(TEST_ACCOUNT_NUMBER, Currency.UAH)))
+                .when(accountService).getAccounts(DEFAULT_SOURCE_ACCOUNT_NUMBER, 100);
+
+        webTestClient.get()
+                .uri("/api/accounts?after={after}", DEFAULT_SOURCE_ACCOUNT_NUMBER)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {"data":[{"number":"%s","currency":"UAH"}],"nextCursor":null}""".formatted(TEST_ACCOUNT_NUMBER), true);
+    }
+
+    @Test
+    @DisplayName("Get accounts with invalid limit returns 400")
+    void getAccounts_invalidLimit_returns400() {
+        final var exception = new ValidationException("Invalid limit");
+        doReturn(Flux.error(exception)).when(accountService).getAccounts(null, 0);
+
+        webTestClient.get()
+                .uri("/api/accounts?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid limit")
+                .jsonPath("$.path").isEqualTo("/api/accounts");
+        verify(bankingMetrics).countError(exception);
+    }
+
+    @Test
+    @DisplayName("Export accounts as NDJSON")
+    void exportAccounts_ndjson() {
+        doReturn(Flux.just(
+                new AccountDetailsDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("1")),
+                new AccountDetailsDto(DEFAULT_TARGET_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("10"))
+        )).when(accountService).exportAccounts();
+
+        webTestClient.get()
+                .uri("/api/accounts/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo("""
+                        {"number":"%s","currency":"UAH","balance":1.00}
+                        {"number":"%s","currency":"UAH","balance":10.00}
+                        """.formatted(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Get not existing account returns 404")
+    void getAccount_notFound_returns404() {
+        final var exception = AccountNotFoundException.withNumber(TEST_ACCOUNT_NUMBER);
+        doReturn(Mono.error(exception)).when(accountService).getAccount(TEST_ACCOUNT_NUMBER);
+
+        webTestClient.get()
+                .uri("/api/accounts/{accountNumber}", TEST_ACCOUNT_NUMBER)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo(exception.getMessage())
+                .jsonPath("$.path").isEqualTo("/api/accounts/" + TEST_ACCOUNT_NUMBER)
+                .jsonPath("$.timestamp").exists();
+        verify(bankingMetrics).countError(exception);
+    }
+
+    @Test
+    @DisplayName("Transfer - OK")
+    void transfer_ok() {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("5"));
+        final var sourceAccount = new AccountDetailsDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("95"));
+        doReturn(Mono.just(sourceAccount)).when(accountService).transferToAccount(eq(transferRequest));
+
+        webTestClient.post()
+                .uri("/api/accounts/{source}/transfer?targetAccountNumber={target}&amount=5",
+                        DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountDetailsDto.class).isEqualTo(sourceAccount);
+    }
+
+    @Test
+    @DisplayName("Deposit with Idempotency-Key returns 400")
+    void deposit_withIdempotencyKey_returns400() {
+        webTestClient.post()
+                .uri("/api/accounts/{accountNumber}/deposit?amount=10", TEST_ACCOUNT_NUMBER)
+                .header(IDEMPOTENCY_KEY_HEADER_NAME, "key-1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Idempotency-Key is not supported by the reactive API");
+        verify(accountService, never()).depositToAccount(any(), any());
+    }
+
+    @Test
+    @DisplayName("Withdraw without amount returns 400")
+    void withdraw_withoutAmount_returns400() {
+        webTestClient.post()
+                .uri("/api/accounts/{accountNumber}/withdraw", TEST_ACCOUNT_NUMBER)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(400)
+                .jsonPath("$.message").exists();
+        verify(accountService, never()).withdrawFromAccount(any(), any());
+    }
+}
@@ -0,0 +1,109 @@
+package spaceurgent.banking.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.TransferNotFoundException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.model.Transfer;
+import spaceurgent.banking.model.TransferStatus;
+import spaceurgent.banking.service.TransferService;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+
+@WebMvcTest(TransferController.class)
+class TransferControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private TransferService transferService;
+    @MockBean
+    private BankingMetrics bankingMetrics;
+
+    @Test
+    @DisplayName("Submit transfer returns 202 with pending transfer")
+    void submitTransfer_returns202() throws Exception {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturn(transfer(7L)).when(transferService).submitTransfer(eq(transferRequest));
+        mockMvc.perform(post("/api/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/transfers/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.sourceAccountNumber").value(DEFAULT_SOURCE_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.targetAccountNumber").value(DEFAULT_TARGET_ACCOUNT_NUMBER))
+                .andExpect(jsonPath("$.amount").value(10))
+                .andExpect(jsonPath("$.status").value(TransferStatus.PENDING.name()))
+                .andExpect(jsonPath("$.createdAt").exists());
+    }
+
+    @Test
+    @DisplayName("Submit invalid transfer returns 400")
+    void submitTransfer_invalid_returns400() throws Exception {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"));
+        final var exception = new ValidationException("Source and target account numbers must differ");
+        doThrow(exception).when(transferService).submitTransfer(eq(transferRequest));
+        mockMvc.perform(post("/api/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$.message").value(exception.getMessage()))
+                .andExpect(jsonPath("$.path").value("/api/transfers"));
+        verify(bankingMetrics).countError(exception);
+    }
+
+    @Test
+    @DisplayName("Get failed transfer returns status and reason")
+    void getTransfer_failed_returns200() throws Exception {
+        final var transfer = transfer(7L);
+        transfer.fail("Withdraw amount exceeds balance");
+        doReturn(transfer).when(transferService).getTransfer(7L);
+        mockMvc.perform(get("/api/transfers/{id}", 7))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(TransferStatus.FAILED.name()))
+                .andExpect(jsonPath("$.failureReason").value("Withdraw amount exceeds balance"))
+                .andExpect(jsonPath("$.processedAt").exists());
+    }
+
+    @Test
+    @DisplayName("Get not existing transfer returns 404")
+    void getTransfer_notFound_returns404() throws Exception {
+        doThrow(TransferNotFoundException.withId(7L)).when(transferService).getTransfer(7L);
+        mockMvc.perform(get("/api/transfers/{id}", 7))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(HttpStatus.NOT_FOUND.value()))
+                .andExpect(jsonPath("$.message").value("Transfer with id '7' not found"))
+                .andExpect(jsonPath("$.path").value("/api/transfers/7"));
+    }
+
+    private static Transfer transfer(long id) {
+        final var transfer = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        ReflectionTestUtils.setField(transfer, "id", id);
+        return transfer;
+    }
+}
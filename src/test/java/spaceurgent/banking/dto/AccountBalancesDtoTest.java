@@ -0,0 +1,59 @@
+package spaceurgent.banking.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+class AccountBalancesDtoTest {
+    private static final Instant CREATED_AT = Instant.parse("2024-11-02T10:15:30.000120Z");
+
+    private final List<AccountBalanceDto> accounts = List.of(
+            new AccountBalanceDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("20"), CREATED_AT.plusSeconds(1)),
+            new AccountBalanceDto(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("10.50"), CREATED_AT)
+    );
+
+    @Test
+    @DisplayName("Full page by balance gets a cursor after its last account")
+    void page_fullPageByBalance_cursor() {
+        final var page = AccountBalancesDto.page(accounts, request(AccountSearchOrder.BALANCE, accounts.size()));
+        assertEquals(accounts, page.data());
+        assertEquals("1050_" + TEST_ACCOUNT_NUMBER, page.nextCursor());
+        assertEquals(new AccountSearchCursor(1050, TEST_ACCOUNT_NUMBER), AccountSearchCursor.parse(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Full page by creation time gets a cursor in microseconds")
+    void page_fullPageByCreationTime_cursor() {
+        final var page = AccountBalancesDto.page(accounts, request(AccountSearchOrder.CREATED_AT, accounts.size()));
+        assertEquals("1730542530000120_" + TEST_ACCOUNT_NUMBER, page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Last page has no cursor")
+    void page_lastPage_noCursor() {
+        assertNull(AccountBalancesDto.page(accounts, request(AccountSearchOrder.BALANCE, accounts.size() + 1)).nextCursor());
+        assertNull(AccountBalancesDto.page(List.of(), request(AccountSearchOrder.BALANCE, 1)).nextCursor());
+    }
+
+    @Test
+    @DisplayName("Sort values are parsed case-insensitively")
+    void order_fromValue() {
+        assertEquals(AccountSearchOrder.BALANCE, AccountSearchOrder.fromValue("Balance"));
+        assertEquals(AccountSearchOrder.CREATED_AT, AccountSearchOrder.fromValue("createdAt"));
+        final var exception = assertThrows(ValidationException.class, () -> AccountSearchOrder.fromValue("number"));
+        assertEquals("Invalid sort. Supported values are 'balance' and 'createdAt'", exception.getMessage());
+    }
+
+    private static AccountSearchRequestDto request(AccountSearchOrder order, int limit) {
+        return new AccountSearchRequestDto(Currency.UAH, null, null, null, null, order, null, limit);
+    }
+}
@@ -4,8 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import spaceurgent.banking.TestConstants;
 import spaceurgent.banking.model.Account;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,7 +13,7 @@ class AccountDtoTest {
     @Test
     @DisplayName("Create from account - OK")
     void fromAccount_ok() {
-        final var account = new Account(TestConstants.TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TestConstants.TEST_ACCOUNT_NUMBER, Money.ZERO);
         AccountDto accountDto = AccountDto.from(account);
         assertEquals(account.getNumber(), accountDto.number(), "Account number doesn't match");
         assertEquals(account.getCurrency(), accountDto.currency(), "Account currency doesn't match");
@@ -9,17 +9,20 @@ import static spaceurgent.banking.TestUtils.randomAccounts;
 class AccountsDtoTest {
 
     @Test
-    @DisplayName("Create from accounts - OK")
-    void fromAccounts_ok() {
-        final var accounts = randomAccounts();
-        final var accountsDto = AccountsDto.from(accounts);
-        final var accountDtoList = accountsDto.data();
-        assertEquals(accounts.size(), accountDtoList.size(), "Accounts size doesn't match");
-        for (int i = 0; i < accounts.size(); i++) {
-            final var currentAccount = accounts.get(i);
-            final var currentAccountDto = accountDtoList.get(i);
-            assertEquals(currentAccount.getNumber(), currentAccountDto.number(), "Account number doesn't match");
-            assertEquals(currentAccount.getCurrency(), currentAccountDto.currency(), "Account number doesn't match");
-        }
+    @DisplayName("Create full page - OK")
+    void page_withFullPage_ok() {
+        final var accounts = randomAccounts().stream().map(AccountDto::from).toList();
+        final var accountsDto = AccountsDto.page(accounts, accounts.size());
+        assertEquals(accounts, accountsDto.data(), "Accounts don't match");
+        assertEquals(accounts.get(accounts.size() - 1).number(), accountsDto.nextCursor(), "Next cursor doesn't match last account number");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Create last page - OK")
+    void page_withLastPage_ok() {
+        final var accounts = randomAccounts().stream().map(AccountDto::from).toList();
+        final var accountsDto = AccountsDto.page(accounts, accounts.size() + 1);
+        assertEquals(accounts, accountsDto.data(), "Accounts don't match");
+        assertNull(accountsDto.nextCursor(), "Last page must not have next cursor");
+    }
+}
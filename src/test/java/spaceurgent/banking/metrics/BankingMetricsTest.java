@@ -0,0 +1,81 @@
+package spaceurgent.banking.metrics;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.TransferConflictException;
+import spaceurgent.banking.exception.ValidationException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.metrics.BankingMetrics.ERROR_COUNTER;
+import static spaceurgent.banking.metrics.BankingMetrics.OPERATION_TIMER;
+
+class BankingMetricsTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private final BankingMetrics bankingMetrics = new BankingMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Operation timer - each lap records time since previous lap")
+    void operationTimer_laps() {
+        final var timer = bankingMetrics.startOperation(BankingMetrics.Operation.GET);
+        clock.add(Duration.ofMillis(2));
+        timer.lap(BankingMetrics.Phase.VALIDATION);
+        clock.add(Duration.ofMillis(5));
+        timer.lap(BankingMetrics.Phase.LOOKUP);
+
+        assertEquals(2, phaseTimeMillis("get", "validation"));
+        assertEquals(5, phaseTimeMillis("get", "lookup"));
+        assertEquals(0, meterRegistry.get(OPERATION_TIMER).tags("operation", "get", "phase", "persistence").timer().count());
+    }
+
+    @Test
+    @DisplayName("Operation timer - lap on completion without transaction records immediately")
+    void operationTimer_lapOnCompletion_withoutTransaction() {
+        final var timer = bankingMetrics.startOperation(BankingMetrics.Operation.DEPOSIT);
+        clock.add(Duration.ofMillis(3));
+        timer.lapOnCompletion(BankingMetrics.Phase.PERSISTENCE);
+
+        assertEquals(3, phaseTimeMillis("deposit", "persistence"));
+    }
+
+    @Test
+    @DisplayName("Count error - counted per exception type")
+    void countError() {
+        bankingMetrics.countError(new ValidationException("Invalid"));
+        bankingMetrics.countError(new ValidationException("Invalid"));
+        bankingMetrics.countError(new TransferConflictException("Conflict", null));
+
+        assertEquals(2, errorCount("ValidationException"));
+        assertEquals(1, errorCount("TransferConflictException"));
+    }
+
+    @Test
+    @DisplayName("Meters registered before first use")
+    void metersRegisteredUpFront() {
+        assertEquals(0, errorCount(AccountNotFoundException.class.getSimpleName()));
+        assertEquals(0, errorCount("AmountExceedsBalanceException"));
+        assertEquals(
+                BankingMetrics.Operation.values().length * BankingMetrics.Phase.values().length,
+                meterRegistry.get(OPERATION_TIMER).timers().size()
+        );
+    }
+
+    private double phaseTimeMillis(String operation, String phase) {
+        return meterRegistry.get(OPERATION_TIMER)
+                .tags("operation", operation, "phase", phase)
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private double errorCount(String exception) {
+        return meterRegistry.get(ERROR_COUNTER).tag("exception", exception).counter().count();
+    }
+}
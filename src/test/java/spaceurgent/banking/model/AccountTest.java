@@ -6,29 +6,33 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
 import static spaceurgent.banking.TestUtils.DEFAULT_CURRENCY;
 
 class AccountTest {
     @ParameterizedTest
-    @ValueSource(doubles = {0, 0.1111, 0.1199, 100.1,  1000, Double.MAX_VALUE})
+    @ValueSource(strings = {"0", "0.1111", "0.1199", "100.1", "1000", "92233720368547758.07"})
     @DisplayName("Create account with 0 or greater balance - OK")
-    void createAccount_withValidInitialBalance_ok(Double initialBalance) {
-        final var expectedBalance = BigDecimal.valueOf(initialBalance).setScale(2, RoundingMode.FLOOR);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(initialBalance));
+    void createAccount_withValidInitialBalance_ok(String initialBalance) {
+        final var expectedBalance = Money.valueOf(initialBalance);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf(initialBalance));
         assertEquals(TEST_ACCOUNT_NUMBER, account.getNumber());
         assertEquals(expectedBalance, account.getBalance(), "Account balance differs from initial");
         assertEquals(DEFAULT_CURRENCY, account.getCurrency(), "Incorrect default currency");
     }
 
+    @Test
+    @DisplayName("Account currency follows from its number")
+    void createAccount_currencyFromNumber() {
+        assertEquals(Currency.USD, new Account(USD_ACCOUNT_NUMBER, Money.ZERO).getCurrency());
+    }
+
     @Test
     @DisplayName("Create account with null account number throws")
     void createAccount_withNullAccountNumber_throws() {
-        assertThrows(NullPointerException.class, () -> new Account(null, BigDecimal.ZERO));
+        assertThrows(NullPointerException.class, () -> new Account(null, Money.ZERO));
     }
 
     @Test
@@ -40,7 +44,7 @@ class AccountTest {
     @Test
     @DisplayName("Create account with negative balance throws")
     void createAccount_withNegativeInitialBalance_throws() {
-        final var negativeInitialBalance = BigDecimal.valueOf(-1L);
+        final var negativeInitialBalance = Money.valueOf("-1");
         final var exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> new Account(TEST_ACCOUNT_NUMBER, negativeInitialBalance)
@@ -49,41 +53,47 @@ class AccountTest {
     }
 
     @ParameterizedTest
-    @ValueSource(doubles = {0.1111, 0.9999, 1, 10.8, 1000, Double.MAX_VALUE})
+    @ValueSource(strings = {"0.1111", "0.9999", "1", "10.8", "1000", "92233720368547658.07"})
     @DisplayName("Deposit with amount greater than 0 - OK")
-    void deposit_withValidAmount_ok(Double doubleAmountValue) {
-        final var initialBalance = BigDecimal.valueOf(100);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, initialBalance);
-        final var depositAmount = BigDecimal.valueOf(doubleAmountValue);
-        final var expectedBalance = initialBalance.add(depositAmount).setScale(2, RoundingMode.FLOOR);
+    void deposit_withValidAmount_ok(String amountValue) {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var depositAmount = Money.valueOf(amountValue);
+        final var expectedBalance = Money.ofMinorUnits(10_000 + depositAmount.minorUnits());
         account.deposit(depositAmount);
         assertEquals(expectedBalance, account.getBalance());
     }
 
+    @Test
+    @DisplayName("Deposit overflowing balance throws")
+    void deposit_withOverflow_throws() {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ofMinorUnits(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> account.deposit(Money.valueOf("0.01")));
+    }
+
     @Test
     @DisplayName("Deposit with null amount throws")
     void deposit_withNullAmount_throws() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         assertThrows(NullPointerException.class, () -> account.deposit(null));
     }
 
     @Test
     @DisplayName("Deposit with negative amount throws")
     void deposit_withNegativeAmount_throws() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         final var exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> account.deposit(BigDecimal.valueOf(-1))
+                () -> account.deposit(Money.valueOf("-1"))
         );
         assertEquals("Transfer amount must be greater than 0", exception.getMessage());
     }
 
     @ParameterizedTest
-    @ValueSource(doubles = {-100, -10.231, 0, 0.009})
+    @ValueSource(strings = {"-100", "-10.231", "0", "0.009"})
     @DisplayName("Deposit with negative amount or 0 amount throws")
-    void deposit_withInvalidAmount_throws(Double doubleAmountValue) {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
-        final var depositAmount = BigDecimal.valueOf(doubleAmountValue).setScale(2, RoundingMode.FLOOR);
+    void deposit_withInvalidAmount_throws(String amountValue) {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        final var depositAmount = Money.valueOf(amountValue);
         final var exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> account.deposit(depositAmount)
@@ -92,13 +102,12 @@ class AccountTest {
     }
 
     @ParameterizedTest
-    @ValueSource(doubles = {10, 10.111, 10.119, 20, 100})
+    @ValueSource(strings = {"10", "10.111", "10.119", "20", "100"})
     @DisplayName("Withdraw with amount greater than 0 - OK")
-    void withdraw_withValidAmount_ok(Double doubleAmountValue) throws AmountExceedsBalanceException {
-        final var initialBalance = BigDecimal.valueOf(100);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, initialBalance);
-        final var withdrawAmount = BigDecimal.valueOf(doubleAmountValue).setScale(2, RoundingMode.FLOOR);
-        final var expectedBalance = initialBalance.subtract(withdrawAmount);
+    void withdraw_withValidAmount_ok(String amountValue) throws AmountExceedsBalanceException {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var withdrawAmount = Money.valueOf(amountValue);
+        final var expectedBalance = Money.ofMinorUnits(10_000 - withdrawAmount.minorUnits());
         account.withdraw(withdrawAmount);
         assertEquals(expectedBalance, account.getBalance());
     }
@@ -106,18 +115,18 @@ class AccountTest {
     @Test
     @DisplayName("Withdraw with null amount throws")
     void withdraw_withNullAmount() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         assertThrows(NullPointerException.class, () -> account.withdraw(null));
     }
 
     @ParameterizedTest
-    @ValueSource(doubles = {-100, -10.231, 0, 0.009})
+    @ValueSource(strings = {"-100", "-10.231", "0", "0.009"})
     @DisplayName("Withdraw with negative amount or 0 amount throws")
-    void withdraw_withInvalidAmount_throws() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
+    void withdraw_withInvalidAmount_throws(String amountValue) {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
         final var exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> account.withdraw(BigDecimal.valueOf(-1))
+                () -> account.withdraw(Money.valueOf(amountValue))
         );
         assertEquals("Transfer amount must be greater than 0", exception.getMessage());
     }
@@ -125,10 +134,10 @@ class AccountTest {
     @Test
     @DisplayName("Withdraw with amount greater than balance throws")
     void withdraw_withAmountExceedBalance_throws() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         final var exception = assertThrows(
                 AmountExceedsBalanceException.class,
-                () -> account.withdraw(BigDecimal.valueOf(0.01))
+                () -> account.withdraw(Money.valueOf("0.01"))
         );
         assertEquals("Withdraw amount exceeds balance", exception.getMessage());
     }
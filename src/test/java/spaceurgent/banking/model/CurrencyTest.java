@@ -0,0 +1,42 @@
+package spaceurgent.banking.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.exception.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.Constants.DEFAULT_AMOUNT_SCALE;
+
+class CurrencyTest {
+
+    @Test
+    @DisplayName("Parse currency ignores case")
+    void fromValue_ok() {
+        assertEquals(Currency.USD, Currency.fromValue("usd"));
+        assertEquals(Currency.EUR, Currency.fromValue("EUR"));
+    }
+
+    @Test
+    @DisplayName("Parse unknown currency throws")
+    void fromValue_unknown_throws() {
+        final var exception = assertThrows(ValidationException.class, () -> Currency.fromValue("GBP"));
+        assertEquals("Invalid currency. Supported currencies are UAH, USD, EUR", exception.getMessage());
+        assertThrows(ValidationException.class, () -> Currency.fromValue(null));
+    }
+
+    @Test
+    @DisplayName("Every currency has as many fraction digits as amounts are kept with")
+    void fractionDigits_isAmountScale() {
+        for (var currency : Currency.values()) {
+            assertEquals(DEFAULT_AMOUNT_SCALE, java.util.Currency.getInstance(currency.name()).getDefaultFractionDigits(), currency.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Currency by account number prefix")
+    void ofAccountNumberPrefix_ok() {
+        assertEquals(Currency.UAH, Currency.ofAccountNumberPrefix(2600));
+        assertEquals(Currency.EUR, Currency.ofAccountNumberPrefix(2602));
+        assertNull(Currency.ofAccountNumberPrefix(2603));
+    }
+}
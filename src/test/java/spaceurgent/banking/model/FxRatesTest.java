@@ -0,0 +1,75 @@
+package spaceurgent.banking.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import spaceurgent.banking.exception.ValidationException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRatesTest {
+    private static final FxRates RATES = new FxRates(Map.of(
+            Currency.UAH, BigDecimal.ONE,
+            Currency.USD, new BigDecimal("41.25"),
+            Currency.EUR, new BigDecimal("44.90")
+    ), Instant.EPOCH);
+
+    @ParameterizedTest
+    @CsvSource({
+            "10, USD, UAH, 412.50",
+            "10.01, USD, UAH, 412.91",
+            "412.50, UAH, USD, 10",
+            "100, UAH, USD, 2.42",
+            "100, EUR, USD, 108.84",
+            "100, EUR, EUR, 100"
+    })
+    @DisplayName("Convert rounds down to the target scale - OK")
+    void convert_ok(String amount, Currency from, Currency to, String expected) {
+        assertEquals(Money.valueOf(expected), RATES.convert(Money.valueOf(amount), from, to));
+    }
+
+    @Test
+    @DisplayName("Cross rates are derived from unit values")
+    void rate_ok() {
+        assertEquals(0, new BigDecimal("41.25").compareTo(RATES.rate(Currency.USD, Currency.UAH)));
+        assertEquals(BigDecimal.ONE, RATES.rate(Currency.EUR, Currency.EUR));
+    }
+
+    @Test
+    @DisplayName("Convert amount too small for the target currency throws")
+    void convert_tooSmall_throws() {
+        final var exception = assertThrows(ValidationException.class,
+                () -> RATES.convert(Money.valueOf("0.40"), Currency.UAH, Currency.USD));
+        assertEquals("Amount 0.40 UAH is too small to convert to USD", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Create with missing or non-positive rate throws")
+    void create_withInvalidRates_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FxRates(Map.of(Currency.UAH, BigDecimal.ONE, Currency.USD, BigDecimal.TEN), Instant.EPOCH));
+        assertThrows(IllegalArgumentException.class, () -> new FxRates(Map.of(
+                Currency.UAH, BigDecimal.ONE,
+                Currency.USD, BigDecimal.ZERO,
+                Currency.EUR, BigDecimal.TEN
+        ), Instant.EPOCH));
+    }
+
+    @Test
+    @DisplayName("Same rates regardless of load time")
+    void hasSameRates_ok() {
+        final var reloaded = new FxRates(RATES.getUnitValues(), Instant.now());
+        assertTrue(RATES.hasSameRates(reloaded));
+        final var changed = new FxRates(Map.of(
+                Currency.UAH, BigDecimal.ONE,
+                Currency.USD, new BigDecimal("41.30"),
+                Currency.EUR, new BigDecimal("44.90")
+        ), Instant.now());
+        assertFalse(RATES.hasSameRates(changed));
+    }
+}
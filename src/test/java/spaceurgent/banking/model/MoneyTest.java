@@ -0,0 +1,65 @@
+package spaceurgent.banking.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "0.009, 0", "0.01, 1", "10.129, 1012", "-0.001, -1", "-10.129, -1013", "100, 10000"})
+    @DisplayName("Parse amount truncates to minor units - OK")
+    void valueOf_ok(String amount, long expectedMinorUnits) {
+        assertEquals(expectedMinorUnits, Money.valueOf(amount).minorUnits());
+    }
+
+    @Test
+    @DisplayName("Parse amount out of range throws")
+    void valueOf_withAmountOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("92233720368547758.08"));
+    }
+
+    @Test
+    @DisplayName("Arithmetic - OK")
+    void arithmetic_ok() {
+        final var amount = Money.valueOf("10.50");
+        assertEquals(Money.valueOf("21"), amount.plus(amount));
+        assertEquals(Money.ZERO, amount.minus(amount));
+        assertTrue(Money.ZERO.isNegativeOrZero());
+        assertTrue(Money.valueOf("-0.01").isNegative());
+        assertTrue(Money.ZERO.isLessThan(amount));
+        assertFalse(amount.isLessThan(amount));
+    }
+
+    @Test
+    @DisplayName("Arithmetic overflow throws")
+    void arithmetic_withOverflow_throws() {
+        final var max = Money.ofMinorUnits(Long.MAX_VALUE);
+        final var min = Money.ofMinorUnits(Long.MIN_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinorUnits(1)));
+        assertThrows(ArithmeticException.class, () -> min.minus(Money.ofMinorUnits(1)));
+    }
+
+    @Test
+    @DisplayName("Convert to decimal keeps amount scale - OK")
+    void toBigDecimal_ok() {
+        assertEquals(new BigDecimal("100.00"), Money.valueOf("100").toBigDecimal());
+        assertEquals("-0.05", Money.ofMinorUnits(-5).toString());
+    }
+
+    @Test
+    @DisplayName("JSON round trip - OK")
+    void json_ok() throws JsonProcessingException {
+        final var objectMapper = new ObjectMapper();
+        assertEquals("10.12", objectMapper.writeValueAsString(Money.valueOf("10.12")));
+        assertEquals(Money.valueOf("10.12"), objectMapper.readValue("10.129", Money.class));
+        assertEquals(Money.valueOf("10.12"), objectMapper.readValue("\"10.12\"", Money.class));
+    }
+}
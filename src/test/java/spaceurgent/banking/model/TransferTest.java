@@ -0,0 +1,60 @@
+package spaceurgent.banking.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+
+class TransferTest {
+
+    @Test
+    @DisplayName("New transfer is pending")
+    void createTransfer_isPending() {
+        final var transfer = newTransfer();
+        assertEquals(TransferStatus.PENDING, transfer.getStatus());
+        assertNotNull(transfer.getCreatedAt());
+        assertNull(transfer.getProcessedAt());
+        assertNull(transfer.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("Complete pending transfer - OK")
+    void complete_ok() {
+        final var transfer = newTransfer();
+        transfer.complete();
+        assertEquals(TransferStatus.COMPLETED, transfer.getStatus());
+        assertNotNull(transfer.getProcessedAt());
+    }
+
+    @Test
+    @DisplayName("Fail pending transfer keeps reason")
+    void fail_keepsReason() {
+        final var transfer = newTransfer();
+        transfer.fail("Withdraw amount exceeds balance");
+        assertEquals(TransferStatus.FAILED, transfer.getStatus());
+        assertEquals("Withdraw amount exceeds balance", transfer.getFailureReason());
+        assertNotNull(transfer.getProcessedAt());
+    }
+
+    @Test
+    @DisplayName("Processed transfer can't change status")
+    void complete_processedTransfer_throws() {
+        final var transfer = newTransfer();
+        transfer.fail("Account with number '26000000000253' not found");
+        assertThrows(IllegalStateException.class, transfer::complete);
+        assertEquals(TransferStatus.FAILED, transfer.getStatus());
+    }
+
+    @Test
+    @DisplayName("Create transfer without amount throws")
+    void createTransfer_withNullAmount_throws() {
+        assertThrows(NullPointerException.class,
+                () -> new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, null));
+    }
+
+    private static Transfer newTransfer() {
+        return new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+    }
+}
@@ -0,0 +1,187 @@
+package spaceurgent.banking.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.AccountBalanceSlot;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.AccountService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the search queries against the database and checks with {@code EXPLAIN} that each is answered from its
+ * index in index order, without a sort step.
+ */
+@SpringBootTest
+class AccountSearchRepositoryImplTest {
+    private static final int ACCOUNTS = 300;
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+    @Autowired
+    private TransferRepository transferRepository;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Account> uahAccounts;
+
+    @BeforeEach
+    void setUp() {
+        transferRepository.deleteAll();
+        accountRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+        // Balances repeat, so ties are broken by account number
+        uahAccounts = accountService.createAccounts(
+                IntStream.range(0, ACCOUNTS).mapToObj(i -> Money.ofMinorUnits(i % 100 * 1_000L)).toList(), Currency.UAH);
+        accountService.createAccounts(List.of(Money.valueOf("1000000")), Currency.USD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Top balances come from the balance index in index order")
+    void plan_topBalances_balanceIndexSorted() {
+        assertIndexSorted(AccountSearchRequestDto.topBalances(Currency.UAH, 10), Account.BALANCE_INDEX);
+    }
+
+    @Test
+    @DisplayName("Balance range and cursor are a range of the balance index")
+    void plan_balanceRangeAfterCursor_balanceIndexSorted() {
+        final var searchRequest = new AccountSearchRequestDto(Currency.UAH, Money.valueOf("100"), Money.valueOf("500"),
+                Instant.EPOCH, Instant.now(), AccountSearchOrder.BALANCE, "30000_" + uahAccounts.get(0).getNumber(), 10);
+        final var plan = assertIndexSorted(searchRequest, Account.BALANCE_INDEX);
+        assertTrue(plan.contains("BALANCE <="), plan);
+    }
+
+    @Test
+    @DisplayName("Creation window and cursor are a range of the creation time index")
+    void plan_createdWindowAfterCursor_createdAtIndexSorted() {
+        final var searchRequest = new AccountSearchRequestDto(Currency.UAH, null, null, Instant.EPOCH, Instant.now(),
+                AccountSearchOrder.CREATED_AT, "1700000000000000_" + uahAccounts.get(0).getNumber(), 10);
+        final var plan = assertIndexSorted(searchRequest, Account.CREATED_AT_INDEX);
+        assertTrue(plan.contains("CREATED_AT >="), plan);
+    }
+
+    @Test
+    @DisplayName("Top balances are the largest of the currency, largest first")
+    void search_topBalances() {
+        final var top = accountRepository.search(AccountSearchRequestDto.topBalances(Currency.UAH, 5));
+
+        assertEquals(List.of(Money.valueOf("990"), Money.valueOf("990"), Money.valueOf("990"), Money.valueOf("980"), Money.valueOf("980")),
+                top.stream().map(AccountBalanceDto::balance).toList());
+        assertTrue(top.stream().allMatch(account -> account.currency() == Currency.UAH));
+        assertTrue(top.get(0).number().compareTo(top.get(1).number()) > 0, "Ties are ordered by number, descending");
+    }
+
+    @Test
+    @DisplayName("Hot account balances include their slots in search and top balances")
+    void search_hotAccount_includesSlots() {
+        final var hotAccount = uahAccounts.get(0);
+        slotRepository.save(new AccountBalanceSlot(hotAccount.getId(), 0));
+        slotRepository.save(new AccountBalanceSlot(hotAccount.getId(), 1));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            slotRepository.credit(hotAccount.getId(), 0, 300_000);
+            slotRepository.credit(hotAccount.getId(), 1, 200_000);
+        });
+
+        final var top = accountRepository.search(AccountSearchRequestDto.topBalances(Currency.UAH, 2));
+        assertEquals(hotAccount.getNumber(), top.get(0).number());
+        assertEquals(Money.valueOf("5000"), top.get(0).balance());
+        assertEquals(Money.valueOf("990"), top.get(1).balance());
+
+        final var inRange = accountRepository.search(new AccountSearchRequestDto(Currency.UAH, Money.valueOf("4000"),
+                Money.valueOf("6000"), null, null, AccountSearchOrder.BALANCE, null, 10));
+        assertEquals(List.of(hotAccount.getNumber()), inRange.stream().map(AccountBalanceDto::number).toList());
+        final var withoutSlots = accountRepository.search(new AccountSearchRequestDto(Currency.UAH, Money.ZERO,
+                Money.ZERO, null, null, AccountSearchOrder.BALANCE, null, 10));
+        assertFalse(withoutSlots.stream().anyMatch(account -> account.number().equals(hotAccount.getNumber())));
+    }
+
+    @Test
+    @DisplayName("Keyset pages cover every match once, in order")
+    void search_pages_coverAllMatches() {
+        final var minBalance = Money.valueOf("100");
+        final var maxBalance = Money.valueOf("500");
+        final var expected = uahAccounts.stream()
+                .filter(account -> !account.getBalance().isLessThan(minBalance) && !maxBalance.isLessThan(account.getBalance()))
+                .sorted(Comparator.comparing(Account::getBalance).thenComparing(Account::getNumber).reversed())
+                .map(Account::getNumber)
+                .toList();
+
+        final var found = new ArrayList<String>();
+        String after = null;
+        do {
+            final var searchRequest = new AccountSearchRequestDto(Currency.UAH, minBalance, maxBalance, null, null,
+                    AccountSearchOrder.BALANCE, after, 7);
+            final var page = AccountBalancesDto.page(accountRepository.search(searchRequest), searchRequest);
+            page.data().forEach(account -> found.add(account.number()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    @DisplayName("Creation window pages are ordered by creation time")
+    void search_createdWindow_pages() {
+        final var createdFrom = uahAccounts.get(0).getCreatedAt().minusSeconds(1);
+        final var createdTo = Instant.now().plusSeconds(1);
+
+        final var found = new ArrayList<AccountBalanceDto>();
+        String after = null;
+        do {
+            final var searchRequest = new AccountSearchRequestDto(Currency.UAH, null, null, createdFrom, createdTo,
+                    AccountSearchOrder.CREATED_AT, after, 100);
+            final var page = AccountBalancesDto.page(accountRepository.search(searchRequest), searchRequest);
+            found.addAll(page.data());
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertEquals(ACCOUNTS, found.size());
+        for (int i = 1; i < found.size(); i++) {
+            assertFalse(found.get(i).createdAt().isAfter(found.get(i - 1).createdAt()));
+        }
+        assertEquals(List.of(), accountRepository.search(new AccountSearchRequestDto(Currency.UAH, null, null,
+                createdTo, createdTo.plusSeconds(1), AccountSearchOrder.CREATED_AT, null, 10)));
+    }
+
+    private String assertIndexSorted(AccountSearchRequestDto searchRequest, String index) {
+        final var searchQuery = AccountSearchRepositoryImpl.SearchQuery.of(searchRequest);
+        final var explain = entityManager.createNativeQuery("EXPLAIN " + searchQuery.sql());
+        searchQuery.parameters().forEach(explain::setParameter);
+        final var plan = String.valueOf(explain.getSingleResult()).toUpperCase();
+        assertTrue(plan.contains(index.toUpperCase()), plan);
+        assertTrue(plan.contains("INDEX SORTED"), plan);
+        return plan;
+    }
+}
@@ -0,0 +1,128 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+class AccountPartitionsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountPartitions partitions = new AccountPartitions(4, meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        partitions.shutdown();
+    }
+
+    @Test
+    @DisplayName("Tasks of one account run on its partition thread")
+    void execute_sameAccount_samePartitionThread() {
+        final var partition = partitions.indexOf(TEST_ACCOUNT_NUMBER);
+        final var threadName = partitions.execute(TEST_ACCOUNT_NUMBER, () -> Thread.currentThread().getName());
+        assertEquals("account-partition-" + partition, threadName);
+        assertEquals(threadName, partitions.execute(TEST_ACCOUNT_NUMBER, () -> Thread.currentThread().getName()));
+    }
+
+    @Test
+    @DisplayName("Missing account number still gets a partition")
+    void indexOf_null_inRange() {
+        final var partition = partitions.indexOf(null);
+        assertTrue(partition >= 0 && partition < partitions.size());
+    }
+
+    @Test
+    @DisplayName("Account numbers spread over all partitions")
+    void indexOf_spreadsAccounts() {
+        final var counts = new int[partitions.size()];
+        for (int i = 1; i <= 1000; i++) {
+            counts[partitions.indexOf(AccountNumberCodec.encode(i))]++;
+        }
+        for (var count : counts) {
+            assertTrue(count > 150, "Partition got %d of 1000 accounts".formatted(count));
+        }
+    }
+
+    @Test
+    @DisplayName("Two-account task runs on the higher partition")
+    void execute_twoPartitions_runsOnHigher() {
+        final var first = accountOnPartition(0);
+        final var second = accountOnPartition(3);
+        assertEquals("account-partition-3", partitions.execute(first, second, () -> Thread.currentThread().getName()));
+        assertEquals("account-partition-3", partitions.execute(second, first, () -> Thread.currentThread().getName()));
+    }
+
+    @Test
+    @DisplayName("Task exceptions reach the caller")
+    void execute_taskThrows_rethrows() {
+        final var exception = new AmountExceedsBalanceException("Withdraw amount exceeds balance");
+        assertSame(exception, assertThrows(AmountExceedsBalanceException.class,
+                () -> partitions.execute(accountOnPartition(1), accountOnPartition(2), () -> {
+                    throw exception;
+                })));
+        assertThrows(IllegalArgumentException.class, () -> partitions.execute(TEST_ACCOUNT_NUMBER, () -> {
+            throw new IllegalArgumentException("Amount must be positive");
+        }));
+    }
+
+    @Test
+    @DisplayName("Opposite handoffs between partitions don't deadlock")
+    void execute_oppositeHandoffs_complete() throws Exception {
+        final var low = accountOnPartition(1);
+        final var high = accountOnPartition(2);
+        final var tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < 8; i++) {
+            final var reversed = i % 2 == 0;
+            tasks.add(() -> {
+                for (int j = 0; j < 200; j++) {
+                    partitions.execute(reversed ? high : low, reversed ? low : high, () -> null);
+                    partitions.execute(reversed ? high : low, () -> null);
+                }
+                return null;
+            });
+        }
+        final var executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            for (var future : executor.invokeAll(tasks, 30, TimeUnit.SECONDS)) {
+                assertFalse(future.isCancelled(), "Handoffs did not complete in time");
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Queue depth and service time are registered per partition")
+    void metrics_registeredPerPartition() {
+        partitions.execute(TEST_ACCOUNT_NUMBER, () -> null);
+        final var partition = Integer.toString(partitions.indexOf(TEST_ACCOUNT_NUMBER));
+        assertEquals(4, meterRegistry.find(AccountPartitions.QUEUE_GAUGE).gauges().size());
+        assertEquals(0, meterRegistry.get(AccountPartitions.QUEUE_GAUGE).tag("partition", partition).gauge().value());
+        assertEquals(1, meterRegistry.get(AccountPartitions.SERVICE_TIMER).tag("partition", partition).timer().count());
+    }
+
+    @Test
+    @DisplayName("Create with no partitions throws")
+    void create_withZeroPartitions_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountPartitions(0, meterRegistry));
+    }
+
+    private String accountOnPartition(int partition) {
+        for (int i = 1; ; i++) {
+            final var accountNumber = AccountNumberCodec.encode(i);
+            if (partitions.indexOf(accountNumber) == partition) {
+                return accountNumber;
+            }
+        }
+    }
+}
@@ -1,31 +1,56 @@
 package spaceurgent.banking.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import spaceurgent.banking.Constants;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import spaceurgent.banking.dto.AccountBalanceDto;
+import spaceurgent.banking.dto.AccountBalancesDto;
+import spaceurgent.banking.dto.AccountDto;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.AccountNotFoundException;
 import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
 import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountStatisticsService;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.TransferExecutor;
 import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
 import spaceurgent.banking.utils.AccountNumberGenerator;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.Constants.MAX_TRANSFER_BATCH_SIZE;
 import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
 import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
 import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
@@ -41,32 +66,143 @@ class AccountServiceImplTest {
     private AccountNumberGenerator accountNumberGenerator;
     @Mock
     private ValidationService validationService;
+    @Mock
+    private TransferExecutor transferExecutor;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private AccountStatisticsService accountStatisticsService;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
+    @Spy
+    private HotAccountBalances hotAccountBalances = new HotAccountBalances(List.of(), 8, null, null, null, null, null);
+    @Spy
+    private FxRateService fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
     @InjectMocks
     private AccountServiceImpl accountService;
 
     @Test
     @DisplayName("Create account - OK")
     void createAccount_ok() {
-        final var initialBalance = BigDecimal.ZERO.setScale(Constants.DEFAULT_AMOUNT_SCALE, RoundingMode.FLOOR);
-        doReturn(TEST_ACCOUNT_NUMBER).when(accountNumberGenerator).nextAccountNumber();
+        final var initialBalance = Money.ZERO;
+        doReturn(TEST_ACCOUNT_NUMBER).when(accountNumberGenerator).nextAccountNumber(Currency.UAH);
         doAnswer(returnInputAnswer()).when(accountRepository).save(any());
-        final var created = accountService.createAccount(initialBalance);
+        final var created = accountService.createAccount(initialBalance, Currency.UAH);
         assertEquals(TEST_ACCOUNT_NUMBER, created.getNumber(), "Created account doesn't match expected");
         assertEquals(initialBalance, created.getBalance(), "Initial balanced doesn't match expected");
+        verify(journalService, never()).recordDeposit(any(), any());
+        verify(accountStatisticsService).recordAccountOpened(created);
+    }
+
+    @Test
+    @DisplayName("Create account with positive balance journals opening deposit")
+    void createAccount_withPositiveBalance_journalsDeposit() {
+        final var initialBalance = Money.valueOf("10");
+        doReturn(TEST_ACCOUNT_NUMBER).when(accountNumberGenerator).nextAccountNumber(Currency.UAH);
+        doAnswer(returnInputAnswer()).when(accountRepository).save(any());
+        final var created = accountService.createAccount(initialBalance, Currency.UAH);
+        verify(journalService).recordDeposit(created, initialBalance);
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk - OK")
+    void createAccounts_ok() {
+        final var initialBalances = List.of(Money.ZERO, Money.valueOf("10"), Money.valueOf("100.555"));
+        doReturn(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER)
+                .when(accountNumberGenerator).nextAccountNumber(Currency.UAH);
+        final var accounts = accountService.createAccounts(initialBalances, Currency.UAH);
+        assertEquals(
+                List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER),
+                accounts.stream().map(Account::getNumber).toList()
+        );
+        assertEquals(Money.valueOf("100.55"), accounts.get(2).getBalance());
+        accounts.forEach(account -> verify(entityManager).persist(same(account)));
+        accounts.forEach(account -> verify(accountStatisticsService).recordAccountOpened(same(account)));
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk with invalid balance throws")
+    void createAccounts_withInvalidBalance_throws() {
+        final var negativeBalance = Money.valueOf("-1");
+        doNothing().doThrow(new ValidationException("Invalid balance")).when(validationService).validateBalanceAmount(any());
+        final var exception = assertThrows(
+                ValidationException.class,
+                () -> accountService.createAccounts(List.of(Money.valueOf("1"), negativeBalance), Currency.UAH)
+        );
+        assertEquals("Account #2: Invalid balance", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk without balances throws")
+    void createAccounts_withoutBalances_throws() {
+        assertThrows(ValidationException.class, () -> accountService.createAccounts(List.of(), Currency.UAH));
+    }
+
+    @Test
+    @DisplayName("Get first accounts page - OK")
+    void getAccounts_firstPage_ok() {
+        final var accounts = randomAccounts().stream().map(AccountDto::from).toList();
+        doReturn(accounts).when(accountRepository).findFirstPage(eq(Limit.of(10)));
+        assertEquals(accounts, accountService.getAccounts(null, 10));
+        verify(validationService).validatePageLimit(eq(10));
+    }
+
+    @Test
+    @DisplayName("Get accounts page after cursor - OK")
+    void getAccounts_afterCursor_ok() {
+        final var accounts = randomAccounts().stream().map(AccountDto::from).toList();
+        doReturn(accounts).when(accountRepository).findPageAfter(eq(TEST_ACCOUNT_NUMBER), eq(Limit.of(10)));
+        assertEquals(accounts, accountService.getAccounts(TEST_ACCOUNT_NUMBER, 10));
+        verify(validationService).validateAccountNumber(eq(TEST_ACCOUNT_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Search accounts returns a page with a cursor - OK")
+    void searchAccounts_ok() {
+        final var searchRequest = new AccountSearchRequestDto(Currency.UAH, Money.valueOf("10"), null, null, null,
+                AccountSearchOrder.BALANCE, null, 1);
+        final var account = new AccountBalanceDto(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("20"), Instant.EPOCH);
+        doReturn(List.of(account)).when(accountRepository).search(eq(searchRequest));
+        assertEquals(new AccountBalancesDto(List.of(account), "2000_" + TEST_ACCOUNT_NUMBER), accountService.searchAccounts(searchRequest));
+        verify(validationService).validateAccountSearchRequestDto(eq(searchRequest));
+    }
+
+    @Test
+    @DisplayName("Search accounts with invalid request throws")
+    void searchAccounts_invalid_throws() {
+        final var searchRequest = AccountSearchRequestDto.topBalances(Currency.UAH, 0);
+        doThrow(new ValidationException("Invalid page limit")).when(validationService).validateAccountSearchRequestDto(eq(searchRequest));
+        assertThrows(ValidationException.class, () -> accountService.searchAccounts(searchRequest));
+        verify(accountRepository, never()).search(any());
+    }
+
+    @Test
+    @DisplayName("Get top accounts searches by balance - OK")
+    void getTopAccounts_ok() {
+        final var searchRequest = AccountSearchRequestDto.topBalances(Currency.USD, 3);
+        final var accounts = List.of(new AccountBalanceDto(TEST_ACCOUNT_NUMBER, Currency.USD, Money.valueOf("20"), Instant.EPOCH));
+        doReturn(accounts).when(accountRepository).search(eq(searchRequest));
+        assertEquals(accounts, accountService.getTopAccounts(Currency.USD, 3));
+        verify(validationService).validateAccountSearchRequestDto(eq(searchRequest));
     }
 
     @Test
-    @DisplayName("Get accounts - OK")
-    void getAccounts_ok() {
+    @DisplayName("Export accounts detaches every exported account - OK")
+    void exportAccounts_ok() {
         final var accounts = randomAccounts();
-        doReturn(accounts).when(accountRepository).findAll();
-        assertEquals(accounts, accountService.getAccounts());
+        doReturn(accounts.stream()).when(accountRepository).streamAll();
+        final var exported = new ArrayList<Account>();
+        accountService.exportAccounts(exported::add);
+        assertEquals(accounts, exported);
+        accounts.forEach(account -> verify(entityManager).detach(same(account)));
     }
 
     @Test
     @DisplayName("Get account with existing account number - OK")
     void getAccount_withExistingNumber_ok() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.ZERO);
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
         doReturn(Optional.of(account)).when(accountRepository).findByNumber(eq(TEST_ACCOUNT_NUMBER));
         assertEquals(account, accountService.getAccount(TEST_ACCOUNT_NUMBER));
     }
@@ -85,21 +221,19 @@ class AccountServiceImplTest {
     @Test
     @DisplayName("Deposit to account - OK")
     void depositToAccount_ok() {
-        final var initialBalance = BigDecimal.valueOf(10);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, initialBalance);
-        final var depositAmount = BigDecimal.valueOf(100);
-        final var expectedBalance = initialBalance.add(depositAmount).setScale(Constants.DEFAULT_AMOUNT_SCALE, RoundingMode.FLOOR);
-        doReturn(Optional.of(account)).when(accountRepository).findByNumber(eq(TEST_ACCOUNT_NUMBER));
-        doAnswer(returnInputAnswer()).when(accountRepository).save(any());
-        final var updatedAccount = accountService.depositToAccount(TEST_ACCOUNT_NUMBER, depositAmount);
-        assertEquals(expectedBalance, updatedAccount.getBalance());
+        final var depositAmount = Money.valueOf("100.009");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("110"));
+        doReturn(Optional.of(account)).when(accountRepository).depositAndGet(eq(26000000000059L), eq(10_000L));
+        assertEquals(account, accountService.depositToAccount(TEST_ACCOUNT_NUMBER, depositAmount));
+        verify(accountRepository).evictOnCompletion(account);
+        verify(journalService).recordDeposit(account, depositAmount);
     }
 
     @Test
     @DisplayName("Deposit to account with non-existing account number throws")
     void depositToAccount_withNonExistingNumber_throws() {
-        final var depositAmount = BigDecimal.valueOf(100);
-        doReturn(Optional.empty()).when(accountRepository).findByNumber(any());
+        final var depositAmount = Money.valueOf("100");
+        doReturn(Optional.empty()).when(accountRepository).depositAndGet(anyLong(), anyLong());
         final var exception = assertThrows(
                 AccountNotFoundException.class,
                 () -> accountService.depositToAccount(TEST_ACCOUNT_NUMBER, depositAmount)
@@ -110,21 +244,32 @@ class AccountServiceImplTest {
     @Test
     @DisplayName("Withdraw from account - OK")
     void withdrawFromAccount_ok() throws AmountExceedsBalanceException {
-        final var initialBalance = BigDecimal.valueOf(100);
-        final var account = new Account(TEST_ACCOUNT_NUMBER, initialBalance);
-        final var withdrawAmount = BigDecimal.valueOf(10);
-        final var expectedBalance = initialBalance.subtract(withdrawAmount).setScale(2, RoundingMode.FLOOR);
-        doReturn(Optional.of(account)).when(accountRepository).findByNumber(eq(TEST_ACCOUNT_NUMBER));
-        doAnswer(invocation -> invocation.getArguments()[0]).when(accountRepository).save(any());
-        final var updatedAccount = accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, withdrawAmount);
-        assertEquals(expectedBalance, updatedAccount.getBalance());
+        final var withdrawAmount = Money.valueOf("10.01");
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("89.99"));
+        doReturn(Optional.of(account)).when(accountRepository).withdrawAndGet(eq(26000000000059L), eq(1001L));
+        assertEquals(account, accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, withdrawAmount));
+        verify(accountRepository).evictOnCompletion(account);
+    }
+
+    @Test
+    @DisplayName("Withdraw from account with amount exceeding balance throws")
+    void withdrawFromAccount_withAmountExceedingBalance_throws() {
+        final var withdrawAmount = Money.valueOf("10");
+        doReturn(Optional.empty()).when(accountRepository).withdrawAndGet(anyLong(), anyLong());
+        doReturn(true).when(accountRepository).existsByNumber(eq(TEST_ACCOUNT_NUMBER));
+        final var exception = assertThrows(
+                AmountExceedsBalanceException.class,
+                () -> accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, withdrawAmount)
+        );
+        assertEquals("Withdraw amount exceeds balance", exception.getMessage());
     }
 
     @Test
     @DisplayName("Withdraw from account with non-existing account number throws")
     void withdrawFromAccount_withNonExistingNumber_throws() {
-        final var withdrawAmount = BigDecimal.valueOf(10);
-        doReturn(Optional.empty()).when(accountRepository).findByNumber(any());
+        final var withdrawAmount = Money.valueOf("10");
+        doReturn(Optional.empty()).when(accountRepository).withdrawAndGet(anyLong(), anyLong());
+        doReturn(false).when(accountRepository).existsByNumber(eq(TEST_ACCOUNT_NUMBER));
         final var exception = assertThrows(
                 AccountNotFoundException.class,
                 () -> accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, withdrawAmount)
@@ -135,57 +280,106 @@ class AccountServiceImplTest {
     @Test
     @DisplayName("Transfer to account - OK")
     void transferToAccount_ok() throws AmountExceedsBalanceException {
-        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
-        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, BigDecimal.valueOf(0));
-        final var amount = BigDecimal.valueOf(10);
-        final var expectedSourceAccount = new Account(
-                sourceAccount.getNumber(),
-                sourceAccount.getBalance().subtract(amount).setScale(2, RoundingMode.FLOOR)
-        );
-        final var expectedTargetAccount = new Account(
-                targetAccount.getNumber(),
-                targetAccount.getBalance().add(amount).setScale(2, RoundingMode.FLOOR)
-        );
-        doReturn(Optional.of(sourceAccount)).when(accountRepository).findByNumber(eq(sourceAccount.getNumber()));
-        doReturn(Optional.of(targetAccount)).when(accountRepository).findByNumber(eq(targetAccount.getNumber()));
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("90"));
         final var request = new TransferRequestDto(
-                sourceAccount.getNumber(),
-                targetAccount.getNumber(),
-                amount
+                DEFAULT_SOURCE_ACCOUNT_NUMBER,
+                DEFAULT_TARGET_ACCOUNT_NUMBER,
+                Money.valueOf("10")
         );
-        final var account = accountService.transferToAccount(request);
-        assertEquals(expectedSourceAccount, account);
-        verify(accountRepository).saveAll(eq(List.of(expectedSourceAccount, expectedTargetAccount)));
+        doReturn(sourceAccount).when(transferExecutor).transfer(eq(request), any());
+        assertEquals(sourceAccount, accountService.transferToAccount(request));
+        verify(validationService).validateTransferRequestDto(eq(request));
     }
 
     @Test
-    @DisplayName("Transfer to account with non-existing source account number throws")
-    void transferToAccount_withNonExistingSourceAccount_throws() {
-        doReturn(Optional.empty()).when(accountRepository).findByNumber(eq(TEST_ACCOUNT_NUMBER));
-        final var request = new TransferRequestDto(
-                TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(10)
+    @DisplayName("Transfer batch - OK")
+    void transferBatch_ok() throws AmountExceedsBalanceException {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository)
+                .findAllByNumberInForUpdate(eq(List.copyOf(new TreeSet<>(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)))));
+        final var results = accountService.transferBatch(List.of(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("30")),
+                new TransferRequestDto(DEFAULT_TARGET_ACCOUNT_NUMBER, DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"))
+        ));
+        assertEquals(2, results.size());
+        assertEquals(0, Money.valueOf("70").compareTo(results.get(0).sourceBalance()));
+        assertEquals(0, Money.valueOf("30").compareTo(results.get(0).targetBalance()));
+        assertEquals(0, Money.valueOf("20").compareTo(results.get(1).sourceBalance()));
+        assertEquals(0, Money.valueOf("80").compareTo(results.get(1).targetBalance()));
+        verify(accountRepository).findAllByNumberInForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Transfer batch of the maximum size locks its accounts in ordered chunks")
+    void transferBatch_maxSize_locksInOrderedChunks() throws AmountExceedsBalanceException {
+        final var transferRequests = new ArrayList<TransferRequestDto>(MAX_TRANSFER_BATCH_SIZE);
+        for (int i = 0; i < MAX_TRANSFER_BATCH_SIZE; i++) {
+            transferRequests.add(new TransferRequestDto(
+                    AccountNumberCodec.encode(2L * i + 1), AccountNumberCodec.encode(2L * i + 2), Money.valueOf("1")));
+        }
+        final var chunks = new ArrayList<List<String>>();
+        doAnswer(invocation -> {
+            final List<String> numbers = invocation.getArgument(0);
+            chunks.add(List.copyOf(numbers));
+            return numbers.stream().map(number -> new Account(number, Money.valueOf("1"))).toList();
+        }).when(accountRepository).findAllByNumberInForUpdate(any());
+
+        final var results = accountService.transferBatch(transferRequests);
+
+        assertEquals(MAX_TRANSFER_BATCH_SIZE, results.size());
+        assertEquals(2 * MAX_TRANSFER_BATCH_SIZE / TransferAccounts.LOCK_CHUNK_SIZE, chunks.size());
+        final var locked = chunks.stream().flatMap(List::stream).toList();
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.size() == TransferAccounts.LOCK_CHUNK_SIZE));
+        assertEquals(List.copyOf(new TreeSet<>(locked)), locked, "Accounts are not locked in account number order");
+        assertEquals(2 * MAX_TRANSFER_BATCH_SIZE, locked.size());
+    }
+
+    @Test
+    @DisplayName("Transfer batch with leg exceeding balance throws")
+    void transferBatch_withAmountExceedingBalance_throws() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var exception = assertThrows(
+                AmountExceedsBalanceException.class,
+                () -> accountService.transferBatch(List.of(
+                        new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60")),
+                        new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60"))
+                ))
         );
+        assertEquals("Transfer leg #2 failed: Withdraw amount exceeds balance", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer batch with missing account throws")
+    void transferBatch_withNonExistingAccount_throws() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturn(List.of(sourceAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
         final var exception = assertThrows(
                 AccountNotFoundException.class,
-                () -> accountService.transferToAccount(request)
+                () -> accountService.transferBatch(List.of(
+                        new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"))
+                ))
         );
-        assertEquals("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER), exception.getMessage());
+        assertEquals("Transfer leg #1 failed: Account with number '%s' not found".formatted(DEFAULT_TARGET_ACCOUNT_NUMBER), exception.getMessage());
     }
 
     @Test
-    @DisplayName("Transfer to account with non-existing target account number throws")
-    void transferToAccount_withNonExistingTargetAccount_throws() {
-        final var account = new Account(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100));
-        final var nonExistingAccountNumber = "26000000000002";
-        doReturn(Optional.of(account)).when(accountRepository).findByNumber(eq(TEST_ACCOUNT_NUMBER));
-        doReturn(Optional.empty()).when(accountRepository).findByNumber(eq(nonExistingAccountNumber));
-        final var request = new TransferRequestDto(
-                TEST_ACCOUNT_NUMBER, nonExistingAccountNumber, BigDecimal.valueOf(10)
-        );
+    @DisplayName("Transfer batch with invalid leg throws")
+    void transferBatch_withInvalidLeg_throws() {
+        final var request = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        doThrow(new ValidationException("Invalid transfer amount")).when(validationService).validateTransferAmount(eq(Money.ZERO));
         final var exception = assertThrows(
-                AccountNotFoundException.class,
-                () -> accountService.transferToAccount(request)
+                ValidationException.class,
+                () -> accountService.transferBatch(List.of(request))
         );
-        assertEquals("Account with number '%s' not found".formatted(nonExistingAccountNumber), exception.getMessage());
+        assertEquals("Transfer leg #1 failed: Invalid transfer amount", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer batch without legs throws")
+    void transferBatch_withoutLegs_throws() {
+        assertThrows(ValidationException.class, () -> accountService.transferBatch(List.of()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spaceurgent.banking.dto.BalanceBucketDto;
+import spaceurgent.banking.dto.CurrencyStatisticsDto;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountBalanceSlotRepository;
+import spaceurgent.banking.repository.AccountRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatisticsServiceImplTest {
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountBalanceSlotRepository slotRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountStatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new AccountStatisticsServiceImpl(
+                accountRepository, slotRepository, entityManager, transactionManager, meterRegistry, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Opened account and its deposits are counted outside a transaction")
+    void record_withoutTransaction_appliedAtOnce() {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        statisticsService.recordAccountOpened(account);
+        statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("10"), Money.valueOf("10")));
+        statisticsService.recordBalanceChanges(JournalEntry.withdrawal(TEST_ACCOUNT_NUMBER, Money.valueOf("7"), Money.valueOf("3")));
+
+        final var statistics = statisticsService.getStatistics();
+        assertEquals(1, statistics.accounts());
+        assertNull(statistics.checkedAt());
+        final var uah = currency(Currency.UAH);
+        assertEquals(Money.valueOf("7"), uah.totalBalance());
+        assertEquals(Money.ZERO, uah.minBalance());
+        assertEquals(Money.valueOf("10"), uah.maxBalance());
+        assertEquals(0, currency(Currency.USD).accounts());
+    }
+
+    @Test
+    @DisplayName("Opening deposit sets the extremes of a new account")
+    void recordAccountOpened_withOpeningDeposit_extremesAtBalance() {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("50"));
+        statisticsService.recordAccountOpened(account);
+        statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("50"), Money.valueOf("50")));
+
+        final var uah = currency(Currency.UAH);
+        assertEquals(Money.valueOf("50"), uah.totalBalance());
+        assertEquals(Money.valueOf("50"), uah.minBalance());
+        assertEquals(Money.valueOf("50"), uah.maxBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer moves both balances and extremes only widen until the next check")
+    void recordBalanceChanges_transfer() {
+        statisticsService.recordAccountOpened(new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.ZERO));
+        statisticsService.recordAccountOpened(new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO));
+        statisticsService.recordBalanceChanges(JournalEntry.deposit(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"), Money.valueOf("100")));
+        statisticsService.recordBalanceChanges(JournalEntry.transfer(
+                DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("60"), DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("40"), Money.valueOf("40")));
+
+        final var uah = currency(Currency.UAH);
+        assertEquals(2, uah.accounts());
+        assertEquals(Money.valueOf("100"), uah.totalBalance());
+        assertEquals(Money.ZERO, uah.minBalance());
+        assertEquals(Money.valueOf("100"), uah.maxBalance());
+    }
+
+    @Test
+    @DisplayName("Changes are applied when their transaction commits")
+    void record_inTransaction_appliedOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        statisticsService.recordAccountOpened(new Account(TEST_ACCOUNT_NUMBER, Money.ZERO));
+        statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("10"), Money.valueOf("10")));
+
+        assertEquals(0, statisticsService.getStatistics().accounts());
+        final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size(), "Changes of a transaction share one synchronization");
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, statisticsService.getStatistics().accounts());
+        assertEquals(Money.valueOf("10"), currency(Currency.UAH).totalBalance());
+    }
+
+    @Test
+    @DisplayName("Changes of a rolled back transaction are dropped")
+    void record_inTransaction_droppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        statisticsService.recordAccountOpened(new Account(TEST_ACCOUNT_NUMBER, Money.ZERO));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, statisticsService.getStatistics().accounts());
+    }
+
+    @Test
+    @DisplayName("First check loads the existing accounts")
+    void checkConsistency_firstCheck_loads() {
+        doReturn(Stream.of(
+                new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5")),
+                new Account(USD_ACCOUNT_NUMBER, Money.valueOf("250"))
+        )).when(accountRepository).streamAll();
+
+        statisticsService.checkConsistency();
+
+        final var statistics = statisticsService.getStatistics();
+        assertEquals(2, statistics.accounts());
+        assertNotNull(statistics.checkedAt());
+        assertEquals(Money.valueOf("5"), currency(Currency.UAH).totalBalance());
+        assertEquals(Money.valueOf("5"), currency(Currency.UAH).minBalance());
+        assertEquals(Money.valueOf("5"), currency(Currency.UAH).maxBalance());
+        assertEquals(Money.valueOf("250"), currency(Currency.USD).maxBalance());
+        assertEquals(1, checks("loaded"));
+    }
+
+    @Test
+    @DisplayName("Check replaces drifted statistics")
+    void checkConsistency_drifted_corrected() {
+        doReturn(Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5"))),
+                Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5"))),
+                Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("8"))))
+                .when(accountRepository).streamAll();
+        statisticsService.checkConsistency();
+        statisticsService.checkConsistency();
+
+        statisticsService.checkConsistency();
+
+        assertEquals(Money.valueOf("8"), currency(Currency.UAH).totalBalance());
+        assertEquals(Money.valueOf("8"), currency(Currency.UAH).minBalance());
+        assertEquals(Money.valueOf("8"), currency(Currency.UAH).maxBalance());
+        assertEquals(1, checks("consistent"));
+        assertEquals(1, checks("corrected"));
+    }
+
+    @Test
+    @DisplayName("Load keeps changes committed during the scan")
+    void checkConsistency_loadWithChangeDuringScan_keepsChange() {
+        doAnswer(invocation -> {
+            statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("15"), Money.valueOf("10")));
+            return Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5")));
+        }).when(accountRepository).streamAll();
+
+        statisticsService.checkConsistency();
+
+        final var uah = currency(Currency.UAH);
+        assertEquals(1, uah.accounts());
+        assertEquals(Money.valueOf("15"), uah.totalBalance());
+        assertEquals(List.of(new BalanceBucketDto(Money.valueOf("10"), Money.valueOf("100"), 1)), uah.histogram());
+        assertEquals(1, checks("loaded"));
+    }
+
+    @Test
+    @DisplayName("Check is skipped when a change was applied during the scan")
+    void checkConsistency_changeDuringScan_skipped() {
+        doReturn(Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5"))))
+                .doAnswer(invocation -> {
+                    statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("15"), Money.valueOf("10")));
+                    return Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("15")));
+                })
+                .when(accountRepository).streamAll();
+        statisticsService.checkConsistency();
+        final var loadedAt = statisticsService.getStatistics().checkedAt();
+
+        statisticsService.checkConsistency();
+
+        assertEquals(loadedAt, statisticsService.getStatistics().checkedAt());
+        assertEquals(Money.valueOf("15"), currency(Currency.UAH).totalBalance());
+        assertEquals(1, checks("skipped"));
+    }
+
+    @Test
+    @DisplayName("Check replaces extremes the balances have left")
+    void checkConsistency_extremesLeft_replaced() {
+        doReturn(Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("5")), new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("20"))),
+                Stream.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("15")), new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("20"))))
+                .when(accountRepository).streamAll();
+        statisticsService.checkConsistency();
+        statisticsService.recordBalanceChanges(JournalEntry.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("15"), Money.valueOf("10")));
+        assertEquals(Money.valueOf("5"), currency(Currency.UAH).minBalance());
+
+        statisticsService.checkConsistency();
+
+        assertEquals(Money.valueOf("15"), currency(Currency.UAH).minBalance());
+        assertEquals(Money.valueOf("20"), currency(Currency.UAH).maxBalance());
+        assertEquals(1, checks("consistent"));
+    }
+
+    @Test
+    @DisplayName("Create with invalid interval throws")
+    void create_invalidInterval_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountStatisticsServiceImpl(
+                accountRepository, slotRepository, entityManager, transactionManager, meterRegistry, 0));
+    }
+
+    private CurrencyStatisticsDto currency(Currency currency) {
+        return statisticsService.getStatistics().currencies().stream()
+                .filter(statistics -> statistics.currency() == currency)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get(AccountStatisticsServiceImpl.CHECK_COUNTER).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.dto.BalanceBucketDto;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceDistributionTest {
+
+    @Test
+    @DisplayName("Empty distribution has no accounts or buckets")
+    void toDto_empty() {
+        final var statistics = new BalanceDistribution().counts().toDto(Currency.UAH);
+        assertEquals(Currency.UAH, statistics.currency());
+        assertEquals(0, statistics.accounts());
+        assertEquals(Money.ZERO, statistics.totalBalance());
+        assertNull(statistics.minBalance());
+        assertNull(statistics.maxBalance());
+        assertEquals(List.of(), statistics.histogram());
+    }
+
+    @Test
+    @DisplayName("Opened accounts are counted in their buckets")
+    void open_counted() {
+        final var distribution = new BalanceDistribution();
+        distribution.open(0);
+        distribution.open(99);
+        distribution.open(1_000);
+        distribution.open(25_000);
+
+        final var statistics = distribution.counts().toDto(Currency.UAH);
+        assertEquals(4, statistics.accounts());
+        assertEquals(Money.valueOf("260.99"), statistics.totalBalance());
+        assertEquals(Money.ZERO, statistics.minBalance());
+        assertEquals(Money.valueOf("250"), statistics.maxBalance());
+        assertEquals(List.of(
+                new BalanceBucketDto(Money.ZERO, Money.valueOf("1"), 2),
+                new BalanceBucketDto(Money.valueOf("10"), Money.valueOf("100"), 1),
+                new BalanceBucketDto(Money.valueOf("100"), Money.valueOf("1000"), 1)
+        ), statistics.histogram());
+    }
+
+    @Test
+    @DisplayName("Moving a balance changes the total and its bucket")
+    void move_bucketAndTotal() {
+        final var distribution = new BalanceDistribution();
+        distribution.open(100);
+        distribution.open(500);
+
+        distribution.move(100, 700);
+        distribution.move(500, 5_000);
+
+        final var counts = distribution.counts();
+        assertEquals(2, counts.accounts());
+        assertEquals(5_700, counts.total());
+        assertEquals(1, counts.buckets()[1]);
+        assertEquals(1, counts.buckets()[2]);
+        assertEquals(100, counts.minBalance());
+        assertEquals(5_000, counts.maxBalance());
+    }
+
+    @Test
+    @DisplayName("Reset extremes are those of the recomputed distribution")
+    void resetExtremes_recomputed() {
+        final var running = new BalanceDistribution();
+        running.open(100);
+        running.move(100, 700);
+        final var recomputed = new BalanceDistribution();
+        recomputed.open(700);
+
+        running.resetExtremes(recomputed.counts());
+
+        assertEquals(700, running.counts().minBalance());
+        assertEquals(700, running.counts().maxBalance());
+    }
+
+    @Test
+    @DisplayName("Difference of counts is added back")
+    void minus_add() {
+        final var running = new BalanceDistribution();
+        running.open(100);
+        final var recomputed = new BalanceDistribution();
+        recomputed.open(100);
+        recomputed.open(2_000);
+
+        final var delta = recomputed.counts().minus(running.counts());
+        assertFalse(delta.isZero());
+        running.add(delta);
+
+        assertTrue(recomputed.counts().minus(running.counts()).isZero());
+        assertEquals(2, running.counts().accounts());
+        assertEquals(2_100, running.counts().total());
+    }
+
+    @Test
+    @DisplayName("Buckets are powers of ten of the major unit")
+    void bucketOf_powersOfTen() {
+        assertEquals(0, BalanceDistribution.bucketOf(-1));
+        assertEquals(0, BalanceDistribution.bucketOf(99));
+        assertEquals(1, BalanceDistribution.bucketOf(100));
+        assertEquals(1, BalanceDistribution.bucketOf(999));
+        assertEquals(2, BalanceDistribution.bucketOf(1_000));
+        assertEquals(BalanceDistribution.BUCKETS - 1, BalanceDistribution.bucketOf(Long.MAX_VALUE));
+        assertEquals(Money.valueOf("10000000000000000"), BalanceDistribution.lowerBound(BalanceDistribution.BUCKETS - 1));
+        assertNull(BalanceDistribution.upperBound(BalanceDistribution.BUCKETS - 1));
+    }
+}
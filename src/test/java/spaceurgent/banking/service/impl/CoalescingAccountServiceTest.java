@@ -0,0 +1,137 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingAccountServiceTest {
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CoalescingAccountService coalescingAccountService;
+
+    @BeforeEach
+    void setUp() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        coalescingAccountService = new CoalescingAccountService(
+                validationService,
+                accountService,
+                accountRepository,
+                journalService,
+                new HotAccountBalances(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER), 8, null, null, null, null, null),
+                new BankingMetrics(meterRegistry),
+                transactionManager,
+                meterRegistry,
+                2,
+                100,
+                0
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescingAccountService.stop();
+    }
+
+    @Test
+    @DisplayName("Batch is one balance update with a journal entry per deposit")
+    void applyDeposits_oneUpdate_balancePerDeposit() {
+        doReturn(Optional.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("130"))))
+                .when(accountRepository).depositAndGet(AccountNumberCodec.toKey(TEST_ACCOUNT_NUMBER), 3000L);
+
+        final var written = coalescingAccountService.applyDeposits(TEST_ACCOUNT_NUMBER, List.of(Money.valueOf("10"), Money.valueOf("20")));
+
+        assertEquals(List.of(Money.valueOf("110"), Money.valueOf("130")), written.balances());
+        assertEquals(Money.valueOf("130"), written.account().getBalance());
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<JournalEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(journalService).append(entries.capture());
+        final var credits = entries.getValue().stream()
+                .filter(entry -> entry.getType() == JournalEntryType.CREDIT)
+                .toList();
+        assertEquals(List.of(Money.valueOf("110"), Money.valueOf("130")), credits.stream().map(JournalEntry::getBalanceAfter).toList());
+        assertEquals(List.of(Money.valueOf("10"), Money.valueOf("20")), credits.stream().map(JournalEntry::getAmount).toList());
+    }
+
+    @Test
+    @DisplayName("Batch to not existing account throws")
+    void applyDeposits_notFound_throws() {
+        doReturn(Optional.empty()).when(accountRepository).depositAndGet(anyLong(), anyLong());
+        assertThrows(AccountNotFoundException.class,
+                () -> coalescingAccountService.applyDeposits(TEST_ACCOUNT_NUMBER, List.of(Money.valueOf("10"))));
+        verify(journalService, never()).append(any());
+    }
+
+    @Test
+    @DisplayName("Deposit is applied by a writer thread")
+    void deposit_coalesced() {
+        doReturn(Optional.of(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("110"))))
+                .when(accountRepository).depositAndGet(AccountNumberCodec.toKey(TEST_ACCOUNT_NUMBER), 1000L);
+
+        final var account = coalescingAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+
+        assertEquals(Money.valueOf("110"), account.getBalance());
+        verify(validationService).validateAccountNumber(TEST_ACCOUNT_NUMBER);
+        verify(accountService, never()).depositToAccount(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deposit to a hot account is not coalesced")
+    void deposit_hotAccount_direct() {
+        final var account = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturn(account).when(accountService).depositToAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"));
+        assertSame(account, coalescingAccountService.depositToAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10")));
+        verify(accountRepository, never()).depositAndGet(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Invalid deposit is rejected before it is queued")
+    void deposit_invalid_notQueued() {
+        doThrow(new ValidationException("Invalid amount")).when(validationService).validateTransferAmount(Money.valueOf("-1"));
+        assertThrows(ValidationException.class,
+                () -> coalescingAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("-1")));
+        verify(accountRepository, never()).depositAndGet(anyLong(), anyLong());
+    }
+}
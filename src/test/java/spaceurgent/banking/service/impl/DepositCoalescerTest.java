@@ -0,0 +1,184 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+class DepositCoalescerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Money>> batches = Collections.synchronizedList(new ArrayList<>());
+    private DepositCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deposit to an idle account is written alone on a writer thread")
+    void deposit_idleAccount_writtenAlone() {
+        final var threads = Collections.synchronizedList(new ArrayList<String>());
+        coalescer = new DepositCoalescer(2, 10, 0, (accountNumber, amounts) -> {
+            threads.add(Thread.currentThread().getName());
+            return runningBalances(accountNumber, amounts);
+        }, meterRegistry);
+
+        final var result = coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("5"));
+
+        assertEquals(TEST_ACCOUNT_NUMBER, result.account().getNumber());
+        assertEquals(Money.valueOf("5"), result.balance());
+        assertTrue(threads.get(0).startsWith("deposit-writer-"));
+        assertEquals(1, meterRegistry.get(DepositCoalescer.BATCH_SUMMARY).summary().count());
+    }
+
+    @Test
+    @DisplayName("Deposits arriving during a write are applied as the next batch")
+    void deposits_duringWrite_coalesced() throws Exception {
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        coalescer = new DepositCoalescer(1, 10, 0, (accountNumber, amounts) -> {
+            batches.add(amounts);
+            writing.countDown();
+            await(release);
+            return runningBalances(accountNumber, amounts);
+        }, meterRegistry);
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var first = executor.submit(() -> coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("1")));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            final var waiting = new ArrayList<Future<DepositCoalescer.DepositResult>>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(executor.submit(() -> coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("10"))));
+            }
+            awaitQueued(3);
+            release.countDown();
+
+            assertEquals(Money.valueOf("1"), first.get(5, TimeUnit.SECONDS).balance());
+            final var balances = new ArrayList<Money>();
+            for (var future : waiting) {
+                balances.add(future.get(5, TimeUnit.SECONDS).balance());
+            }
+            balances.sort(null);
+            assertEquals(List.of(Money.valueOf("10"), Money.valueOf("20"), Money.valueOf("30")), balances);
+            assertEquals(List.of(List.of(Money.valueOf("1")), List.of(Money.valueOf("10"), Money.valueOf("10"), Money.valueOf("10"))), batches);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Batches are capped at the maximum batch size")
+    void deposits_overMaxBatchSize_split() throws Exception {
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        coalescer = new DepositCoalescer(1, 2, 0, (accountNumber, amounts) -> {
+            batches.add(amounts);
+            writing.countDown();
+            await(release);
+            return runningBalances(accountNumber, amounts);
+        }, meterRegistry);
+        final var executor = Executors.newFixedThreadPool(6);
+        try {
+            final var futures = new ArrayList<Future<DepositCoalescer.DepositResult>>();
+            futures.add(executor.submit(() -> coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("1"))));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.submit(() -> coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("1"))));
+            }
+            awaitQueued(5);
+            release.countDown();
+            for (var future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(List.of(1, 2, 2, 1), batches.stream().map(List::size).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Accounts are written independently")
+    void deposits_differentAccounts_separateBatches() {
+        coalescer = new DepositCoalescer(2, 10, 0, (accountNumber, amounts) -> {
+            batches.add(amounts);
+            return runningBalances(accountNumber, amounts);
+        }, meterRegistry);
+
+        assertEquals(TEST_ACCOUNT_NUMBER, coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("1")).account().getNumber());
+        assertEquals(DEFAULT_SOURCE_ACCOUNT_NUMBER, coalescer.deposit(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("2")).account().getNumber());
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    @DisplayName("A failed batch fails its deposits with the writer's exception")
+    void deposit_writerThrows_rethrown() {
+        final var calls = new AtomicInteger();
+        coalescer = new DepositCoalescer(1, 10, 0, (accountNumber, amounts) -> {
+            if (calls.getAndIncrement() == 0) {
+                throw AccountNotFoundException.withNumber(accountNumber);
+            }
+            return runningBalances(accountNumber, amounts);
+        }, meterRegistry);
+
+        final var exception = assertThrows(AccountNotFoundException.class,
+                () -> coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("1")));
+        assertEquals("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER), exception.getMessage());
+        assertEquals(Money.valueOf("2"), coalescer.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("2")).balance(),
+                "Lane is not released after a failure");
+    }
+
+    @Test
+    @DisplayName("Create with invalid settings throws")
+    void create_invalidSettings_throws() {
+        coalescer = new DepositCoalescer(1, 1, 0, (accountNumber, amounts) -> new DepositCoalescer.WrittenBatch(null, List.of()), meterRegistry);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DepositCoalescer(0, 10, 0, (accountNumber, amounts) -> new DepositCoalescer.WrittenBatch(null, List.of()), meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DepositCoalescer(1, 0, 0, (accountNumber, amounts) -> new DepositCoalescer.WrittenBatch(null, List.of()), meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DepositCoalescer(1, 10, -1, (accountNumber, amounts) -> new DepositCoalescer.WrittenBatch(null, List.of()), meterRegistry));
+    }
+
+    private static DepositCoalescer.WrittenBatch runningBalances(String accountNumber, List<Money> amounts) {
+        var balance = Money.ZERO;
+        final var balances = new ArrayList<Money>();
+        for (var amount : amounts) {
+            balance = balance.plus(amount);
+            balances.add(balance);
+        }
+        return new DepositCoalescer.WrittenBatch(new Account(accountNumber, balance), balances);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void awaitQueued(int deposits) throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.pending(TEST_ACCOUNT_NUMBER) < deposits) {
+            assertTrue(System.nanoTime() < deadline, "Deposits were not queued");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateServiceImplTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Rates are loaded from the bundled file")
+    void create_bundledRates_ok() {
+        final var fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
+        assertEquals(0, new BigDecimal("41.25").compareTo(fxRateService.currentRates().rate(Currency.USD, Currency.UAH)));
+        assertEquals(Money.valueOf("412.50"), fxRateService.convert(Money.valueOf("10"), Currency.USD, Currency.UAH));
+    }
+
+    @Test
+    @DisplayName("Refresh swaps in changed rates")
+    void refresh_changedRates_swapped() throws IOException {
+        final var ratesFile = writeRates("UAH=1\nUSD=40\nEUR=44\n");
+        final var fxRateService = new FxRateServiceImpl(new FileSystemResource(ratesFile), 60);
+        final var initialRates = fxRateService.currentRates();
+
+        fxRateService.refresh();
+        assertSame(initialRates, fxRateService.currentRates(), "Unchanged rates are swapped");
+
+        Files.writeString(ratesFile, "UAH=1\nUSD=42\nEUR=44\n");
+        fxRateService.refresh();
+        assertNotSame(initialRates, fxRateService.currentRates());
+        assertEquals(Money.valueOf("420"), fxRateService.convert(Money.valueOf("10"), Currency.USD, Currency.UAH));
+        assertEquals(Money.valueOf("400"), initialRates.convert(Money.valueOf("10"), Currency.USD, Currency.UAH),
+                "Snapshot changed in place");
+    }
+
+    @Test
+    @DisplayName("Refresh failure keeps the previous rates")
+    void refresh_failure_keepsRates() throws IOException {
+        final var ratesFile = writeRates("UAH=1\nUSD=40\nEUR=44\n");
+        final var fxRateService = new FxRateServiceImpl(new FileSystemResource(ratesFile), 60);
+        final var initialRates = fxRateService.currentRates();
+
+        Files.writeString(ratesFile, "UAH=1\nUSD=forty\nEUR=44\n");
+        fxRateService.refresh();
+        assertSame(initialRates, fxRateService.currentRates());
+
+        Files.writeString(ratesFile, "UAH=1\nEUR=44\n");
+        fxRateService.refresh();
+        assertSame(initialRates, fxRateService.currentRates());
+
+        Files.delete(ratesFile);
+        fxRateService.refresh();
+        assertSame(initialRates, fxRateService.currentRates());
+    }
+
+    @Test
+    @DisplayName("Create without rates or with invalid interval throws")
+    void create_invalid_throws() throws IOException {
+        assertThrows(UncheckedIOException.class,
+                () -> new FxRateServiceImpl(new FileSystemResource(directory.resolve("missing.properties")), 60));
+        final var ratesFile = writeRates("UAH=1\nUSD=40\nEUR=44\n");
+        assertThrows(IllegalArgumentException.class, () -> new FxRateServiceImpl(new FileSystemResource(ratesFile), 0));
+    }
+
+    private Path writeRates(String rates) throws IOException {
+        return Files.writeString(directory.resolve("fx-rates.properties"), rates);
+    }
+}
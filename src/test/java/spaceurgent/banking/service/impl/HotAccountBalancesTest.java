@@ -0,0 +1,205 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.AccountBalanceSlot;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountBalanceSlotRepository;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.TRANSFER;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountBalancesTest {
+    private static final long HOT_ACCOUNT_ID = 7L;
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountBalanceSlotRepository slotRepository;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final FxRateService fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
+
+    private final OperationTimer timer = new BankingMetrics(new SimpleMeterRegistry()).startOperation(TRANSFER);
+
+    private HotAccountBalances hotAccountBalances;
+
+    @BeforeEach
+    void setUp() {
+        hotAccountBalances = new HotAccountBalances(
+                List.of(TEST_ACCOUNT_NUMBER), 4, accountRepository, slotRepository, journalService, fxRateService, transactionManager
+        );
+    }
+
+    @Test
+    @DisplayName("Balance of a hot account includes its slots")
+    void withSlots_hotAccount_addsSlots() {
+        doReturn(2500L).when(slotRepository).sumBalances(HOT_ACCOUNT_ID);
+        final var account = hotAccountBalances.withSlots(hotAccount(Money.valueOf("10")));
+        assertEquals(TEST_ACCOUNT_NUMBER, account.getNumber());
+        assertEquals(Money.valueOf("35"), account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Other accounts are returned as they are")
+    void withSlots_otherAccount_same() {
+        final var account = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"));
+        assertSame(account, hotAccountBalances.withSlots(account));
+        verify(slotRepository, never()).sumBalances(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deposit to a hot account credits a slot, not the account row")
+    void deposit_hotAccount_creditsSlot() {
+        final var account = hotAccount(Money.valueOf("10"));
+        doReturn(Optional.of(account)).when(accountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+        doReturn(1).when(slotRepository).credit(eq(HOT_ACCOUNT_ID), anyInt(), eq(500L));
+        doReturn(500L).when(slotRepository).sumBalances(HOT_ACCOUNT_ID);
+
+        final var updatedAccount = hotAccountBalances.deposit(TEST_ACCOUNT_NUMBER, Money.valueOf("5"));
+
+        assertEquals(Money.valueOf("15"), updatedAccount.getBalance());
+        assertEquals(Money.valueOf("10"), account.getBalance());
+        verify(journalService).recordDeposit(updatedAccount, Money.valueOf("5"));
+    }
+
+    @Test
+    @DisplayName("Withdraw covered by the account row leaves slots alone")
+    void withdraw_coveredByAccount_noSweep() throws Exception {
+        final var account = hotAccount(Money.valueOf("10"));
+        hotAccountBalances.withdraw(account, Money.valueOf("10"));
+        assertEquals(Money.ZERO, account.getBalance());
+        verify(slotRepository, never()).findAllByAccountIdForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("Withdraw beyond the account row sweeps slots into it")
+    void withdraw_beyondAccount_sweepsSlots() throws Exception {
+        final var account = hotAccount(Money.valueOf("10"));
+        final var slots = List.of(slot(0, "20"), slot(1, "5"));
+        doReturn(slots).when(slotRepository).findAllByAccountIdForUpdate(HOT_ACCOUNT_ID);
+
+        hotAccountBalances.withdraw(account, Money.valueOf("30"));
+
+        assertEquals(Money.valueOf("5"), account.getBalance());
+        slots.forEach(slot -> assertEquals(Money.ZERO, slot.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Withdraw beyond the total balance throws")
+    void withdraw_beyondTotal_throws() {
+        final var account = hotAccount(Money.valueOf("10"));
+        doReturn(List.of(slot(0, "20"))).when(slotRepository).findAllByAccountIdForUpdate(HOT_ACCOUNT_ID);
+        final var exception = assertThrows(AmountExceedsBalanceException.class,
+                () -> hotAccountBalances.withdraw(account, Money.valueOf("30.01")));
+        assertEquals("Withdraw amount exceeds balance", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer to a hot account locks only the source")
+    void transfer_toHotAccount_locksSourceOnly() throws Exception {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = hotAccount(Money.ZERO);
+        doReturn(List.of(sourceAccount)).when(accountRepository).findAllByNumberInForUpdate(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER));
+        doReturn(Optional.of(targetAccount)).when(accountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+        doReturn(1).when(slotRepository).credit(eq(HOT_ACCOUNT_ID), anyInt(), eq(4000L));
+
+        final var result = hotAccountBalances.transfer(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, Money.valueOf("40")), timer
+        );
+
+        assertSame(sourceAccount, result);
+        assertEquals(Money.valueOf("60"), sourceAccount.getBalance());
+        assertEquals(Money.ZERO, targetAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer to a hot account in another currency credits the converted amount")
+    void transfer_toHotAccount_otherCurrency_creditsConverted() throws Exception {
+        final var sourceAccount = new Account(USD_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = hotAccount(Money.ZERO);
+        doReturn(List.of(sourceAccount)).when(accountRepository).findAllByNumberInForUpdate(List.of(USD_ACCOUNT_NUMBER));
+        doReturn(Optional.of(targetAccount)).when(accountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+        doReturn(1).when(slotRepository).credit(eq(HOT_ACCOUNT_ID), anyInt(), eq(165000L));
+
+        hotAccountBalances.transfer(new TransferRequestDto(USD_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, Money.valueOf("40")), timer);
+
+        assertEquals(Money.valueOf("60"), sourceAccount.getBalance());
+        verify(slotRepository).credit(eq(HOT_ACCOUNT_ID), anyInt(), eq(165000L));
+    }
+
+    @Test
+    @DisplayName("Transfer from a hot account locks both accounts")
+    void transfer_fromHotAccount_locksBoth() throws Exception {
+        final var sourceAccount = hotAccount(Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository)
+                .findAllByNumberInForUpdate(List.of(TEST_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER));
+
+        hotAccountBalances.transfer(new TransferRequestDto(TEST_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("40")), timer);
+
+        assertEquals(Money.valueOf("60"), sourceAccount.getBalance());
+        assertEquals(Money.valueOf("40"), targetAccount.getBalance());
+        verify(slotRepository, never()).credit(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Create with no slots throws")
+    void create_withZeroSlots_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new HotAccountBalances(
+                List.of(), 0, accountRepository, slotRepository, journalService, fxRateService, transactionManager
+        ));
+    }
+
+    @Test
+    @DisplayName("Hot account set is read from the configured numbers")
+    void isHot_configuredNumbers() {
+        assertTrue(hotAccountBalances.isHot(TEST_ACCOUNT_NUMBER));
+        assertFalse(hotAccountBalances.isHot(DEFAULT_SOURCE_ACCOUNT_NUMBER));
+        assertTrue(hotAccountBalances.isHot(new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, Money.valueOf("1"))));
+    }
+
+    private static Account hotAccount(Money balance) {
+        final var account = new Account(TEST_ACCOUNT_NUMBER, balance);
+        ReflectionTestUtils.setField(account, "id", HOT_ACCOUNT_ID);
+        return account;
+    }
+
+    private static AccountBalanceSlot slot(int slot, String balance) {
+        final var accountSlot = new AccountBalanceSlot(HOT_ACCOUNT_ID, slot);
+        ReflectionTestUtils.setField(accountSlot, "balance", Money.valueOf(balance));
+        return accountSlot;
+    }
+}
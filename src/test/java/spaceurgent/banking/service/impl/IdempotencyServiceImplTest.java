@@ -0,0 +1,260 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.env.MockEnvironment;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.IdempotencyKeyInProgressException;
+import spaceurgent.banking.exception.IdempotencyKeyMismatchException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.IdempotencyRecord;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.IdempotencyRecordRepository;
+import spaceurgent.banking.service.IdempotencyService;
+import spaceurgent.banking.service.ValidationService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+    private static final String IDEMPOTENCY_KEY = "retry-1";
+    private static final String FINGERPRINT = "deposit:%s:10.00".formatted(TEST_ACCOUNT_NUMBER);
+    private static final AccountDetailsDto ACCOUNT_DETAILS =
+            new AccountDetailsDto(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("110"));
+
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(validationService, idempotencyRecordRepository, 100, 600, 60, new MockEnvironment());
+    }
+
+    @Test
+    @DisplayName("Execute with new key runs operation and stores result")
+    void execute_withNewKey_runsOperation() throws Exception {
+        doReturn(Optional.empty()).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        final var executions = new AtomicInteger();
+        final IdempotencyService.Operation operation = () -> {
+            executions.incrementAndGet();
+            return ACCOUNT_DETAILS;
+        };
+        assertEquals(ACCOUNT_DETAILS, idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation));
+        assertEquals(ACCOUNT_DETAILS, idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation));
+        assertEquals(1, executions.get());
+        verify(validationService, times(2)).validateIdempotencyKey(eq(IDEMPOTENCY_KEY));
+        verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository).complete(
+                eq(IDEMPOTENCY_KEY), eq(TEST_ACCOUNT_NUMBER), eq(Currency.UAH), eq(Money.valueOf("110"))
+        );
+        verify(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+    }
+
+    @Test
+    @DisplayName("Execute with stored key replays result without running operation")
+    void execute_withStoredKey_replaysResult() throws Exception {
+        doReturn(Optional.of(completedRecord(FINGERPRINT))).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        final var accountDetails = idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"));
+        assertEquals(ACCOUNT_DETAILS, accountDetails);
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Execute with stored key and different fingerprint throws")
+    void execute_withStoredKeyAndDifferentFingerprint_throws() {
+        doReturn(Optional.of(completedRecord("deposit:%s:20.00".formatted(TEST_ACCOUNT_NUMBER))))
+                .when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        assertThrows(
+                IdempotencyKeyMismatchException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"))
+        );
+    }
+
+    @Test
+    @DisplayName("Execute with key claimed but not completed throws")
+    void execute_withUncompletedKey_throws() {
+        doReturn(Optional.of(new IdempotencyRecord(IDEMPOTENCY_KEY, FINGERPRINT)))
+                .when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        assertThrows(
+                IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"))
+        );
+    }
+
+    @Test
+    @DisplayName("Execute with failing operation releases key")
+    void execute_withFailingOperation_releasesKey() {
+        doReturn(Optional.empty()).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        assertThrows(AmountExceedsBalanceException.class, () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> {
+            throw new AmountExceedsBalanceException("Withdraw amount exceeds balance");
+        }));
+        verify(idempotencyRecordRepository).release(eq(IDEMPOTENCY_KEY));
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Execute whose result can't be stored still returns and caches it")
+    void execute_withFailingComplete_returnsResult() throws Exception {
+        doReturn(Optional.empty()).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        doThrow(new DataAccessResourceFailureException("Connection lost")).when(idempotencyRecordRepository)
+                .complete(eq(IDEMPOTENCY_KEY), any(), any(), any());
+        final var executions = new AtomicInteger();
+        final IdempotencyService.Operation operation = () -> {
+            executions.incrementAndGet();
+            return ACCOUNT_DETAILS;
+        };
+        assertEquals(ACCOUNT_DETAILS, idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation));
+        assertEquals(ACCOUNT_DETAILS, idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation));
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Execute with expired claim takes it over and runs operation")
+    void execute_withExpiredClaim_takesOver() throws Exception {
+        doReturn(Optional.of(expiredClaim(FINGERPRINT))).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        doReturn(1).when(idempotencyRecordRepository).takeOver(eq(IDEMPOTENCY_KEY), eq(FINGERPRINT), any(), any());
+        assertEquals(ACCOUNT_DETAILS, idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> ACCOUNT_DETAILS));
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+        verify(idempotencyRecordRepository).complete(
+                eq(IDEMPOTENCY_KEY), eq(TEST_ACCOUNT_NUMBER), eq(Currency.UAH), eq(Money.valueOf("110"))
+        );
+    }
+
+    @Test
+    @DisplayName("Execute with expired claim taken over by another request throws")
+    void execute_withExpiredClaimTakenOverElsewhere_throws() {
+        doReturn(Optional.of(expiredClaim(FINGERPRINT))).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        doReturn(0).when(idempotencyRecordRepository).takeOver(eq(IDEMPOTENCY_KEY), eq(FINGERPRINT), any(), any());
+        assertThrows(
+                IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"))
+        );
+    }
+
+    @Test
+    @DisplayName("Execute with expired claim throws when results are stored after the balance change commits")
+    void execute_withExpiredClaimOnLedgerProfile_throws() {
+        final var environment = new MockEnvironment();
+        environment.setActiveProfiles("ledger");
+        idempotencyService = new IdempotencyServiceImpl(validationService, idempotencyRecordRepository, 100, 600, 60, environment);
+        doReturn(Optional.of(expiredClaim(FINGERPRINT))).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        assertThrows(
+                IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"))
+        );
+        verify(idempotencyRecordRepository, never()).takeOver(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Execute with expired claim and different fingerprint throws")
+    void execute_withExpiredClaimAndDifferentFingerprint_throws() {
+        doReturn(Optional.of(expiredClaim("deposit:%s:20.00".formatted(TEST_ACCOUNT_NUMBER))))
+                .when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        assertThrows(
+                IdempotencyKeyMismatchException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, () -> fail("Operation must not run"))
+        );
+        verify(idempotencyRecordRepository, never()).takeOver(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Execute with invalid key throws")
+    void execute_withInvalidKey_throws() {
+        doThrow(new ValidationException("Invalid idempotency key")).when(validationService).validateIdempotencyKey(eq(" "));
+        assertThrows(ValidationException.class, () -> idempotencyService.execute(" ", FINGERPRINT, () -> ACCOUNT_DETAILS));
+    }
+
+    @Test
+    @DisplayName("Concurrent executions with the same key run operation once")
+    void execute_concurrentlyWithSameKey_runsOperationOnce() throws Exception {
+        doReturn(Optional.empty()).when(idempotencyRecordRepository).findById(eq(IDEMPOTENCY_KEY));
+        final var threads = 8;
+        final var operationStarted = new CountDownLatch(1);
+        final var releaseOperation = new CountDownLatch(1);
+        final var executions = new AtomicInteger();
+        final IdempotencyService.Operation operation = () -> {
+            executions.incrementAndGet();
+            operationStarted.countDown();
+            try {
+                releaseOperation.await();
+            } catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return ACCOUNT_DETAILS;
+        };
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var first = executor.submit(() -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation));
+            assertTrue(operationStarted.await(5, TimeUnit.SECONDS));
+            final var duplicates = new ArrayList<Future<AccountDetailsDto>>();
+            for (int i = 1; i < threads; i++) {
+                duplicates.add(executor.submit(() -> idempotencyService.execute(IDEMPOTENCY_KEY, FINGERPRINT, operation)));
+            }
+            releaseOperation.countDown();
+            assertEquals(ACCOUNT_DETAILS, first.get(5, TimeUnit.SECONDS));
+            for (var duplicate : duplicates) {
+                assertEquals(ACCOUNT_DETAILS, duplicate.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Create with invalid cache or claim settings throws")
+    void create_withInvalidCacheSettings_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdempotencyServiceImpl(validationService, idempotencyRecordRepository, -1, 600, 60, new MockEnvironment()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdempotencyServiceImpl(validationService, idempotencyRecordRepository, 100, 0, 60, new MockEnvironment()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdempotencyServiceImpl(validationService, idempotencyRecordRepository, 100, 600, 0, new MockEnvironment()));
+    }
+
+    private static IdempotencyRecord expiredClaim(String fingerprint) {
+        final var idempotencyRecord = mock(IdempotencyRecord.class);
+        doReturn(false).when(idempotencyRecord).isCompleted();
+        doReturn(fingerprint).when(idempotencyRecord).getFingerprint();
+        doReturn(Instant.now().minusSeconds(61)).when(idempotencyRecord).getCreatedAt();
+        return idempotencyRecord;
+    }
+
+    private static IdempotencyRecord completedRecord(String fingerprint) {
+        final var idempotencyRecord = mock(IdempotencyRecord.class);
+        doReturn(true).when(idempotencyRecord).isCompleted();
+        doReturn(fingerprint).when(idempotencyRecord).getFingerprint();
+        doReturn(ACCOUNT_DETAILS).when(idempotencyRecord).toAccountDetailsDto();
+        return idempotencyRecord;
+    }
+}
@@ -0,0 +1,78 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.JournalEntryRepository;
+import spaceurgent.banking.service.AccountStatisticsService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class JournalServiceImplTest {
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+    @Mock
+    private AccountStatisticsService accountStatisticsService;
+    @Captor
+    private ArgumentCaptor<List<JournalEntry>> entriesCaptor;
+    @InjectMocks
+    private JournalServiceImpl journalService;
+
+    @Test
+    @DisplayName("Record transfer - OK")
+    void recordTransfer_ok() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("90"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        journalService.recordTransfer(sourceAccount, targetAccount, Money.valueOf("10"), Money.valueOf("10"));
+        verify(journalEntryRepository).saveAll(entriesCaptor.capture());
+        final var entries = entriesCaptor.getValue();
+        assertEquals(2, entries.size());
+        assertEntry(entries.get(0), DEFAULT_SOURCE_ACCOUNT_NUMBER, JournalEntryType.DEBIT, Money.valueOf("90"));
+        assertEntry(entries.get(1), DEFAULT_TARGET_ACCOUNT_NUMBER, JournalEntryType.CREDIT, Money.valueOf("10"));
+        assertEquals(entries.get(0).getOperationId(), entries.get(1).getOperationId());
+        verify(accountStatisticsService).recordBalanceChanges(entries);
+    }
+
+    @Test
+    @DisplayName("Record deposit - OK")
+    void recordDeposit_ok() {
+        journalService.recordDeposit(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("110")), Money.valueOf("10"));
+        verify(journalEntryRepository).saveAll(entriesCaptor.capture());
+        final var entries = entriesCaptor.getValue();
+        assertEntry(entries.get(0), JournalEntry.EXTERNAL_ACCOUNT_NUMBER, JournalEntryType.DEBIT, null);
+        assertEntry(entries.get(1), TEST_ACCOUNT_NUMBER, JournalEntryType.CREDIT, Money.valueOf("110"));
+    }
+
+    @Test
+    @DisplayName("Record withdrawal - OK")
+    void recordWithdrawal_ok() {
+        journalService.recordWithdrawal(new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("90")), Money.valueOf("10"));
+        verify(journalEntryRepository).saveAll(entriesCaptor.capture());
+        final var entries = entriesCaptor.getValue();
+        assertEntry(entries.get(0), TEST_ACCOUNT_NUMBER, JournalEntryType.DEBIT, Money.valueOf("90"));
+        assertEntry(entries.get(1), JournalEntry.EXTERNAL_ACCOUNT_NUMBER, JournalEntryType.CREDIT, null);
+    }
+
+    private static void assertEntry(JournalEntry entry, String accountNumber, JournalEntryType type, Money balanceAfter) {
+        assertEquals(accountNumber, entry.getAccountNumber());
+        assertEquals(type, entry.getType());
+        assertEquals(Money.valueOf("10"), entry.getAmount());
+        assertEquals(balanceAfter, entry.getBalanceAfter());
+    }
+}
@@ -0,0 +1,268 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.AccountService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerAccountServiceTest {
+    private static final long FLUSH_INTERVAL_MILLIS = 60_000;
+    private static final long TEST_ACCOUNT_KEY = AccountNumberCodec.toKey(TEST_ACCOUNT_NUMBER);
+
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerAccountService ledgerAccountService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerAccountService = new LedgerAccountService(
+                validationService,
+                accountRepository,
+                accountService,
+                journalService,
+                transactionManager,
+                1024,
+                FLUSH_INTERVAL_MILLIS,
+                FLUSH_INTERVAL_MILLIS
+        );
+        ledgerAccountService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerAccountService.stop();
+    }
+
+    @Test
+    @DisplayName("Deposit - OK")
+    void depositToAccount_ok() {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var account = ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10.129"));
+        assertEquals(TEST_ACCOUNT_NUMBER, account.getNumber());
+        assertEquals(Money.valueOf("110.12"), account.getBalance());
+        verify(validationService).validateAccountNumber(TEST_ACCOUNT_NUMBER);
+        verify(validationService).validateTransferAmount(Money.valueOf("10.129"));
+    }
+
+    @Test
+    @DisplayName("Repeated deposits are loaded once and written once")
+    void depositToAccount_coalescesWrites() {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        for (int i = 0; i < 100; i++) {
+            ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1"));
+        }
+        verify(accountRepository, never()).updateBalances(any(), any());
+        ledgerAccountService.flush();
+        verify(accountRepository, times(1)).findByNumber(TEST_ACCOUNT_NUMBER);
+        verify(accountRepository, times(1)).updateBalances(aryEq(new long[]{TEST_ACCOUNT_KEY}), aryEq(new long[]{100_00}));
+        verify(journalService).append(argThat(entries -> entries.size() == 200));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Accounts are read on the calling thread, not the writer")
+    void depositToAccount_loadsOnCallingThread() {
+        final var loadingThreads = new ArrayList<String>();
+        doAnswer(invocation -> {
+            loadingThreads.add(Thread.currentThread().getName());
+            return Optional.of(new Account(TEST_ACCOUNT_NUMBER, Money.ZERO));
+        }).when(accountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+        ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1"));
+        ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1"));
+        assertEquals(List.of(Thread.currentThread().getName()), loadingThreads);
+        assertEquals(Money.valueOf("2.00"), ledgerAccountService.getAccount(TEST_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    @DisplayName("Deposit to non-existing account throws")
+    void depositToAccount_withNonExistingAccount_throws() {
+        doReturn(Optional.empty()).when(accountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+        assertThrows(AccountNotFoundException.class,
+                () -> ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1")));
+    }
+
+    @Test
+    @DisplayName("Withdraw - OK")
+    void withdrawFromAccount_ok() throws AmountExceedsBalanceException {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var account = ledgerAccountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10.01"));
+        assertEquals(Money.valueOf("89.99"), account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Withdraw with amount exceeding balance throws")
+    void withdrawFromAccount_withAmountExceedingBalance_throws() {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("100"));
+        assertThrows(AmountExceedsBalanceException.class,
+                () -> ledgerAccountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("100.01")));
+        assertEquals(Money.valueOf("100.00"), ledgerAccountService.getAccount(TEST_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer - OK")
+    void transferToAccount_ok() throws AmountExceedsBalanceException {
+        doReturnAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturnAccount(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        final var account = ledgerAccountService.transferToAccount(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"))
+        );
+        assertEquals(DEFAULT_SOURCE_ACCOUNT_NUMBER, account.getNumber());
+        assertEquals(Money.valueOf("90.00"), account.getBalance());
+        assertEquals(Money.valueOf("10.00"), ledgerAccountService.getAccount(DEFAULT_TARGET_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer with negative or zero amount throws and leaves balances unchanged")
+    void transferToAccount_withNonPositiveAmount_throws() {
+        doReturnAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturnAccount(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        for (var amount : List.of(Money.valueOf("-50"), Money.ZERO)) {
+            final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, amount);
+            final var exception = assertThrows(ValidationException.class, () -> ledgerAccountService.transferToAccount(transferRequest));
+            assertEquals("Invalid transfer amount. Amount must be grater than 0", exception.getMessage());
+            verify(validationService).validateTransferAmount(amount);
+        }
+        assertEquals(Money.valueOf("10.00"), ledgerAccountService.getAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER).getBalance());
+        assertEquals(Money.valueOf("10.00"), ledgerAccountService.getAccount(DEFAULT_TARGET_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer between currencies throws")
+    void transferToAccount_betweenCurrencies_throws() {
+        final var exception = assertThrows(ValidationException.class, () -> ledgerAccountService.transferToAccount(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, USD_ACCOUNT_NUMBER, Money.valueOf("10"))
+        ));
+        assertEquals("Transfers between currencies are not supported by the ledger", exception.getMessage());
+        verify(accountRepository, never()).findByNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("Transfer batch with leg exceeding balance leaves balances unchanged")
+    void transferBatch_withAmountExceedingBalance_rollsBack() {
+        doReturnAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturnAccount(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        final var exception = assertThrows(AmountExceedsBalanceException.class, () -> ledgerAccountService.transferBatch(List.of(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60")),
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60"))
+        )));
+        assertEquals("Transfer leg #2 failed: Withdraw amount exceeds balance", exception.getMessage());
+        assertEquals(Money.valueOf("100.00"), ledgerAccountService.getAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER).getBalance());
+        assertEquals(Money.valueOf("0.00"), ledgerAccountService.getAccount(DEFAULT_TARGET_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer batch - OK")
+    void transferBatch_ok() throws AmountExceedsBalanceException {
+        doReturnAccount(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturnAccount(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        final var results = ledgerAccountService.transferBatch(List.of(
+                new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60")),
+                new TransferRequestDto(DEFAULT_TARGET_ACCOUNT_NUMBER, DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("20"))
+        ));
+        assertEquals(Money.valueOf("40.00"), results.get(0).sourceBalance());
+        assertEquals(Money.valueOf("60.00"), results.get(0).targetBalance());
+        assertEquals(Money.valueOf("40.00"), results.get(1).sourceBalance());
+        assertEquals(Money.valueOf("60.00"), results.get(1).targetBalance());
+    }
+
+    @Test
+    @DisplayName("Stop writes pending balances")
+    void stop_flushesPendingBalances() throws InterruptedException {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+        ledgerAccountService.stop();
+        verify(accountRepository).updateBalances(aryEq(new long[]{TEST_ACCOUNT_KEY}), aryEq(new long[]{10_00}));
+        assertThrows(IllegalStateException.class, () -> ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")));
+    }
+
+    @Test
+    @DisplayName("Commands submitted while stopping complete instead of hanging")
+    void stop_whileSubmitting_noCommandHangs() throws Exception {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1"));
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var submitters = new ArrayList<Future<?>>();
+            for (int i = 0; i < 4; i++) {
+                submitters.add(executor.submit(() -> {
+                    try {
+                        while (true) {
+                            ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("1"));
+                        }
+                    } catch (IllegalStateException exception) {
+                        return exception.getMessage();
+                    }
+                }));
+            }
+            Thread.sleep(50);
+            ledgerAccountService.stop();
+            for (var submitter : submitters) {
+                assertEquals("Ledger is stopped", submitter.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Export writes pending balances before reading accounts")
+    void exportAccounts_flushesFirst() {
+        doReturnAccount(TEST_ACCOUNT_NUMBER, Money.ZERO);
+        ledgerAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+        ledgerAccountService.exportAccounts(account -> {
+        });
+        verify(accountRepository).updateBalances(aryEq(new long[]{TEST_ACCOUNT_KEY}), aryEq(new long[]{10_00}));
+        verify(accountService).exportAccounts(any());
+    }
+
+    private void doReturnAccount(String accountNumber, Money balance) {
+        doReturn(Optional.of(new Account(accountNumber, balance))).when(accountRepository).findByNumber(accountNumber);
+    }
+}
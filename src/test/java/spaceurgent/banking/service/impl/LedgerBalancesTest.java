@@ -0,0 +1,57 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerBalancesTest {
+    private static final long FIRST_KEY = 26000000000001L;
+
+    @Test
+    @DisplayName("Insert beyond initial capacity keeps all entries - OK")
+    void insert_withResize_ok() {
+        final var balances = new LedgerBalances(8);
+        for (int i = 0; i < 1000; i++) {
+            balances.insert(FIRST_KEY + i, i);
+        }
+        assertEquals(1000, balances.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, balances.balanceAt(balances.indexOf(FIRST_KEY + i)));
+        }
+        assertEquals(-1, balances.indexOf(FIRST_KEY + 1000));
+    }
+
+    @Test
+    @DisplayName("Drain dirty returns each changed entry once with latest balance")
+    void drainDirty_ok() {
+        final var balances = new LedgerBalances(8);
+        balances.insert(FIRST_KEY, 0);
+        balances.insert(FIRST_KEY + 1, 0);
+        balances.updateBalanceAt(balances.indexOf(FIRST_KEY), 1);
+        balances.updateBalanceAt(balances.indexOf(FIRST_KEY), 2);
+        for (int i = 2; i < 100; i++) {
+            balances.insert(FIRST_KEY + i, 0);
+        }
+        balances.updateBalanceAt(balances.indexOf(FIRST_KEY + 50), 5);
+        assertEquals(2, balances.dirtyCount());
+
+        final var updates = new HashSet<>(balances.drainDirty());
+        assertEquals(2, updates.size());
+        assertTrue(updates.contains(new LedgerBalances.BalanceUpdate(FIRST_KEY, 2)));
+        assertTrue(updates.contains(new LedgerBalances.BalanceUpdate(FIRST_KEY + 50, 5)));
+        assertEquals(0, balances.dirtyCount());
+        assertTrue(balances.drainDirty().isEmpty());
+
+        balances.markDirty(FIRST_KEY + 1);
+        assertEquals(1, balances.dirtyCount());
+    }
+
+    @Test
+    @DisplayName("Insert zero key throws")
+    void insert_withZeroKey_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LedgerBalances(8).insert(0, 1));
+    }
+}
@@ -0,0 +1,73 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerRingBufferTest {
+
+    @Test
+    @DisplayName("Offer and poll keep order - OK")
+    void offerAndPoll_ok() {
+        final var ringBuffer = new LedgerRingBuffer<Integer>(4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ringBuffer.offer(i));
+            }
+            assertFalse(ringBuffer.offer(4), "Full ring buffer accepted element");
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i, ringBuffer.poll());
+            }
+            assertNull(ringBuffer.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid capacity throws")
+    void constructor_withInvalidCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LedgerRingBuffer<Integer>(3));
+    }
+
+    @Test
+    @DisplayName("Concurrent producers - every element consumed once")
+    void offer_concurrentProducers() throws Exception {
+        final var producersTotal = 4;
+        final var elementsPerProducer = 10_000;
+        final var ringBuffer = new LedgerRingBuffer<Integer>(64);
+        final var producers = Executors.newFixedThreadPool(producersTotal);
+        try {
+            final var tasks = new ArrayList<Callable<Void>>();
+            for (int producer = 0; producer < producersTotal; producer++) {
+                final var offset = producer * elementsPerProducer;
+                tasks.add(() -> {
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        while (!ringBuffer.offer(offset + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+            final var futures = tasks.stream().map(producers::submit).toList();
+            final var consumed = new HashSet<Integer>();
+            while (consumed.size() < producersTotal * elementsPerProducer) {
+                final var element = ringBuffer.poll();
+                if (element != null) {
+                    assertTrue(consumed.add(element), "Element consumed twice");
+                }
+            }
+            for (var future : futures) {
+                future.get();
+            }
+            assertNull(ringBuffer.poll());
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.TransferConflictException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.JournalService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.TRANSFER;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticTransferExecutorTest {
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OperationTimer timer = new BankingMetrics(meterRegistry).startOperation(TRANSFER);
+    private OptimisticTransferExecutor transferExecutor;
+
+    @BeforeEach
+    void setUp() {
+        transferExecutor = new OptimisticTransferExecutor(
+                accountRepository,
+                journalService,
+                new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60),
+                transactionManager,
+                MAX_ATTEMPTS,
+                0
+        );
+    }
+
+    @Test
+    @DisplayName("Transfer retries on optimistic locking conflict - OK")
+    void transfer_withConflict_retries() throws AmountExceedsBalanceException {
+        doAnswerWithFreshAccounts();
+        doThrow(conflict()).doNothing().when(transactionManager).commit(any());
+        final var account = transferExecutor.transfer(transferRequest(Money.valueOf("10")), timer);
+        assertEquals(DEFAULT_SOURCE_ACCOUNT_NUMBER, account.getNumber());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Retried transfer records lookup and persistence once")
+    void transfer_withConflict_phasesRecordedOnce() throws AmountExceedsBalanceException {
+        doAnswerWithFreshAccounts();
+        doThrow(conflict()).doThrow(conflict()).doNothing().when(transactionManager).commit(any());
+        transferExecutor.transfer(transferRequest(Money.valueOf("10")), timer);
+        assertEquals(1, phaseTimer("lookup").count());
+        assertEquals(1, phaseTimer("persistence").count());
+    }
+
+    @Test
+    @DisplayName("Transfer with conflicts on every attempt throws")
+    void transfer_withPersistentConflict_throws() {
+        doAnswerWithFreshAccounts();
+        doThrow(conflict()).when(transactionManager).commit(any());
+        assertThrows(TransferConflictException.class, () -> transferExecutor.transfer(transferRequest(Money.valueOf("10")), timer));
+        verify(transactionManager, times(MAX_ATTEMPTS)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Transfer with amount exceeding source balance throws without retry")
+    void transfer_withAmountExceedingBalance_throws() {
+        doAnswerWithFreshAccounts();
+        assertThrows(AmountExceedsBalanceException.class, () -> transferExecutor.transfer(transferRequest(Money.valueOf("1000")), timer));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(0)).commit(any());
+    }
+
+    private void doAnswerWithFreshAccounts() {
+        doReturn(List.of(
+                new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100")),
+                new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO)
+        )).when(accountRepository).findAllByNumberInOrderByNumber(any());
+    }
+
+    private Timer phaseTimer(String phase) {
+        return meterRegistry.get(BankingMetrics.OPERATION_TIMER).tags("operation", "transfer", "phase", phase).timer();
+    }
+
+    private static TransferRequestDto transferRequest(Money amount) {
+        return new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, amount);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Account.class, 1L);
+    }
+}
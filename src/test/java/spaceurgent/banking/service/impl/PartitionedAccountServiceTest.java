@@ -0,0 +1,86 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.service.AccountService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedAccountServiceTest {
+    @Mock
+    private AccountService accountService;
+
+    private PartitionedAccountService partitionedAccountService;
+
+    @BeforeEach
+    void setUp() {
+        partitionedAccountService = new PartitionedAccountService(accountService, new SimpleMeterRegistry(), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        partitionedAccountService.stop();
+    }
+
+    @Test
+    @DisplayName("Deposit runs on a partition thread")
+    void deposit_runsOnPartition() {
+        final var thread = new AtomicReference<String>();
+        final var account = new Account(TEST_ACCOUNT_NUMBER, Money.valueOf("110"));
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return account;
+        }).when(accountService).depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+
+        assertSame(account, partitionedAccountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")));
+        assertTrue(thread.get().startsWith("account-partition-"));
+    }
+
+    @Test
+    @DisplayName("Invalid withdrawal is rejected by the account service and rethrown on the caller")
+    void withdraw_invalid_throws() throws Exception {
+        doThrow(new ValidationException("Invalid amount")).when(accountService).withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("-1"));
+        final var exception = assertThrows(ValidationException.class,
+                () -> partitionedAccountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("-1")));
+        assertEquals("Invalid amount", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer exceeding balance rethrows on the caller")
+    void transfer_amountExceedsBalance_throws() throws Exception {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doThrow(new AmountExceedsBalanceException("Withdraw amount exceeds balance")).when(accountService).transferToAccount(transferRequest);
+        final var exception = assertThrows(AmountExceedsBalanceException.class,
+                () -> partitionedAccountService.transferToAccount(transferRequest));
+        assertEquals("Withdraw amount exceeds balance", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer batch calls the account service directly")
+    void transferBatch_direct() throws Exception {
+        final var transferRequests = List.of(new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10")));
+        doReturn(List.of()).when(accountService).transferBatch(transferRequests);
+        assertEquals(List.of(), partitionedAccountService.transferBatch(transferRequests));
+    }
+}
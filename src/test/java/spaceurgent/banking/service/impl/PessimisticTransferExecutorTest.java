@@ -0,0 +1,122 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.metrics.OperationTimer;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.metrics.BankingMetrics.Operation.TRANSFER;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class PessimisticTransferExecutorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private JournalService journalService;
+    @Spy
+    private FxRateService fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
+    @InjectMocks
+    private PessimisticTransferExecutor transferExecutor;
+    private final OperationTimer timer = new BankingMetrics(new SimpleMeterRegistry()).startOperation(TRANSFER);
+
+    @Test
+    @DisplayName("Transfer - OK")
+    void transfer_ok() throws AmountExceedsBalanceException {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("0"));
+        final var amount = Money.valueOf("10");
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var request = new TransferRequestDto(sourceAccount.getNumber(), targetAccount.getNumber(), amount);
+        final var account = transferExecutor.transfer(request, timer);
+        assertSame(sourceAccount, account);
+        assertEquals(Money.valueOf("90"), sourceAccount.getBalance());
+        assertEquals(Money.valueOf("10"), targetAccount.getBalance());
+        verify(accountRepository).findAllByNumberInForUpdate(eq(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER)));
+        verify(journalService).recordTransfer(sourceAccount, targetAccount, amount, amount);
+    }
+
+    @Test
+    @DisplayName("Transfer between currencies credits the converted amount")
+    void transfer_betweenCurrencies_creditsConverted() throws AmountExceedsBalanceException {
+        final var sourceAccount = new Account(USD_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("0"));
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var amount = Money.valueOf("10.01");
+        transferExecutor.transfer(new TransferRequestDto(USD_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, amount), timer);
+        assertEquals(Money.valueOf("89.99"), sourceAccount.getBalance());
+        assertEquals(Money.valueOf("412.91"), targetAccount.getBalance());
+        verify(journalService).recordTransfer(sourceAccount, targetAccount, amount, Money.valueOf("412.91"));
+    }
+
+    @Test
+    @DisplayName("Transfer too small to convert throws")
+    void transfer_tooSmallToConvert_throws() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(USD_ACCOUNT_NUMBER, Money.valueOf("0"));
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var request = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, USD_ACCOUNT_NUMBER, Money.valueOf("0.01"));
+        assertThrows(ValidationException.class, () -> transferExecutor.transfer(request, timer));
+        assertEquals(Money.valueOf("100"), sourceAccount.getBalance());
+        verify(journalService, never()).recordTransfer(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Transfer with amount exceeding source balance throws")
+    void transfer_withAmountExceedingBalance_throws() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("5"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("0"));
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var request = new TransferRequestDto(sourceAccount.getNumber(), targetAccount.getNumber(), Money.valueOf("10"));
+        assertThrows(AmountExceedsBalanceException.class, () -> transferExecutor.transfer(request, timer));
+        assertEquals(Money.valueOf("0"), targetAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Transfer with non-existing source account number throws")
+    void transfer_withNonExistingSourceAccount_throws() {
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturn(List.of(targetAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var request = new TransferRequestDto(TEST_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        final var exception = assertThrows(AccountNotFoundException.class, () -> transferExecutor.transfer(request, timer));
+        assertEquals("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer with non-existing target account number throws")
+    void transfer_withNonExistingTargetAccount_throws() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        doReturn(List.of(sourceAccount)).when(accountRepository).findAllByNumberInForUpdate(any());
+        final var request = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+        final var exception = assertThrows(AccountNotFoundException.class, () -> transferExecutor.transfer(request, timer));
+        assertEquals("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER), exception.getMessage());
+    }
+}
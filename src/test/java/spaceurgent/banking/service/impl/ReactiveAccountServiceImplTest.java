@@ -0,0 +1,267 @@
+package spaceurgent.banking.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import spaceurgent.banking.dto.AccountDetailsDto;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.AccountNotFoundException;
+import spaceurgent.banking.exception.AmountExceedsBalanceException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.metrics.BankingMetrics;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.JournalEntry;
+import spaceurgent.banking.model.JournalEntryType;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.repository.ReactiveAccountRepository;
+import spaceurgent.banking.repository.ReactiveJournalEntryRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.ValidationService;
+import spaceurgent.banking.utils.AccountNumberGenerator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.USD_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestUtils.returnInputAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAccountServiceImplTest {
+
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private ReactiveAccountRepository reactiveAccountRepository;
+    @Mock
+    private ReactiveJournalEntryRepository reactiveJournalEntryRepository;
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+    @Mock
+    private TransactionalOperator reactiveTransactionalOperator;
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
+    @Spy
+    private FxRateService fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
+    @InjectMocks
+    private ReactiveAccountServiceImpl accountService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(returnInputAnswer()).when(reactiveTransactionalOperator).transactional(any(Mono.class));
+        lenient().doAnswer(returnInputAnswer()).when(reactiveTransactionalOperator).transactional(any(Flux.class));
+        lenient().doReturn(Mono.empty()).when(reactiveJournalEntryRepository).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Create account with positive balance journals opening deposit")
+    void createAccount_withPositiveBalance_journalsDeposit() {
+        final var account = details(TEST_ACCOUNT_NUMBER, "10");
+        doReturn(TEST_ACCOUNT_NUMBER).when(accountNumberGenerator).nextAccountNumber(Currency.UAH);
+        doReturn(Mono.just(account)).when(reactiveAccountRepository).insert(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.valueOf("10"));
+
+        StepVerifier.create(accountService.createAccount(Money.valueOf("10"), Currency.UAH))
+                .expectNext(account)
+                .verifyComplete();
+        verify(reactiveJournalEntryRepository).saveAll(argThat(entries -> entries.size() == 2
+                && entries.get(1).getType() == JournalEntryType.CREDIT
+                && entries.get(1).getAccountNumber().equals(TEST_ACCOUNT_NUMBER)));
+    }
+
+    @Test
+    @DisplayName("Create account with zero balance - no journal entries")
+    void createAccount_withZeroBalance_noJournal() {
+        final var account = details(TEST_ACCOUNT_NUMBER, "0");
+        doReturn(TEST_ACCOUNT_NUMBER).when(accountNumberGenerator).nextAccountNumber(Currency.UAH);
+        doReturn(Mono.just(account)).when(reactiveAccountRepository).insert(TEST_ACCOUNT_NUMBER, Currency.UAH, Money.ZERO);
+
+        StepVerifier.create(accountService.createAccount(Money.ZERO, Currency.UAH))
+                .expectNext(account)
+                .verifyComplete();
+        verify(reactiveJournalEntryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Create account with invalid balance signals error")
+    void createAccount_invalidBalance_error() {
+        doThrow(new ValidationException("Invalid balance")).when(validationService).validateBalanceAmount(any());
+
+        StepVerifier.create(accountService.createAccount(Money.valueOf("-1"), Currency.UAH))
+                .expectErrorMessage("Invalid balance")
+                .verify();
+        verify(reactiveAccountRepository, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Create accounts in bulk with invalid balance signals error")
+    void createAccounts_withInvalidBalance_error() {
+        doNothing().doThrow(new ValidationException("Invalid balance")).when(validationService).validateBalanceAmount(any());
+
+        StepVerifier.create(accountService.createAccounts(List.of(Money.valueOf("1"), Money.valueOf("-1")), Currency.UAH))
+                .expectErrorSatisfies(exception -> {
+                    assertEquals(ValidationException.class, exception.getClass());
+                    assertEquals("Account #2: Invalid balance", exception.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Get not existing account signals not found")
+    void getAccount_notFound() {
+        doReturn(Mono.empty()).when(reactiveAccountRepository).findByNumber(TEST_ACCOUNT_NUMBER);
+
+        StepVerifier.create(accountService.getAccount(TEST_ACCOUNT_NUMBER))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Deposit - OK, journaled")
+    void deposit_ok() {
+        final var account = details(TEST_ACCOUNT_NUMBER, "110");
+        doReturn(Mono.just(account)).when(reactiveAccountRepository).depositAndGet(TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+
+        StepVerifier.create(accountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")))
+                .expectNext(account)
+                .verifyComplete();
+        verify(reactiveJournalEntryRepository).saveAll(argThat(entries ->
+                entries.get(1).getBalanceAfter().equals(Money.valueOf("110"))));
+    }
+
+    @Test
+    @DisplayName("Deposit to not existing account signals not found")
+    void deposit_notFound() {
+        doReturn(Mono.empty()).when(reactiveAccountRepository).depositAndGet(any(), any());
+
+        StepVerifier.create(accountService.depositToAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+        verify(reactiveJournalEntryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Withdraw more than balance signals amount exceeds balance")
+    void withdraw_amountExceedsBalance() {
+        doReturn(Mono.empty()).when(reactiveAccountRepository).withdrawAndGet(any(), any());
+        doReturn(Mono.just(true)).when(reactiveAccountRepository).existsByNumber(TEST_ACCOUNT_NUMBER);
+
+        StepVerifier.create(accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")))
+                .expectError(AmountExceedsBalanceException.class)
+                .verify();
+        verify(reactiveJournalEntryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Withdraw from not existing account signals not found")
+    void withdraw_notFound() {
+        doReturn(Mono.empty()).when(reactiveAccountRepository).withdrawAndGet(any(), any());
+        doReturn(Mono.just(false)).when(reactiveAccountRepository).existsByNumber(TEST_ACCOUNT_NUMBER);
+
+        StepVerifier.create(accountService.withdrawFromAccount(TEST_ACCOUNT_NUMBER, Money.valueOf("10")))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Transfer - OK, both balances updated and journaled")
+    void transfer_ok() {
+        doReturn(Flux.just(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "100"), details(DEFAULT_TARGET_ACCOUNT_NUMBER, "5")))
+                .when(reactiveAccountRepository)
+                .findAllByNumberInForUpdate(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER));
+        doReturn(Mono.empty()).when(reactiveAccountRepository).updateBalance(any(), any());
+
+        StepVerifier.create(accountService.transferToAccount(transferRequest(DEFAULT_TARGET_ACCOUNT_NUMBER, "30")))
+                .expectNext(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "70"))
+                .verifyComplete();
+        verify(reactiveAccountRepository).updateBalance(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("70"));
+        verify(reactiveAccountRepository).updateBalance(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("35"));
+        verify(reactiveJournalEntryRepository).saveAll(argThat(entries -> entries.stream()
+                .map(JournalEntry::getBalanceAfter)
+                .toList()
+                .equals(List.of(Money.valueOf("70"), Money.valueOf("35")))));
+    }
+
+    @Test
+    @DisplayName("Transfer between currencies credits and journals the converted amount")
+    void transfer_betweenCurrencies_converted() {
+        doReturn(Flux.just(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "5000"), new AccountDetailsDto(USD_ACCOUNT_NUMBER, Currency.USD, Money.ZERO)))
+                .when(reactiveAccountRepository)
+                .findAllByNumberInForUpdate(List.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, USD_ACCOUNT_NUMBER));
+        doReturn(Mono.empty()).when(reactiveAccountRepository).updateBalance(any(), any());
+
+        StepVerifier.create(accountService.transferToAccount(transferRequest(USD_ACCOUNT_NUMBER, "4125")))
+                .expectNext(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "875"))
+                .verifyComplete();
+        verify(reactiveAccountRepository).updateBalance(USD_ACCOUNT_NUMBER, Money.valueOf("100"));
+        verify(reactiveJournalEntryRepository).saveAll(argThat(entries -> entries.stream()
+                .map(JournalEntry::getAmount)
+                .toList()
+                .equals(List.of(Money.valueOf("4125"), Money.valueOf("100")))));
+    }
+
+    @Test
+    @DisplayName("Transfer more than balance signals amount exceeds balance")
+    void transfer_amountExceedsBalance() {
+        doReturn(Flux.just(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "10"), details(DEFAULT_TARGET_ACCOUNT_NUMBER, "0")))
+                .when(reactiveAccountRepository).findAllByNumberInForUpdate(any());
+
+        StepVerifier.create(accountService.transferToAccount(transferRequest(DEFAULT_TARGET_ACCOUNT_NUMBER, "30")))
+                .expectError(AmountExceedsBalanceException.class)
+                .verify();
+        verify(reactiveAccountRepository, never()).updateBalance(any(), any());
+    }
+
+    @Test
+    @DisplayName("Transfer to not existing account signals not found")
+    void transfer_targetNotFound() {
+        doReturn(Flux.just(details(DEFAULT_SOURCE_ACCOUNT_NUMBER, "100")))
+                .when(reactiveAccountRepository).findAllByNumberInForUpdate(any());
+
+        StepVerifier.create(accountService.transferToAccount(transferRequest(TEST_ACCOUNT_NUMBER, "30")))
+                .expectErrorMessage("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER))
+                .verify();
+        verify(reactiveAccountRepository, never()).updateBalance(any(), any());
+        verify(validationService).validateTransferRequestDto(eq(transferRequest(TEST_ACCOUNT_NUMBER, "30")));
+    }
+
+    @Test
+    @DisplayName("Transfer with invalid amount signals error")
+    void transfer_invalidAmount_error() {
+        doThrow(new ValidationException("Invalid amount")).when(validationService).validateTransferAmount(any());
+
+        StepVerifier.create(accountService.transferToAccount(transferRequest(DEFAULT_TARGET_ACCOUNT_NUMBER, "-30")))
+                .expectErrorMessage("Invalid amount")
+                .verify();
+        verify(reactiveAccountRepository, never()).findAllByNumberInForUpdate(any());
+    }
+
+    private static TransferRequestDto transferRequest(String targetAccountNumber, String amount) {
+        return new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, targetAccountNumber, Money.valueOf(amount));
+    }
+
+    private static AccountDetailsDto details(String accountNumber, String balance) {
+        return new AccountDetailsDto(accountNumber, Currency.UAH, Money.valueOf(balance));
+    }
+}
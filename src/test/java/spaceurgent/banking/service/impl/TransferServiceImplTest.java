@@ -0,0 +1,164 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.exception.TransferNotFoundException;
+import spaceurgent.banking.exception.TransferProcessingException;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Account;
+import spaceurgent.banking.model.Money;
+import spaceurgent.banking.model.Transfer;
+import spaceurgent.banking.model.TransferStatus;
+import spaceurgent.banking.repository.AccountRepository;
+import spaceurgent.banking.repository.TransferRepository;
+import spaceurgent.banking.service.FxRateService;
+import spaceurgent.banking.service.JournalService;
+import spaceurgent.banking.service.ValidationService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.DEFAULT_TARGET_ACCOUNT_NUMBER;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+@ExtendWith(MockitoExtension.class)
+class TransferServiceImplTest {
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private TransferRepository transferRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private JournalService journalService;
+    @Spy
+    private HotAccountBalances hotAccountBalances = new HotAccountBalances(List.of(), 8, null, null, null, null, null);
+    @Spy
+    private FxRateService fxRateService = new FxRateServiceImpl(new ClassPathResource("fx-rates.properties"), 60);
+    @InjectMocks
+    private TransferServiceImpl transferService;
+
+    @Test
+    @DisplayName("Submit transfer stores it as pending")
+    void submitTransfer_savesPending() {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doAnswer(invocation -> invocation.getArgument(0)).when(transferRepository).save(any(Transfer.class));
+        final var transfer = transferService.submitTransfer(transferRequest);
+        assertEquals(TransferStatus.PENDING, transfer.getStatus());
+        assertEquals(DEFAULT_SOURCE_ACCOUNT_NUMBER, transfer.getSourceAccountNumber());
+        assertEquals(DEFAULT_TARGET_ACCOUNT_NUMBER, transfer.getTargetAccountNumber());
+        assertEquals(Money.valueOf("10"), transfer.getAmount());
+        verify(validationService).validateTransferRequestDto(transferRequest);
+        verify(validationService).validateTransferAmount(Money.valueOf("10"));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Submit invalid transfer throws and stores nothing")
+    void submitTransfer_invalid_throws() {
+        final var transferRequest = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("-1"));
+        doThrow(new ValidationException("Invalid amount")).when(validationService).validateTransferAmount(Money.valueOf("-1"));
+        assertThrows(ValidationException.class, () -> transferService.submitTransfer(transferRequest));
+        verify(transferRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Get not existing transfer throws")
+    void getTransfer_notFound_throws() {
+        doReturn(Optional.empty()).when(transferRepository).findById(7L);
+        final var exception = assertThrows(TransferNotFoundException.class, () -> transferService.getTransfer(7L));
+        assertEquals("Transfer with id '7' not found", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Process empty queue does nothing")
+    void processPendingTransfers_empty_returns0() {
+        doReturn(List.of()).when(transferRepository).findPendingForUpdate(100);
+        assertEquals(0, transferService.processPendingTransfers(100));
+        verifyNoInteractions(accountRepository, journalService);
+    }
+
+    @Test
+    @DisplayName("Process batch applies transfers and fails the ones that can't be applied")
+    void processPendingTransfers_appliesAndFails() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        final var completed = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60"));
+        final var overdrawn = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("60"));
+        final var missingAccount = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturn(List.of(completed, overdrawn, missingAccount)).when(transferRepository).findPendingForUpdate(100);
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository)
+                .findAllByNumberInForUpdate(List.copyOf(new TreeSet<>(Set.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER))));
+
+        assertEquals(3, transferService.processPendingTransfers(100));
+
+        assertEquals(TransferStatus.COMPLETED, completed.getStatus());
+        assertEquals(TransferStatus.FAILED, overdrawn.getStatus());
+        assertEquals("Withdraw amount exceeds balance", overdrawn.getFailureReason());
+        assertEquals(TransferStatus.FAILED, missingAccount.getStatus());
+        assertEquals("Account with number '%s' not found".formatted(TEST_ACCOUNT_NUMBER), missingAccount.getFailureReason());
+        assertEquals(Money.valueOf("40"), sourceAccount.getBalance());
+        assertEquals(Money.valueOf("60"), targetAccount.getBalance());
+        verify(journalService).recordTransfer(sourceAccount, targetAccount, Money.valueOf("60"), Money.valueOf("60"));
+    }
+
+    @Test
+    @DisplayName("Unexpected error rolls the batch back naming the transfer")
+    void processPendingTransfers_unexpectedError_throwsWithTransfer() {
+        final var sourceAccount = new Account(DEFAULT_SOURCE_ACCOUNT_NUMBER, Money.valueOf("100"));
+        final var targetAccount = new Account(DEFAULT_TARGET_ACCOUNT_NUMBER, Money.ZERO);
+        final var next = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        final var poison = spy(new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("20")));
+        doReturn(7L).when(poison).getId();
+        doReturn(List.of(poison, next)).when(transferRepository).findPendingForUpdate(100);
+        doReturn(List.of(sourceAccount, targetAccount)).when(accountRepository)
+                .findAllByNumberInForUpdate(List.copyOf(new TreeSet<>(Set.of(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER))));
+        doThrow(new IllegalStateException("Journal is broken")).when(journalService)
+                .recordTransfer(sourceAccount, targetAccount, Money.valueOf("20"), Money.valueOf("20"));
+
+        final var exception = assertThrows(TransferProcessingException.class, () -> transferService.processPendingTransfers(100));
+
+        assertEquals(7L, exception.getTransferId());
+        assertEquals("Journal is broken", exception.getReason());
+        assertEquals(TransferStatus.PENDING, poison.getStatus());
+        assertEquals(TransferStatus.PENDING, next.getStatus());
+    }
+
+    @Test
+    @DisplayName("Fail transfer marks a pending transfer failed with a truncated reason")
+    void failTransfer_pending_failed() {
+        final var transfer = new Transfer(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, Money.valueOf("10"));
+        doReturn(Optional.of(transfer)).when(transferRepository).findPendingByIdForUpdate(7L);
+
+        transferService.failTransfer(7L, "x".repeat(300));
+
+        assertEquals(TransferStatus.FAILED, transfer.getStatus());
+        assertEquals(Transfer.MAX_FAILURE_REASON_LENGTH, transfer.getFailureReason().length());
+    }
+
+    @Test
+    @DisplayName("Fail transfer ignores a transfer that is no longer pending")
+    void failTransfer_notPending_ignored() {
+        doReturn(Optional.empty()).when(transferRepository).findPendingByIdForUpdate(7L);
+        assertDoesNotThrow(() -> transferService.failTransfer(7L, "Journal is broken"));
+    }
+}
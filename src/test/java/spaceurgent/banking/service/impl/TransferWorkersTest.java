@@ -0,0 +1,68 @@
+package spaceurgent.banking.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import spaceurgent.banking.exception.TransferProcessingException;
+import spaceurgent.banking.service.TransferService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransferWorkersTest {
+    @Mock
+    private TransferService transferService;
+    private TransferWorkers transferWorkers;
+
+    @BeforeEach
+    void setUp() {
+        transferWorkers = new TransferWorkers(transferService, 1, 10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transferWorkers.stop();
+    }
+
+    @Test
+    @DisplayName("Drain takes batches until one comes back short")
+    void drain_whileBatchesFull() {
+        doReturn(10, 10, 3).when(transferService).processPendingTransfers(10);
+        transferWorkers.drain();
+        verify(transferService, times(3)).processPendingTransfers(10);
+    }
+
+    @Test
+    @DisplayName("Drain survives a failed batch")
+    void drain_failedBatch_doesNotThrow() {
+        doThrow(new IllegalStateException("Lock timeout")).when(transferService).processPendingTransfers(10);
+        assertDoesNotThrow(transferWorkers::drain);
+    }
+
+    @Test
+    @DisplayName("Drain fails a transfer with an unexpected error and takes its batch again")
+    void drain_failedTransfer_failedAndBatchRetried() {
+        doThrow(new TransferProcessingException(7L, new IllegalStateException("Journal is broken")))
+                .doReturn(4)
+                .when(transferService).processPendingTransfers(10);
+
+        transferWorkers.drain();
+
+        verify(transferService).failTransfer(7L, "Journal is broken");
+        verify(transferService, times(2)).processPendingTransfers(10);
+    }
+
+    @Test
+    @DisplayName("Create with non-positive batch size throws")
+    void create_withZeroBatchSize_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TransferWorkers(transferService, 1, 0, 1000));
+    }
+}
@@ -7,11 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
 import spaceurgent.banking.dto.TransferRequestDto;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
 import spaceurgent.banking.validation.Validator;
 
-import java.math.BigDecimal;
-
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
@@ -25,9 +26,15 @@ class ValidationServiceImplTest {
     @Mock
     private Validator<TransferRequestDto> transferRequestDtoValidator;
     @Mock
-    private Validator<BigDecimal> balanceAmountValidator;
+    private Validator<Money> balanceAmountValidator;
+    @Mock
+    private Validator<Money> transferAmountValidator;
+    @Mock
+    private Validator<Integer> pageLimitValidator;
+    @Mock
+    private Validator<String> idempotencyKeyValidator;
     @Mock
-    private Validator<BigDecimal> transferAmountValidator;
+    private Validator<AccountSearchRequestDto> accountSearchRequestDtoValidator;
 
     private ValidationServiceImpl validationService;
 
@@ -37,7 +44,10 @@ class ValidationServiceImplTest {
                 accountNumberValidator,
                 transferRequestDtoValidator,
                 balanceAmountValidator,
-                transferAmountValidator
+                transferAmountValidator,
+                pageLimitValidator,
+                idempotencyKeyValidator,
+                accountSearchRequestDtoValidator
         );
     }
 
@@ -54,7 +64,7 @@ class ValidationServiceImplTest {
         final var transferRequestDto = new TransferRequestDto(
                 DEFAULT_SOURCE_ACCOUNT_NUMBER,
                 DEFAULT_TARGET_ACCOUNT_NUMBER,
-                BigDecimal.valueOf(100)
+                Money.valueOf("100")
         );
         validationService.validateTransferRequestDto(transferRequestDto);
         verify(transferRequestDtoValidator).validate(eq(transferRequestDto));
@@ -63,7 +73,7 @@ class ValidationServiceImplTest {
     @Test
     @DisplayName("Validate balance amount - OK")
     void validateBalanceAmount_ok() {
-        final var balanceAmount = BigDecimal.valueOf(150);
+        final var balanceAmount = Money.valueOf("150");
         validationService.validateBalanceAmount(balanceAmount);
         verify(balanceAmountValidator).validate(eq(balanceAmount));
     }
@@ -71,8 +81,30 @@ class ValidationServiceImplTest {
     @Test
     @DisplayName("Validate transfer amount - OK")
     void validateTransferAmount_ok() {
-        final var transferAmount = BigDecimal.valueOf(200);
+        final var transferAmount = Money.valueOf("200");
         validationService.validateTransferAmount(transferAmount);
         verify(transferAmountValidator).validate(eq(transferAmount));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Validate page limit - OK")
+    void validatePageLimit_ok() {
+        validationService.validatePageLimit(50);
+        verify(pageLimitValidator).validate(eq(50));
+    }
+
+    @Test
+    @DisplayName("Validate idempotency key - OK")
+    void validateIdempotencyKey_ok() {
+        validationService.validateIdempotencyKey("retry-1");
+        verify(idempotencyKeyValidator).validate(eq("retry-1"));
+    }
+
+    @Test
+    @DisplayName("Validate account search request dto - OK")
+    void validateAccountSearchRequestDto_ok() {
+        final var searchRequest = AccountSearchRequestDto.topBalances(Currency.UAH, 10);
+        validationService.validateAccountSearchRequestDto(searchRequest);
+        verify(accountSearchRequestDtoValidator).validate(eq(searchRequest));
+    }
+}
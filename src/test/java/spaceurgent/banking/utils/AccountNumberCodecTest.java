@@ -0,0 +1,99 @@
+package spaceurgent.banking.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import spaceurgent.banking.model.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountNumberCodecTest {
+
+    @Test
+    @DisplayName("Encode serial - OK")
+    void encode_ok() {
+        assertEquals("26000000000059", AccountNumberCodec.encode(0));
+        assertEquals("26000000000156", AccountNumberCodec.encode(1));
+        assertEquals("26009999999913", AccountNumberCodec.encode(AccountNumberCodec.MAX_SERIAL));
+    }
+
+    @Test
+    @DisplayName("Encode serial with currency prefix - OK")
+    void encode_withCurrency_ok() {
+        assertEquals("26000000000156", AccountNumberCodec.encode(Currency.UAH, 1));
+        assertEquals("26010000000107", AccountNumberCodec.encode(Currency.USD, 1));
+        assertEquals("26020000000446", AccountNumberCodec.encode(Currency.EUR, 4));
+        assertTrue(AccountNumberCodec.isValid(AccountNumberCodec.encode(Currency.EUR, AccountNumberCodec.MAX_SERIAL)));
+    }
+
+    @Test
+    @DisplayName("Currency follows from the account number prefix")
+    void currencyOf_ok() {
+        for (var currency : Currency.values()) {
+            assertEquals(currency, AccountNumberCodec.currencyOf(AccountNumberCodec.encode(currency, 42)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> AccountNumberCodec.currencyOf("26030000000001"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {-1, AccountNumberCodec.MAX_SERIAL + 1})
+    @DisplayName("Encode serial out of range throws")
+    void encode_withSerialOutOfRange_throws(long serial) {
+        assertThrows(IllegalArgumentException.class, () -> AccountNumberCodec.encode(serial));
+    }
+
+    @Test
+    @DisplayName("Parse encoded account numbers - OK")
+    void parse_encoded_ok() {
+        for (long serial = 0; serial < 10_000; serial++) {
+            final var accountNumber = AccountNumberCodec.encode(serial);
+            assertEquals(Long.parseLong(accountNumber), AccountNumberCodec.parse(accountNumber));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2600000000015", "260000000001566", "36000000000156", "2600000000015a", "2600 000000015"})
+    @DisplayName("Parse malformed account number returns invalid")
+    void parse_withMalformedNumber_returnsInvalid(String accountNumber) {
+        assertEquals(AccountNumberCodec.INVALID, AccountNumberCodec.parse(accountNumber));
+        assertFalse(AccountNumberCodec.isValid(accountNumber));
+    }
+
+    @Test
+    @DisplayName("Parse null account number returns invalid")
+    void parse_withNull_returnsInvalid() {
+        assertEquals(AccountNumberCodec.INVALID, AccountNumberCodec.parse(null));
+    }
+
+    @Test
+    @DisplayName("Parse detects every single digit typo and adjacent transposition")
+    void parse_withTypo_returnsInvalid() {
+        final var accountNumber = AccountNumberCodec.encode(12_345_678).toCharArray();
+        for (int i = 4; i < accountNumber.length; i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                final var mistyped = accountNumber.clone();
+                if (mistyped[i] == digit) {
+                    continue;
+                }
+                mistyped[i] = digit;
+                assertFalse(AccountNumberCodec.isValid(new String(mistyped)), new String(mistyped));
+            }
+            if (i + 1 < accountNumber.length && accountNumber[i] != accountNumber[i + 1]) {
+                final var transposed = accountNumber.clone();
+                transposed[i] = accountNumber[i + 1];
+                transposed[i + 1] = accountNumber[i];
+                assertFalse(AccountNumberCodec.isValid(new String(transposed)), new String(transposed));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Key conversion ignores check digits")
+    void toKey_fromKey_ok() {
+        assertEquals(26000000000001L, AccountNumberCodec.toKey("26000000000001"));
+        assertEquals("26000000000001", AccountNumberCodec.fromKey(26000000000001L));
+        assertThrows(IllegalArgumentException.class, () -> AccountNumberCodec.toKey("2600"));
+        assertThrows(IllegalArgumentException.class, () -> AccountNumberCodec.fromKey(1));
+    }
+}
@@ -2,26 +2,120 @@ package spaceurgent.banking.utils;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import spaceurgent.banking.model.Currency;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountNumberGeneratorTest {
 
-    private static final String ACCOUNT_NUMBER_REGEX = "2600\\d{10}";
+    private static final int BLOCK_SIZE = 10;
 
     @Test
     @DisplayName("Next account number - OK")
     void nextAccountNumber_ok() {
-        final var accountNumberGenerator = new AccountNumberGenerator();
+        final var accountNumberGenerator = new AccountNumberGenerator(new AtomicLong()::incrementAndGet, BLOCK_SIZE, Runnable::run);
         final var invocationsTotal = 100;
         final var accountNumberSet = new HashSet<String>();
         for (int i = 0; i < invocationsTotal; i++) {
-            var accountNumber = accountNumberGenerator.nextAccountNumber();
-            assertTrue(accountNumber.matches(ACCOUNT_NUMBER_REGEX), "Account number doesn't match account regexp");
+            var accountNumber = accountNumberGenerator.nextAccountNumber(Currency.UAH);
+            assertTrue(AccountNumberCodec.isValid(accountNumber), "Account number isn't valid");
             accountNumberSet.add(accountNumber);
         }
         assertEquals(invocationsTotal, accountNumberSet.size(), "Account number list size doesn't match invocation number");
+        assertEquals("26000000000156", Collections.min(accountNumberSet));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Next account number - prefix of the currency, serials shared by currencies")
+    void nextAccountNumber_currencyPrefix() {
+        final var accountNumberGenerator = new AccountNumberGenerator(new AtomicLong()::incrementAndGet, BLOCK_SIZE, Runnable::run);
+        assertEquals("26000000000156", accountNumberGenerator.nextAccountNumber(Currency.UAH));
+        final var usdAccountNumber = accountNumberGenerator.nextAccountNumber(Currency.USD);
+        assertTrue(AccountNumberCodec.isValid(usdAccountNumber), "Account number isn't valid");
+        assertEquals(Currency.USD, AccountNumberCodec.currencyOf(usdAccountNumber));
+        assertEquals("00000002", usdAccountNumber.substring(4, 12));
+    }
+
+    @Test
+    @DisplayName("Next account number - continues after restart")
+    void nextAccountNumber_afterRestart() {
+        final var blockSequence = new AtomicLong();
+        final var beforeRestart = new AccountNumberGenerator(blockSequence::incrementAndGet, BLOCK_SIZE, Runnable::run);
+        final var issued = new HashSet<Long>();
+        for (int i = 0; i < 3; i++) {
+            issued.add(beforeRestart.nextSerial());
+        }
+        final var afterRestart = new AccountNumberGenerator(blockSequence::incrementAndGet, BLOCK_SIZE, Runnable::run);
+        for (int i = 0; i < 3 * BLOCK_SIZE; i++) {
+            assertTrue(issued.add(afterRestart.nextSerial()), "Account number issued twice");
+        }
+    }
+
+    @Test
+    @DisplayName("Next account number - next block prefetched before current is exhausted")
+    void nextAccountNumber_prefetch() {
+        final var blockSequence = new AtomicLong();
+        final var accountNumberGenerator = new AccountNumberGenerator(blockSequence::incrementAndGet, BLOCK_SIZE, Runnable::run);
+        for (int i = 0; i < BLOCK_SIZE / 2; i++) {
+            accountNumberGenerator.nextSerial();
+        }
+        assertEquals(1, blockSequence.get());
+        accountNumberGenerator.nextSerial();
+        assertEquals(2, blockSequence.get());
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            accountNumberGenerator.nextSerial();
+        }
+        assertEquals(3, blockSequence.get());
+    }
+
+    @Test
+    @DisplayName("Next account number - block allocation failure is retried")
+    void nextAccountNumber_blockFailure() {
+        final var calls = new AtomicLong();
+        final var accountNumberGenerator = new AccountNumberGenerator(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return 1;
+        }, BLOCK_SIZE, Runnable::run);
+        assertThrows(IllegalStateException.class, accountNumberGenerator::nextSerial);
+        assertEquals(1, accountNumberGenerator.nextSerial());
+    }
+
+    @Test
+    @DisplayName("Next account number - unique under contention")
+    void nextAccountNumber_concurrent() throws Exception {
+        final var refillExecutor = Executors.newSingleThreadExecutor();
+        final var callers = Executors.newFixedThreadPool(8);
+        try {
+            final var accountNumberGenerator = new AccountNumberGenerator(new AtomicLong()::incrementAndGet, BLOCK_SIZE, refillExecutor);
+            final var tasks = new ArrayList<Callable<long[]>>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    final var serials = new long[1000];
+                    for (int j = 0; j < serials.length; j++) {
+                        serials[j] = accountNumberGenerator.nextSerial();
+                    }
+                    return serials;
+                });
+            }
+            final var issued = new HashSet<Long>();
+            for (var future : callers.invokeAll(tasks)) {
+                for (var serial : future.get()) {
+                    assertTrue(issued.add(serial), "Account number issued twice");
+                }
+            }
+            assertEquals(8000, issued.size());
+        } finally {
+            callers.shutdownNow();
+            refillExecutor.shutdownNow();
+        }
+    }
+}
@@ -25,7 +25,7 @@ class AccountNumberValidatorTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"", "123121231", "00000000000000", "2600 00000 00000"})
+    @ValueSource(strings = {"", "123121231", "00000000000000", "2600 00000 00000", "26000000000058", "26000000001056"})
     @DisplayName("Validate with invalid account number throws")
     void validate_withInvalidAccountNumber_throws(String invalidAccountNumber) {
         final var exception = assertThrows(
@@ -0,0 +1,72 @@
+package spaceurgent.banking.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spaceurgent.banking.dto.AccountSearchOrder;
+import spaceurgent.banking.dto.AccountSearchRequestDto;
+import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Currency;
+import spaceurgent.banking.model.Money;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static spaceurgent.banking.TestConstants.TEST_ACCOUNT_NUMBER;
+
+class AccountSearchRequestDtoValidatorTest {
+    private final AccountSearchRequestDtoValidator validator = new AccountSearchRequestDtoValidator(new PageLimitValidator());
+
+    @Test
+    @DisplayName("Validate - OK")
+    void validate_ok() {
+        assertDoesNotThrow(() -> validator.validate(new AccountSearchRequestDto(Currency.UAH, Money.valueOf("10"), Money.valueOf("10"),
+                Instant.EPOCH, Instant.EPOCH.plusSeconds(1), AccountSearchOrder.BALANCE, "1000_" + TEST_ACCOUNT_NUMBER, 100)));
+        assertDoesNotThrow(() -> validator.validate(AccountSearchRequestDto.topBalances(Currency.USD, 1)));
+    }
+
+    @Test
+    @DisplayName("Validate with invalid limit throws")
+    void validate_invalidLimit_throws() {
+        assertThrows(ValidationException.class, () -> validator.validate(AccountSearchRequestDto.topBalances(Currency.UAH, 0)));
+        assertThrows(ValidationException.class, () -> validator.validate(AccountSearchRequestDto.topBalances(Currency.UAH, 1001)));
+    }
+
+    @Test
+    @DisplayName("Validate with inverted balance range throws")
+    void validate_invertedBalanceRange_throws() {
+        final var exception = assertThrows(ValidationException.class, () -> validator.validate(new AccountSearchRequestDto(
+                Currency.UAH, Money.valueOf("10"), Money.valueOf("9.99"), null, null, AccountSearchOrder.BALANCE, null, 100)));
+        assertEquals("Invalid balance range. Minimum balance can't be greater than maximum balance", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Validate with negative minimum balance throws")
+    void validate_negativeMinBalance_throws() {
+        assertThrows(ValidationException.class, () -> validator.validate(new AccountSearchRequestDto(
+                Currency.UAH, Money.valueOf("-1"), null, null, null, AccountSearchOrder.BALANCE, null, 100)));
+    }
+
+    @Test
+    @DisplayName("Validate with empty creation window throws")
+    void validate_emptyCreationWindow_throws() {
+        final var exception = assertThrows(ValidationException.class, () -> validator.validate(new AccountSearchRequestDto(
+                Currency.UAH, null, null, Instant.EPOCH, Instant.EPOCH, AccountSearchOrder.CREATED_AT, null, 100)));
+        assertEquals("Invalid creation window. Start must be before end", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Validate with malformed cursor throws")
+    void validate_malformedCursor_throws() {
+        for (var cursor : new String[]{"", "1000", "_" + TEST_ACCOUNT_NUMBER, "x_" + TEST_ACCOUNT_NUMBER, "1000_26000000000000"}) {
+            final var exception = assertThrows(ValidationException.class, () -> validator.validate(new AccountSearchRequestDto(
+                    Currency.UAH, null, null, null, null, AccountSearchOrder.BALANCE, cursor, 100)), cursor);
+            assertEquals("Invalid cursor. Pass the nextCursor of the previous page", exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Validate with null request throws")
+    void validate_null_throws() {
+        assertThrows(NullPointerException.class, () -> validator.validate(null));
+    }
+}
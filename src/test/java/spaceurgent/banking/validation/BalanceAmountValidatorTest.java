@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Money;
 
 import java.math.BigDecimal;
 
@@ -17,7 +18,7 @@ class BalanceAmountValidatorTest {
     @ValueSource(doubles = {0, 0.0001, 0.1, 10, 100})
     @DisplayName("Validate with valid balance - OK")
     void validate_withValidBalance_ok(Double balanceDoubleValue) {
-        assertDoesNotThrow(() -> balanceAmountValidator.validate(BigDecimal.valueOf(balanceDoubleValue)));
+        assertDoesNotThrow(() -> balanceAmountValidator.validate(Money.of(BigDecimal.valueOf(balanceDoubleValue))));
     }
 
     @ParameterizedTest
@@ -26,7 +27,7 @@ class BalanceAmountValidatorTest {
     void validate_withNegativeBalance_throws(Double balanceDoubleValue) {
         final var exception = assertThrows(
                 ValidationException.class,
-                () -> balanceAmountValidator.validate(BigDecimal.valueOf(balanceDoubleValue))
+                () -> balanceAmountValidator.validate(Money.of(BigDecimal.valueOf(balanceDoubleValue)))
         );
         assertEquals("Invalid balance. Balance must be equal or greater than 0", exception.getMessage());
     }
@@ -0,0 +1,44 @@
+package spaceurgent.banking.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import spaceurgent.banking.exception.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyValidatorTest {
+    private IdempotencyKeyValidator idempotencyKeyValidator = new IdempotencyKeyValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1", "retry-1", "6f1c7a52-29a4-4a4f-9d3e-3c1d2f0b8e11", "!~"})
+    @DisplayName("Validate with valid idempotency key - OK")
+    void validate_withValidIdempotencyKey_ok(String idempotencyKey) {
+        assertDoesNotThrow(() -> idempotencyKeyValidator.validate(idempotencyKey));
+    }
+
+    @Test
+    @DisplayName("Validate with null idempotency key throws")
+    void validate_withNullIdempotencyKey_throws() {
+        assertThrows(NullPointerException.class, () -> idempotencyKeyValidator.validate(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "retry 1", "ключ", "retry\t1", "retry\u007F"})
+    @DisplayName("Validate with invalid idempotency key throws")
+    void validate_withInvalidIdempotencyKey_throws(String invalidIdempotencyKey) {
+        final var exception = assertThrows(
+                ValidationException.class,
+                () -> idempotencyKeyValidator.validate(invalidIdempotencyKey)
+        );
+        assertEquals("Invalid idempotency key", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Validate with too long idempotency key throws")
+    void validate_withTooLongIdempotencyKey_throws() {
+        assertDoesNotThrow(() -> idempotencyKeyValidator.validate("k".repeat(255)));
+        assertThrows(ValidationException.class, () -> idempotencyKeyValidator.validate("k".repeat(256)));
+    }
+}
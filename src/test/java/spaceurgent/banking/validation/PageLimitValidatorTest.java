@@ -0,0 +1,37 @@
+package spaceurgent.banking.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import spaceurgent.banking.exception.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageLimitValidatorTest {
+    private final PageLimitValidator pageLimitValidator = new PageLimitValidator();
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1000})
+    @DisplayName("Validate with valid page limit - OK")
+    void validate_withValidLimit_ok(int limit) {
+        assertDoesNotThrow(() -> pageLimitValidator.validate(limit));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 1001})
+    @DisplayName("Validate with out of range page limit throws")
+    void validate_withInvalidLimit_throws(int limit) {
+        final var exception = assertThrows(
+                ValidationException.class,
+                () -> pageLimitValidator.validate(limit)
+        );
+        assertEquals("Invalid page limit. Limit must be between 1 and 1000", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Validate with null page limit throws")
+    void validate_withNullLimit_throws() {
+        assertThrows(NullPointerException.class, () -> pageLimitValidator.validate(null));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import spaceurgent.banking.exception.ValidationException;
+import spaceurgent.banking.model.Money;
 
 import java.math.BigDecimal;
 
@@ -17,7 +18,7 @@ class TransferAmountValidatorTest {
     @ValueSource(doubles = {0.01, 0.1, 10, 100})
     @DisplayName("Validate with valid amount - OK")
     void validate_withValidAmount_ok(Double amountDoubleValue) {
-        assertDoesNotThrow(() -> transferAmountValidator.validate(BigDecimal.valueOf(amountDoubleValue)));
+        assertDoesNotThrow(() -> transferAmountValidator.validate(Money.of(BigDecimal.valueOf(amountDoubleValue))));
     }
 
     @ParameterizedTest
@@ -26,7 +27,7 @@ class TransferAmountValidatorTest {
     void validate_withInvalidAmount_throws(Double amountDoubleValue) {
         final var exception = assertThrows(
                 ValidationException.class,
-                () -> transferAmountValidator.validate(BigDecimal.valueOf(amountDoubleValue))
+                () -> transferAmountValidator.validate(Money.of(BigDecimal.valueOf(amountDoubleValue)))
         );
         assertEquals("Invalid transfer amount. Amount must be grater than 0", exception.getMessage());
     }
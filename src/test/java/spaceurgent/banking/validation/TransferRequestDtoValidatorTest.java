@@ -8,8 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import spaceurgent.banking.dto.TransferRequestDto;
 import spaceurgent.banking.exception.ValidationException;
-
-import java.math.BigDecimal;
+import spaceurgent.banking.model.Money;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static spaceurgent.banking.TestConstants.DEFAULT_SOURCE_ACCOUNT_NUMBER;
@@ -26,7 +25,7 @@ class TransferRequestDtoValidatorTest {
     @Test
     @DisplayName("Validate - OK")
     void validate_ok() {
-        final var amount = BigDecimal.valueOf(100);
+        final var amount = Money.valueOf("100");
         final var transferRequestDto = new TransferRequestDto(DEFAULT_SOURCE_ACCOUNT_NUMBER, DEFAULT_TARGET_ACCOUNT_NUMBER, amount);
         assertDoesNotThrow(() -> transferRequestDtoValidator.validate(transferRequestDto));
     }
@@ -34,7 +33,7 @@ class TransferRequestDtoValidatorTest {
     @Test
     @DisplayName("Validate with source account number equals to target throws")
     void validate_withSourceAccountNumberEqualsToTargetAccountNumber_throws() {
-        final var amount = BigDecimal.valueOf(100);
+        final var amount = Money.valueOf("100");
         final var transferRequestDto = new TransferRequestDto(TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, amount);
         final var exception = assertThrows(
                 ValidationException.class,